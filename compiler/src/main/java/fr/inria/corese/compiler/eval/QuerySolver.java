@@ -625,6 +625,19 @@ public class QuerySolver implements SPARQLEngine {
         transformer.setMappings(getMappings());
     }
 
+    /**
+     * Transformer parameters as a string, part of the key of a compiled query
+     * return null when compiled query cannot be reused: pragma and mappings
+     * are objects that may change
+     */
+    public String getCompileSignature() {
+        if ((getPragma() != null && getPragma().size() > 0) || getMappings() != null) {
+            return null;
+        }
+        return String.format("%s;%s;%s;%s;%s;%s;%s;%s", isGenerateMain(), getActualMetadata(),
+                getPlanProfile(), isUseBind(), isBGP(), isAlgebra(), isSPARQLCompliant, defaultBase);
+    }
+
     public Query compileRule(String squery, Dataset ds) throws EngineException {
         Transformer transformer = createTransformer(ds);
         Query query = transformer.transform(squery, true);
@@ -7,15 +7,21 @@ import fr.inria.corese.core.logic.OWL;
 import fr.inria.corese.core.logic.Distance;
 import fr.inria.corese.core.index.NodeManager;
 import fr.inria.corese.core.index.EdgeManagerIndexer;
+import fr.inria.corese.core.index.GraphSnapshot;
+import fr.inria.corese.core.index.ClosureIndex;
+import fr.inria.corese.core.index.GraphVersion;
+import fr.inria.corese.core.index.NodeDictionary;
+import fr.inria.corese.core.index.LiteralTable;
+import fr.inria.corese.core.index.NodeTable;
+import fr.inria.corese.core.stats.GraphStatistics;
 import fr.inria.corese.core.producer.DataProducer;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.List;
-import java.util.SortedMap;
 import java.util.TreeMap;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -45,6 +51,7 @@ import fr.inria.corese.core.api.Tagger;
 import fr.inria.corese.core.api.ValueResolver;
 import fr.inria.corese.core.edge.EdgeTripleNode;
 import fr.inria.corese.core.edge.TripleNode;
+import fr.inria.corese.core.query.QueryCache;
 import fr.inria.corese.core.query.QueryCheck;
 import fr.inria.corese.core.util.Property;
 import java.util.Map;
@@ -121,6 +128,14 @@ public class Graph extends GraphObject implements
     public static boolean RDFS_ENTAILMENT_DEFAULT = true;
     // same triple s p o have same reference node in different named graphs
     public static boolean TRIPLE_UNIQUE_NAME = true;
+    // sorted edge lists are stored as columns of node id
+    public static boolean COLUMN_STORE_DEFAULT = false;
+    // sort and reduce edge lists in parallel
+    public static boolean PARALLEL_INDEX_DEFAULT = false;
+    // large sorted edge lists are stored as chunks for fast insertion
+    public static boolean CHUNK_STORE_DEFAULT = false;
+    // query read an immutable version of the graph without lock
+    public static boolean VERSIONING_DEFAULT = false;
 
     private static final String[] PREDEFINED = {
         Entailment.DEFAULT, Entailment.ENTAIL, Entailment.RULE, Entailment.CONSTRAINT,
@@ -159,6 +174,9 @@ public class Graph extends GraphObject implements
      *
      */
     ReentrantReadWriteLock lock;
+    // number of modifications of edge lists, written under write lock
+    // use case: QueryCache
+    private volatile long modificationCount = 0;
     // List of subject/object/graph Index
     // Index is HashMap: PredicateNode -> List of Edge with PredicateNode as predicate
     // In the Index, edge does not contain the predicate Node to spare memory
@@ -175,19 +193,24 @@ public class Graph extends GraphObject implements
     // predefined individual Node such as kg:default named graph
     HashMap<String, Node> system;
     // key -> URI Node ; member of graph nodes (subject/object)
-    Hashtable<String, Node> individual;
+    NodeTable individual;
     // label -> Blank Node ; member of graph nodes (subject/object)
-    Hashtable<String, Node> blank;
+    NodeTable blank;
     // Triple Reference Node
-    Hashtable<String, Node> triple;
+    NodeTable triple;
     // named graph id nodes: key -> named graph id Node (possibly not subject/object Node)
-    Hashtable<String, Node> graph;
+    NodeTable graph;
     // property nodes: label -> property Node (possibly not subject/object Node)
-    Hashtable<String, Node> property;
+    NodeTable property;
     // allocate Node (1 and 01 have different Node)
-    private SortedMap<IDatatype, Node> literalNodeManager;
+    private LiteralTable literalNodeManager;
     // allocate index (1 and 01 have same index)
-    private SortedMap<IDatatype, Node> literalIndexManager;
+    private LiteralTable literalIndexManager;
+    // distinct literals have same index
+    private volatile boolean sameIndexLiteral = false;
+    // Node <-> int id for column store edge lists
+    // volatile: clearNodes() replaces it while readers may hold the former one
+    private volatile NodeDictionary nodeDictionary;
     // @todo
     // key -> Node for value management in external memory
     Map<String, Node> vliteral;
@@ -230,6 +253,22 @@ public class Graph extends GraphObject implements
     private boolean metadata = METADATA_DEFAULT;
     // RDF Star
     private boolean edgeMetadata = EDGE_METADATA_DEFAULT;
+    // edge list of predicate stored as columns of node id
+    private boolean columnStore = COLUMN_STORE_DEFAULT;
+    // index edge lists of predicates in parallel
+    private boolean parallelIndex = PARALLEL_INDEX_DEFAULT;
+    // edge list of predicate stored as chunks of edges
+    private boolean chunkStore = CHUNK_STORE_DEFAULT;
+    // multi version mode: query read a version of the graph
+    private boolean versioning = false;
+    // not null when graph has versions (multi version mode or Cursor)
+    private volatile GraphVersion graphVersion;
+    // statistics for cost based query planning
+    private GraphStatistics statistics;
+    // compiled queries of QueryProcess.PLAN_CACHE
+    private QueryCache queryCache;
+    // transitive closure of properties for property path
+    private volatile ClosureIndex closureIndex;
     // consider external namedGraph Nodes (see ProducerImpl and GraphStore)
     private boolean allGraphNode = EXTERNAL_NAMED_GRAPH;
     //public int count = 0;
@@ -567,26 +606,31 @@ public class Graph extends GraphObject implements
         // indexManager allocate same Node index to 1, 01 (and also 1.0 as corese default mode) 
         // Literals (all of them) comparator = CompareNode and compareTo()
         // different Node allocated when different value or different datatype or different label
-        setLiteralNodeManager(Collections.synchronizedSortedMap(new TreeNode()));
+        // hash table on label, sorted view computed on demand
+        setLiteralNodeManager(new LiteralTable(new CompareNode(), false));
         // Literal numbers and booleans to manage Node index:
         // comparator = CompareIndex and compare()
         // 1, 01, 1.0 have same index, 1 double has different index
         // same index means that SPARQL perform a join on nodes with same index
         // when DatatypeMap.SPARQLCompliant = false (true), 1 and 1.0 have same (different) index
         // corese default is false, which means that corese sparql perform a join on 1 and 1.0 (which is not standard)
-        setLiteralIndexManager(Collections.synchronizedSortedMap(new TreeNode(DatatypeMap.DATATYPE_ENTAILMENT)));
+        // hash table on normalized value
+        setLiteralIndexManager(new LiteralTable(DatatypeMap.DATATYPE_ENTAILMENT
+                ? new CompareWithDatatypeEntailment() : new CompareWithoutDatatypeEntailment(), true));
         // deprecated:
         vliteral = Collections.synchronizedMap(new HashMap<>());
         // URI Node
-        individual = new Hashtable<>();
+        individual = new NodeTable(this::getID);
         // Blank Node
-        blank = new Hashtable<>();
+        blank = new NodeTable();
         // rdf star triple reference node
-        triple = new Hashtable<>();
+        triple = new NodeTable();
         // Named Graph Node
-        graph = new Hashtable<>();
+        graph = new NodeTable(this::getID);
         // Property Node
-        property = new Hashtable<>();
+        property = new NodeTable();
+        // Node id for column store
+        nodeDictionary = new NodeDictionary();
 
         // Index of nodes of named graphs
         // Use case: SPARQL Property Path
@@ -603,6 +647,7 @@ public class Graph extends GraphObject implements
         eventManager = new EventManager(this);
         eventManager.setVerbose(VERBOSE);
         emptyEdgeList = new ArrayList<>(0);
+        setVersioning(VERSIONING_DEFAULT);
     }
 
     /**
@@ -802,12 +847,17 @@ public class Graph extends GraphObject implements
         if (getListenerList() != null) {
             getListenerList().remove(gl);
         }
+        if (gl == closureIndex) {
+            // closure index is not up to date anymore
+            closureIndex = null;
+        }
     }
 
     public void removeListener() {
         if (getListenerList() != null) {
             getListenerList().clear();
         }
+        closureIndex = null;
     }
 
     public void setTagger(Tagger t) {
@@ -1206,6 +1256,7 @@ public class Graph extends GraphObject implements
     
     public void finishUpdate() {
         getIndex().finishUpdate();
+        logFinishUpdate();
     }
     
     public void finishRuleEngine() {
@@ -1690,6 +1741,13 @@ public class Graph extends GraphObject implements
         return nodeIndex;
     }
 
+    /**
+     * Next node index, use case: graph snapshot
+     */
+    public void setNodeIndex(int n) {
+        nodeIndex = n;
+    }
+
     public int nbResources() {
         return nbIndividuals() + nbBlanks();
     }
@@ -1988,7 +2046,7 @@ public class Graph extends GraphObject implements
     
     // named graph id may be a bnode
     public Node getBlankNodeGraph(String name) {
-        return graph.get(name);
+        return graph.get(getID(name));
     }
     
     public Node getTripleNode(String name) {
@@ -2009,7 +2067,12 @@ public class Graph extends GraphObject implements
 
     String getID(Node node) {
         if (valueOut) {
-            return node.getKey();
+            if (node.getKey() != null) {
+                return node.getKey();
+            }
+            // NodeImpl and system node (e.g. kg:default) do not store key
+            IDatatype dt = node.getDatatypeValue();
+            return dt.isLiteral() ? getKey(dt) : getID(node.getLabel());
         } else {
             return node.getLabel();
         }
@@ -2085,7 +2148,7 @@ public class Graph extends GraphObject implements
     }
 
     Node basicAddGraphNode(Node node) {
-        graph.put(node.getLabel(), node);
+        graph.put(getID(node), node);
         return node;
     }
 
@@ -2215,8 +2278,9 @@ public class Graph extends GraphObject implements
 
     public void addLiteralNode(IDatatype dt, Node node) {
         if (valueOut) {
-            vliteral.put(node.getKey(), node);
-            indexNode(dt, node);
+            vliteral.put(getID(node), node);
+            // same index for same value: 1 and 01 join
+            indexLiteralNode(dt, node);
         } else {
             getLiteralNodeManager().put(dt, node);
             indexLiteralNode(dt, node);
@@ -2240,13 +2304,17 @@ public class Graph extends GraphObject implements
      */
     void indexLiteralNode(IDatatype dt, Node node) {
         if (isSameIndexAble(dt)) {
-            Node n = getLiteralIndexManager().get(dt);
+            Node n = getLiteralIndexManager().putIfAbsent(dt, node);
             if (n == null) {
-                getLiteralIndexManager().put(dt, node);
                 indexNode(dt, node);
-            } else if (node.getIndex() == -1) {
-                // assign same index as existing same value
-                node.setIndex(n.getIndex());
+            } else {
+                if (n != node) {
+                    sameIndexLiteral = true;
+                }
+                if (node.getIndex() == -1) {
+                    // assign same index as existing same value
+                    node.setIndex(n.getIndex());
+                }
             }
         } else {
             indexNode(dt, node);
@@ -2297,14 +2365,12 @@ public class Graph extends GraphObject implements
 
     public void addGraphNode(Node gNode) {
         if (!containsCoreseNode(gNode)) {
-            //graph.put(gNode.getLabel(), gNode);
             graph.put(getID(gNode), gNode);
             indexNode( gNode.getValue(), gNode);
         }
     }
 
     public boolean containsCoreseNode(Node node) {
-        //return graph.containsKey(node.getLabel());
         return graph.containsKey(getID(node));
     }
 
@@ -2852,10 +2918,18 @@ public class Graph extends GraphObject implements
         return triple.values();
     }
     
-    public Hashtable<String, Node> getTripleNodeMap() {
+    public NodeTable getTripleNodeMap() {
         return triple;
     }
 
+    public NodeTable getIndividualNodeMap() {
+        return individual;
+    }
+
+    public NodeTable getBlankNodeMap() {
+        return blank;
+    }
+
     /**
      * resource & blank TODO: a node may have been deleted (by a delete triple)
      * but still be in the table
@@ -3091,6 +3165,18 @@ public class Graph extends GraphObject implements
         return createNode(getKey(dt), dt);
     }
 
+    /**
+     * Create node with index, node is not added to graph tables
+     * Only for new node that does not exist
+     * Use case: graph snapshot create nodes with their former index
+     */
+    public Node createNode(IDatatype dt, int index) {
+        Node node = buildNode(dt);
+        node.setIndex(index);
+        indexNode(dt, node);
+        return node;
+    }
+
     Node createNode(String key, IDatatype dt) {
         Node node;
         if (valueOut) {
@@ -3339,12 +3425,17 @@ public class Graph extends GraphObject implements
         }
     }
 
+    /**
+     * Create new node tables instead of clearing them:
+     * versions of the graph (multi version mode) keep the former ones
+     */
     void clearNodes() {
-        individual.clear();
-        blank.clear();
-        triple.clear();
-        getLiteralNodeManager().clear();
-        property.clear();
+        nodeDictionary = new NodeDictionary();
+        individual = new NodeTable(this::getID);
+        blank = new NodeTable();
+        triple = new NodeTable();
+        setLiteralNodeManager(new LiteralTable(new CompareNode(), false));
+        property = new NodeTable();
     }
 
     public boolean clearDefault() {
@@ -3362,8 +3453,8 @@ public class Graph extends GraphObject implements
         if (this.graph.isEmpty()) {
             return false;
         }
-
-        this.graph.clear();
+        // versions of the graph keep the former table
+        this.graph = new NodeTable(this::getID);
         return true;
     }
 
@@ -3965,6 +4056,26 @@ public class Graph extends GraphObject implements
         }
     }
 
+    public void logFinishUpdate() {
+        if (getListenerList() != null) {
+            for (GraphListener gl : getListenerList()) {
+                gl.finishUpdate(this);
+            }
+        }
+    }
+
+    /**
+     * Graph is not used anymore: listeners release their resources
+     * e.g. snapshot delta file is closed
+     */
+    public void close() {
+        if (getListenerList() != null) {
+            for (GraphListener gl : getListenerList()) {
+                gl.close(this);
+            }
+        }
+    }
+
     public void logLoad(String path) {
         if (getListenerList() != null) {
             for (GraphListener gl : getListenerList()) {
@@ -4040,6 +4151,262 @@ public class Graph extends GraphObject implements
     public void setMetadata(boolean metadata) {
         this.metadata = metadata;
     }
+    
+    public boolean isColumnStore() {
+        return columnStore;
+    }
+
+    /**
+     * Column store mode: sorted edge list of predicate is stored as columns
+     * of node id (subject, object, graph) instead of list of Edge objects
+     * Edge objects are created on demand when iterating edges
+     * Switching mode on an indexed graph compress or expand current edge lists
+     * Saving is on edge index only (about half), cf EdgeColumnList
+     */
+    public void setColumnStore(boolean b) {
+        columnStore = b;
+        if (isIndexed()) {
+            for (EdgeManagerIndexer ei : getIndexList()) {
+                if (b) {
+                    ei.compress();
+                } else {
+                    ei.expand();
+                }
+            }
+        }
+    }
+    
+    public static void setColumnStoreDefault(boolean b) {
+        COLUMN_STORE_DEFAULT = b;
+    }
+    
+    public boolean isParallelIndex() {
+        return parallelIndex;
+    }
+
+    /**
+     * Parallel index mode: after load, edge lists of predicates are sorted
+     * and reduced in parallel, index of object and graph are built eagerly
+     * Duration of index phases: getIndex(i).getIndexTime()
+     */
+    public void setParallelIndex(boolean b) {
+        parallelIndex = b;
+    }
+
+    public static void setParallelIndexDefault(boolean b) {
+        PARALLEL_INDEX_DEFAULT = b;
+    }
+    
+    public boolean isChunkStore() {
+        return chunkStore;
+    }
+
+    /**
+     * Chunk store mode for insert-heavy workload: when an edge is inserted 
+     * in a sorted edge list larger than EdgeChunkList.CHUNK, the list
+     * switch to a list of chunks where insertion shifts one chunk only
+     * Existing chunk lists remain when mode is switched off
+     */
+    public void setChunkStore(boolean b) {
+        chunkStore = b;
+    }
+
+    public static void setChunkStoreDefault(boolean b) {
+        CHUNK_STORE_DEFAULT = b;
+    }
+    
+    /**
+     * Write binary snapshot of graph index (cf GraphSnapshot)
+     */
+    public void writeSnapshot(String path) throws IOException {
+        new GraphSnapshot(this).write(path);
+    }
+
+    /**
+     * Open binary snapshot in a new graph, edge lists are memory mapped
+     * delta = true: replay and record updates in path.delta file
+     */
+    public static Graph openSnapshot(String path, boolean delta) throws IOException {
+        return GraphSnapshot.open(path, delta);
+    }
+
+    public static Graph openSnapshot(String path) throws IOException {
+        return GraphSnapshot.open(path);
+    }
+    
+    public NodeDictionary getNodeDictionary() {
+        return nodeDictionary;
+    }
+
+    public boolean isVersioning() {
+        return versioning;
+    }
+
+    /**
+     * Multi version mode (snapshot isolation): a query reads an immutable
+     * version of the graph without lock (cf GraphVersion and QueryProcess)
+     * Load and update lock the graph and publish a new version
+     */
+    public void setVersioning(boolean b) {
+        versioning = b;
+        if (b) {
+            getCreateGraphVersion();
+        }
+    }
+
+    public static void setVersioningDefault(boolean b) {
+        VERSIONING_DEFAULT = b;
+    }
+
+    /**
+     * Edge list is modified
+     * pragma: graph is write locked
+     */
+    public void modified() {
+        modificationCount++;
+    }
+
+    public long getModificationCount() {
+        return modificationCount;
+    }
+
+    public GraphVersion getGraphVersion() {
+        return graphVersion;
+    }
+
+    /**
+     * Versions are also created in standard mode for readers that need a
+     * snapshot of the graph (cf QueryProcess queryCursor): writers copy the
+     * edge lists of live versions, other queries read the graph
+     */
+    public GraphVersion getCreateGraphVersion() {
+        GraphVersion gv = graphVersion;
+        if (gv == null) {
+            synchronized (this) {
+                gv = graphVersion;
+                if (gv == null) {
+                    gv = new GraphVersion(this);
+                    graphVersion = gv;
+                }
+            }
+        }
+        return gv;
+    }
+
+    /**
+     * Multi version mode: return current version of graph
+     * otherwise return this graph
+     */
+    public Graph getVersion() {
+        if (!isVersioning()) {
+            return this;
+        }
+        return getGraphVersion().get();
+    }
+
+    /**
+     * Multi version mode: return new empty version of this graph
+     * Version shares nodes, node tables and settings of this graph
+     * Its edge index is filled by GraphVersion
+     */
+    public Graph createVersion() {
+        int length = 0;
+        for (EdgeManagerIndexer ei : getIndexList()) {
+            if (ei.getIndex() >= 0) {
+                length++;
+            }
+        }
+        Graph g = new Graph(length);
+        g.setVersioning(false);
+        g.system = system;
+        g.systemNode = systemNode;
+        g.defaultGraph = defaultGraph;
+        g.ruleGraph = ruleGraph;
+        g.constraintGraph = constraintGraph;
+        g.entailGraph = entailGraph;
+        g.individual = individual;
+        g.blank = blank;
+        g.triple = triple;
+        g.graph = graph;
+        g.property = property;
+        g.literalNodeManager = literalNodeManager;
+        g.literalIndexManager = literalIndexManager;
+        g.sameIndexLiteral = sameIndexLiteral;
+        g.vliteral = vliteral;
+        g.values = values;
+        g.nodeDictionary = nodeDictionary;
+        g.storageMgr = storageMgr;
+        g.nodeIndex = nodeIndex;
+        g.key = key;
+        g.name = name;
+        g.isSkolem = isSkolem;
+        g.byIndex = byIndex;
+        g.isTuple = isTuple;
+        g.metadata = metadata;
+        g.edgeMetadata = edgeMetadata;
+        g.columnStore = columnStore;
+        g.chunkStore = chunkStore;
+        g.allGraphNode = allGraphNode;
+        g.statistics = getStatistics().version(g);
+        return g;
+    }
+
+    /**
+     * Statistics for cost based query planning, computed on demand
+     */
+    public synchronized GraphStatistics getStatistics() {
+        if (statistics == null) {
+            statistics = new GraphStatistics(this);
+        }
+        return statistics;
+    }
+
+    /**
+     * Compiled queries of this graph (QueryProcess.PLAN_CACHE), created on
+     * demand
+     */
+    public synchronized QueryCache getQueryCache() {
+        if (queryCache == null) {
+            queryCache = new QueryCache(this);
+        }
+        return queryCache;
+    }
+    
+    /**
+     * Transitive closure index of properties for property path p+ p*,
+     * created once on demand, it listens to the graph
+     */
+    public ClosureIndex getClosureIndex() {
+        ClosureIndex index = closureIndex;
+        if (index == null) {
+            synchronized (this) {
+                if (closureIndex == null) {
+                    closureIndex = new ClosureIndex(this);
+                }
+                index = closureIndex;
+            }
+        }
+        return index;
+    }
+
+    /**
+     * create = false: return closure index if it has been created, null
+     * otherwise
+     */
+    public ClosureIndex getClosureIndex(boolean create) {
+        return create ? getClosureIndex() : closureIndex;
+    }
+
+    /**
+     * Approximate memory size of the edge index in bytes
+     */
+    public long byteSize() {
+        long n = 0;
+        for (EdgeManagerIndexer ei : getIndexList()) {
+            n += ei.byteSize();
+        }
+        return n;
+    }
 
     /**
      * @Draft For each triple pattern: Search if there exists graph name,
@@ -4058,19 +4425,26 @@ public class Graph extends GraphObject implements
         return new GraphDistance(this).cardinality(ast);
     }
 
-    public SortedMap<IDatatype, Node> getLiteralNodeManager() {
+    public LiteralTable getLiteralNodeManager() {
         return literalNodeManager;
     }
 
-    public void setLiteralNodeManager(SortedMap<IDatatype, Node> literal) {
+    public void setLiteralNodeManager(LiteralTable literal) {
         this.literalNodeManager = literal;
     }
 
-    public SortedMap<IDatatype, Node> getLiteralIndexManager() {
+    public LiteralTable getLiteralIndexManager() {
         return literalIndexManager;
     }
 
-    public void setLiteralIndexManager(SortedMap<IDatatype, Node> sliteral) {
+    /**
+     * Distinct literals have same node index (1 and 01)
+     */
+    public boolean isSameIndexLiteral() {
+        return sameIndexLiteral;
+    }
+
+    public void setLiteralIndexManager(LiteralTable sliteral) {
         this.literalIndexManager = sliteral;
     }
 
@@ -21,4 +21,10 @@ public interface GraphListener {
         
     default void load(String path) {}
 
+    // end of load or update step
+    default void finishUpdate(Graph g) {}
+
+    // graph is not used anymore
+    default void close(Graph g) {}
+
 }
@@ -0,0 +1,275 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.kgram.api.core.Node;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Concurrent hash table key -> Node
+ * The key is not stored: it is computed from the node
+ * hence the table stores node references only, without key and entry objects
+ * The table is split in segments according to key hash code:
+ * read is lock free, write lock the segment of the key only
+ * Each segment is an open addressing table with linear probing,
+ * removed nodes are replaced by a tombstone until the segment is resized
+ *
+ * Subclasses define the key of a node, the hash code of a key
+ * and the match of a key with a node
+ *
+ */
+public abstract class AbstractNodeTable<K> implements Iterable<Node> {
+
+    static final int SEGMENT = 16;
+    static final int INIT = 16;
+    // removed node
+    static final Object TOMBSTONE = new Object();
+
+    private ArrayList<Segment> segments;
+
+    AbstractNodeTable() {
+        segments = new ArrayList<>(SEGMENT);
+        for (int i = 0; i < SEGMENT; i++) {
+            segments.add(new Segment(INIT));
+        }
+    }
+
+    /**
+     * key of node in the table
+     */
+    abstract K key(Node node);
+
+    /**
+     * pragma: match(key, node) => hashCode(key) = hashCode(key(node))
+     */
+    abstract int hashCode(K key);
+
+    abstract boolean match(K key, Node node);
+
+    int hash(K key) {
+        int h = hashCode(key);
+        return h ^ (h >>> 16);
+    }
+
+    Segment segment(int hash) {
+        return segments.get((hash >>> 28) & (SEGMENT - 1));
+    }
+
+    public Node get(K key) {
+        int hash = hash(key);
+        return segment(hash).get(key, hash);
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * pragma: key match node
+     * Return previous node with same key if any
+     */
+    public Node put(K key, Node node) {
+        int hash = hash(key);
+        return segment(hash).put(key, hash, node, true);
+    }
+
+    /**
+     * put node with its key
+     */
+    public Node put(Node node) {
+        return put(key(node), node);
+    }
+
+    /**
+     * Return node with same key if any, otherwise add node and return null
+     */
+    public Node putIfAbsent(K key, Node node) {
+        int hash = hash(key);
+        return segment(hash).put(key, hash, node, false);
+    }
+
+    public Node remove(K key) {
+        int hash = hash(key);
+        return segment(hash).remove(key, hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment s : segments) {
+            size += s.size;
+        }
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public void clear() {
+        for (Segment s : segments) {
+            s.clear();
+        }
+    }
+
+    /**
+     * Nodes of the table, iteration is weakly consistent
+     * as ConcurrentHashMap
+     */
+    public Iterable<Node> values() {
+        return this;
+    }
+
+    @Override
+    public Iterator<Node> iterator() {
+        return new Iterator<Node>() {
+            int seg = 0;
+            int i = 0;
+            AtomicReferenceArray<Object> table = segments.get(0).table;
+            Node next = advance();
+
+            Node advance() {
+                while (true) {
+                    while (i < table.length()) {
+                        Object obj = table.get(i++);
+                        if (obj != null && obj != TOMBSTONE) {
+                            return (Node) obj;
+                        }
+                    }
+                    if (++seg >= SEGMENT) {
+                        return null;
+                    }
+                    table = segments.get(seg).table;
+                    i = 0;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Node next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Node node = next;
+                next = advance();
+                return node;
+            }
+        };
+    }
+
+    class Segment {
+
+        volatile AtomicReferenceArray<Object> table;
+        volatile int size = 0;
+        // size + tombstones
+        int used = 0;
+
+        Segment(int n) {
+            table = new AtomicReferenceArray<>(n);
+        }
+
+        Node get(K key, int hash) {
+            AtomicReferenceArray<Object> tab = table;
+            int mask = tab.length() - 1;
+            for (int i = hash & mask, n = 0; n <= mask; i = (i + 1) & mask, n++) {
+                Object obj = tab.get(i);
+                if (obj == null) {
+                    return null;
+                }
+                if (obj != TOMBSTONE && match(key, (Node) obj)) {
+                    return (Node) obj;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * replace: replace node with same key if any
+         */
+        synchronized Node put(K key, int hash, Node node, boolean replace) {
+            if (4 * (used + 1) > 3 * table.length()) {
+                resize();
+            }
+            AtomicReferenceArray<Object> tab = table;
+            int mask = tab.length() - 1;
+            int free = -1;
+            for (int i = hash & mask;; i = (i + 1) & mask) {
+                Object obj = tab.get(i);
+                if (obj == null) {
+                    if (free == -1) {
+                        free = i;
+                        used++;
+                    }
+                    break;
+                }
+                if (obj == TOMBSTONE) {
+                    if (free == -1) {
+                        free = i;
+                    }
+                } else if (match(key, (Node) obj)) {
+                    if (replace) {
+                        tab.set(i, node);
+                    }
+                    return (Node) obj;
+                }
+            }
+            tab.set(free, node);
+            size++;
+            return null;
+        }
+
+        synchronized Node remove(K key, int hash) {
+            AtomicReferenceArray<Object> tab = table;
+            int mask = tab.length() - 1;
+            for (int i = hash & mask, n = 0; n <= mask; i = (i + 1) & mask, n++) {
+                Object obj = tab.get(i);
+                if (obj == null) {
+                    return null;
+                }
+                if (obj != TOMBSTONE && match(key, (Node) obj)) {
+                    tab.set(i, TOMBSTONE);
+                    size--;
+                    return (Node) obj;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Copy nodes in new table and then publish new table
+         * Readers of former table see a consistent former state
+         */
+        void resize() {
+            AtomicReferenceArray<Object> tab = table;
+            int length = tab.length();
+            if (2 * size >= length / 2) {
+                length *= 2;
+            }
+            AtomicReferenceArray<Object> res = new AtomicReferenceArray<>(length);
+            int mask = length - 1;
+            for (int j = 0; j < tab.length(); j++) {
+                Object obj = tab.get(j);
+                if (obj != null && obj != TOMBSTONE) {
+                    int i = hash(key((Node) obj)) & mask;
+                    while (res.get(i) != null) {
+                        i = (i + 1) & mask;
+                    }
+                    res.set(i, obj);
+                }
+            }
+            used = size;
+            table = res;
+        }
+
+        synchronized void clear() {
+            table = new AtomicReferenceArray<>(INIT);
+            size = 0;
+            used = 0;
+        }
+    }
+
+}
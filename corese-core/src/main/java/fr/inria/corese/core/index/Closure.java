@@ -0,0 +1,378 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.api.query.PathIndex;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Transitive closure of a property p (see ClosureIndex)
+ *
+ * Strongly connected components of the graph of p are computed (Tarjan) and
+ * the closure is computed on the acyclic graph of components. Components
+ * are numbered by a depth first post order of the acyclic graph, the
+ * components reachable from a component are recorded as a sorted list of
+ * intervals of numbers. The descendants of a component in the depth first
+ * spanning tree are an interval hence the list is short for trees and
+ * hierarchies. There is a numbering and a list of intervals for each
+ * direction: successors (index 0) and predecessors (index 1).
+ * A node reaches the nodes of its component by p+ when the component is
+ * cyclic.
+ *
+ * URI and blank nodes are identified by label, literals by value and
+ * datatype (Node compare) as PathIterator does.
+ *
+ */
+public class Closure implements PathIndex {
+
+    // bytes of an interval
+    static final int INTERVAL = 8;
+    // approximate bytes of a node: node tables, component, number and order
+    static final int NODE = 80;
+
+    // local id -> node
+    private List<Node> nodeList;
+    private Map<String, Integer> resource;
+    private Map<Node, Integer> literal;
+    // local id -> component
+    private int[] component;
+    // nodes of component c: member[first[c]] .. member[first[c+1]-1]
+    private int[] first, member;
+    private boolean[] cyclic;
+    // for each direction: component -> number, number -> component
+    private int[][] number, order;
+    // for each direction: component -> sorted intervals lo1 hi1 lo2 hi2 ...
+    private int[][][] interval;
+    private int size = 0;
+
+    Closure() {
+        nodeList = new ArrayList<>();
+        resource = new HashMap<>();
+        literal = new TreeMap<>(Node::compare);
+    }
+
+    /**
+     * Return null when the closure is larger than max intervals
+     */
+    static Closure create(Iterable<Edge> it, int max) {
+        Closure c = new Closure();
+        return c.build(it, max) ? c : null;
+    }
+
+    boolean build(Iterable<Edge> it, int max) {
+        int[] src = new int[16], dst = new int[16];
+        int n = 0;
+        for (Edge edge : it) {
+            if (edge == null) {
+                continue;
+            }
+            if (n == src.length) {
+                src = Arrays.copyOf(src, 2 * n);
+                dst = Arrays.copyOf(dst, 2 * n);
+            }
+            src[n] = define(edge.getNode(0));
+            dst[n] = define(edge.getNode(1));
+            n++;
+        }
+        int nb = nodeList.size();
+        int[][] succ = adjacency(nb, src, dst, n);
+        component(nb, succ);
+        int nc = first.length - 1;
+        // acyclic graph of components in both directions
+        int[] csrc = new int[n], cdst = new int[n];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            int c1 = component[src[i]], c2 = component[dst[i]];
+            if (c1 != c2) {
+                csrc[m] = c1;
+                cdst[m++] = c2;
+            } else if (src[i] == dst[i]) {
+                cyclic[c1] = true;
+            }
+        }
+        number = new int[2][];
+        order = new int[2][];
+        interval = new int[2][][];
+        return label(0, nc, adjacency(nc, csrc, cdst, m), max)
+                && label(1, nc, adjacency(nc, cdst, csrc, m), max);
+    }
+
+    int define(Node node) {
+        Integer id;
+        if (node.getDatatypeValue().isLiteral()) {
+            id = literal.get(node);
+            if (id == null) {
+                id = nodeList.size();
+                literal.put(node, id);
+                nodeList.add(node);
+            }
+        } else {
+            id = resource.get(node.getLabel());
+            if (id == null) {
+                id = nodeList.size();
+                resource.put(node.getLabel(), id);
+                nodeList.add(node);
+            }
+        }
+        return id;
+    }
+
+    Integer id(Node node) {
+        if (node.getDatatypeValue().isLiteral()) {
+            return literal.get(node);
+        }
+        return resource.get(node.getLabel());
+    }
+
+    /**
+     * Adjacency lists of nb vertices from n arcs src[i] -> dst[i]
+     */
+    int[][] adjacency(int nb, int[] src, int[] dst, int n) {
+        int[] count = new int[nb];
+        for (int i = 0; i < n; i++) {
+            count[src[i]]++;
+        }
+        int[][] adj = new int[nb][];
+        for (int i = 0; i < nb; i++) {
+            adj[i] = new int[count[i]];
+        }
+        for (int i = 0; i < n; i++) {
+            adj[src[i]][--count[src[i]]] = dst[i];
+        }
+        return adj;
+    }
+
+    /**
+     * Strongly connected components, iterative Tarjan algorithm
+     */
+    void component(int nb, int[][] succ) {
+        component = new int[nb];
+        Arrays.fill(component, -1);
+        int[] index = new int[nb], low = new int[nb], next = new int[nb];
+        Arrays.fill(index, -1);
+        boolean[] onStack = new boolean[nb];
+        int[] stack = new int[nb], call = new int[nb];
+        int sp = 0, cp = 0, counter = 0, nc = 0;
+        int[] members = new int[nb];
+        List<Integer> start = new ArrayList<>();
+        int k = 0;
+        for (int root = 0; root < nb; root++) {
+            if (index[root] != -1) {
+                continue;
+            }
+            call[cp++] = root;
+            index[root] = low[root] = counter++;
+            stack[sp++] = root;
+            onStack[root] = true;
+            while (cp > 0) {
+                int v = call[cp - 1];
+                if (next[v] < succ[v].length) {
+                    int w = succ[v][next[v]++];
+                    if (index[w] == -1) {
+                        index[w] = low[w] = counter++;
+                        stack[sp++] = w;
+                        onStack[w] = true;
+                        call[cp++] = w;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                } else {
+                    cp--;
+                    if (cp > 0) {
+                        int u = call[cp - 1];
+                        low[u] = Math.min(low[u], low[v]);
+                    }
+                    if (low[v] == index[v]) {
+                        start.add(k);
+                        int w;
+                        do {
+                            w = stack[--sp];
+                            onStack[w] = false;
+                            component[w] = nc;
+                            members[k++] = w;
+                        } while (w != v);
+                        nc++;
+                    }
+                }
+            }
+        }
+        first = new int[nc + 1];
+        for (int c = 0; c < nc; c++) {
+            first[c] = start.get(c);
+        }
+        first[nc] = k;
+        member = members;
+        cyclic = new boolean[nc];
+        for (int c = 0; c < nc; c++) {
+            cyclic[c] = first[c + 1] - first[c] > 1;
+        }
+    }
+
+    /**
+     * Number components of direction dir by a depth first post order of the
+     * acyclic graph adj and compute the intervals of reachable components.
+     * Successors of a component have a smaller number than the component.
+     * return false when there are more than max intervals
+     */
+    boolean label(int dir, int nc, int[][] adj, int max) {
+        int[] num = new int[nc], ord = new int[nc], next = new int[nc], call = new int[nc];
+        Arrays.fill(num, -1);
+        boolean[] visited = new boolean[nc];
+        int counter = 0;
+        for (int root = 0; root < nc; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            int cp = 0;
+            call[cp++] = root;
+            visited[root] = true;
+            while (cp > 0) {
+                int v = call[cp - 1];
+                if (next[v] < adj[v].length) {
+                    int w = adj[v][next[v]++];
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        call[cp++] = w;
+                    }
+                } else {
+                    cp--;
+                    num[v] = counter;
+                    ord[counter++] = v;
+                }
+            }
+        }
+        int[][] list = new int[nc][];
+        long total = 0;
+        for (int k = 0; k < nc; k++) {
+            int c = ord[k];
+            list[c] = merge(num, adj[c], list);
+            total += list[c].length / 2;
+            if (total > max) {
+                return false;
+            }
+        }
+        number[dir] = num;
+        order[dir] = ord;
+        interval[dir] = list;
+        size += total;
+        return true;
+    }
+
+    /**
+     * Union of successor numbers and of their intervals
+     */
+    int[] merge(int[] num, int[] adj, int[][] list) {
+        int n = adj.length;
+        for (int c : adj) {
+            n += list[c].length / 2;
+        }
+        long[] tmp = new long[n];
+        int i = 0;
+        for (int c : adj) {
+            tmp[i++] = pair(num[c], num[c]);
+            int[] il = list[c];
+            for (int j = 0; j < il.length; j += 2) {
+                tmp[i++] = pair(il[j], il[j + 1]);
+            }
+        }
+        Arrays.sort(tmp);
+        int[] res = new int[2 * n];
+        int k = 0;
+        for (long p : tmp) {
+            int lo = (int) (p >>> 32), hi = (int) p;
+            if (k > 0 && lo <= res[k - 1] + 1) {
+                res[k - 1] = Math.max(res[k - 1], hi);
+            } else {
+                res[k++] = lo;
+                res[k++] = hi;
+            }
+        }
+        return Arrays.copyOf(res, k);
+    }
+
+    long pair(int lo, int hi) {
+        return ((long) lo << 32) | hi;
+    }
+
+    boolean contains(int[] list, int n) {
+        int lo = 0, hi = list.length / 2 - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (n < list[2 * mid]) {
+                hi = mid - 1;
+            } else if (n > list[2 * mid + 1]) {
+                lo = mid + 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean reach(Node subject, Node object) {
+        Integer s = id(subject), o = id(object);
+        if (s == null || o == null) {
+            return false;
+        }
+        int c1 = component[s], c2 = component[o];
+        if (c1 == c2) {
+            return cyclic[c1];
+        }
+        return contains(interval[0][c1], number[0][c2]);
+    }
+
+    @Override
+    public Iterable<Node> reach(Node node, int index) {
+        Integer id = id(node);
+        if (id == null) {
+            return new ArrayList<>(0);
+        }
+        int c = component[id];
+        List<Node> list = new ArrayList<>();
+        if (cyclic[c]) {
+            members(c, list);
+        }
+        int[] il = interval[index][c];
+        for (int i = 0; i < il.length; i += 2) {
+            for (int n = il[i]; n <= il[i + 1]; n++) {
+                members(order[index][n], list);
+            }
+        }
+        return list;
+    }
+
+    void members(int c, List<Node> list) {
+        for (int i = first[c]; i < first[c + 1]; i++) {
+            list.add(nodeList.get(member[i]));
+        }
+    }
+
+    public int nodeCount() {
+        return nodeList.size();
+    }
+
+    public int componentCount() {
+        return first.length - 1;
+    }
+
+    /**
+     * Approximate memory size in bytes
+     */
+    public long byteSize() {
+        return (long) INTERVAL * size + (long) NODE * nodeList.size();
+    }
+
+    /**
+     * Number of intervals of both directions
+     */
+    public int size() {
+        return size;
+    }
+
+}
@@ -0,0 +1,186 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.core.Graph;
+import fr.inria.corese.core.api.GraphListener;
+import fr.inria.corese.core.producer.DataProducer;
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Transitive closure index of properties for property path p+ p* (see
+ * Closure and kgram PathIndexSearch)
+ * graph.getClosureIndex().declare(rdfs:subClassOf)
+ *
+ * The index is opt-in: path evaluation uses the index of a graph when it has
+ * been created by graph.getClosureIndex(), or for every graph when
+ * CLOSURE_INDEX = true.
+ * Closure of declared properties is computed on demand. A property is also
+ * indexed automatically when it has been the property of more than HOT_PATH
+ * path evaluations.
+ * The index is a GraphListener of its graph: insert of an edge s p o keeps
+ * the closure of p when s already reaches o, otherwise the closure of p is
+ * removed and computed again on demand. Delete of an edge of p removes the
+ * closure of p.
+ * Closure is computed on the default graph (union of named graphs).
+ * A closure larger than MAX_SIZE intervals, or larger than the memory left
+ * by the closures of the index (MAX_MEMORY bytes), is not recorded, the
+ * property is not indexed until it is modified.
+ * Each version of a graph (multi version mode) has its own index.
+ *
+ */
+public class ClosureIndex implements GraphListener {
+
+    // true: create the index of every graph queried with a path
+    public static boolean CLOSURE_INDEX = false;
+    // number of path evaluations before automatic index of property, -1: declared properties only
+    public static int HOT_PATH = 10;
+    // max number of intervals of a closure
+    public static int MAX_SIZE = 10_000_000;
+    // max memory of the closures of an index in bytes
+    public static long MAX_MEMORY = 256L << 20;
+
+    private Graph graph;
+    // property -> closure
+    private Map<String, Closure> table;
+    // property -> number of path evaluations
+    private Map<String, Integer> count;
+    private Map<String, Boolean> declared;
+    // property whose closure is too large
+    private Map<String, Boolean> reject;
+    // approximate memory of the closures in bytes
+    private AtomicLong memory;
+
+    public ClosureIndex(Graph g) {
+        graph = g;
+        table = new ConcurrentHashMap<>();
+        count = new ConcurrentHashMap<>();
+        declared = new ConcurrentHashMap<>();
+        reject = new ConcurrentHashMap<>();
+        memory = new AtomicLong();
+        graph.addListener(this);
+    }
+
+    /**
+     * Property whose closure is computed on demand
+     */
+    public ClosureIndex declare(String predicate) {
+        declared.put(predicate, true);
+        return this;
+    }
+
+    public ClosureIndex undeclare(String predicate) {
+        declared.remove(predicate);
+        remove(predicate);
+        return this;
+    }
+
+    public boolean isDeclared(String predicate) {
+        return declared.containsKey(predicate);
+    }
+
+    /**
+     * Closure of property if it is indexed, null otherwise
+     */
+    public Closure get(String predicate) {
+        Closure c = table.get(predicate);
+        if (c != null) {
+            return c;
+        }
+        if (reject.containsKey(predicate) || !isIndexable(predicate)) {
+            return null;
+        }
+        return create(predicate);
+    }
+
+    /**
+     * Closure of property if it is already computed
+     */
+    public Closure getClosure(String predicate) {
+        return table.get(predicate);
+    }
+
+    boolean isIndexable(String predicate) {
+        if (isDeclared(predicate)) {
+            return true;
+        }
+        if (HOT_PATH < 0) {
+            return false;
+        }
+        return count.merge(predicate, 1, Integer::sum) > HOT_PATH;
+    }
+
+    synchronized Closure create(String predicate) {
+        Closure c = table.get(predicate);
+        if (c != null) {
+            return c;
+        }
+        Node p = graph.getPropertyNode(predicate);
+        if (p == null) {
+            return null;
+        }
+        DataProducer dp = graph.getDataStore().getDefault();
+        if (graph.isRDFStar()) {
+            // asserted edges
+            dp.status(false);
+        }
+        long free = MAX_MEMORY - memory.get();
+        c = Closure.create(dp.iterate(p), (int) Math.min(MAX_SIZE, free / Closure.INTERVAL));
+        if (c == null || c.byteSize() > free) {
+            reject.put(predicate, true);
+            return null;
+        }
+        table.put(predicate, c);
+        memory.addAndGet(c.byteSize());
+        return c;
+    }
+
+    void remove(String predicate) {
+        Closure c = table.remove(predicate);
+        if (c != null) {
+            memory.addAndGet(-c.byteSize());
+        }
+    }
+
+    /**
+     * Approximate memory of the closures in bytes
+     */
+    public long getMemory() {
+        return memory.get();
+    }
+
+    @Override
+    public void insert(Graph g, Edge edge) {
+        if (edge.getEdgeNode() == null) {
+            clear();
+            return;
+        }
+        String predicate = edge.getEdgeLabel();
+        reject.remove(predicate);
+        Closure c = table.get(predicate);
+        if (c != null && !c.reach(edge.getNode(0), edge.getNode(1))) {
+            remove(predicate);
+        }
+    }
+
+    @Override
+    public void delete(Graph g, Edge edge) {
+        if (edge.getEdgeNode() == null) {
+            clear();
+            return;
+        }
+        String predicate = edge.getEdgeLabel();
+        reject.remove(predicate);
+        remove(predicate);
+    }
+
+    public void clear() {
+        for (String predicate : table.keySet()) {
+            remove(predicate);
+        }
+        reject.clear();
+    }
+
+}
@@ -0,0 +1,35 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Default edge list of EdgeManager: ArrayList of Edge
+ *
+ */
+public class EdgeArrayList extends ArrayList<Edge> implements EdgeList {
+
+    public EdgeArrayList() {
+    }
+
+    public EdgeArrayList(int n) {
+        super(n);
+    }
+
+    public EdgeArrayList(Collection<Edge> list) {
+        super(list);
+    }
+    
+    @Override
+    public void parallelSort(Comparator<? super Edge> comparator) {
+        Edge[] array = toArray(new Edge[size()]);
+        Arrays.parallelSort(array, comparator);
+        for (int i = 0; i < array.length; i++) {
+            set(i, array[i]);
+        }
+    }
+
+}
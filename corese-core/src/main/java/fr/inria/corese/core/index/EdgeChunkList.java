@@ -0,0 +1,319 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Edge list for insert-heavy workload: sorted list of chunks of edges
+ * Insert at position i shifts the edges of one chunk only
+ * and the start position of the following chunks
+ * instead of shifting all the edges after i as ArrayList does
+ * A chunk is split in two when it is full
+ * Empty chunks are removed, hence chunk start positions are strictly increasing
+ *
+ * Position access get(i) finds the chunk by dichotomy on chunk start positions
+ * with a hint on last accessed chunk for sequential iteration.
+ * Hence the sorted iteration and dichotomy contract of EdgeManager
+ * (getPlace, findNodeIndex, EdgeManagerIterate) is preserved.
+ *
+ * Multi version mode: share() returns a copy that shares the chunks of this
+ * list, the copy copies a chunk the first time it modifies it.
+ * Hence copy on write of a version edge list costs one chunk per modified
+ * chunk instead of the whole list.
+ *
+ */
+public class EdgeChunkList implements EdgeList {
+
+    // max number of edges in a chunk
+    public static int CHUNK = 1024;
+
+    private ArrayList<ArrayList<Edge>> chunkList;
+    // position of first edge of chunk(k) in the list
+    private int[] start;
+    private int size;
+    // last accessed chunk
+    private int last;
+    // chunks created by this list when it shares chunks, null: all chunks
+    private Set<ArrayList<Edge>> owned;
+
+    public EdgeChunkList() {
+        init();
+    }
+
+    public EdgeChunkList(EdgeList list) {
+        init();
+        for (Edge edge : list) {
+            add(edge);
+        }
+    }
+
+    final void init() {
+        chunkList = new ArrayList<>();
+        start = new int[16];
+        size = 0;
+        last = 0;
+        owned = null;
+    }
+
+    /**
+     * Copy of this list that shares its chunks
+     * pragma: this list is not modified anymore (edge list of a version)
+     */
+    public EdgeChunkList share() {
+        EdgeChunkList list = new EdgeChunkList();
+        list.chunkList = new ArrayList<>(chunkList);
+        list.start = Arrays.copyOf(start, start.length);
+        list.size = size;
+        list.owned = Collections.newSetFromMap(new IdentityHashMap<>());
+        return list;
+    }
+
+    /**
+     * Return chunk(c) for modification: a shared chunk is copied
+     */
+    ArrayList<Edge> own(int c) {
+        ArrayList<Edge> chunk = chunkList.get(c);
+        if (owned != null && !owned.contains(chunk)) {
+            ArrayList<Edge> copy = new ArrayList<>(CHUNK + 1);
+            copy.addAll(chunk);
+            chunkList.set(c, copy);
+            owned.add(copy);
+            return copy;
+        }
+        return chunk;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public int nbChunk() {
+        return chunkList.size();
+    }
+
+    /**
+     * Return index of chunk that contains position i
+     * pragma: 0 <= i < size
+     */
+    int chunk(int i) {
+        int c = last;
+        if (c < chunkList.size() && start[c] <= i && i < start[c] + chunkList.get(c).size()) {
+            return c;
+        }
+        int first = 0, end = chunkList.size() - 1;
+        // last chunk with start <= i
+        while (first < end) {
+            int mid = (first + end + 1) >>> 1;
+            if (start[mid] <= i) {
+                first = mid;
+            } else {
+                end = mid - 1;
+            }
+        }
+        last = first;
+        return first;
+    }
+
+    void check(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index: %s Size: %s", i, size));
+        }
+    }
+
+    @Override
+    public Edge get(int i) {
+        check(i);
+        int c = chunk(i);
+        return chunkList.get(c).get(i - start[c]);
+    }
+
+    @Override
+    public Edge set(int i, Edge edge) {
+        check(i);
+        int c = chunk(i);
+        return own(c).set(i - start[c], edge);
+    }
+
+    @Override
+    public boolean add(Edge edge) {
+        int n = chunkList.size();
+        if (n == 0 || chunkList.get(n - 1).size() >= CHUNK) {
+            addChunk(n, new ArrayList<>(CHUNK + 1), size);
+            n++;
+        }
+        own(n - 1).add(edge);
+        size++;
+        return true;
+    }
+
+    @Override
+    public void add(int i, Edge edge) {
+        if (i == size) {
+            add(edge);
+            return;
+        }
+        check(i);
+        int c = chunk(i);
+        ArrayList<Edge> chunk = own(c);
+        chunk.add(i - start[c], edge);
+        size++;
+        shift(c + 1, 1);
+        if (chunk.size() > CHUNK) {
+            split(c);
+        }
+    }
+
+    @Override
+    public Edge remove(int i) {
+        check(i);
+        int c = chunk(i);
+        ArrayList<Edge> chunk = own(c);
+        Edge edge = chunk.remove(i - start[c]);
+        size--;
+        if (chunk.isEmpty()) {
+            removeChunk(c);
+            shift(c, -1);
+        } else {
+            shift(c + 1, -1);
+        }
+        return edge;
+    }
+
+    // shift start position of chunks from c
+    void shift(int c, int n) {
+        for (int k = c; k < chunkList.size(); k++) {
+            start[k] += n;
+        }
+    }
+
+    // split chunk(c) in two halves
+    void split(int c) {
+        ArrayList<Edge> chunk = own(c);
+        int half = chunk.size() / 2;
+        List<Edge> sub = chunk.subList(half, chunk.size());
+        ArrayList<Edge> right = new ArrayList<>(CHUNK + 1);
+        right.addAll(sub);
+        sub.clear();
+        addChunk(c + 1, right, start[c] + half);
+    }
+
+    void addChunk(int c, ArrayList<Edge> chunk, int pos) {
+        int n = chunkList.size();
+        if (n + 1 > start.length) {
+            start = Arrays.copyOf(start, 2 * start.length);
+        }
+        System.arraycopy(start, c, start, c + 1, n - c);
+        start[c] = pos;
+        chunkList.add(c, chunk);
+        if (owned != null) {
+            owned.add(chunk);
+        }
+    }
+
+    void removeChunk(int c) {
+        int n = chunkList.size();
+        System.arraycopy(start, c + 1, start, c, n - c - 1);
+        ArrayList<Edge> chunk = chunkList.remove(c);
+        if (owned != null) {
+            owned.remove(chunk);
+        }
+        last = 0;
+    }
+
+    @Override
+    public void clear() {
+        init();
+    }
+
+    @Override
+    public void sort(Comparator<? super Edge> comparator) {
+        Edge[] array = toArray();
+        Arrays.sort(array, comparator);
+        rebuild(array);
+    }
+
+    @Override
+    public void parallelSort(Comparator<? super Edge> comparator) {
+        Edge[] array = toArray();
+        Arrays.parallelSort(array, comparator);
+        rebuild(array);
+    }
+
+    Edge[] toArray() {
+        Edge[] array = new Edge[size];
+        int i = 0;
+        for (ArrayList<Edge> chunk : chunkList) {
+            for (Edge edge : chunk) {
+                array[i++] = edge;
+            }
+        }
+        return array;
+    }
+
+    void rebuild(Edge[] array) {
+        init();
+        for (Edge edge : array) {
+            add(edge);
+        }
+    }
+
+    // chunks keep room for insertion
+    @Override
+    public void ensureCapacity(int n) {
+    }
+
+    @Override
+    public void trimToSize() {
+    }
+
+    @Override
+    public List<Edge> subList(int begin, int end) {
+        ArrayList<Edge> list = new ArrayList<>(end - begin);
+        for (int i = begin; i < end; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    @Override
+    public Iterator<Edge> iterator() {
+        return new Iterator<Edge>() {
+            int c = 0;
+            int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return c < chunkList.size() && i < chunkList.get(c).size();
+            }
+
+            @Override
+            public Edge next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ArrayList<Edge> chunk = chunkList.get(c);
+                Edge edge = chunk.get(i++);
+                if (i >= chunk.size()) {
+                    c++;
+                    i = 0;
+                }
+                return edge;
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return String.format("EdgeChunkList size: %s chunk: %s", size, nbChunk());
+    }
+
+}
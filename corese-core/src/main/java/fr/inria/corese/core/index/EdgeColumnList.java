@@ -0,0 +1,578 @@
+package fr.inria.corese.core.index;
+
+import static fr.inria.corese.core.index.EdgeManagerIndexer.IGRAPH;
+import fr.inria.corese.core.edge.EdgeGeneric;
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.sparql.triple.parser.AccessRight;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Edge list of a predicate stored as columns of node id
+ * subject, object and graph node id are given by graph NodeDictionary
+ * graph column is created only when edges are in several named graphs
+ * level and edge index columns are created only when a value is not the default
+ * Edge objects are not stored: they are created on demand as view of a line
+ * and iterator fill a buffer Edge (cf EdgeManagerIterate)
+ *
+ * Edge with metadata (rdf star reference node, tuple, provenance) are not
+ * accepted: EdgeManager switch back to EdgeArrayList when such an edge is
+ * inserted
+ *
+ * Columns are not shared between indexes: each index costs 8 bytes per edge
+ * (12 with graph column) whereas EdgeArrayList of index 1 and IGRAPH cost a
+ * 4 bytes pointer to the edge object of index 0 (24 to 32 bytes).
+ * Hence column store roughly halves edge index memory, nodes are unchanged.
+ *
+ */
+public class EdgeColumnList implements EdgeList {
+
+    private static final int INIT = 16;
+
+    private EdgeManager manager;
+    private NodeDictionary dictionary;
+    private int[] subject;
+    private int[] object;
+    // null when all edges have same graph
+    private int[] graph;
+    private int graphId = NodeDictionary.UNDEFINED;
+    // null when all edges have default level
+    private byte[] level;
+    // null when all edges have edge index -1
+    private int[] edgeIndex;
+    private int size = 0;
+
+    EdgeColumnList(EdgeManager manager) {
+        this(manager, INIT);
+    }
+
+    EdgeColumnList(EdgeManager manager, int n) {
+        this.manager = manager;
+        dictionary = manager.getGraph().getNodeDictionary();
+        subject = new int[Math.max(n, 1)];
+        object = new int[Math.max(n, 1)];
+    }
+
+    /**
+     * Return column list with edges of list
+     * return null if an edge cannot be stored in columns
+     */
+    static EdgeColumnList create(EdgeManager manager, EdgeList list) {
+        if (list.isColumn()) {
+            return ((EdgeColumnList) list).copy(manager);
+        }
+        EdgeColumnList col = new EdgeColumnList(manager, list.size());
+        for (Edge edge : list) {
+            if (!col.add(edge)) {
+                return null;
+            }
+        }
+        return col;
+    }
+
+    EdgeColumnList copy(EdgeManager manager) {
+        EdgeColumnList col = new EdgeColumnList(manager, 1);
+        col.subject = Arrays.copyOf(subject, Math.max(size, 1));
+        col.object = Arrays.copyOf(object, Math.max(size, 1));
+        col.graph = (graph == null) ? null : Arrays.copyOf(graph, Math.max(size, 1));
+        col.graphId = graphId;
+        col.level = (level == null) ? null : Arrays.copyOf(level, Math.max(size, 1));
+        col.edgeIndex = (edgeIndex == null) ? null : Arrays.copyOf(edgeIndex, Math.max(size, 1));
+        col.size = size;
+        return col;
+    }
+
+    /**
+     * Column list of manager that shares the columns of this list
+     * pragma: this list is not modified anymore (sorted list of a version)
+     */
+    EdgeColumnList share(EdgeManager manager) {
+        EdgeColumnList col = new EdgeColumnList(manager, 1);
+        col.setColumns(size, subject, object, graph, graphId, level, edgeIndex);
+        return col;
+    }
+
+    /**
+     * Set columns, use case: load columns from snapshot
+     * graph is null when all edges are in graph graphId
+     */
+    void setColumns(int size, int[] subject, int[] object, int[] graph, int graphId, byte[] level, int[] edgeIndex) {
+        this.size = size;
+        this.subject = subject;
+        this.object = object;
+        this.graph = graph;
+        this.graphId = graphId;
+        this.level = level;
+        this.edgeIndex = edgeIndex;
+    }
+
+    /**
+     * Copy edges into standard edge list
+     */
+    EdgeArrayList expand() {
+        EdgeArrayList list = new EdgeArrayList(size);
+        for (int i = 0; i < size; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    @Override
+    public boolean isColumn() {
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Edge with only subject object graph, without metadata
+     * nodes must be indexed in graph
+     */
+    @Override
+    public boolean accept(Edge edge) {
+        return acceptEdge(edge);
+    }
+
+    static boolean acceptEdge(Edge edge) {
+        return edge.nbNode() == 2
+                && !edge.isTripleNode()
+                && !edge.hasReferenceNode()
+                && edge.isAsserted()
+                && !edge.isCreated()
+                && edge.getProvenance() == null
+                && edge.getGraph() != null
+                && edge.getNode(0).getIndex() >= 0
+                && edge.getNode(1).getIndex() >= 0
+                && edge.getGraph().getIndex() >= 0;
+    }
+
+    Node getPredicate() {
+        return manager.getPredicate();
+    }
+
+    int subject(int i) {
+        return subject[i];
+    }
+
+    int object(int i) {
+        return object[i];
+    }
+
+    int getGraphId(int i) {
+        return (graph == null) ? graphId : graph[i];
+    }
+
+    // graph id of all edges when there is no graph column
+    int getGraphId() {
+        return graphId;
+    }
+
+    byte[] getLevel() {
+        return level;
+    }
+
+    int[] getEdgeIndex() {
+        return edgeIndex;
+    }
+
+    int getId(int i, int n) {
+        switch (n) {
+            case 0:
+                return subject(i);
+            case 1:
+                return object(i);
+            case IGRAPH:
+                return getGraphId(i);
+        }
+        return NodeDictionary.UNDEFINED;
+    }
+
+    @Override
+    public Node getNode(int i, int n) {
+        int id = getId(i, n);
+        if (id == NodeDictionary.UNDEFINED) {
+            return null;
+        }
+        return dictionary.getNode(id);
+    }
+
+    byte getLevel(int i) {
+        return (level == null) ? AccessRight.DEFAULT : level[i];
+    }
+
+    int getEdgeIndex(int i) {
+        return (edgeIndex == null) ? -1 : edgeIndex[i];
+    }
+
+    /**
+     * Create a new Edge view of line i
+     */
+    @Override
+    public Edge get(int i) {
+        checkIndex(i);
+        EdgeGeneric edge = EdgeGeneric.create(
+                dictionary.getNode(getGraphId(i)),
+                dictionary.getNode(subject(i)),
+                getPredicate(),
+                dictionary.getNode(object(i)));
+        edge.setLevel(getLevel(i));
+        edge.setEdgeIndex(getEdgeIndex(i));
+        return edge;
+    }
+
+    /**
+     * Fill buffer with line i, buffer predicate is set by caller
+     */
+    @Override
+    public Edge get(int i, EdgeGeneric buffer) {
+        buffer.setGraph(dictionary.getNode(getGraphId(i)));
+        buffer.setNode(0, dictionary.getNode(subject(i)));
+        buffer.setNode(1, dictionary.getNode(object(i)));
+        buffer.setEdgeIndex(getEdgeIndex(i));
+        buffer.setLevel(getLevel(i));
+        buffer.setProvenance(null);
+        return buffer;
+    }
+
+    void checkIndex(int i) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException(String.format("Index: %s Size: %s", i, size));
+        }
+    }
+
+    /**
+     * Return false if edge is not accepted
+     */
+    @Override
+    public boolean add(Edge edge) {
+        if (!accept(edge)) {
+            return false;
+        }
+        ensureCapacity(size + 1);
+        setLine(size++, edge);
+        return true;
+    }
+
+    /**
+     * pragma: accept(edge) is true
+     */
+    @Override
+    public void add(int i, Edge edge) {
+        if (i < 0 || i > size) {
+            throw new IndexOutOfBoundsException(String.format("Index: %s Size: %s", i, size));
+        }
+        ensureCapacity(size + 1);
+        shift(i, i + 1, size - i);
+        size++;
+        setLine(i, edge);
+    }
+
+    /**
+     * pragma: accept(edge) is true
+     */
+    @Override
+    public Edge set(int i, Edge edge) {
+        Edge old = get(i);
+        setLine(i, edge);
+        return old;
+    }
+
+    @Override
+    public Edge remove(int i) {
+        Edge old = get(i);
+        shift(i + 1, i, size - i - 1);
+        size--;
+        return old;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        graph = null;
+        graphId = NodeDictionary.UNDEFINED;
+        level = null;
+        edgeIndex = null;
+    }
+
+    void shift(int from, int to, int length) {
+        if (length <= 0) {
+            return;
+        }
+        System.arraycopy(subject, from, subject, to, length);
+        System.arraycopy(object, from, object, to, length);
+        if (graph != null) {
+            System.arraycopy(graph, from, graph, to, length);
+        }
+        if (level != null) {
+            System.arraycopy(level, from, level, to, length);
+        }
+        if (edgeIndex != null) {
+            System.arraycopy(edgeIndex, from, edgeIndex, to, length);
+        }
+    }
+
+    void copyLine(int from, int to) {
+        subject[to] = subject[from];
+        object[to] = object[from];
+        if (graph != null) {
+            graph[to] = graph[from];
+        }
+        if (level != null) {
+            level[to] = level[from];
+        }
+        if (edgeIndex != null) {
+            edgeIndex[to] = edgeIndex[from];
+        }
+    }
+
+    /**
+     * Remove duplicate lines of sorted columns (same subject object graph),
+     * first line is kept, and record node positions in nodeManager
+     * Return number of removed lines
+     */
+    int reduce(NodeManager nodeManager) {
+        int index = manager.getIndex();
+        int n = 0, begin = 0;
+        for (int i = 0; i < size; i++) {
+            if (n > 0 && subject(i) == subject(n - 1) && object(i) == object(n - 1)
+                    && getGraphId(i) == getGraphId(n - 1)) {
+                continue;
+            }
+            if (n > 0 && getId(i, index) != getId(n - 1, index)) {
+                nodeManager.add(dictionary.getNode(getId(n - 1, index)), getPredicate(), begin, n);
+                begin = n;
+            }
+            if (i != n) {
+                copyLine(i, n);
+            }
+            n++;
+        }
+        if (n > 0) {
+            nodeManager.add(dictionary.getNode(getId(n - 1, index)), getPredicate(), begin, n);
+        }
+        int count = size - n;
+        size = n;
+        return count;
+    }
+
+    void setLine(int i, Edge edge) {
+        subject[i] = dictionary.getCreateId(edge.getNode(0));
+        object[i] = dictionary.getCreateId(edge.getNode(1));
+        setGraph(i, dictionary.getCreateId(edge.getGraph()));
+        setLevel(i, edge.getLevel());
+        setEdgeIndex(i, edge.getEdgeIndex());
+    }
+
+    void setGraph(int i, int id) {
+        if (graph == null) {
+            if (graphId == NodeDictionary.UNDEFINED || (size == 1 && i == 0)) {
+                graphId = id;
+                return;
+            }
+            if (graphId == id) {
+                return;
+            }
+            // edges in several graphs: create graph column
+            graph = new int[subject.length];
+            Arrays.fill(graph, graphId);
+        }
+        graph[i] = id;
+    }
+
+    void setLevel(int i, byte b) {
+        if (level == null) {
+            if (b == AccessRight.DEFAULT) {
+                return;
+            }
+            level = new byte[subject.length];
+            Arrays.fill(level, AccessRight.DEFAULT);
+        }
+        level[i] = b;
+    }
+
+    void setEdgeIndex(int i, int n) {
+        if (edgeIndex == null) {
+            if (n == -1) {
+                return;
+            }
+            edgeIndex = new int[subject.length];
+            Arrays.fill(edgeIndex, -1);
+        }
+        edgeIndex[i] = n;
+    }
+
+    @Override
+    public void ensureCapacity(int n) {
+        if (n > subject.length) {
+            resize(Math.max(n, subject.length + (subject.length >> 1) + 1));
+        }
+    }
+
+    @Override
+    public void trimToSize() {
+        if (size < subject.length) {
+            resize(Math.max(size, 1));
+        }
+    }
+
+    void resize(int length) {
+        subject = Arrays.copyOf(subject, length);
+        object = Arrays.copyOf(object, length);
+        if (graph != null) {
+            graph = Arrays.copyOf(graph, length);
+        }
+        if (level != null) {
+            level = Arrays.copyOf(level, length);
+        }
+        if (edgeIndex != null) {
+            edgeIndex = Arrays.copyOf(edgeIndex, length);
+        }
+    }
+
+    /**
+     * Sort lines in the order of EdgeManager:
+     * index node, other node, next node, with sameTerm semantics
+     * comparator is not used: it is equivalent on edges without metadata
+     */
+    @Override
+    public void sort(Comparator<? super Edge> comparator) {
+        if (size < 2) {
+            return;
+        }
+        int[] perm = new int[size];
+        for (int i = 0; i < size; i++) {
+            perm[i] = i;
+        }
+        mergeSort(perm, new int[size], 0, size);
+        permute(perm);
+    }
+
+    void mergeSort(int[] perm, int[] tmp, int begin, int end) {
+        if (end - begin < 2) {
+            return;
+        }
+        int mid = (begin + end) >>> 1;
+        mergeSort(perm, tmp, begin, mid);
+        mergeSort(perm, tmp, mid, end);
+        if (compareLine(perm[mid - 1], perm[mid]) <= 0) {
+            // already sorted
+            return;
+        }
+        System.arraycopy(perm, begin, tmp, begin, end - begin);
+        int i = begin, j = mid, k = begin;
+        while (i < mid && j < end) {
+            if (compareLine(tmp[i], tmp[j]) <= 0) {
+                perm[k++] = tmp[i++];
+            } else {
+                perm[k++] = tmp[j++];
+            }
+        }
+        while (i < mid) {
+            perm[k++] = tmp[i++];
+        }
+        while (j < end) {
+            perm[k++] = tmp[j++];
+        }
+    }
+
+    int compareLine(int l1, int l2) {
+        int res = compareId(getId(l1, manager.getIndex()), getId(l2, manager.getIndex()));
+        if (res != 0) {
+            return res;
+        }
+        res = compareId(getId(l1, manager.getOther()), getId(l2, manager.getOther()));
+        if (res != 0) {
+            return res;
+        }
+        return compareId(getId(l1, manager.getNext()), getId(l2, manager.getNext()));
+    }
+
+    int compareId(int id1, int id2) {
+        if (id1 == id2) {
+            return 0;
+        }
+        return manager.compareNodeTerm(dictionary.getNode(id1), dictionary.getNode(id2));
+    }
+
+    void permute(int[] perm) {
+        subject = permute(subject, perm);
+        object = permute(object, perm);
+        if (graph != null) {
+            graph = permute(graph, perm);
+        }
+        if (edgeIndex != null) {
+            edgeIndex = permute(edgeIndex, perm);
+        }
+        if (level != null) {
+            byte[] res = new byte[level.length];
+            for (int i = 0; i < size; i++) {
+                res[i] = level[perm[i]];
+            }
+            level = res;
+        }
+    }
+
+    int[] permute(int[] col, int[] perm) {
+        int[] res = new int[col.length];
+        for (int i = 0; i < size; i++) {
+            res[i] = col[perm[i]];
+        }
+        return res;
+    }
+
+    @Override
+    public List<Edge> subList(int begin, int end) {
+        ArrayList<Edge> list = new ArrayList<>(end - begin);
+        for (int i = begin; i < end; i++) {
+            list.add(get(i));
+        }
+        return list;
+    }
+
+    @Override
+    public Iterator<Edge> iterator() {
+        return new Iterator<>() {
+            int i = 0;
+
+            @Override
+            public boolean hasNext() {
+                return i < size;
+            }
+
+            @Override
+            public Edge next() {
+                return get(i++);
+            }
+        };
+    }
+
+    /**
+     * Approximate memory size of columns in bytes
+     */
+    long byteSize() {
+        long n = 4L * (subject.length + object.length);
+        if (graph != null) {
+            n += 4L * graph.length;
+        }
+        if (edgeIndex != null) {
+            n += 4L * edgeIndex.length;
+        }
+        if (level != null) {
+            n += level.length;
+        }
+        return n;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[EdgeColumnList: %s size=%s]", getPredicate(), size);
+    }
+
+}
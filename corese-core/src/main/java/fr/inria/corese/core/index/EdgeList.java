@@ -0,0 +1,85 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.core.edge.EdgeGeneric;
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Storage of the edge list of a predicate in an EdgeManager
+ * Default storage is EdgeArrayList: ArrayList of Edge objects
+ * Alternative storage: EdgeColumnList: columns of int node id
+ * Alternative storage: EdgeChunkList: chunks of Edge for sorted insertion
+ * Edges are sorted by EdgeManager according to its comparator
+ *
+ */
+public interface EdgeList extends Iterable<Edge> {
+
+    int size();
+
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    Edge get(int i);
+
+    boolean add(Edge edge);
+
+    void add(int i, Edge edge);
+
+    Edge set(int i, Edge edge);
+
+    Edge remove(int i);
+
+    void clear();
+
+    void sort(Comparator<? super Edge> comparator);
+    
+    /**
+     * Sort large list using several threads
+     */
+    default void parallelSort(Comparator<? super Edge> comparator) {
+        sort(comparator);
+    }
+
+    void ensureCapacity(int n);
+
+    void trimToSize();
+
+    List<Edge> subList(int begin, int end);
+
+    /**
+     * Return nth node of edge at position i
+     * Column storage return node without creating Edge
+     */
+    default Node getNode(int i, int n) {
+        return get(i).getNode(n);
+    }
+
+    /**
+     * Return edge at position i
+     * When edge is internal (no predicate), fill buffer edge and return buffer
+     * buffer predicate is set by caller
+     */
+    default Edge get(int i, EdgeGeneric buffer) {
+        Edge edge = get(i);
+        if (edge.isInternal()) {
+            buffer.setGraph(edge.getGraph());
+            buffer.replicate(edge);
+            return buffer;
+        }
+        return edge;
+    }
+
+    /**
+     * true when edge can be stored in this list as is
+     */
+    default boolean accept(Edge edge) {
+        return true;
+    }
+
+    default boolean isColumn() {
+        return false;
+    }
+}
@@ -4,9 +4,8 @@ import fr.inria.corese.kgram.api.core.Node;
 import fr.inria.corese.core.Graph;
 import static fr.inria.corese.core.index.EdgeManagerIndexer.IGRAPH;
 import static fr.inria.corese.core.index.EdgeManagerIndexer.ILIST;
+import fr.inria.corese.core.edge.EdgeGeneric;
 import fr.inria.corese.core.util.Tool;
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
@@ -29,6 +28,11 @@ import fr.inria.corese.kgram.api.core.Edge;
  * integer/long/decimal and double and float have different node index
  * Nodes with same node index which are not sameTerm are kept in the list:
  * s p 01, 1, 1.0, '1'^^xsd:long, 1e1
+ * 
+ * Edge list is an EdgeArrayList of Edge objects
+ * When graph is in column store mode, edge list of a sorted index is
+ * compressed as an EdgeColumnList: columns of node id of graph NodeDictionary
+ * Edge objects are then created on demand when edges are iterated
  *
  * @author Olivier Corby, Wimmics INRIA I3S, 2017
  *
@@ -38,7 +42,7 @@ public class EdgeManager implements Iterable<Edge> {
     private EdgeManagerIndexer indexer;
     // Predicate of this EdgeManager: edges in this edge list have this predicate
     private Node predicate;
-    private ArrayList<Edge> edgeList;
+    private EdgeList edgeList;
     // comparator to sort edge list: g s p o t < g s p o
     private Comparator<Edge> comparatorIndex;
     // comparator to retrieve place of edge: g s p o t = g s p o
@@ -50,12 +54,15 @@ public class EdgeManager implements Iterable<Edge> {
     // index of third Node to sort
     private int next = IGRAPH;
     boolean indexedByNode = false;
+    // multi version mode: edge list is shared by versions of the graph
+    // published since generation, copy on write when one of them is live
+    private EdgeList version;
+    private int since = 0;
 
     EdgeManager(EdgeManagerIndexer indexer, Node p, int i) {
         graph = indexer.getGraph();
         this.indexer = indexer;        
         predicate = p;
-        edgeList = new ArrayList<>();
         index = i;
         if (index == 0) {
             other = 1;
@@ -63,13 +70,25 @@ public class EdgeManager implements Iterable<Edge> {
         else if (index == IGRAPH){
             next = 1;
         }
+        edgeList = createEdgeList();
+    }
+
+    /**
+     * Column store mode: edges of index 0 are stored in columns when they are
+     * loaded, edge objects created by the parser are not kept
+     */
+    EdgeList createEdgeList() {
+        if (getIndex() == 0 && isCompressible()) {
+            return new EdgeColumnList(this);
+        }
+        return new EdgeArrayList();
     }
     
     public Graph getGraph() {
         return graph;
     }
 
-    ArrayList<Edge> getList() {
+    EdgeList getList() {
         return getEdgeList();
     }
 
@@ -78,12 +97,27 @@ public class EdgeManager implements Iterable<Edge> {
     }
 
     void clear() {
-        getEdgeList().clear();
+        // versions may share the former list
+        modify(false);
+        edgeList = createEdgeList();
     }
 
     Edge get(int i) {
         return getEdgeList().get(i);
     }
+
+    /**
+     * Edge at position i for a comparison: column list fill the cursor
+     * instead of creating an edge
+     * pragma: edge is valid until next call with same cursor
+     */
+    Edge get(int i, EdgeGeneric cursor) {
+        return getEdgeList().get(i, cursor);
+    }
+
+    EdgeGeneric cursor() {
+        return new EdgeGeneric(getPredicate());
+    }
     
     int getIndex(){
         return index;
@@ -100,9 +134,17 @@ public class EdgeManager implements Iterable<Edge> {
      * In addition edges may be asserted or not
      * Remaining edge becomes asserted if one occurrence (with same g s p o) is asserted
      * Create NodeManager: node -> (predicate:position) 
+     * Return number of removed edges
      */
     int reduce(NodeManager nodeManager) {
-        ArrayList<Edge> reduceNodeList = new ArrayList<>();
+        if (isColumn()) {
+            // remove duplicate lines without creating edges
+            int count = ((EdgeColumnList) getEdgeList()).reduce(nodeManager);
+            getEdgeList().trimToSize();
+            return count;
+        }
+        expand();
+        EdgeArrayList reduceNodeList = new EdgeArrayList();
         Edge pred = null;
         int count = 0, ind = 0;
         int begin=0, end=0;
@@ -175,10 +217,8 @@ public class EdgeManager implements Iterable<Edge> {
         
         reduceNodeList.trimToSize();
         setEdgeList(reduceNodeList);
-        if (count > 0) {
-            graph.setSize(graph.size() - count);
-        }
         //System.out.println("after reduce: " + list);
+        // caller update graph size
         return count;
     }   
     
@@ -218,24 +258,24 @@ public class EdgeManager implements Iterable<Edge> {
      * with position of node in this edge list of predicate  
      */
     void indexNodeManager(NodeManager nodeManager) {
-        Edge pred = null;
+        Node pred = null;
         int begin = 0;
         int end = 0;
         
-        for (Edge edge : getEdgeList()) {
-            Node focus = edge.getNode(getIndex());
+        for (int i = 0; i < size(); i++) {
+            Node focus = getNode(i, getIndex());
             if (pred == null) {
                 // first edge
             } 
-            else if (focus != pred.getNode(getIndex())) {
-                nodeManager.add(pred.getNode(getIndex()), getPredicate(), begin, end);
+            else if (focus != pred) {
+                nodeManager.add(pred, getPredicate(), begin, end);
                 begin = end;
             }
             end++;
-            pred = edge;
+            pred = focus;
         }
         if (pred!=null) {
-            nodeManager.add(pred.getNode(getIndex()), getPredicate(), begin, size());
+            nodeManager.add(pred, getPredicate(), begin, size());
         }
     }
     
@@ -244,7 +284,10 @@ public class EdgeManager implements Iterable<Edge> {
      */
     
     void compact() {
-        if (graph.isMetadata() || graph.isRDFStar()) {
+        if (isColumn()) {
+            // column store edges are already compact
+        }
+        else if (graph.isMetadata() || graph.isRDFStar()) {
             doCompactMetadata();
         }
         else {
@@ -260,7 +303,7 @@ public class EdgeManager implements Iterable<Edge> {
     }
     
     void doCompact(){
-        ArrayList<Edge> l = new ArrayList<>(getEdgeList().size());
+        EdgeArrayList l = new EdgeArrayList(getEdgeList().size());
         for (Edge ent : getEdgeList()) {
            Edge ee = getGraph().getEdgeFactory().compact(ent);
            l.add(ee);
@@ -272,43 +315,213 @@ public class EdgeManager implements Iterable<Edge> {
      * Main function that sort Index edge list
      */ 
     void sort() {
-        Collections.sort(getEdgeList(), getComparatorIndex());
+        modify();
+        getEdgeList().sort(getComparatorIndex());
+    }
+    
+    void parallelSort() {
+        modify();
+        getEdgeList().parallelSort(getComparatorIndex());
+    }
+    
+    /**
+     * Column store mode: 
+     * replace edge list by column list when all edges can be stored in columns
+     */
+    void compress() {
+        if (isColumn() || ! isCompressible()) {
+            return;
+        }
+        EdgeColumnList list = EdgeColumnList.create(this, getEdgeList());
+        if (list != null) {
+            list.trimToSize();
+            setEdgeList(list);
+        }
+    }
+    
+    boolean isCompressible() {
+        return getGraph().isColumnStore() 
+                && getIndex() != ILIST
+                && ! getGraph().isMetadata() 
+                && ! getGraph().isRDFStar()
+                && ! getGraph().isTuple();
+    }
+    
+    /**
+     * Replace column list by standard edge list
+     */
+    void expand() {
+        if (isColumn()) {
+            setEdgeList(((EdgeColumnList) getEdgeList()).expand());
+        }
+    }
+    
+    boolean isColumn() {
+        return getEdgeList().isColumn();
+    }
+    
+    /**
+     * Approximate memory size of edge list in bytes
+     * edge object of index 0: header, level and flags, node pointers
+     * other index share edge objects of index 0: count pointer only
+     * column list: each index has its own columns (cf EdgeColumnList)
+     */
+    long byteSize() {
+        if (isColumn()) {
+            return ((EdgeColumnList) getEdgeList()).byteSize();
+        }
+        long size = 0;
+        for (int i = 0; i < size(); i++) {
+            size += 4;
+            if (getIndex() == 0) {
+                Edge edge = get(i);
+                size += (edge.getGraph() == getGraph().getNodeDefault()) ? 24 : 32;
+            }
+        }
+        return size;
+    }
+    
+    // edge list may store edge
+    // column list switch to standard list when edge has metadata 
+    EdgeList checkEdgeList(Edge edge) {
+        if (! getEdgeList().accept(edge)) {
+            expand();
+        }
+        return getEdgeList();
     }
 
     /**
      * Copy Index(0) into this index
      */
     void copy(EdgeManager el) {
+        if (el.isColumn() && isCompressible() && getIndex() < 2 && size() == 0) {
+            // copy columns
+            setEdgeList(((EdgeColumnList) el.getEdgeList()).copy(this));
+            return;
+        }
         getEdgeList().ensureCapacity(el.size());
         if (getIndex() < 2) {
             // we are sure that there are at least 2 nodes
-            getEdgeList().addAll(el.getList());
+            for (Edge ent : el.getList()) {
+                add(ent);
+            }
         } else {
             for (Edge ent : el) {
                 // if additional node is missing: do not index this edge
                 if (ent.nbNode() > getIndex()) {
-                    getEdgeList().add(ent);
+                    add(ent);
                 }
             }
         }
     }
 
     void add(Edge ent) {
-        getEdgeList().add(ent);
+        modify();
+        checkEdgeList(ent).add(ent);
     }
 
+    // sorted insertion at position i
     void add(int i, Edge ent) {
-        getEdgeList().add(i, ent);
+        modify();
+        checkChunk(checkEdgeList(ent)).add(i, ent);
+    }
+    
+    /**
+     * Chunk store mode: large edge list switch to chunk list 
+     * where sorted insertion does not shift the whole list
+     */
+    EdgeList checkChunk(EdgeList list) {
+        if (getGraph().isChunkStore() && list instanceof EdgeArrayList 
+                && list.size() >= EdgeChunkList.CHUNK) {
+            setEdgeList(new EdgeChunkList(list));
+            return getEdgeList();
+        }
+        return list;
     }
     
     void set(int i, Edge ent) {
-        getEdgeList().set(i, ent);
+        modify();
+        checkEdgeList(ent).set(i, ent);
     }
 
     Edge remove(int i) {
-        Edge ent = getEdgeList().get(i);
-        getEdgeList().remove(i);
-        return ent;
+        modify();
+        return getEdgeList().remove(i);
+    }
+
+    /**
+     * Edge list is modified in place
+     */
+    void modify() {
+        modify(true);
+    }
+
+    /**
+     * Multi version mode: edge list is modified
+     * copy on write: when the list is shared with a live version of the graph,
+     * the version keeps the list and this manager modifies a copy
+     * copy=false: caller replaces the list
+     */
+    void modify(boolean copy) {
+        getGraph().modified();
+        GraphVersion gv = getGraph().getGraphVersion();
+        if (version != null) {
+            if (copy && gv != null && gv.isLive(since)) {
+                edgeList = copyEdgeList();
+            }
+            version = null;
+        }
+        if (gv != null) {
+            gv.modify();
+        }
+    }
+
+    /**
+     * Multi version mode: return edge list for a version of the graph
+     * The list is shared (without copy) by the successive versions published
+     * as long as this edge list is not modified
+     */
+    EdgeList version(int generation) {
+        if (version == null) {
+            version = getEdgeList();
+            since = generation;
+        }
+        return version;
+    }
+
+    /**
+     * Multi version mode: take the sorted edge list of em, manager of the same
+     * predicate and index in the previous version
+     * pragma: index 0 edge list has not been modified since previous version,
+     * edge lists of versions are not modified
+     */
+    void share(EdgeManager em) {
+        EdgeList list = em.getEdgeList();
+        edgeList = list.isColumn() ? ((EdgeColumnList) list).share(this) : list;
+    }
+
+    /**
+     * Edge list shared with versions, null when modified since last version
+     */
+    EdgeList getVersion() {
+        return version;
+    }
+
+    /**
+     * Copy on write of a version edge list
+     * Large list is copied once as a chunk list, next copies share the chunks
+     * that are not modified
+     */
+    EdgeList copyEdgeList() {
+        EdgeList list = getEdgeList();
+        if (list.isColumn()) {
+            return ((EdgeColumnList) list).copy(this);
+        } else if (list instanceof EdgeChunkList) {
+            return ((EdgeChunkList) list).share();
+        } else if (list.size() < EdgeChunkList.CHUNK) {
+            return new EdgeArrayList((EdgeArrayList) list);
+        }
+        return new EdgeChunkList(list);
     }
 
     /**
@@ -317,7 +530,9 @@ public class EdgeManager implements Iterable<Edge> {
      */
     void add(List<Edge> l) {
         getEdgeList().ensureCapacity(l.size() + getEdgeList().size());
-        getEdgeList().addAll(l);
+        for (Edge ent : l) {
+            add(ent);
+        }
     }
     
     // pragma: node is bound
@@ -410,7 +625,7 @@ public class EdgeManager implements Iterable<Edge> {
      * Place of edge in this Index, e.g. to insert edge
      */
     int find(Edge edge) {
-        return basicFind(getComparatorIndex(), edge, 0, getEdgeList().size());
+        return basicFind(getComparatorIndex(), edge, 0, getEdgeList().size(), cursor());
     }
 
     /**
@@ -433,11 +648,12 @@ public class EdgeManager implements Iterable<Edge> {
      * Find index of edge If not found, return -1
      */
     int findEdgeEqualWithoutMetadata(Edge edge) {
-        int i = basicFind(getComparatorEqualWithoutMetadata(), edge, 0, getEdgeList().size());
+        EdgeGeneric cursor = cursor();
+        int i = basicFind(getComparatorEqualWithoutMetadata(), edge, 0, getEdgeList().size(), cursor);
         if (i >= size()) {
             return -1;
         }
-        int res = getComparatorEqualWithoutMetadata().compare(edge, getEdgeList().get(i));
+        int res = getComparatorEqualWithoutMetadata().compare(edge, get(i, cursor));
         if (res == 0) {
             return i;
         }
@@ -450,16 +666,16 @@ public class EdgeManager implements Iterable<Edge> {
      * sort Index:     g s p o t < g s p o
      * retrieve Edge:  g s p o t = g s p o
      */
-    int basicFind(Comparator<Edge> comp, Edge edge, int first, int last) {
+    int basicFind(Comparator<Edge> comp, Edge edge, int first, int last, EdgeGeneric cursor) {
         if (first >= last) {
             return first;
         } else {
             int mid = (first + last) / 2;
-            int res = comp.compare(getEdgeList().get(mid), edge);
+            int res = comp.compare(get(mid, cursor), edge);
             if (res >= 0) {
-                return basicFind(comp, edge, first, mid);
+                return basicFind(comp, edge, first, mid, cursor);
             } else {
-                return basicFind(comp, edge, mid + 1, last);
+                return basicFind(comp, edge, mid + 1, last, cursor);
             }
         }
     }
@@ -505,7 +721,7 @@ public class EdgeManager implements Iterable<Edge> {
             return first;
         } else {
             int mid = (first + last) / 2;
-            if (compareNodeTerm(getEdgeList().get(mid), n1, n2) >= 0) {
+            if (compareNodeTerm(mid, n1, n2) >= 0) {
                 return findEdgeNodeTerm(n1, n2, first, mid);
             } else {
                 return findEdgeNodeTerm(n1, n2, mid + 1, last);
@@ -592,6 +808,15 @@ public class EdgeManager implements Iterable<Edge> {
         }
         return res;
     }
+    
+    // compare nodes of edge at position i
+    int compareNodeTerm(int i, Node n1, Node n2) {
+        int res = compareNodeTerm(getNode(i, getIndex()), n1);
+        if (res == 0) {
+            res = compareNodeTerm(getNode(i, getOther()), n2);
+        }
+        return res;
+    }
 
     /**
      * n1 n2 are node.getIndex()
@@ -662,14 +887,12 @@ public class EdgeManager implements Iterable<Edge> {
 
     // getNode(IGRAPH) must return getGraph()
     int getNodeIndex(int i, int n) {
-        Edge ent = getEdgeList().get(i);
-        return ent.getNode(n).getIndex();
+        return getNode(i, n).getIndex();
     }
     
     // getNode(IGRAPH) must return getGraph()
     Node getNode(int i, int n) {
-        Edge ent = getEdgeList().get(i);
-        return ent.getNode(n);
+        return getEdgeList().getNode(i, n);
     }
     
 
@@ -872,11 +1095,12 @@ public class EdgeManager implements Iterable<Edge> {
 
     }
 
-    public ArrayList<Edge> getEdgeList() {
+    public EdgeList getEdgeList() {
         return edgeList;
     }
 
-    public void setEdgeList(ArrayList<Edge> edgeList) {
+    public void setEdgeList(EdgeList edgeList) {
+        modify(false);
         this.edgeList = edgeList;
     }
 
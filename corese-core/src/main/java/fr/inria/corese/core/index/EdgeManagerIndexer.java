@@ -16,6 +16,7 @@ import fr.inria.corese.core.Serializer;
 import fr.inria.corese.core.index.PredicateList.Cursor;
 import fr.inria.corese.core.util.Property;
 import java.util.HashMap;
+import java.util.Map;
 import fr.inria.corese.kgram.api.core.Edge;
 import fr.inria.corese.sparql.triple.parser.AccessRight;
 
@@ -74,6 +75,8 @@ public class EdgeManagerIndexer
     // Property Node -> Edge List 
     HashMap<Node, EdgeManager> table;
     private NodeManager nodeManager;
+    // parallel index: duration of index phases
+    private Map<String, Long> indexTime;
     //TransitiveEdgeManager transitiveManager;
     private boolean debug = false;
 
@@ -286,6 +289,9 @@ public class EdgeManagerIndexer
         }
         table.clear();
         getNodeManager().clear();
+        if (getGraph().getGraphVersion() != null) {
+            getGraph().getGraphVersion().modify();
+        }
     }
 
     @Override
@@ -608,7 +614,7 @@ public class EdgeManagerIndexer
     /**
      * Create and store an empty list if needed
      */
-    private EdgeManager define(Node predicate) {
+    EdgeManager define(Node predicate) {
         EdgeManager list = get(predicate);
         if (list == null) {
             list = new EdgeManager(this, predicate, index);
@@ -648,6 +654,10 @@ public class EdgeManagerIndexer
     }
 
     void index(boolean reduce) {
+        if (getGraph().isParallelIndex()) {
+            new ParallelIndex(this).index(reduce);
+            return;
+        }
         for (Node pred : getProperties()) {
             basicIndex(pred);
         }
@@ -663,8 +673,11 @@ public class EdgeManagerIndexer
     @Override
     public void indexNodeManager() {
         getNodeManager().start();
-        for (Node pred : getSortedProperties()) {
-            checkGet(pred).indexNodeManager(getNodeManager());
+        if (getNodeManager().isAvailable()) {
+            // otherwise NodeManager records nothing
+            for (Node pred : getSortedProperties()) {
+                checkGet(pred).indexNodeManager(getNodeManager());
+            }
         }
         getNodeManager().finish();
     }
@@ -691,7 +704,7 @@ public class EdgeManagerIndexer
      * eliminate duplicate edges
      * index NodeManager
      */
-    private void reduce() {
+    void reduce() {
         if (TRACE_REDUCE) {
             System.out.println("before reduce:\n" + getGraph().display());
         }
@@ -706,7 +719,57 @@ public class EdgeManagerIndexer
     }
 
     private void reduce(Node pred) {
-        get(pred).reduce(getNodeManager());       
+        int n = reduce(pred, getNodeManager());
+        if (n > 0) {
+            getGraph().setSize(getGraph().size() - n);
+        }
+    }
+    
+    /**
+     * Reduce edge list of pred and record node positions in nodeManager
+     * Return number of removed edges
+     * Distinct predicates may be reduced in parallel (cf ParallelIndex)
+     */
+    int reduce(Node pred, NodeManager nodeManager) {
+        EdgeManager el = get(pred);
+        int n = el.reduce(nodeManager);
+        el.compress();
+        return n;
+    }
+    
+    /**
+     * Column store mode: compress sorted edge lists as columns of node id
+     * Index(1) and IGRAPH are compressed when they are built (cf synCheckGet)
+     */
+    public void compress() {
+        for (Node pred : getProperties()) {
+            EdgeManager el = get(pred);
+            if (index == 0 || el.size() > 0) {
+                el.compress();
+            }
+        }
+    }
+    
+    /**
+     * Switch back to edge lists of Edge objects
+     */
+    public void expand() {
+        for (Node pred : getProperties()) {
+            get(pred).expand();
+        }
+    }
+    
+    /**
+     * Approximate number of bytes of the edge lists of this index
+     * Edge objects count for their list pointer and their fields
+     * (shared objects are counted once per index)
+     */
+    public long byteSize() {
+        long size = 0;
+        for (Node pred : getProperties()) {
+            size += get(pred).byteSize();
+        }
+        return size;
     }
     
     @Override
@@ -756,6 +819,7 @@ public class EdgeManagerIndexer
                 EdgeManager std = (EdgeManager) getGraph().getIndex().get(pred);
                 list.copy(std);
                 list.sort();
+                list.compress();
             }
             return list;
         }
@@ -814,6 +878,18 @@ public class EdgeManagerIndexer
         return man.getEdgeList().subList(cursor.getBegin(), cursor.getEnd());
     }
 
+    /**
+     * Split iterator of a whole edge list into ranges of about size edges
+     * Return null when it cannot be split
+     * use case: morsel driven parallel evaluation
+     */
+    public static List<Iterable<Edge>> split(Iterable<Edge> it, int size) {
+        if (it instanceof EdgeManagerIterate) {
+            return ((EdgeManagerIterate) it).split(size);
+        }
+        return null;
+    }
+
     /**
      * Return iterator of Edge with possibly node as element
      */
@@ -957,7 +1033,7 @@ public class EdgeManagerIndexer
                 remove(list, i);
             }
             
-            logDelete(target);
+            logDelete(pred, target);
             return target;
         } 
         
@@ -997,6 +1073,19 @@ public class EdgeManagerIndexer
         return getGraph().onInsert(ent);
     }
 
+    /**
+     * Compact edge has no predicate: listeners get a copy with predicate
+     */
+    void logDelete(Node pred, Edge ent) {
+        if (getIndex() == 0 && getGraph().getListenerList() != null
+                && ent.getEdgeNode() == null) {
+            recordUpdate(true);
+            getGraph().logDelete(getGraph().getEdgeFactory().copy(ent.getGraph(), pred, ent));
+        } else {
+            logDelete(ent);
+        }
+    }
+
     void logDelete(Edge ent) {
         if (ent != null) {
             recordUpdate(true);
@@ -1033,7 +1122,7 @@ public class EdgeManagerIndexer
     void logClear() {
         for (Node node : getSortedProperties()) {
             for (Edge ent : get(node)) {
-                logDelete(ent);
+                logDelete(node, ent);
             }
         }
     }
@@ -1167,6 +1256,17 @@ public class EdgeManagerIndexer
     }
     
 
+    /**
+     * Duration (ms) of phases of last parallel index: sort, reduce, merge, build
+     */
+    public Map<String, Long> getIndexTime() {
+        return indexTime;
+    }
+
+    void setIndexTime(Map<String, Long> indexTime) {
+        this.indexTime = indexTime;
+    }
+
     public void setNodeManager(NodeManager nodeManager) {
         this.nodeManager = nodeManager;
     }
@@ -1,7 +1,9 @@
 package fr.inria.corese.core.index;
 
 import fr.inria.corese.core.edge.EdgeGeneric;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import fr.inria.corese.kgram.api.core.Edge;
 
 /**
@@ -22,6 +24,8 @@ class EdgeManagerIterate implements Iterable<Edge>, Iterator<Edge> {
     // use case: subject and object are known
     int objectNodeIndex=-1;
     int ind, start = 0;
+    // end of range (see split)
+    int end = Integer.MAX_VALUE;
     boolean isList = true;
     EdgeGeneric buffer;
 
@@ -42,6 +46,39 @@ class EdgeManagerIterate implements Iterable<Edge>, Iterator<Edge> {
        this.objectNodeIndex = objectNodeIndex;
     }
 
+    /**
+     * Split iteration of the whole edge list into ranges of about size edges
+     * that can be iterated concurrently, edges are not copied
+     * A range does not start inside a run of edges with same subject and
+     * object because DataProducer eliminates successive duplicates
+     * Return null when iteration is focused on a node
+     */
+    List<Iterable<Edge>> split(int size) {
+        if (!isList) {
+            return null;
+        }
+        ArrayList<Iterable<Edge>> res = new ArrayList<>();
+        int length = list.size();
+        for (int begin = 0; begin < length;) {
+            int last = Math.min(begin + Math.max(size, 1), length);
+            while (last < length && same(last - 1, last)) {
+                last++;
+            }
+            // range [begin, last[
+            EdgeManagerIterate it = new EdgeManagerIterate(list);
+            it.start = begin;
+            it.end = last;
+            res.add(it);
+            begin = last;
+        }
+        return res;
+    }
+
+    boolean same(int i, int j) {
+        return list.getNodeIndex(i, 0) == list.getNodeIndex(j, 0)
+                && list.getNodeIndex(i, 1) == list.getNodeIndex(j, 1);
+    }
+
     @Override
     public Iterator<Edge> iterator() {
         ind = start;
@@ -50,17 +87,17 @@ class EdgeManagerIterate implements Iterable<Edge>, Iterator<Edge> {
     
     // return node index of focus node at nth position in edge list
     int getFocusNodeIndex(int n) {
-        return list.get(n).getNode(list.getIndex()).getIndex();
+        return list.getNode(n, list.getIndex()).getIndex();
     }
     
     // return node index of object node at nth position in edge list
     int getObjectNodeIndex(int n) {
-        return list.get(n).getNode(1).getIndex();
+        return list.getNode(n, 1).getIndex();
     }
 
     @Override
     public boolean hasNext() {
-        boolean b = ind < list.size()
+        boolean b = ind < list.size() && ind < end
                 && (isList || getFocusNodeIndex(ind) == focusNodeIndex);
         if (b && objectNodeIndex!=-1) {
             b &= getObjectNodeIndex(ind) == objectNodeIndex;
@@ -68,22 +105,12 @@ class EdgeManagerIterate implements Iterable<Edge>, Iterator<Edge> {
         return b;
     }
 
-    @Override
-    public Edge next() {
-        Edge ent = list.get(ind++);
-        if (ent.isInternal()) { 
-            fill(buffer, ent);
-            return buffer;
-        }
-        return ent;
-    }
-    
     /**
-     * Fill buffer Edge from internal ent
+     * Internal edge and column list edge are copied into buffer
      */
-    void fill(EdgeGeneric buf, Edge ent) {
-        buf.setGraph(ent.getGraph());
-        buf.replicate(ent);
+    @Override
+    public Edge next() {
+        return list.getEdgeList().get(ind++, buffer);
     }
 
 
@@ -0,0 +1,190 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.sparql.triple.parser.AccessRight;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.Comparator;
+
+/**
+ * Column edge list whose columns (subject, object, graph, edge index, level)
+ * are read from a memory mapped snapshot file (cf GraphSnapshot)
+ * Pages of the file are loaded by the system when they are accessed
+ * The list is read only: first update copy the columns in memory
+ * and the list behaves as a standard EdgeColumnList afterwards
+ *
+ */
+class EdgeMappedList extends EdgeColumnList {
+
+    private IntBuffer subjectBuffer;
+    private IntBuffer objectBuffer;
+    // null when all edges are in same graph
+    private IntBuffer graphBuffer;
+    // null when all edges have edge index -1
+    private IntBuffer edgeIndexBuffer;
+    // null when all edges have default level
+    private ByteBuffer levelBuffer;
+    private boolean mapped = true;
+
+    EdgeMappedList(EdgeManager manager, int size, IntBuffer subject, IntBuffer object,
+            IntBuffer graph, int graphId, IntBuffer edgeIndex, ByteBuffer level) {
+        super(manager, 1);
+        subjectBuffer = subject;
+        objectBuffer = object;
+        graphBuffer = graph;
+        edgeIndexBuffer = edgeIndex;
+        levelBuffer = level;
+        setColumns(size, new int[1], new int[1], null, graphId, null, null);
+    }
+
+    boolean isMapped() {
+        return mapped;
+    }
+
+    @Override
+    int subject(int i) {
+        return mapped ? subjectBuffer.get(i) : super.subject(i);
+    }
+
+    @Override
+    int object(int i) {
+        return mapped ? objectBuffer.get(i) : super.object(i);
+    }
+
+    @Override
+    int getGraphId(int i) {
+        if (mapped && graphBuffer != null) {
+            return graphBuffer.get(i);
+        }
+        return super.getGraphId(i);
+    }
+
+    @Override
+    byte getLevel(int i) {
+        if (mapped) {
+            return (levelBuffer == null) ? AccessRight.DEFAULT : levelBuffer.get(i);
+        }
+        return super.getLevel(i);
+    }
+
+    @Override
+    int getEdgeIndex(int i) {
+        if (mapped) {
+            return (edgeIndexBuffer == null) ? -1 : edgeIndexBuffer.get(i);
+        }
+        return super.getEdgeIndex(i);
+    }
+
+    /**
+     * Copy mapped columns in memory before update
+     */
+    void load() {
+        if (!mapped) {
+            return;
+        }
+        int n = size();
+        int[] subject = new int[Math.max(n, 1)];
+        int[] object = new int[Math.max(n, 1)];
+        subjectBuffer.duplicate().get(subject, 0, n);
+        objectBuffer.duplicate().get(object, 0, n);
+        int[] graph = null;
+        if (graphBuffer != null) {
+            graph = new int[Math.max(n, 1)];
+            graphBuffer.duplicate().get(graph, 0, n);
+        }
+        int[] edgeIndex = null;
+        if (edgeIndexBuffer != null) {
+            edgeIndex = new int[Math.max(n, 1)];
+            edgeIndexBuffer.duplicate().get(edgeIndex, 0, n);
+        }
+        byte[] level = null;
+        if (levelBuffer != null) {
+            level = new byte[Math.max(n, 1)];
+            levelBuffer.duplicate().get(level, 0, n);
+        }
+        setColumns(n, subject, object, graph, getGraphId(), level, edgeIndex);
+        subjectBuffer = null;
+        objectBuffer = null;
+        graphBuffer = null;
+        edgeIndexBuffer = null;
+        levelBuffer = null;
+        mapped = false;
+    }
+
+    /**
+     * Copy of mapped list shares the read only buffers of the file
+     */
+    @Override
+    EdgeColumnList copy(EdgeManager manager) {
+        if (!mapped) {
+            return super.copy(manager);
+        }
+        return new EdgeMappedList(manager, size(), subjectBuffer.duplicate(), objectBuffer.duplicate(),
+                (graphBuffer == null) ? null : graphBuffer.duplicate(), getGraphId(),
+                (edgeIndexBuffer == null) ? null : edgeIndexBuffer.duplicate(),
+                (levelBuffer == null) ? null : levelBuffer.duplicate());
+    }
+
+    @Override
+    public boolean add(Edge edge) {
+        load();
+        return super.add(edge);
+    }
+
+    @Override
+    public void add(int i, Edge edge) {
+        load();
+        super.add(i, edge);
+    }
+
+    @Override
+    public Edge set(int i, Edge edge) {
+        load();
+        return super.set(i, edge);
+    }
+
+    @Override
+    public Edge remove(int i) {
+        load();
+        return super.remove(i);
+    }
+
+    @Override
+    public void clear() {
+        load();
+        super.clear();
+    }
+
+    @Override
+    public void sort(Comparator<? super Edge> comparator) {
+        load();
+        super.sort(comparator);
+    }
+
+    @Override
+    public void ensureCapacity(int n) {
+        load();
+        super.ensureCapacity(n);
+    }
+
+    @Override
+    public void trimToSize() {
+        if (!mapped) {
+            super.trimToSize();
+        }
+    }
+
+    /**
+     * Mapped columns are not in the heap
+     */
+    @Override
+    long byteSize() {
+        return mapped ? 0 : super.byteSize();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("[EdgeMappedList: %s size=%s mapped=%s]", getPredicate(), size(), mapped);
+    }
+
+}
@@ -0,0 +1,813 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.core.Graph;
+import fr.inria.corese.core.api.GraphListener;
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.core.Mappings;
+import fr.inria.corese.kgram.core.Query;
+import fr.inria.corese.sparql.api.IDatatype;
+import fr.inria.corese.sparql.datatype.DatatypeMap;
+import fr.inria.corese.sparql.triple.parser.AccessRight;
+import java.io.ByteArrayOutputStream;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Binary snapshot of an indexed graph for fast restart
+ *
+ * header:    magic version nbNode graphSize maxIndex nodeSize
+ * nodes:     role index kind label [datatype lang]
+ * offsets:   position of node records
+ * labels:    nbEntry (hash id)*  label index of nodes created on demand
+ * eager:     nbEager id*         nodes created at open
+ * directory: for each index (0, 1, IGRAPH), for each predicate:
+ *            index predicate size graphId flags offset
+ * columns:   for each index, for each predicate:
+ *            subject object [graph] [edgeIndex] [level]
+ *
+ * Nodes are numbered in the order of their graph node index.
+ * Open is lazy: nodes, columns and labels are opened with FileChannel.map,
+ * pages are read when accessed. Uri and blank nodes that are only
+ * subject/object are created on demand with their former index, hence edge
+ * lists remain sorted (cf SnapshotNodes). Edge lists are read only until
+ * they are updated (cf EdgeMappedList).
+ * NodeManager of subject index is not available, it would create all
+ * subject nodes: graph.tuneNodeManager(true) computes it.
+ * Updates of an opened snapshot may be recorded in a delta file
+ * replayed at next open.
+ * Graph with rdf star triples, tuples or provenance cannot be saved.
+ *
+ */
+public class GraphSnapshot {
+
+    private static Logger logger = LoggerFactory.getLogger(GraphSnapshot.class);
+    static final Cleaner CLEANER = Cleaner.create();
+    static final int MAGIC = 0x4B47534E;
+    static final int VERSION = 2;
+    // magic version nbNode graphSize maxIndex nodeSize
+    static final int HEADER = 5 * 4 + 8;
+    public static final String DELTA = ".delta";
+    static final int[] INDEX = {0, 1, Graph.IGRAPH};
+
+    // node kind
+    static final byte URI = 0;
+    static final byte BLANK = 1;
+    static final byte LITERAL = 2;
+    // node role
+    static final byte NODE = 1;
+    static final byte PROPERTY = 2;
+    static final byte GRAPH = 4;
+    // column flags
+    static final byte HAS_GRAPH = 1;
+    static final byte HAS_LEVEL = 2;
+    static final byte HAS_EDGE_INDEX = 4;
+    // delta operation
+    static final byte INSERT = 1;
+    static final byte DELETE = 2;
+
+    // size of a directory entry: index predicate size graphId flags offset
+    static final int ENTRY = 4 + 4 + 4 + 4 + 1 + 8;
+
+    private Graph graph;
+    private NodeDictionary dictionary;
+    private boolean sorted = true;
+
+    public GraphSnapshot(Graph g) {
+        graph = g;
+    }
+
+    /**
+     * Open snapshot in a new graph
+     */
+    public static Graph open(String path) throws IOException {
+        return open(path, false);
+    }
+
+    /**
+     * delta = true: replay delta file if any and record further updates
+     * in delta file
+     */
+    public static Graph open(String path, boolean delta) throws IOException {
+        Graph g = Graph.create();
+        GraphSnapshot snap = new GraphSnapshot(g);
+        snap.read(path);
+        if (delta) {
+            snap.replay(path + DELTA);
+            Delta listener = new Delta(path + DELTA);
+            g.addListener(listener);
+            // graph is not closed: close delta when graph is garbage collected
+            CLEANER.register(g, listener::release);
+        }
+        return g;
+    }
+
+    /*************************************************************
+     *
+     * Write
+     *
+     *************************************************************/
+
+    public void write(String path) throws IOException {
+        // sort and reduce edge lists
+        graph.prepare();
+        IdentityHashMap<Node, Byte> role = roles();
+        List<Node> nodeList = nodes(role);
+        dictionary = new NodeDictionary();
+        for (Node node : nodeList) {
+            dictionary.create(node);
+        }
+
+        try (FileOutputStream file = new FileOutputStream(path)) {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 1 << 16));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(nodeList.size());
+            out.writeInt(graph.size());
+            out.writeInt(nodeList.isEmpty() ? -1 : nodeList.get(nodeList.size() - 1).getIndex());
+            // size of nodes, written at the end
+            out.writeLong(0);
+            long[] offset = writeNodes(out, nodeList, role);
+            for (int i = 0; i < nodeList.size(); i++) {
+                out.writeLong(offset[i]);
+            }
+            writeLabels(out, nodeList, role);
+            out.flush();
+            writeIndex(out, file.getChannel().position());
+            out.flush();
+            ByteBuffer size = ByteBuffer.allocate(8).putLong(0, offset[nodeList.size()]);
+            file.getChannel().write(size, HEADER - 8);
+        }
+        resetDelta(path + DELTA);
+    }
+
+    /**
+     * Return position of node records, last one is the size of nodes
+     */
+    long[] writeNodes(DataOutputStream out, List<Node> nodeList, IdentityHashMap<Node, Byte> role) throws IOException {
+        long[] offset = new long[nodeList.size() + 1];
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream rec = new DataOutputStream(bytes);
+        long pos = 0;
+        int i = 0;
+        for (Node node : nodeList) {
+            offset[i++] = pos;
+            bytes.reset();
+            writeNode(rec, node, role.get(node));
+            rec.flush();
+            bytes.writeTo(out);
+            pos += bytes.size();
+        }
+        offset[i] = pos;
+        return offset;
+    }
+
+    /**
+     * Label index of nodes created on demand, list of nodes created at open
+     */
+    void writeLabels(DataOutputStream out, List<Node> nodeList, IdentityHashMap<Node, Byte> role) throws IOException {
+        long[] entry = new long[nodeList.size()];
+        int[] eager = new int[nodeList.size()];
+        int nbEntry = 0, nbEager = 0;
+        for (int id = 0; id < nodeList.size(); id++) {
+            Node node = nodeList.get(id);
+            if (isLazy(node, role.get(node))) {
+                entry[nbEntry++] = ((long) node.getLabel().hashCode() << 32) | id;
+            } else {
+                eager[nbEager++] = id;
+            }
+        }
+        // sort by hash code
+        Arrays.sort(entry, 0, nbEntry);
+        out.writeInt(nbEntry);
+        for (int i = 0; i < nbEntry; i++) {
+            out.writeInt((int) (entry[i] >> 32));
+            out.writeInt((int) entry[i]);
+        }
+        out.writeInt(nbEager);
+        for (int i = 0; i < nbEager; i++) {
+            out.writeInt(eager[i]);
+        }
+    }
+
+    /**
+     * Uri or blank node that is only subject/object is created on demand
+     */
+    boolean isLazy(Node node, byte role) {
+        IDatatype dt = node.getDatatypeValue();
+        return role == NODE && (dt.isBlank() || dt.isURI());
+    }
+
+    /**
+     * Nodes of edges sorted by node index
+     */
+    List<Node> nodes(IdentityHashMap<Node, Byte> role) {
+        ArrayList<Node> list = new ArrayList<>(role.keySet());
+        list.sort(Comparator.comparingInt(Node::getIndex));
+        return list;
+    }
+
+    IdentityHashMap<Node, Byte> roles() throws IOException {
+        IdentityHashMap<Node, Byte> role = new IdentityHashMap<>();
+        EdgeManagerIndexer ei = graph.getIndex();
+        for (Node pred : ei.getSortedProperties()) {
+            EdgeManager el = ei.get(pred);
+            if (el.size() > 0) {
+                role(role, pred, PROPERTY);
+            }
+            for (Edge edge : el.getList()) {
+                if (!EdgeColumnList.acceptEdge(edge)) {
+                    throw new IOException("Snapshot cannot store edge: " + edge);
+                }
+                role(role, edge.getNode(0), NODE);
+                role(role, edge.getNode(1), NODE);
+                role(role, edge.getGraph(), GRAPH);
+            }
+        }
+        return role;
+    }
+
+    void role(IdentityHashMap<Node, Byte> role, Node node, byte b) {
+        Byte r = role.get(node);
+        role.put(node, (byte) ((r == null) ? b : (r | b)));
+    }
+
+    void writeNode(DataOutputStream out, Node node, byte role) throws IOException {
+        out.writeByte(role);
+        out.writeInt(node.getIndex());
+        writeValue(out, node.getDatatypeValue());
+    }
+
+    static void writeValue(DataOutputStream out, IDatatype dt) throws IOException {
+        if (dt.isLiteral()) {
+            out.writeByte(LITERAL);
+            writeString(out, dt.getLabel());
+            String lang = dt.getLang();
+            if (lang != null && !lang.isEmpty()) {
+                writeString(out, "");
+                writeString(out, lang);
+            } else {
+                writeString(out, dt.getDatatypeURI());
+                writeString(out, "");
+            }
+        } else if (dt.isBlank()) {
+            out.writeByte(BLANK);
+            writeString(out, dt.getLabel());
+        } else if (dt.isURI()) {
+            out.writeByte(URI);
+            writeString(out, dt.getLabel());
+        } else {
+            throw new IOException("Snapshot cannot store node: " + dt);
+        }
+    }
+
+    static void writeString(DataOutputStream out, String str) throws IOException {
+        byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Write directory then columns
+     * position: position of directory in file
+     */
+    void writeIndex(DataOutputStream out, long position) throws IOException {
+        List<EdgeManager> list = managers();
+        long offset = position + 4 + (long) ENTRY * list.size();
+        out.writeInt(list.size());
+        for (EdgeManager el : list) {
+            byte flags = flags(el);
+            out.writeInt(el.getIndex());
+            out.writeInt(getId(el.getPredicate()));
+            out.writeInt(el.size());
+            out.writeInt((flags & HAS_GRAPH) == 0 && el.size() > 0 ? getId(el.getList().getNode(0, Graph.IGRAPH)) : -1);
+            out.writeByte(flags);
+            out.writeLong(offset);
+            offset += blockSize(el.size(), flags);
+        }
+        for (EdgeManager el : list) {
+            writeColumns(out, el, flags(el));
+        }
+    }
+
+    /**
+     * Edge lists of subject, object and graph index
+     * object and graph index are built if needed
+     */
+    List<EdgeManager> managers() {
+        ArrayList<EdgeManager> list = new ArrayList<>();
+        for (int index : INDEX) {
+            EdgeManagerIndexer ei = getIndexer(index);
+            for (Node pred : graph.getIndex().getSortedProperties()) {
+                EdgeManager el = ei.checkGet(pred);
+                if (el != null) {
+                    list.add(el);
+                }
+            }
+        }
+        return list;
+    }
+
+    byte flags(EdgeManager el) {
+        byte flags = 0;
+        EdgeList list = el.getList();
+        Node g = null;
+        for (Edge edge : list) {
+            if (g == null) {
+                g = edge.getGraph();
+            } else if (edge.getGraph() != g) {
+                flags |= HAS_GRAPH;
+            }
+            if (edge.getLevel() != AccessRight.DEFAULT) {
+                flags |= HAS_LEVEL;
+            }
+            if (edge.getEdgeIndex() != -1) {
+                flags |= HAS_EDGE_INDEX;
+            }
+        }
+        return flags;
+    }
+
+    static long blockSize(int size, byte flags) {
+        long n = 8L * size;
+        if ((flags & HAS_GRAPH) != 0) {
+            n += 4L * size;
+        }
+        if ((flags & HAS_EDGE_INDEX) != 0) {
+            n += 4L * size;
+        }
+        if ((flags & HAS_LEVEL) != 0) {
+            n += size + padding(size);
+        }
+        return n;
+    }
+
+    // keep int alignment of next block
+    static int padding(int size) {
+        return (4 - size % 4) % 4;
+    }
+
+    void writeColumns(DataOutputStream out, EdgeManager el, byte flags) throws IOException {
+        EdgeList list = el.getList();
+        for (int i = 0; i < list.size(); i++) {
+            out.writeInt(getId(list.getNode(i, 0)));
+        }
+        for (int i = 0; i < list.size(); i++) {
+            out.writeInt(getId(list.getNode(i, 1)));
+        }
+        if ((flags & HAS_GRAPH) != 0) {
+            for (int i = 0; i < list.size(); i++) {
+                out.writeInt(getId(list.getNode(i, Graph.IGRAPH)));
+            }
+        }
+        if ((flags & HAS_EDGE_INDEX) != 0) {
+            for (Edge edge : list) {
+                out.writeInt(edge.getEdgeIndex());
+            }
+        }
+        if ((flags & HAS_LEVEL) != 0) {
+            for (Edge edge : list) {
+                out.writeByte(edge.getLevel());
+            }
+            for (int i = 0; i < padding(list.size()); i++) {
+                out.writeByte(0);
+            }
+        }
+    }
+
+    int getId(Node node) throws IOException {
+        int id = dictionary.getId(node);
+        if (id == NodeDictionary.UNDEFINED) {
+            throw new IOException("Snapshot undefined node: " + node);
+        }
+        return id;
+    }
+
+    EdgeManagerIndexer getIndexer(int index) {
+        for (EdgeManagerIndexer ei : graph.getIndexList()) {
+            if (ei.getIndex() == index) {
+                return ei;
+            }
+        }
+        return null;
+    }
+
+    /*************************************************************
+     *
+     * Read
+     *
+     *************************************************************/
+
+    /**
+     * Read snapshot in empty graph
+     */
+    public void read(String path) throws IOException {
+        if (graph.size() > 0 || graph.getNodeDictionary().size() > 0) {
+            throw new IOException("Snapshot must be opened in an empty graph");
+        }
+        dictionary = graph.getNodeDictionary();
+
+        try (RandomAccessFile file = new RandomAccessFile(path, "r")) {
+            FileChannel channel = file.getChannel();
+            DataInputStream in = input(channel, 0);
+            if (in.readInt() != MAGIC) {
+                throw new IOException("Not a graph snapshot: " + path);
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IOException("Unknown snapshot version: " + version);
+            }
+            int nbNode = in.readInt();
+            int size = in.readInt();
+            int maxIndex = in.readInt();
+            long nodeSize = in.readLong();
+            long position = HEADER + nodeSize;
+            LongBuffer offsets = map(channel, position, 8L * nbNode).asLongBuffer();
+            position += 8L * nbNode;
+            int nbEntry = readInt(channel, position);
+            IntBuffer labels = map(channel, position + 4, 8L * nbEntry).asIntBuffer();
+            position += 4 + 8L * nbEntry;
+            int nbEager = readInt(channel, position);
+            IntBuffer eager = map(channel, position + 4, 4L * nbEager).asIntBuffer();
+            position += 4 + 4L * nbEager;
+
+            if (!readLazy(channel, nodeSize, maxIndex, offsets, labels, eager)) {
+                // nodes follow header
+                readNodes(in, nbNode);
+            }
+            readIndex(input(channel, position), channel);
+            for (EdgeManagerIndexer ei : graph.getIndexList()) {
+                // computed on demand
+                ei.getNodeManager().desactivate();
+            }
+            // NodeManager of subject index would create all subject nodes
+            graph.getIndex().getNodeManager().setActive(true);
+            graph.getIndex().getNodeManager().setAvailable(false);
+            graph.setSize(size);
+            graph.setIndexed(true);
+        }
+        if (!sorted) {
+            // node index order differ from snapshot: sort in memory
+            logger.warn("Snapshot node order changed, sort edge lists");
+            for (EdgeManagerIndexer ei : graph.getIndexList()) {
+                for (Node pred : ei.getProperties()) {
+                    ei.get(pred).sort();
+                }
+            }
+        }
+    }
+
+    DataInputStream input(FileChannel channel, long position) throws IOException {
+        channel.position(position);
+        return new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel), 1 << 16));
+    }
+
+    MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+    }
+
+    int readInt(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        return buffer.getInt(0);
+    }
+
+    /**
+     * Create nodes of eager list, other nodes are created on demand with
+     * their former index (cf SnapshotNodes)
+     * Return false when nodes cannot keep their former index, then they are
+     * all created by readNodes()
+     */
+    boolean readLazy(FileChannel channel, long nodeSize, int maxIndex,
+            LongBuffer offsets, IntBuffer labels, IntBuffer eager) throws IOException {
+        if (Graph.valueOut || nodeSize > Integer.MAX_VALUE) {
+            return false;
+        }
+        SnapshotNodes nodes = new SnapshotNodes(graph, map(channel, HEADER, nodeSize), offsets, labels);
+        // nodes are sorted by index: system nodes come first
+        int nbSystem = 0;
+        while (nbSystem < nodes.size() && nodes.index(nbSystem) < graph.getNodeIndex()) {
+            if (!nodes.isSystem(nbSystem)) {
+                return false;
+            }
+            nbSystem++;
+        }
+        nodes.start(nbSystem, eager);
+        graph.setNodeIndex(Math.max(graph.getNodeIndex(), maxIndex + 1));
+        return true;
+    }
+
+    /**
+     * Create all nodes with new index
+     */
+    void readNodes(DataInputStream in, int nbNode) throws IOException {
+        int oldIndex = -1, newIndex = -1;
+        for (int i = 0; i < nbNode; i++) {
+            byte role = in.readByte();
+            int index = in.readInt();
+            IDatatype dt = readValue(in);
+            Node node = createNode(dt, role);
+            if (dictionary.create(node) != i) {
+                throw new IOException("Snapshot duplicate node: " + node);
+            }
+            // check that node index order is preserved
+            if (i > 0 && Integer.compare(index, oldIndex) != Integer.compare(node.getIndex(), newIndex)) {
+                sorted = false;
+            }
+            oldIndex = index;
+            newIndex = node.getIndex();
+        }
+    }
+
+    /**
+     * Create node in graph tables according to its roles
+     * system nodes (e.g. kg:default) are retrieved by graph
+     */
+    Node createNode(IDatatype dt, byte role) {
+        Node node = null;
+        if ((role & GRAPH) != 0) {
+            node = graph.addGraph(dt.getLabel(), dt.isBlank());
+        }
+        if ((role & NODE) != 0) {
+            node = graph.addNode(dt);
+        }
+        if ((role & PROPERTY) != 0) {
+            node = graph.addProperty(dt.getLabel());
+        }
+        return node;
+    }
+
+    static IDatatype readValue(DataInputStream in) throws IOException {
+        byte kind = in.readByte();
+        String label = readString(in);
+        if (kind == LITERAL) {
+            return value(label, readString(in), readString(in));
+        }
+        return value(kind, label);
+    }
+
+    static IDatatype readValue(ByteBuffer in) {
+        byte kind = in.get();
+        String label = readString(in);
+        if (kind == LITERAL) {
+            return value(label, readString(in), readString(in));
+        }
+        return value(kind, label);
+    }
+
+    static IDatatype value(byte kind, String label) {
+        if (kind == BLANK) {
+            return DatatypeMap.createBlank(label);
+        }
+        return DatatypeMap.createResource(label);
+    }
+
+    static IDatatype value(String label, String datatype, String lang) {
+        if (lang.isEmpty()) {
+            return DatatypeMap.createLiteral(label, datatype, null);
+        }
+        return DatatypeMap.createLiteral(label, null, lang);
+    }
+
+    static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static String readString(ByteBuffer in) {
+        byte[] bytes = new byte[in.getInt()];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    void readIndex(DataInputStream in, FileChannel channel) throws IOException {
+        int nbList = in.readInt();
+        for (int i = 0; i < nbList; i++) {
+            int index = in.readInt();
+            Node pred = dictionary.getNode(in.readInt());
+            int size = in.readInt();
+            int graphId = in.readInt();
+            byte flags = in.readByte();
+            long offset = in.readLong();
+            EdgeManager el = getIndexer(index).define(pred);
+            if (size > 0) {
+                MappedByteBuffer buffer = map(channel, offset, blockSize(size, flags));
+                el.setEdgeList(mappedList(el, buffer, size, graphId, flags));
+            }
+        }
+    }
+
+    EdgeMappedList mappedList(EdgeManager el, MappedByteBuffer buffer, int size, int graphId, byte flags) {
+        int pos = 0;
+        IntBuffer subject = intBuffer(buffer, pos, size);
+        pos += 4 * size;
+        IntBuffer object = intBuffer(buffer, pos, size);
+        pos += 4 * size;
+        IntBuffer graphColumn = null;
+        if ((flags & HAS_GRAPH) != 0) {
+            graphColumn = intBuffer(buffer, pos, size);
+            pos += 4 * size;
+        }
+        IntBuffer edgeIndex = null;
+        if ((flags & HAS_EDGE_INDEX) != 0) {
+            edgeIndex = intBuffer(buffer, pos, size);
+            pos += 4 * size;
+        }
+        ByteBuffer level = null;
+        if ((flags & HAS_LEVEL) != 0) {
+            ByteBuffer b = buffer.duplicate();
+            b.position(pos);
+            b.limit(pos + size);
+            level = b.slice();
+        }
+        return new EdgeMappedList(el, size, subject, object, graphColumn, graphId, edgeIndex, level);
+    }
+
+    IntBuffer intBuffer(ByteBuffer buffer, int pos, int size) {
+        ByteBuffer b = buffer.duplicate();
+        b.position(pos);
+        b.limit(pos + 4 * size);
+        return b.slice().asIntBuffer();
+    }
+
+    /*************************************************************
+     *
+     * Delta
+     *
+     *************************************************************/
+
+    /**
+     * Replay updates recorded in delta file
+     */
+    void replay(String path) throws IOException {
+        File file = new File(path);
+        if (!file.exists()) {
+            return;
+        }
+        int count = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                byte op;
+                try {
+                    op = in.readByte();
+                } catch (EOFException e) {
+                    break;
+                }
+                IDatatype g = readValue(in);
+                IDatatype s = readValue(in);
+                IDatatype p = readValue(in);
+                IDatatype o = readValue(in);
+                if (op == INSERT) {
+                    graph.insert(g, s, p, o);
+                } else {
+                    graph.delete(g, s, p, o);
+                }
+                count++;
+            }
+        }
+        logger.info(String.format("Snapshot delta: %s updates", count));
+    }
+
+    void resetDelta(String path) throws IOException {
+        if (graph.getListenerList() != null) {
+            for (GraphListener gl : graph.getListenerList()) {
+                if (gl instanceof Delta && ((Delta) gl).getPath().equals(path)) {
+                    ((Delta) gl).reset();
+                    return;
+                }
+            }
+        }
+        new File(path).delete();
+    }
+
+    /**
+     * Record insert and delete in delta file
+     * Delta file is flushed at the end of each query, load and update step
+     * It is closed when the graph is closed or garbage collected
+     */
+    public static class Delta implements GraphListener {
+
+        private String path;
+        // null when closed
+        private DataOutputStream out;
+
+        public Delta(String path) throws IOException {
+            this.path = path;
+            open(true);
+        }
+
+        void open(boolean append) throws IOException {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path, append)));
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        @Override
+        public void insert(Graph g, Edge edge) {
+            write(INSERT, edge);
+        }
+
+        @Override
+        public void delete(Graph g, Edge edge) {
+            write(DELETE, edge);
+        }
+
+        @Override
+        public void finish(Graph g, Query q, Mappings m) {
+            flush();
+        }
+
+        @Override
+        public void finishUpdate(Graph g) {
+            flush();
+        }
+
+        @Override
+        public void close(Graph g) {
+            release();
+        }
+
+        // record is written only if all its nodes can be written
+        synchronized void write(byte op, Edge edge) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream rec = new DataOutputStream(bytes);
+                rec.writeByte(op);
+                writeValue(rec, edge.getGraph().getDatatypeValue());
+                writeValue(rec, edge.getNode(0).getDatatypeValue());
+                writeValue(rec, edge.getEdgeNode().getDatatypeValue());
+                writeValue(rec, edge.getNode(1).getDatatypeValue());
+                if (out == null) {
+                    // graph updated after close
+                    open(true);
+                }
+                bytes.writeTo(out);
+            } catch (IOException ex) {
+                logger.error("Snapshot delta: " + ex.getMessage());
+            }
+        }
+
+        public synchronized void flush() {
+            try {
+                if (out != null) {
+                    out.flush();
+                }
+            } catch (IOException ex) {
+                logger.error("Snapshot delta: " + ex.getMessage());
+            }
+        }
+
+        // snapshot has been rewritten: empty delta
+        synchronized void reset() throws IOException {
+            close();
+            open(false);
+        }
+
+        public synchronized void close() throws IOException {
+            if (out != null) {
+                DataOutputStream stream = out;
+                out = null;
+                stream.close();
+            }
+        }
+
+        void release() {
+            try {
+                close();
+            } catch (IOException ex) {
+                logger.error("Snapshot delta: " + ex.getMessage());
+            }
+        }
+    }
+
+}
@@ -0,0 +1,317 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.core.Graph;
+import fr.inria.corese.kgram.api.core.Node;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Multi version mode of a graph (snapshot isolation)
+ * A query reads an immutable version of the graph without graph lock,
+ * hence long queries do not block load and update, and load and update
+ * do not block queries.
+ * A version is a Graph that shares the nodes of the graph and whose index(0)
+ * edge lists are the edge lists of the graph at publish time.
+ * Index(1), IGRAPH and NodeManager of a version are built on demand. A
+ * predicate whose edge list has not been modified since the previous version
+ * takes the index(1) and IGRAPH edge lists built by the previous version,
+ * hence an update rebuilds the indexes of the predicates it modifies only.
+ *
+ * Copy on write: when a writer modifies an edge list shared with a live
+ * version, the writer works on a copy and the version keeps the list.
+ * The copy of a large list is a chunk list that shares its unmodified chunks
+ * with the version (cf EdgeChunkList share).
+ * A version is live when a query reads it (acquire/release) or when it has
+ * been returned by get() and is still referenced. When the current version
+ * is not live, the writer retires it and modifies edge lists in place, a
+ * query that starts meanwhile waits for the writer as in standard mode.
+ * Clear of the graph creates new node tables, versions keep the former ones.
+ *
+ * A new version is published by the first query after the graph has been
+ * modified, when there is no writer. When there is a writer, query reads
+ * the current version if it is not retired.
+ *
+ */
+public class GraphVersion {
+
+    private Graph graph;
+    // current version
+    private volatile Version current;
+    // graph modified since current version
+    private volatile boolean modified = true;
+    // number of published versions
+    private int count = 0;
+    // versions read by queries
+    private Set<Version> reading;
+    // versions returned by get()
+    private List<Pin> pinned;
+
+    /**
+     * Version of the graph with its number of readers
+     */
+    public static class Version {
+
+        private Graph graph;
+        private int generation;
+        // number of queries that read the version, -1 when retired
+        private AtomicInteger readers;
+        private volatile boolean pin = false;
+
+        Version(Graph g, int n) {
+            graph = g;
+            generation = n;
+            readers = new AtomicInteger();
+        }
+
+        public Graph getGraph() {
+            return graph;
+        }
+
+        boolean acquire() {
+            while (true) {
+                int n = readers.get();
+                if (n < 0) {
+                    return false;
+                }
+                if (readers.compareAndSet(n, n + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        int release() {
+            return readers.decrementAndGet();
+        }
+
+        /**
+         * Return true if version is retired: no query can read it anymore
+         */
+        boolean retire() {
+            if (pin) {
+                return false;
+            }
+            return readers.compareAndSet(0, -1) || readers.get() < 0;
+        }
+
+        boolean isRetired() {
+            return readers.get() < 0;
+        }
+
+        boolean isRead() {
+            return readers.get() > 0;
+        }
+    }
+
+    /**
+     * Version returned by get(): live as long as it is referenced
+     */
+    static class Pin {
+
+        private WeakReference<Graph> reference;
+        private int generation;
+
+        Pin(Version version) {
+            reference = new WeakReference<>(version.getGraph());
+            generation = version.generation;
+        }
+
+        boolean isReferenced() {
+            return reference.get() != null;
+        }
+    }
+
+    public GraphVersion(Graph g) {
+        graph = g;
+        reading = ConcurrentHashMap.newKeySet();
+        pinned = new ArrayList<>();
+    }
+
+    /**
+     * Return current version of the graph, the version is live as long as it
+     * is referenced
+     * Use case: API, QueryProcess use acquire() and release()
+     */
+    public Graph get() {
+        Version version = acquire();
+        synchronized (this) {
+            if (!version.pin) {
+                version.pin = true;
+                pinned.add(new Pin(version));
+            }
+        }
+        release(version);
+        return version.getGraph();
+    }
+
+    /**
+     * Return current version with one more reader, publish a new version if
+     * graph has been modified and there is no writer
+     * Wait for writer when there is no version or when current version is
+     * retired
+     * Caller must release the version
+     */
+    public Version acquire() {
+        Version version = current;
+        if (version != null && !modified && version.acquire()) {
+            return read(version);
+        }
+        // publish may index the graph and perform entailment: write lock
+        // a thread that reads the graph cannot take the write lock: there is
+        // no writer and it publishes with its read lock as in standard mode
+        ReentrantReadWriteLock rw = graph.getLock();
+        Lock lock = (rw.getReadHoldCount() > 0) ? rw.readLock() : rw.writeLock();
+        if (version == null || version.isRetired()) {
+            lock.lock();
+        } else if (!lock.tryLock()) {
+            // writer is running: read current version
+            // otherwise wait for the queries that read the graph
+            if (rw.isWriteLocked() && version.acquire()) {
+                return read(version);
+            }
+            lock.lock();
+        }
+        try {
+            return read(publish());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Version read(Version version) {
+        reading.add(version);
+        return version;
+    }
+
+    public void release(Version version) {
+        if (version.release() <= 0 && version != current) {
+            reading.remove(version);
+        }
+    }
+
+    /**
+     * pragma: graph is locked: there is no other writer, current version
+     * cannot be retired
+     * Return version with one reader
+     */
+    synchronized Version publish() {
+        Version version = current;
+        if (version == null || modified || version.isRetired()) {
+            // sort and reduce edge lists, perform entailment if any
+            graph.init();
+            modified = false;
+            version = new Version(create(++count), count);
+            current = version;
+        }
+        version.acquire();
+        return version;
+    }
+
+    Graph create(int generation) {
+        Version previous = current;
+        Graph former = (previous == null) ? null : previous.getGraph();
+        Graph version = graph.createVersion();
+        EdgeManagerIndexer std = graph.getIndex();
+        for (Node pred : std.getSortedProperties()) {
+            EdgeManager el = std.get(pred);
+            // not null when edge list has not been modified since a version
+            EdgeList list = el.getVersion();
+            EdgeManager em = (former == null || list == null) ? null : former.getIndex().get(pred);
+            boolean share = em != null && em.getEdgeList() == list;
+            version.getIndex().define(pred).setEdgeList(el.version(generation));
+            for (EdgeManagerIndexer ei : version.getIndexList()) {
+                if (ei.getIndex() != 0 && ei.getIndex() != Graph.ILIST) {
+                    // built on demand from index(0)
+                    EdgeManager copy = ei.define(pred);
+                    if (share) {
+                        share(former, ei.getIndex(), pred, copy);
+                    }
+                }
+            }
+        }
+        for (EdgeManagerIndexer ei : version.getIndexList()) {
+            // computed on demand
+            ei.getNodeManager().desactivate();
+        }
+        version.setSize(graph.size());
+        version.setIndexed(true);
+        return version;
+    }
+
+    /**
+     * Take the edge list of pred in index n of former version if it has been
+     * built (cf EdgeManagerIndexer synCheckGet, synchronized on pred)
+     */
+    void share(Graph former, int n, Node pred, EdgeManager copy) {
+        for (EdgeManagerIndexer ei : former.getIndexList()) {
+            if (ei.getIndex() == n) {
+                synchronized (pred) {
+                    EdgeManager em = ei.get(pred);
+                    if (em != null && em.size() > 0) {
+                        copy.share(em);
+                    }
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Writer modifies an edge list shared by the versions published since
+     * generation: return true if one of them is live, then the writer must
+     * copy the edge list
+     * Current version is retired when it is not live
+     * pragma: graph is write locked
+     */
+    public synchronized boolean isLive(int generation) {
+        Version version = current;
+        if (version != null && version.generation >= generation && !version.retire()) {
+            return true;
+        }
+        for (Version v : reading) {
+            if (v.isRead()) {
+                if (v.generation >= generation) {
+                    return true;
+                }
+            } else if (v != current) {
+                reading.remove(v);
+            }
+        }
+        pinned.removeIf(v -> !v.isReferenced());
+        for (Pin v : pinned) {
+            if (v.generation >= generation) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Graph is modified: next query publish a new version
+     */
+    public void modify() {
+        modified = true;
+    }
+
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Current version or null if none
+     */
+    public Graph getCurrent() {
+        Version version = current;
+        return (version == null) ? null : version.getGraph();
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+}
@@ -0,0 +1,127 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.sparql.api.IDatatype;
+import fr.inria.corese.sparql.datatype.CoreseDate;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Concurrent table IDatatype -> Node of literal nodes
+ * Replace synchronized TreeMap where each get/put compare literals
+ * in O(log(n)) under a global lock
+ *
+ * Two literals match when comparator return 0, the comparator defines
+ * the equivalence classes of literals:
+ * CompareNode: sameTerm, 1 and 01 and 1.0 have different Node
+ * CompareWith[out]DatatypeEntailment: same value, 1 and 01 (and 1.0) have same Node index
+ * The hash code is consistent with the comparator:
+ * label for sameTerm, normalized value for value equivalence
+ *
+ * Sorted view is computed on demand for range access only
+ * and it is reset when the table is modified
+ *
+ */
+public class LiteralTable extends AbstractNodeTable<IDatatype> {
+
+    private Comparator<IDatatype> comparator;
+    // hash on value instead of label
+    private boolean value;
+    private volatile SortedMap<IDatatype, Node> sorted;
+
+    /**
+     * comparator: literals are equivalent when compare = 0
+     * value: true if equivalent literals may have different labels (1 and 01)
+     */
+    public LiteralTable(Comparator<IDatatype> comparator, boolean value) {
+        this.comparator = comparator;
+        this.value = value;
+    }
+
+    @Override
+    IDatatype key(Node node) {
+        return node.getDatatypeValue();
+    }
+
+    @Override
+    int hashCode(IDatatype dt) {
+        if (value) {
+            return valueHashCode(dt);
+        }
+        return dt.getLabel().hashCode();
+    }
+
+    /**
+     * Equal values have same hash code whatever their label and their
+     * compatible datatype: 1 01 1.0 '1'^^xsd:long ; true '1'^^xsd:boolean
+     */
+    int valueHashCode(IDatatype dt) {
+        if (dt.isNumber()) {
+            return Double.hashCode(dt.doubleValue());
+        } else if (dt.isBoolean()) {
+            return Boolean.hashCode(dt.booleanValue());
+        } else if (dt instanceof CoreseDate) {
+            // calendar hash code is computed on normalized date
+            return ((CoreseDate) dt).getCalendar().hashCode();
+        }
+        return dt.getLabel().hashCode();
+    }
+
+    @Override
+    boolean match(IDatatype dt, Node node) {
+        return comparator.compare(dt, node.getDatatypeValue()) == 0;
+    }
+
+    public Comparator<IDatatype> getComparator() {
+        return comparator;
+    }
+
+    @Override
+    public Node put(IDatatype dt, Node node) {
+        Node res = super.put(dt, node);
+        sorted = null;
+        return res;
+    }
+
+    @Override
+    public Node putIfAbsent(IDatatype dt, Node node) {
+        Node res = super.putIfAbsent(dt, node);
+        if (res == null) {
+            sorted = null;
+        }
+        return res;
+    }
+
+    @Override
+    public Node remove(IDatatype dt) {
+        Node res = super.remove(dt);
+        sorted = null;
+        return res;
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        sorted = null;
+    }
+
+    /**
+     * Read only view of the table sorted by comparator,
+     * for range access such as subMap(dt1, dt2)
+     */
+    public SortedMap<IDatatype, Node> sortedMap() {
+        SortedMap<IDatatype, Node> map = sorted;
+        if (map == null) {
+            TreeMap<IDatatype, Node> tree = new TreeMap<>(comparator);
+            for (Node node : values()) {
+                tree.put(node.getDatatypeValue(), node);
+            }
+            map = Collections.unmodifiableSortedMap(tree);
+            sorted = map;
+        }
+        return map;
+    }
+
+}
@@ -0,0 +1,206 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.kgram.api.core.Node;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.IntFunction;
+
+/**
+ * Dictionary of graph nodes: Node <-> int id
+ * Use case: EdgeColumnList store edges as columns of node id
+ *
+ * Node index is not an id: 1 and 01 are different Node with same index
+ * Hence id is allocated per Node object, and table index -> id is used to
+ * retrieve the id of a Node: the nodes that share the same index are chained
+ * (the chain is short: nodes with same value and different label)
+ *
+ * Read is lock free, write is synchronized.
+ * Ids may be reserved for nodes created on demand by a loader
+ * (cf SnapshotNodes).
+ *
+ */
+public class NodeDictionary {
+
+    private static final int INIT = 1024;
+    static final int UNDEFINED = -1;
+
+    // arrays are published together: a reader reads table once
+    private volatile Table table;
+    private volatile int size = 0;
+    // create node of reserved id on demand
+    private volatile IntFunction<Node> loader;
+
+    /**
+     * Elements are written with volatile semantics: node and next of an id
+     * are set before the id is published in the index -> id array
+     */
+    static class Table {
+        // id -> Node
+        final AtomicReferenceArray<Node> node;
+        // id -> next id with same node index
+        final AtomicIntegerArray next;
+        // node index -> first id
+        final AtomicIntegerArray id;
+
+        Table(int nbId, int nbIndex) {
+            node = new AtomicReferenceArray<>(nbId);
+            next = new AtomicIntegerArray(nbId);
+            id = new AtomicIntegerArray(nbIndex);
+            for (int i = 0; i < nbIndex; i++) {
+                id.set(i, UNDEFINED);
+            }
+        }
+
+        /**
+         * Copy of this table with larger capacity
+         * pragma: called under dictionary lock
+         */
+        Table copy(int nbId, int nbIndex) {
+            Table t = new Table(nbId, nbIndex);
+            for (int i = 0; i < node.length(); i++) {
+                t.node.set(i, node.get(i));
+                t.next.set(i, next.get(i));
+            }
+            for (int i = 0; i < id.length(); i++) {
+                t.id.set(i, id.get(i));
+            }
+            return t;
+        }
+    }
+
+    public NodeDictionary() {
+        init();
+    }
+
+    final void init() {
+        table = new Table(INIT, INIT);
+        size = 0;
+        loader = null;
+    }
+
+    public synchronized void clear() {
+        init();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Node getNode(int id) {
+        Node node = table.node.get(id);
+        if (node == null) {
+            IntFunction<Node> fun = loader;
+            if (fun != null) {
+                return fun.apply(id);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Node of id if it has been created, without loader
+     */
+    Node get(int id) {
+        return table.node.get(id);
+    }
+
+    /**
+     * Return true if there is no node to be created on demand
+     */
+    public boolean isComplete() {
+        return loader == null;
+    }
+
+    /**
+     * Reserve ids 0 .. n-1 whose nodes are created on demand by loader
+     * pragma: dictionary is empty
+     */
+    synchronized void reserve(int n, IntFunction<Node> loader) {
+        ensureCapacity(n, 1);
+        size = n;
+        this.loader = loader;
+    }
+
+    /**
+     * All reserved nodes have been created
+     */
+    void complete() {
+        loader = null;
+    }
+
+    /**
+     * Set node of reserved id
+     */
+    synchronized void set(int id, Node node) {
+        int index = node.getIndex();
+        Table t = ensureCapacity(id + 1, index + 1);
+        t.node.set(id, node);
+        t.next.set(id, t.id.get(index));
+        t.id.set(index, id);
+    }
+
+    /**
+     * Return id of node, -1 if node has no id
+     */
+    public int getId(Node node) {
+        int index = node.getIndex();
+        Table t = table;
+        if (index < 0 || index >= t.id.length()) {
+            return UNDEFINED;
+        }
+        int id = t.id.get(index);
+        while (id != UNDEFINED && t.node.get(id) != node) {
+            id = t.next.get(id);
+        }
+        return id;
+    }
+
+    /**
+     * Return id of node, allocate id if needed
+     * return -1 if node is not indexed in graph
+     */
+    public int getCreateId(Node node) {
+        int id = getId(node);
+        if (id == UNDEFINED) {
+            return create(node);
+        }
+        return id;
+    }
+
+    synchronized int create(Node node) {
+        int index = node.getIndex();
+        if (index < 0) {
+            return UNDEFINED;
+        }
+        int id = getId(node);
+        if (id != UNDEFINED) {
+            return id;
+        }
+        id = size;
+        Table t = ensureCapacity(id + 1, index + 1);
+        t.node.set(id, node);
+        t.next.set(id, t.id.get(index));
+        // publish id when node and next are set
+        t.id.set(index, id);
+        size = id + 1;
+        return id;
+    }
+
+    /**
+     * Return current table, replaced by a larger copy if needed
+     * pragma: called under lock
+     */
+    Table ensureCapacity(int nbId, int nbIndex) {
+        Table t = table;
+        int idLength = t.node.length();
+        int indexLength = t.id.length();
+        if (nbId > idLength || nbIndex > indexLength) {
+            t = t.copy(
+                    (nbId > idLength) ? Math.max(nbId, 2 * idLength) : idLength,
+                    (nbIndex > indexLength) ? Math.max(nbIndex, 2 * indexLength) : indexLength);
+            table = t;
+        }
+        return t;
+    }
+
+}
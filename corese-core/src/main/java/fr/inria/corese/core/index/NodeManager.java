@@ -125,6 +125,26 @@ public class NodeManager {
     PredicateList get(Node node) {
         return getPredicateTable(node).get(node);
     }
+    
+    /**
+     * Merge content of NodeManager computed on other predicates
+     * Predicates of mgr must come after predicates of this NodeManager
+     * Use case: parallel index
+     */
+    void merge(NodeManager mgr) {
+        for (int i = 0; i < getPredicateTableList().size(); i++) {
+            PredicateTable table = getPredicateTableList().get(i);
+            for (var entry : mgr.getPredicateTableList().get(i).entrySet()) {
+                PredicateList list = table.get(entry.getKey());
+                if (list == null) {
+                    table.put(entry.getKey(), entry.getValue());
+                } else {
+                    list.addAll(entry.getValue());
+                }
+            }
+        }
+        count += mgr.count();
+    }
         
     // edge subList for node starts at begin
     void add(Node node, Node predicate, int begin, int end) {        
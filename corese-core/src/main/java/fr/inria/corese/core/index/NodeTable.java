@@ -0,0 +1,95 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.kgram.api.core.Node;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Concurrent table key -> Node of graph nodes (uri, bnode, triple, graph, property)
+ * Replace Hashtable<String, Node>
+ * The key is the label of the node by default, individual and named graph
+ * nodes are keyed by Graph getID(): the value key when Graph valueOut
+ * A loader may create on demand the nodes that are not yet in the table
+ * (cf SnapshotNodes): size and iteration create all of them first
+ *
+ */
+public class NodeTable extends AbstractNodeTable<String> {
+
+    private Function<Node, String> key;
+    private volatile Loader loader;
+
+    /**
+     * Create nodes that are not yet in the table
+     */
+    public interface Loader {
+
+        // return node with key if any, the node is put in the table
+        Node load(String key);
+
+        // put all nodes in the table
+        void loadAll();
+    }
+
+    public NodeTable() {
+        this(Node::getLabel);
+    }
+
+    /**
+     * key: compute the key of a node
+     */
+    public NodeTable(Function<Node, String> key) {
+        this.key = key;
+    }
+
+    public void setLoader(Loader loader) {
+        this.loader = loader;
+    }
+
+    @Override
+    public Node get(String name) {
+        Node node = super.get(name);
+        if (node == null) {
+            Loader load = loader;
+            if (load != null) {
+                return load.load(name);
+            }
+        }
+        return node;
+    }
+
+    @Override
+    public int size() {
+        complete();
+        return super.size();
+    }
+
+    @Override
+    public Iterator<Node> iterator() {
+        complete();
+        return super.iterator();
+    }
+
+    void complete() {
+        Loader load = loader;
+        if (load != null) {
+            load.loadAll();
+            loader = null;
+        }
+    }
+
+    @Override
+    String key(Node node) {
+        return key.apply(node);
+    }
+
+    @Override
+    int hashCode(String name) {
+        return name.hashCode();
+    }
+
+    @Override
+    boolean match(String name, Node node) {
+        return name.equals(key(node));
+    }
+
+}
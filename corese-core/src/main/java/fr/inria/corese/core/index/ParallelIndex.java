@@ -0,0 +1,225 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.core.Graph;
+import fr.inria.corese.kgram.api.core.Node;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parallel index of an EdgeManagerIndexer after bulk load
+ * Edge lists of distinct predicates are independent:
+ * they are sorted and reduced in parallel using fork/join
+ * A task reduce a range of sorted predicates with its own NodeManager
+ * NodeManager of tasks are merged in predicate order, hence the merged
+ * PredicateList of a node are sorted as in sequential reduce
+ * Index(1) and IGRAPH edge lists are built eagerly in parallel
+ * instead of on demand by synCheckGet
+ * Duration of each phase (ms) is recorded in the indexer
+ *
+ */
+class ParallelIndex {
+
+    private static Logger logger = LoggerFactory.getLogger(ParallelIndex.class);
+    public static boolean TRACE = false;
+    // a task with less edges than threshold is processed sequentially
+    static int THRESHOLD = 10_000;
+    // edge list larger than threshold is sorted with parallel sort
+    static int SORT_THRESHOLD = 100_000;
+
+    static final String SORT = "sort";
+    static final String REDUCE = "reduce";
+    static final String MERGE = "merge";
+    static final String BUILD = "build";
+
+    private EdgeManagerIndexer indexer;
+    private ForkJoinPool pool;
+    private LinkedHashMap<String, Long> time;
+    private AtomicInteger count;
+
+    ParallelIndex(EdgeManagerIndexer ei) {
+        indexer = ei;
+        pool = ForkJoinPool.commonPool();
+        time = new LinkedHashMap<>();
+        count = new AtomicInteger(0);
+    }
+
+    /**
+     * Sort edge lists, reduce index 0, build index 1 and IGRAPH
+     */
+    void index(boolean reduce) {
+        List<Node> list = predicates();
+        long begin = System.currentTimeMillis();
+        sort(list);
+        record(SORT, begin);
+
+        if (reduce && getIndex() == 0) {
+            reduce(list);
+        }
+        else if (getIndex() != 0 && getIndex() != Graph.ILIST) {
+            begin = System.currentTimeMillis();
+            build(list);
+            record(BUILD, begin);
+        }
+        indexer.setIndexTime(time);
+        if (TRACE) {
+            logger.info(String.format("Index %s: %s predicates %s", getIndex(), list.size(), time));
+        }
+    }
+
+    List<Node> predicates() {
+        return new ArrayList<>(indexer.getSortedProperties());
+    }
+
+    void sort(List<Node> list) {
+        apply(list, pred -> sort(indexer.get(pred)), pred -> indexer.get(pred).size());
+    }
+
+    void sort(EdgeManager el) {
+        if (el.size() > SORT_THRESHOLD) {
+            el.parallelSort();
+        } else {
+            el.sort();
+        }
+    }
+
+    /**
+     * Build index(1) or IGRAPH from index 0
+     */
+    void build(List<Node> list) {
+        EdgeManagerIndexer std = indexer.getGraph().getIndex();
+        apply(list, pred -> indexer.checkGet(pred), pred -> size(std, pred));
+    }
+
+    int size(EdgeManagerIndexer ei, Node pred) {
+        EdgeManager el = ei.get(pred);
+        return (el == null) ? 0 : el.size();
+    }
+
+    /**
+     * Remove duplicate edges and index NodeManager
+     * rdf star graph reduce (shared reference node) is sequential
+     */
+    void reduce(List<Node> list) {
+        if (indexer.getGraph().isMetadataNode()) {
+            long begin = System.currentTimeMillis();
+            indexer.reduce();
+            record(REDUCE, begin);
+            return;
+        }
+        NodeManager mgr = indexer.getNodeManager();
+        mgr.start();
+        long begin = System.currentTimeMillis();
+        NodeManager res = pool.invoke(new Reduce(list, 0, list.size()));
+        record(REDUCE, begin);
+        begin = System.currentTimeMillis();
+        mgr.merge(res);
+        mgr.finish();
+        record(MERGE, begin);
+        if (count.get() > 0) {
+            Graph g = indexer.getGraph();
+            g.setSize(g.size() - count.get());
+        }
+    }
+
+    void apply(List<Node> list, Consumer<Node> action, ToIntFunction<Node> weight) {
+        pool.invoke(new Apply(list, 0, list.size(), action, weight));
+    }
+
+    int getIndex() {
+        return indexer.getIndex();
+    }
+
+    void record(String phase, long begin) {
+        time.put(phase, System.currentTimeMillis() - begin);
+    }
+
+    LinkedHashMap<String, Long> getTime() {
+        return time;
+    }
+
+    int weight(List<Node> list, int begin, int end, ToIntFunction<Node> weight) {
+        int size = 0;
+        for (int i = begin; i < end; i++) {
+            size += weight.applyAsInt(list.get(i));
+        }
+        return size;
+    }
+
+    /**
+     * Apply action on each predicate of list[begin, end[
+     */
+    class Apply extends RecursiveAction {
+
+        List<Node> list;
+        int begin, end;
+        Consumer<Node> action;
+        ToIntFunction<Node> weight;
+
+        Apply(List<Node> list, int begin, int end, Consumer<Node> action, ToIntFunction<Node> weight) {
+            this.list = list;
+            this.begin = begin;
+            this.end = end;
+            this.action = action;
+            this.weight = weight;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - begin <= 1 || weight(list, begin, end, weight) <= THRESHOLD) {
+                for (int i = begin; i < end; i++) {
+                    action.accept(list.get(i));
+                }
+            } else {
+                int mid = (begin + end) / 2;
+                invokeAll(new Apply(list, begin, mid, action, weight),
+                        new Apply(list, mid, end, action, weight));
+            }
+        }
+    }
+
+    /**
+     * Reduce predicates of list[begin, end[
+     * Return NodeManager of this range of predicates
+     */
+    class Reduce extends RecursiveTask<NodeManager> {
+
+        List<Node> list;
+        int begin, end;
+
+        Reduce(List<Node> list, int begin, int end) {
+            this.list = list;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        protected NodeManager compute() {
+            if (end - begin <= 1
+                    || weight(list, begin, end, pred -> indexer.get(pred).size()) <= THRESHOLD) {
+                NodeManager mgr = new NodeManager(indexer.getGraph(), getIndex());
+                for (int i = begin; i < end; i++) {
+                    count.addAndGet(indexer.reduce(list.get(i), mgr));
+                }
+                return mgr;
+            }
+            int mid = (begin + end) / 2;
+            Reduce left = new Reduce(list, begin, mid);
+            Reduce right = new Reduce(list, mid, end);
+            right.fork();
+            NodeManager mgr = left.compute();
+            // predicates of right come after predicates of left
+            mgr.merge(right.join());
+            return mgr;
+        }
+    }
+
+}
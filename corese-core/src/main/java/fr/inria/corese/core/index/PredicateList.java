@@ -106,11 +106,15 @@ public class PredicateList {
     
     Cursor getCursor(int n) {
         //return new Cursor(getPosition(n), endList.get(n));
-        return getCursorList().get(n);
+        if (getCursorList() != null && n < getCursorList().size()) {
+            return getCursorList().get(n);
+        }
+        return null;
     }
     
+    // -1 when list of predicates has no position (cf getSortedPredicates)
     int getPosition(int n) {
-        if (isPosition){
+        if (isPosition && n < getPositionList().size()){
             return getPositionList().get(n);
         }
         return -1;
@@ -171,6 +175,21 @@ public class PredicateList {
         }
     }
 
+    /**
+     * Append predicates of list, they must come after predicates of this list
+     * Use case: merge NodeManager of parallel index
+     */
+    void addAll(PredicateList list) {
+        getPredicateList().addAll(list.getPredicateList());
+        if (isPosition) {
+            getPositionList().addAll(list.getPositionList());
+            getEndList().addAll(list.getEndList());
+            if (getCursorList() != null && list.getCursorList() != null) {
+                getCursorList().addAll(list.getCursorList());
+            }
+        }
+    }
+
     public void clear() {
         getPredicateList().clear();
         if (isPosition) {
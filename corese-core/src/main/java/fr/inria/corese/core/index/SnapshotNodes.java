@@ -0,0 +1,214 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.core.Graph;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.sparql.api.IDatatype;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.function.IntFunction;
+
+/**
+ * Nodes of a graph snapshot (cf GraphSnapshot)
+ * Literal, property and graph nodes are created when the snapshot is opened:
+ * literals are retrieved by value (1 = 01) which a label index cannot answer.
+ * Uri and blank nodes that are only subject or object are created on demand
+ * when an edge list (NodeDictionary) or a node table (NodeTable) access them.
+ * Node tables find them by label with the label index of the snapshot:
+ * (hash code of label, id) sorted by hash code.
+ * A node is created with its index in the saved graph, hence mapped edge
+ * lists remain sorted.
+ *
+ */
+class SnapshotNodes implements IntFunction<Node> {
+
+    private Graph graph;
+    private NodeDictionary dictionary;
+    private NodeTable individual;
+    private NodeTable blank;
+    // node records
+    private ByteBuffer records;
+    // id -> position of record
+    private LongBuffer offsets;
+    // (hash code of label, id)*
+    private IntBuffer labels;
+    // system nodes have index < system
+    private int system;
+
+    /**
+     * Create on demand nodes of uri or blank kind
+     */
+    class Loader implements NodeTable.Loader {
+
+        private byte kind;
+
+        Loader(byte kind) {
+            this.kind = kind;
+        }
+
+        @Override
+        public Node load(String label) {
+            return find(label, kind);
+        }
+
+        @Override
+        public void loadAll() {
+            SnapshotNodes.this.loadAll();
+        }
+    }
+
+    SnapshotNodes(Graph g, ByteBuffer records, LongBuffer offsets, IntBuffer labels) {
+        graph = g;
+        dictionary = g.getNodeDictionary();
+        individual = g.getIndividualNodeMap();
+        blank = g.getBlankNodeMap();
+        system = g.getNodeIndex();
+        this.records = records;
+        this.offsets = offsets;
+        this.labels = labels;
+    }
+
+    int size() {
+        return offsets.limit();
+    }
+
+    ByteBuffer record(int id) {
+        ByteBuffer rec = records.duplicate();
+        rec.position((int) offsets.get(id));
+        return rec;
+    }
+
+    byte role(int id) {
+        return records.get((int) offsets.get(id));
+    }
+
+    int index(int id) {
+        return records.getInt((int) offsets.get(id) + 1);
+    }
+
+    byte kind(int id) {
+        return records.get((int) offsets.get(id) + 5);
+    }
+
+    IDatatype value(int id) {
+        ByteBuffer rec = record(id);
+        rec.position(rec.position() + 5);
+        return GraphSnapshot.readValue(rec);
+    }
+
+    /**
+     * Node of id has an index of system node, it must be the same system
+     * node in the graph (e.g. kg:default)
+     */
+    boolean isSystem(int id) {
+        int index = index(id);
+        if (index < 0 || index >= system) {
+            return false;
+        }
+        Node node = graph.getNode(index);
+        return node != null && node.getIndex() == index
+                && node.getLabel().equals(value(id).getLabel());
+    }
+
+    /**
+     * Reserve node ids, create system nodes then nodes of list
+     * Other nodes are created on demand
+     * pragma: node ids of system nodes are 0 .. nbSystem-1
+     */
+    void start(int nbSystem, IntBuffer list) {
+        dictionary.reserve(size(), this);
+        for (int id = 0; id < nbSystem; id++) {
+            create(id);
+        }
+        for (int i = 0; i < list.limit(); i++) {
+            create(list.get(i));
+        }
+        if (Graph.valueOut) {
+            // uri table is keyed by value key: label index does not apply
+            loadAll();
+        } else {
+            individual.setLoader(new Loader(GraphSnapshot.URI));
+            blank.setLoader(new Loader(GraphSnapshot.BLANK));
+        }
+    }
+
+    /**
+     * Create node of id and add it in the tables of its roles
+     */
+    void create(int id) {
+        Node node = dictionary.get(id);
+        if (node == null) {
+            int index = index(id);
+            node = (index < system) ? graph.getNode(index) : graph.createNode(value(id), index);
+            dictionary.set(id, node);
+        }
+        byte role = role(id);
+        if ((role & GraphSnapshot.NODE) != 0) {
+            graph.add(node);
+        }
+        if ((role & GraphSnapshot.GRAPH) != 0) {
+            graph.addGraphNode(node);
+        }
+        if ((role & GraphSnapshot.PROPERTY) != 0) {
+            graph.addPropertyNode(node);
+        }
+    }
+
+    /**
+     * Create node of id on demand: uri or blank node that is only subject or
+     * object of edges
+     */
+    @Override
+    public synchronized Node apply(int id) {
+        Node node = dictionary.get(id);
+        if (node == null) {
+            IDatatype dt = value(id);
+            node = graph.createNode(dt, index(id));
+            if (dt.isBlank()) {
+                blank.put(node.getLabel(), node);
+            } else {
+                individual.put(node);
+            }
+            dictionary.set(id, node);
+        }
+        return node;
+    }
+
+    /**
+     * Return node with label and kind if any
+     */
+    synchronized Node find(String label, byte kind) {
+        int hash = label.hashCode();
+        int n = labels.limit() / 2;
+        int begin = 0, end = n;
+        // first entry with hash code >= hash
+        while (begin < end) {
+            int mid = (begin + end) >>> 1;
+            if (labels.get(2 * mid) < hash) {
+                begin = mid + 1;
+            } else {
+                end = mid;
+            }
+        }
+        for (int i = begin; i < n && labels.get(2 * i) == hash; i++) {
+            int id = labels.get(2 * i + 1);
+            if (kind(id) == kind && value(id).getLabel().equals(label)) {
+                return apply(id);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Create all nodes, then tables and dictionary do not need loader
+     */
+    synchronized void loadAll() {
+        for (int i = 1; i < labels.limit(); i += 2) {
+            apply(labels.get(i));
+        }
+        individual.setLoader(null);
+        blank.setLoader(null);
+        dictionary.complete();
+    }
+
+}
@@ -0,0 +1,164 @@
+package fr.inria.corese.core.index;
+
+import fr.inria.corese.core.Graph;
+import fr.inria.corese.kgram.api.core.Node;
+
+/**
+ * Seekable trie iterator on the sorted edge list of a predicate
+ * use case: leapfrog triejoin (see query TrieJoin)
+ *
+ * Index 0 edge list is sorted by subject, object, graph node index: it is a
+ * trie with subject at level 0 and object at level 1.
+ * Index 1 edge list is sorted by object, subject, graph: it is a trie with
+ * object at level 0 and subject at level 1.
+ * At each level, the iterator enumerates the distinct node index (key) of
+ * the run of edges of current key of upper level.
+ * open() go down one level, up() go back to upper level,
+ * seek(key) move to least key >= key by binary search in the current run.
+ *
+ * Nodes with same node index which are not sameTerm (1 and 01) are sorted by
+ * value in the edge list, hence level 1 keys are sorted only if level 0 run
+ * has one node term: open() return false otherwise.
+ *
+ */
+public class TrieIterator {
+
+    private EdgeManager list;
+    // level -1 is before open()
+    private int level = -1;
+    // node position in edge at each level: 0 subject, 1 object
+    private int[] column;
+    // current position and end of run at each level
+    private int[] pos, end;
+
+    TrieIterator(EdgeManager list) {
+        this.list = list;
+        column = new int[]{list.getIndex(), list.getOther()};
+        pos = new int[2];
+        end = new int[2];
+    }
+
+    /**
+     * Trie iterator on edge list of predicate sorted by index n (0 or 1)
+     * return null when there is no such edge
+     */
+    public static TrieIterator create(Graph g, Node predicate, int n) {
+        EdgeManager list = g.getIndex(n).checkGet(predicate);
+        if (list == null || list.size() == 0) {
+            return null;
+        }
+        return new TrieIterator(list);
+    }
+
+    /**
+     * Node position in edge at level
+     */
+    public int getColumn(int level) {
+        return column[level];
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public boolean open() {
+        if (level == -1) {
+            level = 0;
+            pos[0] = 0;
+            end[0] = list.size();
+        } else {
+            int first = pos[0];
+            int last = upper(key(), first, end[0]);
+            if (!list.getNode(first, column[0]).same(list.getNode(last - 1, column[0]))) {
+                // several node terms with same node index: level 1 is not sorted
+                return false;
+            }
+            level = 1;
+            pos[1] = first;
+            end[1] = last;
+        }
+        return true;
+    }
+
+    public void up() {
+        level--;
+    }
+
+    public boolean atEnd() {
+        return pos[level] >= end[level];
+    }
+
+    public int key() {
+        return key(pos[level]);
+    }
+
+    int key(int i) {
+        return list.getNode(i, column[level]).getIndex();
+    }
+
+    /**
+     * Move to next key
+     */
+    public void next() {
+        pos[level] = upper(key(), pos[level], end[level]);
+    }
+
+    /**
+     * Move to least key >= key
+     */
+    public void seek(int key) {
+        pos[level] = lower(key, pos[level], end[level]);
+    }
+
+    /**
+     * Position of first edge of current key
+     */
+    public int begin() {
+        return pos[level];
+    }
+
+    /**
+     * Position after last edge of current key
+     */
+    public int end() {
+        return upper(key(), pos[level], end[level]);
+    }
+
+    /**
+     * Node at level of edge at position i
+     */
+    public Node getNode(int i, int level) {
+        return list.getNode(i, column[level]);
+    }
+
+    /**
+     * First position in [first, last[ with key >= k
+     */
+    int lower(int k, int first, int last) {
+        while (first < last) {
+            int mid = (first + last) >>> 1;
+            if (key(mid) < k) {
+                first = mid + 1;
+            } else {
+                last = mid;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * First position in [first, last[ with key > k
+     */
+    int upper(int k, int first, int last) {
+        while (first < last) {
+            int mid = (first + last) >>> 1;
+            if (key(mid) <= k) {
+                first = mid + 1;
+            } else {
+                last = mid;
+            }
+        }
+        return first;
+    }
+
+}
@@ -0,0 +1,322 @@
+package fr.inria.corese.core.producer;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Expr;
+import fr.inria.corese.kgram.api.core.ExprType;
+import fr.inria.corese.kgram.api.core.Filter;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.api.query.EdgeFilter;
+import fr.inria.corese.kgram.api.query.Environment;
+import fr.inria.corese.kgram.core.Exp;
+import fr.inria.corese.sparql.api.IDatatype;
+import fr.inria.corese.sparql.triple.function.term.TermEval;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compile filters of a triple pattern into a DataFilter evaluated by
+ * DataProducer during edge iteration (filter pushdown)
+ * use case: ?x foaf:age ?a filter (?a > 30)
+ * ProducerImpl getEdges() apply the filter to the edge iterator.
+ *
+ * Filters are those QuerySorter sortFilter() attach to the triple pattern:
+ * they are bound by the triple pattern. Compiled expressions:
+ * var op cst, cst op var, lang(var) op cst, datatype(var) op cst,
+ * isURI(var), isBlank(var), isLiteral(var), isNumeric(var), && || !
+ * op ::= = != < <= > >=
+ * var is subject or object of the triple pattern, it is not bound before
+ * the triple pattern.
+ * Unsupported conjuncts of && are skipped. The DataFilter rejects an edge
+ * only when the filter is false or an error, filters are still evaluated by
+ * Eval.
+ * Top level ?x = <uri> where ?x is subject or object is the focus node of
+ * the edge index (index seek). Range filters are not index range scans
+ * because the edge index is sorted by node index, they are DataFilter.
+ * Filters are not compiled when operators may be overloaded by LDScript
+ * (TermEval.OVERLOAD).
+ *
+ * The compiled filter is recorded in the query Exp of the triple pattern.
+ *
+ */
+public class DataFilterCompiler implements EdgeFilter {
+
+    public static boolean FILTER_PUSHDOWN = true;
+    static final DataFilterCompiler EMPTY = new DataFilterCompiler(null);
+
+    private Edge edge;
+    private DataFilter filter;
+    // query variables of compiled filter
+    private List<Node> varList;
+    // top level ?x = <uri>
+    private IDatatype focus;
+    private int focusIndex = -1;
+
+    DataFilterCompiler(Edge edge) {
+        this.edge = edge;
+        varList = new ArrayList<>();
+    }
+
+    /**
+     * Compiled filters of triple pattern exp, null if there is none
+     */
+    public static DataFilterCompiler compile(Exp exp) {
+        if (!FILTER_PUSHDOWN || TermEval.OVERLOAD) {
+            return null;
+        }
+        EdgeFilter ef = exp.getPushdown();
+        if (ef == null) {
+            // compiled filter is immutable: concurrent workers may compile
+            // it twice, the result is the same
+            ef = new DataFilterCompiler(exp.getEdge()).process(exp);
+            exp.setPushdown(ef);
+        }
+        return ef.isEmpty() ? null : (DataFilterCompiler) ef;
+    }
+
+    DataFilterCompiler process(Exp exp) {
+        List<DataFilter> list = new ArrayList<>();
+        for (Filter f : exp.getFilters()) {
+            if (!f.getExp().isRecExist()) {
+                conjunct(f.getExp(), list);
+            }
+        }
+        if (list.isEmpty()) {
+            return EMPTY;
+        }
+        filter = (list.size() == 1) ? list.get(0) : and(list);
+        return this;
+    }
+
+    /**
+     * Top level conjunct of filter
+     */
+    void conjunct(Expr exp, List<DataFilter> list) {
+        if (isBoolean(exp, ExprType.AND)) {
+            for (Expr ee : exp.getExpList()) {
+                conjunct(ee, list);
+            }
+        } else if (focus == null && isFocus(exp)) {
+            // ?x = <uri>: index seek
+            Expr var = exp.getExp(0).isVariable() ? exp.getExp(0) : exp.getExp(1);
+            Expr cst = exp.getExp(0).isVariable() ? exp.getExp(1) : exp.getExp(0);
+            focus = cst.getDatatypeValue();
+            focusIndex = index(var);
+            // the filter is also compiled because the focus node may be skipped
+            list.add(compile(exp));
+        } else {
+            DataFilter df = compile(exp);
+            if (df != null) {
+                list.add(df);
+            }
+        }
+    }
+
+    /**
+     * return null when exp cannot be compiled
+     */
+    DataFilter compile(Expr exp) {
+        if (exp.type() == ExprType.BOOLEAN) {
+            return connector(exp);
+        }
+        switch (exp.arity()) {
+            case 1:
+                return function(exp);
+            case 2:
+                return term(exp);
+            default:
+                return null;
+        }
+    }
+
+    DataFilter connector(Expr exp) {
+        List<DataFilter> list = new ArrayList<>();
+        for (Expr ee : exp.getExpList()) {
+            DataFilter df = compile(ee);
+            if (df == null) {
+                return null;
+            }
+            list.add(df);
+        }
+        if (exp.oper() == ExprType.AND) {
+            return and(list);
+        } else if (exp.oper() == ExprType.OR) {
+            DataFilterOr or = new DataFilterOr();
+            for (DataFilter df : list) {
+                or.add(df);
+            }
+            return or;
+        } else if (exp.oper() == ExprType.NOT && list.size() == 1) {
+            return new DataFilterNot(list.get(0));
+        }
+        return null;
+    }
+
+    DataFilter and(List<DataFilter> list) {
+        DataFilterAnd and = new DataFilterAnd();
+        for (DataFilter df : list) {
+            and.add(df);
+        }
+        return and;
+    }
+
+    /**
+     * isURI(var) isBlank(var) isLiteral(var) isNumeric(var)
+     */
+    DataFilter function(Expr exp) {
+        switch (exp.oper()) {
+            case ExprType.ISURI:
+            case ExprType.ISBLANK:
+            case ExprType.ISLITERAL:
+            case ExprType.ISNUMERIC:
+                int index = index(exp.getExp(0));
+                if (exp.type() == ExprType.FUNCTION && index != -1) {
+                    addVariable(exp.getExp(0));
+                    return new DataFilterTerm(exp.oper(), null, index);
+                }
+        }
+        return null;
+    }
+
+    /**
+     * var op cst | cst op var | lang(var) op cst | datatype(var) op cst
+     */
+    DataFilter term(Expr exp) {
+        int oper = exp.oper();
+        if (!isComparison(oper)) {
+            return null;
+        }
+        Expr arg = exp.getExp(0), cst = exp.getExp(1);
+        if (arg.isConstant()) {
+            arg = exp.getExp(1);
+            cst = exp.getExp(0);
+            oper = inverse(oper);
+        }
+        if (!cst.isConstant() || cst.getDatatypeValue() == null) {
+            return null;
+        }
+        int accessor = -1;
+        if (arg.type() == ExprType.FUNCTION && arg.arity() == 1
+                && (arg.oper() == ExprType.LANG || arg.oper() == ExprType.DATATYPE)) {
+            accessor = arg.oper();
+            arg = arg.getExp(0);
+        }
+        int index = index(arg);
+        if (index == -1) {
+            return null;
+        }
+        addVariable(arg);
+        return new DataFilterTerm(oper, cst.getDatatypeValue(), index, accessor);
+    }
+
+    /**
+     * Top level ?x = <uri> where ?x is subject or object
+     */
+    boolean isFocus(Expr exp) {
+        if (exp.oper() != ExprType.EQ || exp.arity() != 2) {
+            return false;
+        }
+        Expr e1 = exp.getExp(0), e2 = exp.getExp(1);
+        if (e1.isConstant()) {
+            e1 = exp.getExp(1);
+            e2 = exp.getExp(0);
+        }
+        return e2.isConstant() && e2.getDatatypeValue() != null
+                && e2.getDatatypeValue().isURI() && index(e1) != -1;
+    }
+
+    boolean isBoolean(Expr exp, int oper) {
+        return exp.type() == ExprType.BOOLEAN && exp.oper() == oper;
+    }
+
+    boolean isComparison(int oper) {
+        switch (oper) {
+            case ExprType.EQ:
+            case ExprType.NEQ:
+            case ExprType.LT:
+            case ExprType.LE:
+            case ExprType.GT:
+            case ExprType.GE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * cst op var -> var inverse(op) cst
+     */
+    int inverse(int oper) {
+        switch (oper) {
+            case ExprType.LT:
+                return ExprType.GT;
+            case ExprType.LE:
+                return ExprType.GE;
+            case ExprType.GT:
+                return ExprType.LT;
+            case ExprType.GE:
+                return ExprType.LE;
+            default:
+                return oper;
+        }
+    }
+
+    /**
+     * Index of variable in triple pattern: 0 subject, 1 object, -1 otherwise
+     */
+    int index(Expr var) {
+        if (!var.isVariable()) {
+            return -1;
+        }
+        for (int i = 0; i < 2; i++) {
+            Node node = edge.getNode(i);
+            if (node.isVariable() && node.getLabel().equals(var.getLabel())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    void addVariable(Expr var) {
+        Node node = edge.getNode(index(var));
+        if (!varList.contains(node)) {
+            varList.add(node);
+        }
+    }
+
+    /**
+     * Filter variables must be bound by the triple pattern: they are not
+     * bound in the environment
+     */
+    public boolean accept(Environment env) {
+        for (Node var : varList) {
+            if (env.getNode(var) != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    public DataFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Value of top level ?x = <uri>, null if none
+     */
+    public IDatatype getFocus() {
+        return focus;
+    }
+
+    /**
+     * Index of focus variable in triple pattern
+     */
+    public int getFocusIndex() {
+        return focusIndex;
+    }
+
+}
@@ -0,0 +1,89 @@
+package fr.inria.corese.core.producer;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.sparql.api.IDatatype;
+import fr.inria.corese.sparql.datatype.DatatypeMap;
+import fr.inria.corese.sparql.exceptions.CoreseDatatypeException;
+
+/**
+ * Filter on subject or object of current edge with the semantics of
+ * SPARQL filter operators (see DataFilterCompiler)
+ * var op cst, lang(var) op cst, datatype(var) op cst, isURI(var) ...
+ * op ::= = != < <= > >=
+ * Same IDatatype functions as SPARQL operators: dt.eq(cst), dt.lt(cst)
+ * eval() return true when SPARQL filter is true, false when it is false or
+ * an error.
+ *
+ */
+public class DataFilterTerm extends DataFilter {
+
+    // LANG, DATATYPE or -1 for node value
+    private int accessor = -1;
+
+    DataFilterTerm(int test, IDatatype dt, int index) {
+        super(test, dt, index);
+    }
+
+    DataFilterTerm(int test, IDatatype dt, int index, int accessor) {
+        super(test, dt, index);
+        this.accessor = accessor;
+    }
+
+    @Override
+    boolean eval(Edge edge) {
+        IDatatype dt = getNode(edge, index).getDatatypeValue();
+        switch (accessor) {
+            case LANG:
+                dt = dt.getDataLang();
+                break;
+            case DATATYPE:
+                dt = dt.getDatatype();
+                break;
+        }
+        if (dt == null) {
+            return false;
+        }
+        IDatatype res = test(dt);
+        return res != null && res.isTrueAble() && isTrue(res);
+    }
+
+    boolean isTrue(IDatatype dt) {
+        try {
+            return dt.isTrue();
+        } catch (CoreseDatatypeException e) {
+            return false;
+        }
+    }
+
+    IDatatype test(IDatatype dt) {
+        switch (getOper()) {
+            case EQ:
+                return dt.eq(getValue());
+            case NEQ:
+                return dt.ne(getValue());
+            case LT:
+                return dt.lt(getValue());
+            case LE:
+                return dt.le(getValue());
+            case GT:
+                return dt.gt(getValue());
+            case GE:
+                return dt.ge(getValue());
+            case ISURI:
+                return dt.isURINode();
+            case ISBLANK:
+                return dt.isBlankNode();
+            case ISLITERAL:
+                return dt.isLiteralNode();
+            case ISNUMERIC:
+                return DatatypeMap.newInstance(dt.isNumber());
+            default:
+                return null;
+        }
+    }
+
+    public int getAccessor() {
+        return accessor;
+    }
+
+}
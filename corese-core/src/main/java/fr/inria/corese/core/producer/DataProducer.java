@@ -10,6 +10,7 @@ import java.util.List;
 import fr.inria.corese.core.Graph;
 import fr.inria.corese.core.GraphObject;
 import fr.inria.corese.core.edge.EdgeTop;
+import fr.inria.corese.core.index.EdgeManagerIndexer;
 import fr.inria.corese.kgram.api.core.Edge;
 import fr.inria.corese.kgram.api.core.ExprType;
 import fr.inria.corese.kgram.api.core.Node;
@@ -389,6 +390,36 @@ public class DataProducer extends GraphObject
         return this;
     }
 
+    /**
+     * Split edges into consecutive ranges of about size edges, in iteration
+     * order: each range is a DataProducer with the same filters
+     * Return null when edges cannot be split
+     * use case: morsel driven parallel evaluation
+     */
+    public List<Iterable<Edge>> split(int size) {
+        List<Iterable<Edge>> list = EdgeManagerIndexer.split(iter, size);
+        if (list == null) {
+            return null;
+        }
+        ArrayList<Iterable<Edge>> res = new ArrayList<>(list.size());
+        for (Iterable<Edge> range : list) {
+            res.add(copy(range));
+        }
+        return res;
+    }
+
+    // filters are not modified during iteration, they are shared
+    DataProducer copy(Iterable<Edge> range) {
+        DataProducer dp = new DataProducer(getGraph());
+        dp.iter = range;
+        dp.filter = filter;
+        dp.from = from;
+        dp.isNamedGraph = isNamedGraph;
+        dp.skipEdgeMetadata = skipEdgeMetadata;
+        dp.duplicate = duplicate;
+        return dp;
+    }
+
     @Override
     public Iterator<Edge> iterator() {
         if (from != null && from.isOneFrom() && from.getFromNode() == null) {
@@ -630,6 +661,15 @@ public class DataProducer extends GraphObject
         return this;
     }
 
+    /**
+     * Conjunction of current filter and f
+     * use case: filter pushdown (see DataFilterCompiler)
+     */
+    public DataProducer and(DataFilter f) {
+        filter = (filter == null) ? f : new DataFilterAnd(filter, f);
+        return this;
+    }
+
     /**
      * @return the filter
      */
@@ -0,0 +1,170 @@
+package fr.inria.corese.core.query;
+
+import fr.inria.corese.compiler.parser.NodeImpl;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.core.Mapping;
+import fr.inria.corese.kgram.core.Mappings;
+import fr.inria.corese.kgram.core.Query;
+import fr.inria.corese.sparql.api.IDatatype;
+import fr.inria.corese.sparql.exceptions.EngineException;
+import fr.inria.corese.sparql.triple.parser.ASTExtension;
+import fr.inria.corese.sparql.triple.parser.Dataset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Prepared query with parameters
+ * PreparedQuery pq = exec.prepare("select * where { ?x foaf:knows ?y }");
+ * pq.execute(Map.of("x", DatatypeMap.createResource(uri)));
+ *
+ * Query is parsed and compiled once, execute() binds parameter variables
+ * with their values as exec.query(q, m) does, hence a parameter variable
+ * must occur in the where clause patterns. Edges and filters are sorted
+ * at first execution with parameter variables considered as bound, hence
+ * edges with parameter are evaluated first. There is one query plan for
+ * each set of parameter variables.
+ * Query is not thread safe, hence a compiled query is used by one
+ * execution at a time: concurrent executions compile another copy of the
+ * query, idle copies are kept in a pool (at most QueryCache.POOL copies).
+ * Copies are cleared when public functions change. Query that cannot be
+ * reused (see QueryCache accept()) is compiled for each execution.
+ *
+ */
+public class PreparedQuery {
+
+    private QueryProcess exec;
+    private String query;
+    private Dataset dataset;
+    // parameter variables -> idle compiled queries
+    private HashMap<List<String>, List<Query>> pool;
+    private int version;
+    private int compileCount = 0;
+    private int executeCount = 0;
+
+    PreparedQuery(QueryProcess exec, String query, Dataset ds) throws EngineException {
+        this.exec = exec;
+        this.query = query;
+        dataset = ds;
+        pool = new HashMap<>();
+        version = ASTExtension.getVersion();
+        // parse error is reported by prepare()
+        release(new ArrayList<>(0), compile(new ArrayList<>(0)));
+    }
+
+    public Mappings execute() throws EngineException {
+        return execute(new HashMap<>(0));
+    }
+
+    /**
+     * Variable name with or without ? -> value
+     * Parameter with null value is not bound
+     */
+    public Mappings execute(Map<String, IDatatype> param) throws EngineException {
+        TreeMap<String, IDatatype> map = new TreeMap<>();
+        for (Map.Entry<String, IDatatype> entry : param.entrySet()) {
+            if (entry.getValue() != null) {
+                map.put(variable(entry.getKey()), entry.getValue());
+            }
+        }
+        List<String> key = new ArrayList<>(map.keySet());
+        Query q = get(key);
+        if (q == null) {
+            q = compile(key);
+        } else {
+            // new ast Context for execution log
+            QueryCache.use(q, dataset);
+        }
+        Mappings res = exec.query(null, q, mapping(map), dataset);
+        release(key, q);
+        return res;
+    }
+
+    String variable(String name) {
+        if (name.startsWith("?") || name.startsWith("$")) {
+            return "?" + name.substring(1);
+        }
+        return "?" + name;
+    }
+
+    Mapping mapping(TreeMap<String, IDatatype> map) {
+        if (map.isEmpty()) {
+            return null;
+        }
+        List<Node> varList = new ArrayList<>();
+        List<Node> valueList = new ArrayList<>();
+        for (Map.Entry<String, IDatatype> entry : map.entrySet()) {
+            varList.add(NodeImpl.createVariable(entry.getKey()));
+            valueList.add(entry.getValue());
+        }
+        return Mapping.create(varList, valueList);
+    }
+
+    /**
+     * Compiled query whose plan considers parameter variables as bound
+     */
+    Query compile(List<String> key) throws EngineException {
+        Query q = exec.compile(query, dataset);
+        q.setParameterList(key);
+        synchronized (this) {
+            compileCount++;
+        }
+        return q;
+    }
+
+    synchronized Query get(List<String> key) {
+        executeCount++;
+        check();
+        List<Query> list = pool.get(key);
+        if (list == null || list.isEmpty()) {
+            return null;
+        }
+        return list.remove(list.size() - 1);
+    }
+
+    /**
+     * Return query to the pool after execution
+     */
+    synchronized void release(List<String> key, Query q) {
+        check();
+        if (!QueryCache.accept(q, dataset)) {
+            return;
+        }
+        List<Query> list = pool.get(key);
+        if (list == null) {
+            list = new ArrayList<>();
+            pool.put(key, list);
+        }
+        if (list.size() < QueryCache.POOL) {
+            list.add(q);
+        }
+    }
+
+    /**
+     * Clear compiled queries when public functions have changed
+     */
+    void check() {
+        if (version != ASTExtension.getVersion()) {
+            version = ASTExtension.getVersion();
+            pool.clear();
+        }
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Number of query compilation
+     */
+    public synchronized int getCompileCount() {
+        return compileCount;
+    }
+
+    public synchronized int getExecuteCount() {
+        return executeCount;
+    }
+
+}
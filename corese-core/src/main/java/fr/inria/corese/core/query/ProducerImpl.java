@@ -19,9 +19,11 @@ import fr.inria.corese.core.Event;
 import fr.inria.corese.core.Graph;
 import fr.inria.corese.core.Index;
 import fr.inria.corese.core.api.DataBroker;
+import fr.inria.corese.core.index.ClosureIndex;
 import fr.inria.corese.core.index.EdgeManagerIndexer;
 import fr.inria.corese.core.producer.DataBrokerExtern;
 import fr.inria.corese.core.producer.DataBrokerLocal;
+import fr.inria.corese.core.producer.DataFilterCompiler;
 import fr.inria.corese.core.producer.DataProducer;
 import fr.inria.corese.core.storage.api.dataManager.DataManager;
 import fr.inria.corese.kgram.api.core.DatatypeValueFactory;
@@ -31,14 +33,17 @@ import fr.inria.corese.kgram.api.core.Node;
 import fr.inria.corese.kgram.api.core.Regex;
 import fr.inria.corese.kgram.api.query.Environment;
 import fr.inria.corese.kgram.api.query.Matcher;
+import fr.inria.corese.kgram.api.query.PathIndex;
 import fr.inria.corese.kgram.api.query.Producer;
 import fr.inria.corese.kgram.core.Eval;
 import fr.inria.corese.kgram.core.Exp;
+import fr.inria.corese.kgram.core.Mapping;
 import fr.inria.corese.kgram.core.Mappings;
 import fr.inria.corese.kgram.core.Memory;
 import fr.inria.corese.kgram.core.Query;
 import fr.inria.corese.kgram.core.SparqlException;
 import fr.inria.corese.kgram.sorter.core.IProducerQP;
+import fr.inria.corese.kgram.sorter.core.IStatistics;
 import fr.inria.corese.kgram.sorter.core.QPGNode;
 import fr.inria.corese.kgram.tool.MetaIterator;
 import fr.inria.corese.sparql.api.IDatatype;
@@ -292,6 +297,17 @@ public class ProducerImpl
             }
         }
 
+        DataFilterCompiler pushdown = getPushdown(q, edge, env);
+        if (focusNode == null && pushdown != null && pushdown.getFocus() != null
+                && !(pushdown.getFocusIndex() == 1 && isSkipTypeObjectNode(q, edge))) {
+            // filter (?x = <uri>): focus on uri
+            focusNode = getGraph().getNode(pushdown.getFocus(), false, false);
+            if (focusNode == null) {
+                return empty;
+            }
+            focusNodeIndex = pushdown.getFocusIndex();
+        }
+
         Iterable<Edge> it;
 
         if (mode == EXTENSION && getQuery() == q) {
@@ -305,6 +321,10 @@ public class ProducerImpl
             it = getEdges(namedGraphURI, getNode(namedGraphURI, env), from, predicate, focusNode, objectNode,
                     focusNodeIndex,
                     skip, getAccessRight(env), isNested(q, edge));
+            if (pushdown != null && it instanceof DataProducer) {
+                // filters of edge evaluated during iteration
+                ((DataProducer) it).and(pushdown.getFilter());
+            }
         }
         // in case of local Matcher
         it = localMatch(it, namedGraphURI, edge, env);
@@ -312,6 +332,24 @@ public class ProducerImpl
         return it;
     }
 
+    /**
+     * Filters of current query edge compiled into a DataFilter, null if none
+     * Edge variables of filters must not be bound yet
+     */
+    DataFilterCompiler getPushdown(Query q, Edge edge, Environment env) {
+        Exp exp = env.getExp();
+        if (exp == null || !exp.isEdge() || exp.getEdge() != edge
+                || hasDataManager() || mode == EXTENSION || isMatch
+                || q.isRule() || q.isRelax(edge)) {
+            return null;
+        }
+        DataFilterCompiler dfc = DataFilterCompiler.compile(exp);
+        if (dfc == null || !dfc.accept(env)) {
+            return null;
+        }
+        return dfc;
+    }
+
     boolean isNested(Query q, Edge edge) {
         return edge.isNested() || q.getGlobalAST().hasMetadata(RDF_STAR_SELECT);
     }
@@ -519,6 +557,57 @@ public class ProducerImpl
         }
     }
 
+    /**
+     * Edge iterator of the whole edge list of a predicate split into ranges
+     */
+    @Override
+    public List<Iterable<Edge>> getEdgeRanges(Node gNode, List<Node> from, Edge qEdge, Environment env, int size) {
+        Iterable<Edge> it = getEdges(gNode, from, qEdge, env);
+        if (it instanceof DataProducer) {
+            return ((DataProducer) it).split(size);
+        }
+        return null;
+    }
+
+    /**
+     * Worst case optimal join of cyclic BGP, solutions are computed on demand
+     * null: Eval evaluates the triple patterns, e.g. when distinct literals
+     * have same node index (1 and 01)
+     */
+    @Override
+    public Iterator<Mapping> getTrieJoin(Node gNode, List<Node> from, Exp exp, Environment env) {
+        if (env instanceof Memory && isTrieJoin(gNode, from, env)
+                && !getGraph().isSameIndexLiteral()) {
+            return new TrieJoin(this, exp, env).process();
+        }
+        return null;
+    }
+
+    /**
+     * BGP can be evaluated by TrieJoin on the edge index of the graph:
+     * default graph without from, no access right, no edge metadata
+     */
+    boolean isTrieJoin(Node gNode, List<Node> from, Environment env) {
+        return gNode == null
+                && (from == null || from.isEmpty())
+                && !hasDataManager()
+                && mode != EXTENSION
+                && !isMatch
+                && !env.getQuery().isRule()
+                && !AccessRight.isActive()
+                && !getGraph().isEdgeMetadata()
+                && !getGraph().isMetadata()
+                && getGraph().getDataStore().getDefaultGraphList().isEmpty();
+    }
+
+    /**
+     * Sorter may group cyclic triple patterns in a BGP evaluated by TrieJoin
+     */
+    @Override
+    public boolean isTrieJoin() {
+        return !hasDataManager() && mode != EXTENSION;
+    }
+
     /**
      * Edge Iterator with rdfs entailment, ?x a us:Person return one occurrence of
      * each value of ?x
@@ -618,6 +707,22 @@ public class ProducerImpl
         return it;
     }
 
+    /**
+     * Transitive closure of property exp for exp+ exp* (see ClosureIndex)
+     * when graph has a closure index
+     * Same conditions as TrieJoin: default graph without from, no access
+     * right, no edge metadata
+     */
+    @Override
+    public PathIndex getPathIndex(Node gNode, List<Node> from, Edge edge, Environment env, Regex exp) {
+        ClosureIndex index = getGraph().getClosureIndex(ClosureIndex.CLOSURE_INDEX);
+        if (index == null || isDB() || !isTrieJoin(gNode, from, env)
+                || isNested(env.getQuery(), edge)) {
+            return null;
+        }
+        return index.get(exp.getLongName());
+    }
+
     boolean isDB() {
         return getClass() != ProducerImpl.class;
     }
@@ -992,6 +1097,14 @@ public class ProducerImpl
         }
     }
 
+    /**
+     * Statistics for cost based query planning (Query.QP_COST)
+     */
+    @Override
+    public IStatistics getStatistics() {
+        return getGraph().getStatistics();
+    }
+
     /**
      * @return the query
      */
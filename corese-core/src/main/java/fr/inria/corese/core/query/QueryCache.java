@@ -0,0 +1,246 @@
+package fr.inria.corese.core.query;
+
+import fr.inria.corese.core.Graph;
+import fr.inria.corese.kgram.core.Query;
+import fr.inria.corese.sparql.triple.parser.ASTExtension;
+import fr.inria.corese.sparql.triple.parser.ASTQuery;
+import fr.inria.corese.sparql.triple.parser.Context;
+import fr.inria.corese.sparql.triple.parser.Dataset;
+import fr.inria.corese.sparql.triple.parser.Metadata;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * LRU cache of compiled queries of a graph: graph.getQueryCache()
+ * QueryProcess.PLAN_CACHE = true
+ *
+ * Key is query text (leading and trailing spaces removed), from, from named,
+ * access level and QuerySolver transformer parameters.
+ * Query is not thread safe (it records evaluation data structures), hence a
+ * compiled query is used by one evaluation at a time: get() removes an idle
+ * query from the pool of the key, put() returns it to the pool after
+ * evaluation. When there is no idle query, the query is compiled again and
+ * the new copy is added to the pool (at most POOL copies per key).
+ *
+ * Cache is cleared when public functions are defined or removed (the
+ * compiled query may call them) and pools are cleared when the graph has
+ * been modified since the queries were compiled (the edge order of the plan
+ * depends on cardinalities): the graph modification count is recorded with
+ * the pool.
+ * Update, rule, federated, service, template query, query with function
+ * definition or @import are not cached.
+ *
+ */
+public class QueryCache {
+
+    public static int CAPACITY = 1000;
+    // max number of idle copies of a compiled query
+    public static int POOL = 8;
+
+    private Graph graph;
+    private Table table;
+    private int version;
+    private int hit = 0, miss = 0, invalidation = 0;
+
+    public QueryCache(Graph g) {
+        this(g, CAPACITY);
+    }
+
+    public QueryCache(Graph g, int capacity) {
+        graph = g;
+        table = new Table(capacity);
+        version = ASTExtension.getVersion();
+    }
+
+    /**
+     * Key of query text in a Dataset
+     * return null when compiled query cannot be reused
+     */
+    public String key(QueryProcess exec, String squery, Dataset ds) {
+        String signature = exec.getCompileSignature();
+        if (signature == null || !accept(ds)) {
+            return null;
+        }
+        StringBuilder sb = new StringBuilder(squery.trim());
+        sb.append("\n").append(signature);
+        if (ds != null) {
+            sb.append("\n").append(ds.getFrom()).append(ds.getNamed());
+            if (ds.getContext() != null) {
+                sb.append(ds.getContext().getLevel());
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Dataset with from, named and Context only
+     */
+    boolean accept(Dataset ds) {
+        return ds == null
+                || (ds.getBinding() == null && ds.getMetadata() == null
+                && ds.getTemplateVisitor() == null && ds.getVisitor() == null
+                && ds.getBase() == null && ds.getUriList() == null
+                && ds.getIndex() == null && ds.getStoragePath() == null
+                && !ds.isLoad() && !ds.isUpdate());
+    }
+
+    /**
+     * Compiled query can be reused
+     * Query Context must be Dataset Context, ast Context and log are replaced
+     * at each use, see use()
+     */
+    public static boolean accept(Query q, Dataset ds) {
+        ASTQuery ast = q.getAST();
+        return !(q.isUpdate() || q.isRule() || q.isFederate() || q.isTemplate()
+                || q.getService() != null
+                || (ast.getDefine() != null && !ast.getDefine().isEmpty())
+                || (ast.getDefineLambda() != null && !ast.getDefineLambda().isEmpty())
+                || ast.hasMetadata(Metadata.IMPORT)
+                || ast.getLog().getASTSelect() != null)
+                && q.getContext() == getContext(ds);
+    }
+
+    /**
+     * Compiled query is used with Dataset Context
+     * ast log is recorded in ast Context: when there is no Dataset Context
+     * a new one is created by next getLog()
+     */
+    static void use(Query q, Dataset ds) {
+        ASTQuery ast = q.getAST();
+        ast.setDefaultDataset(ds);
+        ast.setContext(getContext(ds));
+        q.setContext(getContext(ds));
+    }
+
+    static Context getContext(Dataset ds) {
+        return (ds == null) ? null : ds.getContext();
+    }
+
+    /**
+     * Idle compiled query for key or null
+     */
+    public synchronized Query get(String key) {
+        check();
+        Pool entry = table.get(key);
+        if (entry != null) {
+            if (!entry.check()) {
+                invalidation++;
+            } else if (!entry.pool.isEmpty()) {
+                hit++;
+                return entry.pool.remove(entry.pool.size() - 1);
+            }
+        }
+        miss++;
+        return null;
+    }
+
+    /**
+     * Return query to the pool of key after evaluation
+     */
+    public synchronized void put(String key, Query q) {
+        check();
+        Pool entry = table.get(key);
+        if (entry == null) {
+            entry = new Pool();
+            table.put(key, entry);
+        } else if (!entry.check()) {
+            return;
+        }
+        if (entry.pool.size() < POOL) {
+            entry.pool.add(q);
+        }
+    }
+
+    /**
+     * Clear the cache when public functions have changed
+     */
+    void check() {
+        if (version != ASTExtension.getVersion()) {
+            version = ASTExtension.getVersion();
+            if (!table.isEmpty()) {
+                invalidation++;
+                table.clear();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        table.clear();
+    }
+
+    public synchronized int size() {
+        return table.size();
+    }
+
+    public int getHitCount() {
+        return hit;
+    }
+
+    public int getMissCount() {
+        return miss;
+    }
+
+    public int getInvalidationCount() {
+        return invalidation;
+    }
+
+    public double getHitRate() {
+        int total = hit + miss;
+        return (total == 0) ? 0 : (double) hit / total;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Query cache: %s queries, hit: %s, miss: %s, hit rate: %.2f, invalidation: %s",
+                size(), getHitCount(), getMissCount(), getHitRate(), getInvalidationCount());
+    }
+
+    /**
+     * Least recently used key is removed beyond capacity
+     */
+    class Table extends LinkedHashMap<String, Pool> {
+
+        int capacity;
+
+        Table(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Pool> eldest) {
+            return size() > capacity;
+        }
+    }
+
+    /**
+     * Idle copies of a compiled query
+     * Graph modification count when queries were compiled
+     */
+    class Pool {
+
+        List<Query> pool;
+        long modification;
+
+        Pool() {
+            pool = new ArrayList<>();
+            modification = graph.getModificationCount();
+        }
+
+        /**
+         * Clear the pool when graph has been modified
+         */
+        boolean check() {
+            long n = graph.getModificationCount();
+            if (n != modification) {
+                pool.clear();
+                modification = n;
+                return false;
+            }
+            return true;
+        }
+    }
+
+}
@@ -31,6 +31,7 @@ import fr.inria.corese.core.api.DataBrokerConstruct;
 import fr.inria.corese.core.api.Loader;
 import fr.inria.corese.core.api.Log;
 import fr.inria.corese.core.approximate.ext.ASTRewriter;
+import fr.inria.corese.core.index.GraphVersion;
 import fr.inria.corese.core.load.Load;
 import fr.inria.corese.core.load.LoadException;
 import fr.inria.corese.core.load.QueryLoad;
@@ -49,6 +50,7 @@ import fr.inria.corese.kgram.api.query.Evaluator;
 import fr.inria.corese.kgram.api.query.Matcher;
 import fr.inria.corese.kgram.api.query.ProcessVisitor;
 import fr.inria.corese.kgram.api.query.Producer;
+import fr.inria.corese.kgram.core.Cursor;
 import fr.inria.corese.kgram.core.Eval;
 import fr.inria.corese.kgram.core.Mapping;
 import fr.inria.corese.kgram.core.Mappings;
@@ -89,6 +91,8 @@ import jakarta.ws.rs.client.ResponseProcessingException;
  */
 public class QueryProcess extends QuerySolver {
     public static boolean DISPLAY_QUERY = false;
+    // reuse compiled query of query(String)
+    public static boolean PLAN_CACHE = false;
     private static Logger logger = LoggerFactory.getLogger(QueryProcess.class);
     private static ProducerImpl dbProducer;
     private static final String EVENT = "event";
@@ -125,6 +129,8 @@ public class QueryProcess extends QuerySolver {
     // false: case where we execute a subquery (e.g. xt:sparql)
     // or a query within rule engine
     private boolean processTransaction = true;
+    // graph in multi version mode: query read current version of graph without lock
+    private boolean versioning = true;
 
     public QueryProcess() {
     }
@@ -537,11 +543,124 @@ public class QueryProcess extends QuerySolver {
         return query(squery, null, Dataset.create(vis));
     }
 
+    /**
+     * Pull based evaluation of select query: solutions are consumed with an
+     * iterator while the query is evaluated in another thread
+     * The query reads a version of the graph pinned until evaluation ends:
+     * updates meanwhile are not seen by the cursor and are not blocked by it
+     * The cursor should be closed when iteration is not complete, otherwise
+     * it is closed when garbage collected
+     * Query with order by, group by, aggregate, distinct is evaluated first,
+     * as well as query when there is no cursor thread available
+     */
+    public Cursor queryCursor(String squery) throws EngineException {
+        return queryCursor(squery, null, null);
+    }
+
+    public Cursor queryCursor(String squery, Mapping map, Dataset ds) throws EngineException {
+        Query q = compile(squery, ds);
+        if (Cursor.accept(q) && isCursor(q)) {
+            GraphVersion gv = getGraph().getCreateGraphVersion();
+            GraphVersion.Version version = gv.acquire();
+            QueryProcess exec = stdCreate(version.getGraph(), isMatch());
+            Cursor cursor = null;
+            try {
+                cursor = Cursor.submit(q, () -> {
+                    try {
+                        exec.query(null, q, map, ds);
+                    } finally {
+                        gv.release(version);
+                    }
+                });
+            } finally {
+                if (cursor == null) {
+                    gv.release(version);
+                }
+            }
+            if (cursor != null) {
+                return cursor;
+            }
+        }
+        return new Cursor(query(null, q, map, ds));
+    }
+
+    /**
+     * Query can read a version of the graph pinned by a cursor
+     */
+    boolean isCursor(Query q) {
+        Graph g = getGraph();
+        return g != null && lock == g.getLock()
+                && q.isLock() && !isSynchronized() && !hasDataManager()
+                && !g.getLock().isWriteLockedByCurrentThread();
+    }
+
+    /**
+     * Query compiled once and executed with parameter values
+     * exec.prepare(q).execute(Map.of("x", value))
+     */
+    public PreparedQuery prepare(String squery) throws EngineException {
+        return prepare(squery, null);
+    }
+
+    public PreparedQuery prepare(String squery, Dataset ds) throws EngineException {
+        return new PreparedQuery(this, squery, ds);
+    }
+
+    /**
+     * Query plan with estimated cardinality of triple patterns
+     * Query is compiled and sorted but it is not evaluated
+     * Cost based query plan: exec.setPlanProfile(Query.QP_COST)
+     */
+    public String explain(String squery) throws EngineException {
+        return explain(squery, null);
+    }
+
+    public String explain(String squery, Dataset ds) throws EngineException {
+        Query q = compile(squery, ds);
+        if (!q.isUpdate()) {
+            q.setValidate(true);
+            q.setExplain(true);
+            query(null, q, null, ds);
+        }
+        return q.toString();
+    }
+
     Mappings doQuery(String squery, Mapping map, Dataset ds) throws EngineException {
+        if (PLAN_CACHE) {
+            return cacheQuery(squery, map, ds);
+        }
         Query q = compile(squery, ds);
         return query(null, q, map, ds);
     }
 
+    /**
+     * Evaluate compiled query from cache if any
+     * compiled query is returned to the cache after successful evaluation
+     */
+    Mappings cacheQuery(String squery, Mapping map, Dataset ds) throws EngineException {
+        QueryCache cache = getQueryCache();
+        String key = cache.key(this, squery, ds);
+        if (key == null) {
+            return query(null, compile(squery, ds), map, ds);
+        }
+        Query q = cache.get(key);
+        if (q == null) {
+            q = compile(squery, ds);
+            if (!QueryCache.accept(q, ds)) {
+                return query(null, q, map, ds);
+            }
+        } else {
+            QueryCache.use(q, ds);
+        }
+        Mappings res = query(null, q, map, ds);
+        cache.put(key, q);
+        return res;
+    }
+
+    public QueryCache getQueryCache() {
+        return getGraph().getQueryCache();
+    }
+
     Mappings query(Node gNode, Query q, Mapping m, Dataset ds) throws EngineException {
         return basicQuery(gNode, q, m, ds);
     }
@@ -971,6 +1090,9 @@ public class QueryProcess extends QuerySolver {
     }
 
     Mappings synQuery(Node gNode, Query query, Mapping m) throws EngineException {
+        if (isVersion(query)) {
+            return versionQuery(gNode, query, m);
+        }
         Mappings map = null;
         try {
             syncReadLock(query);
@@ -988,6 +1110,37 @@ public class QueryProcess extends QuerySolver {
         return focusFrom(q).query(gNode, q, m);
     }
 
+    /**
+     * Graph in multi version mode: query read current version of graph
+     * Query within update or rule engine read the graph itself
+     */
+    boolean isVersion(Query q) {
+        Graph g = getGraph();
+        return isVersioning() && g != null && g.isVersioning()
+                && q.isLock() && !isSynchronized() && !hasDataManager()
+                && !g.getLock().isWriteLockedByCurrentThread();
+    }
+
+    /**
+     * Query immutable version of graph without lock
+     * Writers publish new versions meanwhile
+     */
+    Mappings versionQuery(Node gNode, Query query, Mapping m) throws EngineException {
+        Mappings map = null;
+        GraphVersion gv = getGraph().getGraphVersion();
+        // version is live until release: writers do not modify its edge lists
+        GraphVersion.Version version = gv.acquire();
+        try {
+            logStart(query);
+            QueryProcess exec = stdCreate(version.getGraph(), isMatch());
+            map = exec.basicQuery(gNode, query, m);
+            return map;
+        } finally {
+            gv.release(version);
+            logFinish(query, map);
+        }
+    }
+
     void log(int type, Query q) {
         Graph g = getGraph();
         if (g != null) {
@@ -1666,6 +1819,19 @@ public class QueryProcess extends QuerySolver {
         this.dataBrokerUpdate = dataBrokerUpdate;
     }
 
+    public boolean isVersioning() {
+        return versioning;
+    }
+
+    /**
+     * When graph is in multi version mode (cf Graph setVersioning)
+     * true: query read current version of graph without lock (default)
+     * false: query lock the graph
+     */
+    public void setVersioning(boolean b) {
+        versioning = b;
+    }
+
     public boolean isProcessTransaction() {
         return processTransaction;
     }
@@ -0,0 +1,387 @@
+package fr.inria.corese.core.query;
+
+import fr.inria.corese.core.Graph;
+import fr.inria.corese.core.index.TrieIterator;
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.api.query.Environment;
+import fr.inria.corese.kgram.core.Eval;
+import fr.inria.corese.kgram.core.Exp;
+import fr.inria.corese.kgram.core.Mapping;
+import fr.inria.corese.kgram.core.Memory;
+import fr.inria.corese.kgram.core.Query;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Worst case optimal join of the triple patterns of a BGP: leapfrog triejoin
+ * use case: cyclic BGP ?a :knows ?b . ?b :knows ?c . ?c :knows ?a
+ * BGP is created by QuerySorter trieJoin() and evaluated by
+ * ProducerImpl getTrieJoin()
+ *
+ * Variables are bound one at a time in the order of their first occurrence
+ * in the BGP. Each triple pattern is a trie iterator on the edge list of
+ * its predicate, sorted by subject (index 0) or by object (index 1) in such a
+ * way that its variables are bound in this order. The candidate node index of
+ * a variable is the intersection of the keys of the trie iterators of the
+ * triple patterns of the variable (leapfrog search). When all variables are
+ * bound, edges of the triple patterns are enumerated to eliminate duplicate
+ * edges of the default graph (same triple in several named graphs).
+ * Constants and variables bound by the environment are keys of the trie
+ * iterators.
+ *
+ * Solutions are computed on demand by the iterator: the join stops when Eval
+ * stops, e.g. when limit is reached, instead of computing all solutions.
+ * The search is a depth first search with an explicit stack of levels:
+ * one level per variable, then one level per triple pattern.
+ * pragma: graph has no distinct terms with same node index (1 and 01), hence
+ * nodes with same node index are the same term and level 1 keys of the trie
+ * iterators are sorted.
+ *
+ */
+public class TrieJoin implements Iterator<Mapping> {
+
+    private ProducerImpl producer;
+    private Graph graph;
+    private Eval eval;
+    private Exp exp;
+    private Environment env;
+    // free variables in join order
+    private List<Node> varList;
+    private Atom[] atoms;
+    // trie iterators of each variable
+    private TrieIterator[][] iterators;
+    // leaf: node of variables
+    private Node[] values;
+    // leapfrog state of each variable: current iterator and max key
+    private int[] current, max;
+    // current level: variable or triple pattern after variables
+    private int level = 0;
+    // true when level is entered, false when it resumes after a solution
+    private boolean enter = true;
+    private Mapping next;
+    private boolean end = false;
+
+    TrieJoin(ProducerImpl p, Exp exp, Environment env) {
+        producer = p;
+        graph = p.getGraph();
+        eval = ((Memory) env).getEval();
+        this.exp = exp;
+        this.env = env;
+        varList = new ArrayList<>();
+    }
+
+    /**
+     * Triple pattern with trie iterator
+     * level 0 and 1 of trie iterator are either fixed (constant or bound
+     * variable) or free variable
+     */
+    class Atom {
+
+        TrieIterator it;
+        // variable index of level, -1 when fixed
+        int[] var = {-1, -1};
+        // fixed node key
+        int[] key = new int[2];
+        // current edge and end of edges of current keys
+        int pos, end;
+        // node of last edge, variables bound by current edge
+        Node last;
+        boolean[] bind = new boolean[2];
+    }
+
+    /**
+     * Return iterator on solutions or null when the BGP cannot be evaluated
+     * this way, it is then evaluated by Eval.
+     */
+    Iterator<Mapping> process() {
+        if (!init()) {
+            return null;
+        }
+        if (atoms == null) {
+            end = true;
+        } else {
+            values = new Node[varList.size()];
+            current = new int[varList.size()];
+            max = new int[varList.size()];
+        }
+        return this;
+    }
+
+    /**
+     * Create trie iterators and position them on fixed nodes
+     * atoms == null when there is no solution
+     */
+    boolean init() {
+        Query q = env.getQuery();
+        List<Atom> list = new ArrayList<>();
+        List<Node[]> nodeList = new ArrayList<>();
+        for (Exp ee : exp) {
+            if (!ee.isEdge()) {
+                return false;
+            }
+            Edge edge = ee.getEdge();
+            if (edge.nbNode() != 2 || edge.getEdgeVariable() != null
+                    || graph.isType(edge) || q.isRelax(edge)) {
+                return false;
+            }
+            Node[] nodes = new Node[2];
+            for (int i = 0; i < 2; i++) {
+                Node qNode = edge.getNode(i);
+                if (qNode.isConstant() || env.getNode(qNode) != null) {
+                    nodes[i] = producer.getValue(qNode, env);
+                    if (nodes[i] == null || nodes[i].getIndex() < 0) {
+                        // value is not in the graph
+                        return true;
+                    }
+                } else if (index(qNode) == -1) {
+                    varList.add(qNode);
+                }
+            }
+            if (nodes[0] == null && nodes[1] == null && edge.getNode(0).same(edge.getNode(1))) {
+                return false;
+            }
+            nodeList.add(nodes);
+        }
+        iterators = new TrieIterator[varList.size()][];
+        List<List<TrieIterator>> varIterators = new ArrayList<>();
+        for (int i = 0; i < varList.size(); i++) {
+            varIterators.add(new ArrayList<>());
+        }
+        int j = 0;
+        for (Exp ee : exp) {
+            Edge edge = ee.getEdge();
+            Node[] nodes = nodeList.get(j++);
+            Node pred = graph.getPropertyNode(edge.getEdgeNode().getLabel());
+            if (pred == null) {
+                return true;
+            }
+            // fixed node first, then variables in join order
+            int n = 0;
+            if (nodes[0] == null && (nodes[1] != null
+                    || index(edge.getNode(1)) < index(edge.getNode(0)))) {
+                n = 1;
+            }
+            Atom atom = new Atom();
+            atom.it = TrieIterator.create(graph, pred, n);
+            if (atom.it == null) {
+                return true;
+            }
+            for (int l = 0; l < 2; l++) {
+                int col = atom.it.getColumn(l);
+                if (nodes[col] == null) {
+                    atom.var[l] = index(edge.getNode(col));
+                    varIterators.get(atom.var[l]).add(atom.it);
+                } else {
+                    atom.key[l] = nodes[col].getIndex();
+                    if (!atom.it.open()) {
+                        return false;
+                    }
+                    atom.it.seek(atom.key[l]);
+                    if (atom.it.atEnd() || atom.it.key() != atom.key[l]) {
+                        return true;
+                    }
+                }
+            }
+            list.add(atom);
+        }
+        for (int i = 0; i < varList.size(); i++) {
+            iterators[i] = varIterators.get(i).toArray(new TrieIterator[0]);
+        }
+        atoms = list.toArray(new Atom[0]);
+        return true;
+    }
+
+    int index(Node var) {
+        for (int i = 0; i < varList.size(); i++) {
+            if (varList.get(i).getLabel().equals(var.getLabel())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !end) {
+            next = search();
+        }
+        return next != null;
+    }
+
+    @Override
+    public Mapping next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Mapping m = next;
+        next = null;
+        return m;
+    }
+
+    /**
+     * Depth first search of next solution from current level
+     */
+    Mapping search() {
+        int size = varList.size() + atoms.length;
+        while (level >= 0 && !eval.isStop()) {
+            boolean found = (level < varList.size())
+                    ? join(level, enter) : leaf(atoms[level - varList.size()], enter);
+            if (!found) {
+                level--;
+                enter = false;
+            } else if (level == size - 1) {
+                // next search resumes this level
+                enter = false;
+                return Mapping.create(varList.toArray(new Node[0]), values.clone());
+            } else {
+                level++;
+                enter = true;
+            }
+        }
+        end = true;
+        return null;
+    }
+
+    /**
+     * Leapfrog triejoin: find next node index of variable n
+     * enter: open trie iterators of variable, otherwise move them after
+     * current node index
+     */
+    boolean join(int n, boolean enter) {
+        TrieIterator[] its = iterators[n];
+        int size = its.length;
+        if (enter) {
+            int open = 0;
+            boolean empty = false;
+            for (; open < size && !empty; open++) {
+                if (!its[open].open()) {
+                    // pragma: does not happen, see class comment
+                    break;
+                }
+                empty = its[open].atEnd();
+            }
+            if (open < size || empty) {
+                up(its, open);
+                return false;
+            }
+            sort(its);
+            current[n] = 0;
+            max[n] = its[size - 1].key();
+        } else {
+            TrieIterator it = its[current[n]];
+            it.next();
+            if (!move(n, it)) {
+                return false;
+            }
+        }
+        while (true) {
+            TrieIterator it = its[current[n]];
+            if (it.key() == max[n]) {
+                // all iterators are on max
+                return true;
+            }
+            it.seek(max[n]);
+            if (!move(n, it)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Iterator it of variable n has moved: it is the next current iterator
+     * with its key as max, return false at end of iterator
+     */
+    boolean move(int n, TrieIterator it) {
+        if (it.atEnd()) {
+            up(iterators[n], iterators[n].length);
+            return false;
+        }
+        max[n] = it.key();
+        current[n] = (current[n] + 1) % iterators[n].length;
+        return true;
+    }
+
+    void up(TrieIterator[] its, int open) {
+        for (int i = 0; i < open; i++) {
+            its[i].up();
+        }
+    }
+
+    /**
+     * Sort iterators by key
+     */
+    void sort(TrieIterator[] its) {
+        for (int i = 1; i < its.length; i++) {
+            TrieIterator it = its[i];
+            int j = i - 1;
+            for (; j >= 0 && its[j].key() > it.key(); j--) {
+                its[j + 1] = its[j];
+            }
+            its[j + 1] = it;
+        }
+    }
+
+    /**
+     * All variables have node index, find next edge of atom
+     * Variable is bound to node of first edge, nodes of other edges must match
+     * enter: first edge of current keys, otherwise edge after current edge
+     */
+    boolean leaf(Atom atom, boolean enter) {
+        TrieIterator it = atom.it;
+        if (enter) {
+            atom.pos = it.begin();
+            atom.end = it.end();
+            atom.last = null;
+        } else {
+            unbind(atom);
+            atom.pos++;
+        }
+        for (; atom.pos < atom.end; atom.pos++) {
+            Node node = it.getNode(atom.pos, 1);
+            if (atom.last != null && atom.last.getIndex() == node.getIndex() && atom.last.same(node)) {
+                // same triple in another named graph
+                continue;
+            }
+            atom.last = node;
+            if (bind(atom, 0, it.getNode(atom.pos, 0))) {
+                if (bind(atom, 1, node)) {
+                    return true;
+                }
+                unbind(atom);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Bind variable of level to node if it is not bound yet
+     * Return false if node does not match node of variable
+     */
+    boolean bind(Atom atom, int level, Node node) {
+        atom.bind[level] = false;
+        if (atom.var[level] == -1) {
+            // same node index as fixed node
+            return true;
+        }
+        Node ref = values[atom.var[level]];
+        if (ref == null) {
+            values[atom.var[level]] = node;
+            atom.bind[level] = true;
+            return true;
+        }
+        return ref.same(node);
+    }
+
+    void unbind(Atom atom) {
+        for (int l = 0; l < 2; l++) {
+            if (atom.bind[l]) {
+                values[atom.var[l]] = null;
+                atom.bind[l] = false;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,343 @@
+package fr.inria.corese.core.stats;
+
+import fr.inria.corese.core.Graph;
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.sorter.core.IStatistics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Graph statistics for cost based query planning (see kgram CostSorter)
+ * graph.getStatistics()
+ *
+ * Predicate: number of triples (exact, from the graph index), number of
+ * distinct subjects and objects.
+ * Graph: number of distinct subjects and objects, characteristic sets.
+ * The characteristic set of a subject is the set of its predicates, for each
+ * characteristic set we record the number of subjects and the number of
+ * triples of each predicate. Star pattern cardinality is estimated with
+ * characteristic sets that contain the predicates of the star.
+ *
+ * Statistics are computed on demand and kept up to date as the graph
+ * changes: statistics of a predicate (resp of the graph) are computed again
+ * when its number of triples has changed by more than REFRESH ratio since
+ * last computation.
+ * Versions of the graph (multi version mode) share the statistics of the
+ * graph.
+ *
+ */
+public class GraphStatistics implements IStatistics {
+
+    // ratio of modified triples that triggers computation
+    public static double REFRESH = 0.1;
+    public static boolean CHARACTERISTIC_SET = true;
+    // max number of characteristic sets
+    public static int MAX_SET = 10_000;
+
+    private Graph graph;
+    private Table table;
+
+    public GraphStatistics(Graph g) {
+        this(g, new Table());
+    }
+
+    GraphStatistics(Graph g, Table t) {
+        graph = g;
+        table = t;
+    }
+
+    /**
+     * Statistics of a version of the graph share the tables of the graph
+     */
+    public GraphStatistics version(Graph g) {
+        return new GraphStatistics(g, table);
+    }
+
+    @Override
+    public int size() {
+        return graph.size();
+    }
+
+    @Override
+    public int predicateCount() {
+        return graph.getIndex().nbProperties();
+    }
+
+    @Override
+    public int subjectCount() {
+        return getGlobal().subject;
+    }
+
+    @Override
+    public int objectCount() {
+        return getGlobal().object;
+    }
+
+    @Override
+    public int count(Node predicate) {
+        return graph.size(predicate);
+    }
+
+    @Override
+    public int subjectCount(Node predicate) {
+        return getPredicate(predicate).subject;
+    }
+
+    @Override
+    public int objectCount(Node predicate) {
+        return getPredicate(predicate).object;
+    }
+
+    /**
+     * Sum over characteristic sets C that contain the predicates of:
+     * count(C) * product(occurrence(C, p) / count(C))
+     */
+    @Override
+    public double star(List<Node> predicateList) {
+        Global global = getGlobal();
+        if (global.setList == null) {
+            return -1;
+        }
+        int[] list = new int[predicateList.size()];
+        for (int i = 0; i < list.length; i++) {
+            Integer id = global.predicate.get(predicateList.get(i).getLabel());
+            if (id == null) {
+                return 0;
+            }
+            list[i] = id;
+        }
+        double res = 0;
+        for (CharacteristicSet set : global.setList) {
+            res += set.estimate(list);
+        }
+        return res;
+    }
+
+    Stat getPredicate(Node predicate) {
+        String label = predicate.getLabel();
+        Stat stat = table.predicate.get(label);
+        int size = graph.size(predicate);
+        if (stat == null || isModified(stat.size, size)) {
+            synchronized (table) {
+                stat = table.predicate.get(label);
+                if (stat == null || isModified(stat.size, size)) {
+                    stat = compute(predicate);
+                    table.predicate.put(label, stat);
+                }
+            }
+        }
+        return stat;
+    }
+
+    Global getGlobal() {
+        Global global = table.global;
+        if (global == null || isModified(global.size, graph.size())
+                || global.predicateCount != predicateCount()) {
+            synchronized (table) {
+                global = table.global;
+                if (global == null || isModified(global.size, graph.size())
+                        || global.predicateCount != predicateCount()) {
+                    global = computeGlobal();
+                    table.global = global;
+                }
+            }
+        }
+        return global;
+    }
+
+    boolean isModified(int former, int size) {
+        return Math.abs(size - former) > REFRESH * former;
+    }
+
+    Stat compute(Node predicate) {
+        Node pred = graph.getPropertyNode(predicate.getLabel());
+        Stat stat = new Stat();
+        if (pred == null) {
+            return stat;
+        }
+        int size = graph.size(pred);
+        int[] subject = new int[size];
+        int[] object = new int[size];
+        int i = 0;
+        for (Edge edge : graph.getEdges(pred)) {
+            if (i == size) {
+                break;
+            }
+            subject[i] = id(edge.getNode(0));
+            object[i++] = id(edge.getNode(1));
+        }
+        stat.size = i;
+        stat.subject = distinct(subject, i);
+        stat.object = distinct(object, i);
+        return stat;
+    }
+
+    /**
+     * Distinct subjects and objects of the graph and characteristic sets
+     */
+    Global computeGlobal() {
+        Global global = new Global();
+        global.size = graph.size();
+        global.predicateCount = predicateCount();
+        int[] object = new int[global.size];
+        int length = 0;
+        // subject -> (predicate, number of triples) list
+        HashMap<Integer, List<int[]>> subjectMap = new HashMap<>();
+        int id = 0;
+        for (Node pred : graph.getProperties()) {
+            global.predicate.put(pred.getLabel(), id);
+            HashMap<Integer, int[]> count = new HashMap<>();
+            for (Edge edge : graph.getEdges(pred)) {
+                int subject = id(edge.getNode(0));
+                int[] value = count.get(subject);
+                if (value == null) {
+                    value = new int[]{id, 0};
+                    count.put(subject, value);
+                }
+                value[1]++;
+                if (length < object.length) {
+                    object[length++] = id(edge.getNode(1));
+                }
+            }
+            for (Map.Entry<Integer, int[]> entry : count.entrySet()) {
+                subjectMap.computeIfAbsent(entry.getKey(), k -> new ArrayList<>(2)).add(entry.getValue());
+            }
+            id++;
+        }
+        global.subject = subjectMap.size();
+        global.object = distinct(object, length);
+        if (CHARACTERISTIC_SET) {
+            global.setList = characteristicSet(subjectMap);
+        }
+        return global;
+    }
+
+    /**
+     * Group subjects by set of predicates
+     * return null beyond MAX_SET characteristic sets
+     */
+    List<CharacteristicSet> characteristicSet(HashMap<Integer, List<int[]>> subjectMap) {
+        HashMap<List<Integer>, CharacteristicSet> map = new HashMap<>();
+        for (List<int[]> list : subjectMap.values()) {
+            List<Integer> key = new ArrayList<>(list.size());
+            for (int[] value : list) {
+                key.add(value[0]);
+            }
+            CharacteristicSet set = map.get(key);
+            if (set == null) {
+                if (map.size() >= MAX_SET) {
+                    return null;
+                }
+                set = new CharacteristicSet(key);
+                map.put(key, set);
+            }
+            set.add(list);
+        }
+        return new ArrayList<>(map.values());
+    }
+
+    int id(Node node) {
+        if (node.getIndex() >= 0) {
+            return node.getIndex();
+        }
+        return node.getDatatypeValue().hashCode();
+    }
+
+    int distinct(int[] array, int length) {
+        if (length == 0) {
+            return 0;
+        }
+        Arrays.sort(array, 0, length);
+        int count = 1;
+        for (int i = 1; i < length; i++) {
+            if (array[i] != array[i - 1]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        Global global = getGlobal();
+        return String.format("Statistics: %s triples, %s predicates, %s subjects, %s objects, %s characteristic sets",
+                size(), predicateCount(), global.subject, global.object,
+                (global.setList == null) ? "no" : global.setList.size());
+    }
+
+    /**
+     * Statistics shared by the versions of a graph
+     */
+    static class Table {
+
+        ConcurrentHashMap<String, Stat> predicate = new ConcurrentHashMap<>();
+        volatile Global global;
+    }
+
+    static class Stat {
+
+        // number of triples at computation time
+        int size = 0;
+        int subject = 0;
+        int object = 0;
+    }
+
+    static class Global {
+
+        int size = 0;
+        int predicateCount = 0;
+        int subject = 0;
+        int object = 0;
+        // predicate label -> characteristic set predicate id
+        HashMap<String, Integer> predicate = new HashMap<>();
+        List<CharacteristicSet> setList;
+    }
+
+    /**
+     * Set of predicates (sorted predicate id list) of subjects
+     * number of subjects and number of triples of each predicate
+     */
+    static class CharacteristicSet {
+
+        int[] predicate;
+        long[] occurrence;
+        int count = 0;
+
+        CharacteristicSet(List<Integer> list) {
+            predicate = new int[list.size()];
+            for (int i = 0; i < predicate.length; i++) {
+                predicate[i] = list.get(i);
+            }
+            occurrence = new long[predicate.length];
+        }
+
+        void add(List<int[]> list) {
+            count++;
+            for (int i = 0; i < list.size(); i++) {
+                occurrence[i] += list.get(i)[1];
+            }
+        }
+
+        /**
+         * Estimated number of solutions of star pattern with predicate list
+         * for subjects of this set
+         */
+        double estimate(int[] list) {
+            double res = count;
+            for (int p : list) {
+                int i = Arrays.binarySearch(predicate, p);
+                if (i < 0) {
+                    return 0;
+                }
+                res *= (double) occurrence[i] / count;
+            }
+            return res;
+        }
+    }
+
+}
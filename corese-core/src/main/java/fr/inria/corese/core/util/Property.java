@@ -94,6 +94,7 @@ public class Property {
     final static String EQ = "=";
     private static Property singleton;
     private static final String STD = "std";
+    private static final String COST = "cost";
     public static final String RDF_XML = "rdf+xml";
     public static final String TURTLE = "turtle";
     public static final String TRIG = "trig";
@@ -176,6 +177,14 @@ public class Property {
         GRAPH_INDEX_END,
         GRAPH_INDEX_TRANSITIVE,
         GRAPH_INDEX_LOAD_SKIP,
+        // edge index stored as columns of node id
+        GRAPH_INDEX_COLUMN,
+        // sort and reduce edge index in parallel
+        GRAPH_INDEX_PARALLEL,
+        // sorted edge index stored as chunks for fast insertion
+        GRAPH_INDEX_CHUNK,
+        // query read immutable version of graph without lock
+        GRAPH_VERSIONING,
         // rdf* draft
         RDF_STAR,
         // enforce compliance: no literal as subject
@@ -206,7 +215,7 @@ public class Property {
         LOG_RULE_CLEAN,
 
         SOLVER_SORT_CARDINALITY,
-        SOLVER_QUERY_PLAN, // STD | ADVANCED
+        SOLVER_QUERY_PLAN, // STD | COST | ADVANCED
         // string value
         SOLVER_VISITOR,
         SOLVER_OVERLOAD,
@@ -520,6 +529,22 @@ public class Property {
                 EdgeManagerIndexer.RECORD_END = b;
                 break;
 
+            case GRAPH_INDEX_COLUMN:
+                Graph.setColumnStoreDefault(b);
+                break;
+
+            case GRAPH_INDEX_PARALLEL:
+                Graph.setParallelIndexDefault(b);
+                break;
+
+            case GRAPH_INDEX_CHUNK:
+                Graph.setChunkStoreDefault(b);
+                break;
+
+            case GRAPH_VERSIONING:
+                Graph.setVersioningDefault(b);
+                break;
+
             case RDF_STAR_TRIPLE:
                 EdgeFactory.EDGE_TRIPLE_NODE = b;
                 EdgeFactory.OPTIMIZE_EDGE = !b;
@@ -957,6 +982,9 @@ public class Property {
             case STD:
                 QuerySolver.QUERY_PLAN = Query.QP_DEFAULT;
                 break;
+            case COST:
+                QuerySolver.QUERY_PLAN = Query.QP_COST;
+                break;
             default:
                 QuerySolver.QUERY_PLAN = Query.QP_HEURISTICS_BASED;
                 break;
@@ -0,0 +1,559 @@
+package fr.inria.corese.test.engine;
+
+import fr.inria.corese.core.Graph;
+import fr.inria.corese.core.index.EdgeChunkList;
+import fr.inria.corese.core.index.GraphSnapshot;
+import fr.inria.corese.core.index.GraphVersion;
+import fr.inria.corese.core.index.NodeTable;
+import fr.inria.corese.core.load.Load;
+import fr.inria.corese.core.load.LoadException;
+import fr.inria.corese.core.query.QueryProcess;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.core.Mappings;
+import fr.inria.corese.sparql.datatype.DatatypeMap;
+import fr.inria.corese.sparql.exceptions.EngineException;
+import fr.inria.corese.sparql.triple.parser.NSManager;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+/**
+ * Alternative storage of graph edge index
+ * Query results must be the same as with default storage
+ */
+public class TestIndexStorage {
+
+    static final String INIT = "insert data {"
+            + "us:John foaf:knows us:Jim, us:James ; foaf:age 20 ; rdfs:label 'John'@en ."
+            + "us:Jim foaf:knows us:Jack ; foaf:age 30 ; rdfs:label 'Jim' ."
+            + "us:Jack foaf:knows us:John ; foaf:age 20.0 ."
+            + "graph us:g1 { us:John foaf:knows us:Jack . us:Jack foaf:age 01 }"
+            + "graph us:g2 { us:James foaf:knows us:Jim }"
+            + "}";
+
+    static final String[] QUERY = {
+        "select * where { ?s foaf:knows ?o } order by ?s ?o",
+        "select * where { graph ?g { ?s foaf:knows ?o } } order by ?g ?s ?o",
+        "select * where { ?s foaf:age ?a . ?t foaf:age ?a filter (?s != ?t) } order by ?s ?t",
+        "select * where { ?s ?p us:Jim } order by ?s ?p",
+        "select * where { us:John ?p ?o } order by ?p ?o",
+        "select (count(*) as ?c) where { ?s ?p ?o }",
+        "select * where { ?x foaf:knows/foaf:knows ?y } order by ?x ?y",
+        "select * where { ?x foaf:age 20 } order by ?x"
+    };
+
+    static final String UPDATE = "delete data { us:John foaf:knows us:James } ;"
+            + "insert data { us:James foaf:knows us:Jack ; foaf:age 40 }";
+
+    String eval(Graph g) throws EngineException {
+        QueryProcess exec = QueryProcess.create(g);
+        exec.query(INIT);
+        StringBuilder sb = new StringBuilder();
+        for (String q : QUERY) {
+            sb.append(exec.query(q).toString(false, false, 100));
+        }
+        exec.query(UPDATE);
+        for (String q : QUERY) {
+            sb.append(exec.query(q).toString(false, false, 100));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Many predicates with duplicate edges, loaded before first query
+     */
+    String eval(Graph g, int nbPred, int nbEdge) throws EngineException {
+        Load ld = Load.create(g);
+        StringBuilder sb = new StringBuilder();
+        for (int p = 0; p < nbPred; p++) {
+            for (int i = 0; i < nbEdge; i++) {
+                String triple = String.format("<http://ex.org/s%s> <http://ex.org/p%s> %s .\n",
+                        i % 50, p, i % (p + 2));
+                sb.append(triple);
+                if (i % 3 == 0) {
+                    sb.append(triple);
+                }
+            }
+        }
+        try {
+            ld.loadString(sb.toString(), Load.TURTLE_FORMAT);
+        } catch (LoadException ex) {
+            throw new EngineException(ex);
+        }
+        QueryProcess exec = QueryProcess.create(g);
+        StringBuilder res = new StringBuilder();
+        res.append(exec.query("select (count(*) as ?c) where { ?s ?p ?o }").toString(false, false, 10));
+        res.append(exec.query("select ?p (count(*) as ?c) where { ?s ?p 1 } group by ?p order by ?p").toString(false, false, 1000));
+        res.append(exec.query("select (count(*) as ?c) where { ?s <http://ex.org/p3> ?o . ?x ?q ?o }").toString(false, false, 10));
+        res.append(exec.query("select * where { <http://ex.org/s7> ?p ?o } order by ?p ?o").toString(false, false, 10000));
+        return res.toString();
+    }
+
+    @Test
+    public void testColumnStore() throws EngineException {
+        String std = eval(Graph.create());
+        Graph g = Graph.create();
+        g.setColumnStore(true);
+        String col = eval(g);
+        assertEquals(std, col);
+    }
+
+    @Test
+    public void testColumnStoreLoad() throws EngineException, LoadException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            sb.append(String.format("<http://ex.org/s%s> <http://ex.org/p> <http://ex.org/o%s> .\n", i % 100, i % 300));
+        }
+        Graph std = Graph.create();
+        Load.create(std).loadString(sb.toString(), Load.TURTLE_FORMAT);
+        Graph g = Graph.create();
+        g.setColumnStore(true);
+        Load.create(g).loadString(sb.toString(), Load.TURTLE_FORMAT);
+        // edges are stored in columns when they are loaded
+        assertTrue(g.byteSize() < std.byteSize());
+        String q = "select (count(*) as ?c) where { ?s ?p ?o . ?x ?p ?o }";
+        assertEquals(QueryProcess.create(std).query(q).toString(false, false, 10),
+                QueryProcess.create(g).query(q).toString(false, false, 10));
+        assertEquals(std.size(), g.size());
+    }
+
+    @Test
+    public void testColumnStoreSwitch() throws EngineException {
+        Graph g = Graph.create();
+        QueryProcess exec = QueryProcess.create(g);
+        exec.query(INIT);
+        Mappings m1 = exec.query(QUERY[2]);
+        long size = g.byteSize();
+        g.setColumnStore(true);
+        assertTrue(g.byteSize() < size);
+        Mappings m2 = exec.query(QUERY[2]);
+        assertEquals(m1.size(), m2.size());
+        g.setColumnStore(false);
+        Mappings m3 = exec.query(QUERY[2]);
+        assertEquals(m1.size(), m3.size());
+    }
+
+    @Test
+    public void testParallelIndex() throws EngineException {
+        String std = eval(Graph.create());
+        Graph g = Graph.create();
+        g.setParallelIndex(true);
+        String par = eval(g);
+        assertEquals(std, par);
+    }
+
+    @Test
+    public void testParallelIndexLarge() throws EngineException {
+        String std = eval(Graph.create(), 100, 300);
+        Graph g = Graph.create();
+        g.setParallelIndex(true);
+        String par = eval(g, 100, 300);
+        assertEquals(std, par);
+        assertNotNull(g.getIndex(0).getIndexTime());
+        assertNotNull(g.getIndex(1).getIndexTime());
+        Graph gc = Graph.create();
+        gc.setParallelIndex(true);
+        gc.setColumnStore(true);
+        assertEquals(std, eval(gc, 100, 300));
+    }
+
+    /**
+     * Indexed graph with many insert and delete
+     */
+    String evalInsert(Graph g) throws EngineException {
+        QueryProcess exec = QueryProcess.create(g);
+        exec.query(INIT);
+        exec.query(QUERY[0]);
+        for (int i = 0; i < 200; i++) {
+            exec.query(String.format("insert data { us:s%s foaf:knows us:s%s, us:John ; foaf:age %s }",
+                    (i * 37) % 100, (i * 13) % 70, i % 7));
+            if (i % 5 == 0) {
+                exec.query(String.format("delete data { us:s%s foaf:knows us:John }", (i * 11) % 100));
+            }
+        }
+        StringBuilder sb = new StringBuilder();
+        for (String q : QUERY) {
+            sb.append(exec.query(q).toString(false, false, 10000));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testChunkStore() throws EngineException {
+        int chunk = EdgeChunkList.CHUNK;
+        try {
+            // small chunks: many split and remove of chunks
+            EdgeChunkList.CHUNK = 8;
+            String std = evalInsert(Graph.create());
+            Graph g = Graph.create();
+            g.setChunkStore(true);
+            assertEquals(std, evalInsert(g));
+        } finally {
+            EdgeChunkList.CHUNK = chunk;
+        }
+    }
+
+    String query(Graph g) throws EngineException {
+        QueryProcess exec = QueryProcess.create(g);
+        StringBuilder sb = new StringBuilder();
+        for (String q : QUERY) {
+            sb.append(exec.query(q).toString(false, false, 100));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Concurrent insert, remove and lookup of nodes
+     */
+    @Test
+    public void testNodeTable() throws InterruptedException {
+        Graph g = Graph.create();
+        NodeTable table = new NodeTable();
+        int nbThread = 4, nbNode = 10_000;
+        Node[][] nodes = new Node[nbThread][nbNode];
+        for (int t = 0; t < nbThread; t++) {
+            for (int i = 0; i < nbNode; i++) {
+                nodes[t][i] = g.createNode(DatatypeMap.createResource(
+                        String.format("http://ex.org/t%s/n%s", t, i)));
+            }
+        }
+        List<Thread> list = new ArrayList<>();
+        for (int t = 0; t < nbThread; t++) {
+            Node[] arr = nodes[t];
+            list.add(new Thread(() -> {
+                for (int i = 0; i < nbNode; i++) {
+                    String uri = arr[i].getLabel();
+                    table.put(uri, arr[i]);
+                    // concurrent lookup
+                    assertEquals(arr[i], table.get(uri));
+                    if (i % 2 == 0) {
+                        table.remove(uri);
+                    }
+                }
+            }));
+        }
+        for (Thread t : list) {
+            t.start();
+        }
+        for (Thread t : list) {
+            t.join();
+        }
+        assertEquals(nbThread * nbNode / 2, table.size());
+        int count = 0;
+        for (Node n : table.values()) {
+            assertEquals(n, table.get(n.getLabel()));
+            count++;
+        }
+        assertEquals(table.size(), count);
+        assertNull(table.get("http://ex.org/t0/n0"));
+        assertNotNull(table.get("http://ex.org/t3/n9999"));
+    }
+
+    @Test
+    public void testGraphNode() throws EngineException {
+        Graph g = Graph.create();
+        QueryProcess exec = QueryProcess.create(g);
+        exec.query(INIT);
+        exec.query("insert data { _:b foaf:knows us:John . <<us:Jim foaf:knows us:Jack>> us:date 2020 }");
+        assertNotNull(g.getNode(NSManager.USER + "John"));
+        assertNotNull(g.getPropertyNode(NSManager.FOAF + "knows"));
+        assertNotNull(g.getGraphNode(NSManager.USER + "g1"));
+        assertEquals(1, g.nbBlanks());
+        assertEquals(1, g.nbTriples());
+        exec.query("drop graph us:g2");
+        assertNull(g.getGraphNode(NSManager.USER + "g2"));
+        assertNotNull(g.getGraphNode(NSManager.USER + "g1"));
+        assertEquals(2, exec.query("select * where { graph us:g1 { ?s ?p ?o } }").size());
+        assertEquals(0, exec.query("select * where { graph us:g2 { ?s ?p ?o } }").size());
+    }
+
+    /**
+     * valueOut: uri and named graph nodes are keyed by value key,
+     * literals are retrieved by value
+     */
+    @Test
+    public void testValueTable() throws EngineException {
+        Graph.setValueTable(true);
+        try {
+            Graph g = Graph.create();
+            QueryProcess exec = QueryProcess.create(g);
+            exec.query("insert data { us:a us:p 1, 01 . graph us:g1 { us:b us:p 01 } }");
+            assertNotNull(g.getNode(NSManager.USER + "a"));
+            assertNotNull(g.getGraphNode(NSManager.USER + "g1"));
+            assertTrue(g.isIndividual(g.getNode(NSManager.USER + "b")));
+            // 1 and 01 are distinct nodes with same index
+            Node n1 = g.getLiteralNode(DatatypeMap.createLiteral("1", NSManager.XSD + "integer"));
+            Node n01 = g.getLiteralNode(DatatypeMap.createLiteral("01", NSManager.XSD + "integer"));
+            assertEquals("1", n1.getLabel());
+            assertEquals("01", n01.getLabel());
+            assertEquals(n1.getIndex(), n01.getIndex());
+            assertEquals(3, exec.query("select * where { ?s us:p 1 }").size());
+            assertEquals(3, exec.query("select * where { ?s us:p 01 }").size());
+            assertEquals(1, exec.query("select * where { graph us:g1 { ?s us:p 01 } }").size());
+            exec.query("drop graph us:g1");
+            assertNull(g.getGraphNode(NSManager.USER + "g1"));
+        } finally {
+            Graph.setValueTable(false);
+        }
+    }
+
+    /**
+     * Literals with same value and different labels or datatypes
+     * have different Node and join when they have same index
+     */
+    @Test
+    public void testLiteralTable() throws EngineException {
+        Graph g = Graph.create();
+        QueryProcess exec = QueryProcess.create(g);
+        exec.query("insert data { "
+                + "us:a us:p 1, 01, 1.0, '1'^^xsd:long, 1e0, '1'^^xsd:float, true, '1'^^xsd:boolean, 'a', 'a'@en, "
+                + "'2020-01-01T00:00:00Z'^^xsd:dateTime, '2020-01-01T00:00:00+00:00'^^xsd:dateTime, "
+                + "'2020-01-01T01:00:00+01:00'^^xsd:dateTime, '2020-01-01'^^xsd:date ."
+                + "us:b us:q 1, 1e0, true, 'a', '2020-01-01T00:00:00Z'^^xsd:dateTime }");
+        assertEquals(14, g.getLiteralNodeManager().size());
+        Mappings map = exec.query("select * where { us:a us:p ?x . us:b us:q ?y filter sameTerm(?x, ?y) }");
+        assertEquals(5, map.size());
+        map = exec.query("select * where { us:a us:p ?x . us:b us:q ?x }");
+        // 1 01 1.0 long ; 1e0 ; true boolean ; a ; Z +00:00 +01:00
+        assertEquals(9, map.size());
+        for (Node n : g.getLiteralNodeManager().sortedMap().values()) {
+            assertEquals(n, g.getLiteralNode(n.getDatatypeValue()));
+        }
+    }
+
+    @Test
+    public void testVersioning() throws EngineException {
+        String std = eval(Graph.create());
+        Graph g = Graph.create();
+        g.setVersioning(true);
+        assertEquals(std, eval(g));
+        // version is immutable
+        Graph v = g.getVersion();
+        int size = v.size();
+        QueryProcess.create(g).query("insert data { us:Jim foaf:knows us:John }");
+        assertEquals(size, QueryProcess.create(v).query("select * where { ?s ?p ?o }").size());
+        assertEquals(size + 1, QueryProcess.create(g).query("select * where { ?s ?p ?o }").size());
+    }
+
+    /**
+     * Clear of the graph does not modify the node tables of a version
+     * Writer copies an edge list only when a version that shares it is live
+     */
+    @Test
+    public void testVersioningClear() throws EngineException {
+        Graph g = Graph.create();
+        g.setVersioning(true);
+        QueryProcess exec = QueryProcess.create(g);
+        exec.query(INIT);
+        Graph v = g.getVersion();
+        Mappings map = QueryProcess.create(v).query("select * where { ?s ?p ?o }");
+        g.clear();
+        assertEquals(0, exec.query("select * where { ?s ?p ?o }").size());
+        Mappings res = QueryProcess.create(v).query("select * where { ?s ?p ?o }");
+        assertEquals(map.size(), res.size());
+        for (int i = 0; i < map.size(); i++) {
+            assertEquals(map.get(i).getValue("?s"), res.get(i).getValue("?s"));
+        }
+
+        // version read by a query is live
+        GraphVersion gv = g.getGraphVersion();
+        exec.query(INIT);
+        GraphVersion.Version version = gv.acquire();
+        int generation = gv.getCount();
+        assertTrue(gv.isLive(generation));
+        gv.release(version);
+        // no query read the version: writer modifies edge lists in place
+        assertTrue(!gv.isLive(generation));
+        exec.query("insert data { us:Jim foaf:knows us:John }");
+        assertEquals(map.size() + 1, exec.query("select * where { ?s ?p ?o }").size());
+    }
+
+    /**
+     * New version takes the index(1) of the predicates that are not modified
+     * Copy on write of a large edge list shares the chunks of the version
+     */
+    @Test
+    public void testVersioningShare() throws EngineException {
+        int chunk = EdgeChunkList.CHUNK;
+        try {
+            EdgeChunkList.CHUNK = 4;
+            Graph std = Graph.create();
+            Graph g = Graph.create();
+            g.setVersioning(true);
+            QueryProcess exec = QueryProcess.create(g);
+            exec.query(INIT);
+            QueryProcess.create(std).query(INIT);
+            for (int i = 0; i < 20; i++) {
+                String update = String.format("insert data { us:n%s foaf:age %s }", i, i % 3 * 10);
+                exec.query(update);
+                QueryProcess.create(std).query(update);
+            }
+            String q = "select * where { ?s foaf:knows us:Jim . ?x foaf:age 20 }";
+            int size = exec.query(q).size();
+            GraphVersion gv = g.getGraphVersion();
+            Graph v1 = gv.getCurrent();
+            Node knows = g.getPropertyNode(NSManager.FOAF + "knows");
+            Node age = g.getPropertyNode(NSManager.FOAF + "age");
+            assertTrue(v1.getIndex(1).get(knows).size() > 0);
+            assertTrue(v1.getIndex(1).get(age).size() > 0);
+
+            for (int i = 0; i < 2; i++) {
+                String update = String.format("insert data { us:m%s foaf:age 20 }", i);
+                // live version: writer copies the edge list of age
+                GraphVersion.Version version = gv.acquire();
+                exec.query(update);
+                gv.release(version);
+                QueryProcess.create(std).query(update);
+                assertTrue(g.getIndex().get(age).getEdgeList() instanceof EdgeChunkList);
+                assertEquals(QueryProcess.create(std).query(q).size(), exec.query(q).size());
+            }
+            Graph v3 = gv.getCurrent();
+            assertTrue(v3.getIndex(1).get(knows).getEdgeList() == v1.getIndex(1).get(knows).getEdgeList());
+            assertFalse(v3.getIndex(1).get(age).getEdgeList() == v1.getIndex(1).get(age).getEdgeList());
+            // former version is unchanged
+            assertEquals(size, QueryProcess.create(v1).query(q).size());
+            assertTrue(exec.query(q).size() > size);
+            assertEquals(query(std), query(g));
+        } finally {
+            EdgeChunkList.CHUNK = chunk;
+        }
+    }
+
+    /**
+     * Query do not wait for writer: it reads current version
+     */
+    @Test
+    public void testVersioningConcurrent() throws Exception {
+        Graph g = Graph.create();
+        g.setVersioning(true);
+        QueryProcess exec = QueryProcess.create(g);
+        exec.query(INIT);
+        int size = exec.query("select * where { ?s ?p ?o }").size();
+        int nbUpdate = 100;
+        List<Exception> error = new ArrayList<>();
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < nbUpdate; i++) {
+                    QueryProcess.create(g).query(String.format("insert data { us:John us:value %s }", i));
+                }
+            } catch (EngineException ex) {
+                error.add(ex);
+            }
+        });
+        writer.start();
+        int last = size;
+        while (writer.isAlive()) {
+            int n = exec.query("select * where { ?s ?p ?o }").size();
+            assertTrue(n >= last && n <= size + nbUpdate);
+            last = n;
+        }
+        writer.join();
+        assertTrue(error.isEmpty());
+        assertEquals(size + nbUpdate, exec.query("select * where { ?s ?p ?o }").size());
+
+        // writer hold the lock: query read current version
+        g.writeLock().lock();
+        try {
+            Thread reader = new Thread(() -> {
+                try {
+                    QueryProcess.create(g).query("select * where { ?s ?p ?o }");
+                } catch (EngineException ex) {
+                    error.add(ex);
+                }
+            });
+            reader.start();
+            reader.join(10_000);
+            assertTrue(!reader.isAlive());
+        } finally {
+            g.writeLock().unlock();
+        }
+        assertTrue(error.isEmpty());
+    }
+
+    @Test
+    public void testSnapshot() throws EngineException, IOException {
+        File file = File.createTempFile("corese", ".snapshot");
+        file.deleteOnExit();
+        new File(file.getPath() + GraphSnapshot.DELTA).deleteOnExit();
+        Graph g = Graph.create();
+        QueryProcess.create(g).query(INIT);
+        String std = query(g);
+        g.writeSnapshot(file.getPath());
+
+        Graph g1 = Graph.openSnapshot(file.getPath());
+        assertEquals(g.size(), g1.size());
+        assertEquals(std, query(g1));
+
+        // updates are recorded in delta file
+        Graph g2 = Graph.openSnapshot(file.getPath(), true);
+        QueryProcess.create(g2).query(UPDATE);
+        QueryProcess.create(g).query(UPDATE);
+        String res = query(g);
+        assertEquals(res, query(g2));
+        assertEquals(res, query(Graph.openSnapshot(file.getPath(), true)));
+    }
+
+    @Test
+    public void testSnapshotLazy() throws EngineException, IOException {
+        File file = File.createTempFile("corese", ".snapshot");
+        file.deleteOnExit();
+        Graph g = Graph.create();
+        QueryProcess.create(g).query(INIT);
+        String std = query(g);
+        g.writeSnapshot(file.getPath());
+
+        // subject/object nodes are created on demand
+        Graph g1 = Graph.openSnapshot(file.getPath());
+        assertFalse(g1.getNodeDictionary().isComplete());
+        assertEquals(3, QueryProcess.create(g1).query("select * where { us:John foaf:knows ?o }").size());
+        assertEquals(0, QueryProcess.create(g1).query("select * where { us:Unknown foaf:knows ?o }").size());
+        assertEquals(std, query(g1));
+        assertFalse(g1.getNodeDictionary().isComplete());
+        // iteration of node table creates all nodes
+        int n = 0;
+        for (Node node : g1.getNodes()) {
+            n++;
+        }
+        int m = 0;
+        for (Node node : g.getNodes()) {
+            m++;
+        }
+        assertEquals(m, n);
+        assertTrue(g1.getNodeDictionary().isComplete());
+        assertEquals(std, query(g1));
+    }
+
+    @Test
+    public void testSnapshotDeltaLoad() throws EngineException, IOException, LoadException {
+        File file = File.createTempFile("corese", ".snapshot");
+        file.deleteOnExit();
+        new File(file.getPath() + GraphSnapshot.DELTA).deleteOnExit();
+        Graph g = Graph.create();
+        QueryProcess.create(g).query(INIT);
+        g.writeSnapshot(file.getPath());
+
+        // load is recorded in delta file without query
+        Graph g1 = Graph.openSnapshot(file.getPath(), true);
+        Load.create(g1).loadString("us:Jim foaf:knows us:Jules .", Load.TURTLE_FORMAT);
+        Graph g2 = Graph.openSnapshot(file.getPath(), true);
+        g2.close();
+        assertEquals(g.size() + 1, g2.size());
+        assertEquals(1, QueryProcess.create(g2).query("select * where { ?s foaf:knows us:Jules }").size());
+
+        // update after close reopen delta file, close flush it
+        g1.close();
+        Load.create(g1).loadString("us:Jules foaf:knows us:Jim .", Load.TURTLE_FORMAT);
+        g1.close();
+        Graph g3 = Graph.openSnapshot(file.getPath(), true);
+        g3.close();
+        assertEquals(g.size() + 2, g3.size());
+    }
+
+}
@@ -0,0 +1,807 @@
+package fr.inria.corese.test.engine;
+
+import fr.inria.corese.compiler.eval.QuerySolver;
+import fr.inria.corese.core.Graph;
+import fr.inria.corese.core.index.ClosureIndex;
+import fr.inria.corese.core.print.ResultFormat;
+import fr.inria.corese.core.producer.DataFilterCompiler;
+import fr.inria.corese.core.query.PreparedQuery;
+import fr.inria.corese.core.query.QueryCache;
+import fr.inria.corese.core.query.QueryProcess;
+import fr.inria.corese.kgram.core.Cursor;
+import fr.inria.corese.kgram.core.ExternalSort;
+import fr.inria.corese.kgram.core.HashAggregate;
+import fr.inria.corese.kgram.core.HashJoin;
+import fr.inria.corese.kgram.core.Mapping;
+import fr.inria.corese.kgram.core.Mappings;
+import fr.inria.corese.kgram.core.Morsel;
+import fr.inria.corese.kgram.core.Parallel;
+import fr.inria.corese.kgram.core.Query;
+import fr.inria.corese.kgram.core.QuerySorter;
+import fr.inria.corese.kgram.core.TopK;
+import fr.inria.corese.kgram.path.BidirectionalSearch;
+import fr.inria.corese.kgram.path.MultiSourceSearch;
+import fr.inria.corese.kgram.path.PathIndexSearch;
+import fr.inria.corese.sparql.datatype.DatatypeMap;
+import fr.inria.corese.sparql.exceptions.EngineException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import java.io.File;
+import java.util.Map;
+import org.junit.Test;
+
+/**
+ * Alternative implementation of query operators
+ * Query results must be the same as with default implementation
+ */
+public class TestQueryOperator {
+
+    static final String[] JOIN = {
+        "select * where { { ?s ex:p ?o ; ex:q ?n } { ?o ex:v ?n } } order by ?s ?o ?n",
+        "select (count(*) as ?c) where { { ?s ex:p ?o optional { ?s ex:q ?n filter (?n > 3) } } { ?x ex:q ?n ; ex:r ?t } }",
+        "select (count(*) as ?c) where { { ?s ex:p ?o ; ex:r ?t } { ?x ex:r ?t ; ex:p ?o } }",
+        "select * where { { ?s ex:r ?t } { ?s ex:w ?w optional { ?s ex:v ?t } } } order by ?s ?t ?w",
+        "select (count(*) as ?c) where { { ?s ex:p ?o } { ?x ex:w ?w } }"
+    };
+
+    static final String[] MINUS_OPTIONAL = {
+        "select * where { ?s ex:p ?o ; ex:q ?n minus { ?o ex:v ?n } } order by ?s",
+        "select * where { ?s ex:p ?o optional { ?s ex:w ?w } minus { ?s ex:r ?t ; ex:w ?w } } order by ?s",
+        "select * where { ?s ex:p ?o minus { ?x ex:w ?w } } order by ?s",
+        "select * where { ?s ex:p ?o ; ex:q ?n optional { ?o ex:v ?n } } order by ?s",
+        "select * where { ?s ex:r ?t optional { ?s ex:w ?w optional { ?s ex:v ?x } } optional { ?s ex:p ?o ; ex:q ?w } } order by ?s ?w ?o",
+        "select (count(*) as ?c) where { ?s ex:p ?o optional { ?x ex:p ?o ; ex:r ?t } }"
+    };
+
+    static final String[] AGGREGATE = {
+        "select ?o (count(*) as ?c) (sum(?n) as ?s) (avg(?n) as ?a) (min(?n) as ?min) (max(?t) as ?max) where { ?s ex:p ?o ; ex:q ?n ; ex:r ?t } group by ?o",
+        "select (count(*) as ?c) (count(distinct ?n) as ?d) (count(distinct *) as ?e) (group_concat(distinct ?n; separator=',') as ?g) where { ?s ex:q ?n ; ex:r ?t }",
+        "select ?n ?w (count(?s) as ?c) (sample(?s) as ?x) where { ?s ex:q ?n optional { ?s ex:w ?w } } group by ?n ?w order by desc(?c) ?n ?w",
+        "select ?v (count(*) as ?c) where { ?o ex:v ?v } group by ?v",
+        "select distinct (count(*) as ?c) where { ?s ex:q ?n } group by ?n",
+        "select (count(*) as ?c) (sum(?n) as ?s) where { ?s ex:undefined ?n }",
+        "select ?n (count(*) as ?c) where { ?s ex:q ?n } group by ?n order by ?c ?n limit 3"
+    };
+
+    static final String[] ORDER_LIMIT = {
+        "select * where { ?s ex:p ?o ; ex:q ?n } order by ?n limit 5",
+        "select * where { ?s ex:q ?n ; ex:r ?t } order by desc(?n) ?t limit 7 offset 3",
+        "select distinct ?n ?t where { ?s ex:q ?n ; ex:r ?t } order by ?t desc(?n) limit 10 offset 2",
+        "select * where { ?s ex:q ?n optional { ?s ex:w ?w } } order by desc(?w) ?n limit 5",
+        "select * where { ?o ex:v ?v } order by ?v limit 4",
+        "select ?s (?n * 2 as ?m) where { ?s ex:q ?n } order by desc(?m) limit 3 offset 1",
+        "select * where { { select * where { ?s ex:q ?n } order by desc(?n) limit 4 } ?s ex:r ?t } order by ?t",
+        "select * where { ?s ex:q ?n } order by ?n limit 0"
+    };
+
+    static final String[] ORDER = {
+        "select * where { ?s ex:p ?o ; ex:q ?n } order by ?n",
+        "select * where { ?s ex:q ?n ; ex:r ?t } order by desc(?n) ?t offset 3",
+        "select distinct ?n ?t where { ?s ex:q ?n ; ex:r ?t } order by ?t desc(?n)",
+        "select distinct ?n where { ?s ex:q ?n ; ex:r ?t } order by ?t",
+        "select * where { ?s ex:q ?n optional { ?s ex:w ?w } } order by desc(?w) ?n",
+        "select distinct ?v where { ?o ex:v ?v } order by ?v",
+        "select ?s (concat(str(?n), '-') as ?m) where { ?s ex:q ?n } order by desc(?m) ?s"
+    };
+
+    static final String[] CURSOR = {
+        "select * where { ?s ex:p ?o ; ex:q ?n optional { ?s ex:w ?w } }",
+        "select * where { ?s ex:q ?n ; ex:r ?t } limit 7 offset 3",
+        "select * where { ?s ex:q ?n } limit 0",
+        "select * where { { ?s ex:p ?o } union { ?s ex:w ?w } }",
+        "select * where { ?s ex:q ?n } order by desc(?n) ?s limit 5"
+    };
+
+    static final String[] PARALLEL = {
+        "select * where { { ?s ex:p ?o ; ex:q 1 } union { ?s ex:w ?w } union { ?s ex:r ?t ; ex:q 2 } union { ?o ex:v ?v } }",
+        "select * where { ?s ex:q ?n { ?s ex:w ?w } union { ?s ex:v ?w } union { ?s ex:r ex:t1 } }",
+        "select (count(*) as ?c) where { { ?s ex:p ?o ; ex:r ?t } { ?x ex:r ?t ; ex:p ?o } }",
+        "select * where { { ?s ex:r ?t } { ?s ex:w ?w optional { ?s ex:v ?t } } } order by ?s ?t ?w",
+        "select * where { { ?s ex:q ?n minus { ?s ex:w ?w } } union { { ?s ex:w ?w } { ?s ex:q ?n } } }"
+    };
+
+    static final String[] MORSEL = {
+        "select ?o (count(*) as ?c) (sum(?n) as ?s) (max(?t) as ?max) where { ?s ex:p ?o ; ex:q ?n ; ex:r ?t } group by ?o",
+        "select (count(*) as ?c) where { ?s ex:p ?o . ?x ex:p ?o filter (?s != ?x) }",
+        "select distinct ?n ?t where { ?s ex:q ?n ; ex:r ?t } order by ?t desc(?n)",
+        "select * where { ?s ex:q ?n ; ex:p ?o { ?o ex:v ?v } union { ?s ex:w ?v } }",
+        "select * where { ?s ex:q ?n bind (?n * 2 as ?m) minus { ?s ex:w ?w } optional { ?s ex:p ?o . ?o ex:v ?v } }"
+    };
+
+    static final String[] CYCLE = {
+        "select * where { ?s ex:p ?o . ?o ex:v ?n . ?s ex:q ?n } order by ?s ?o ?n",
+        "select (count(*) as ?c) where { ?s ex:p ?o . ?x ex:p ?o . ?s ex:r ?t . ?x ex:r ?t filter (?s != ?x) }",
+        "select * where { ?s ex:r ex:t1 . ?s ex:p ?o . ?o ex:v ?n . ?s ex:q ?n } order by ?s",
+        "select * where { ?s ex:p ?o . ?o ex:v ?n . ?s ex:q ?n optional { ?s ex:w ?w } } order by ?s ?w",
+        "select * where { values ?n { 1 3 } ?s ex:p ?o . ?o ex:v ?n . ?s ex:q ?n } order by ?s"
+    };
+
+    static final String[] TRIANGLE = {
+        "select * where { ?a ex:p ?b . ?b ex:p ?c . ?a ex:p ?c } order by ?a ?b ?c",
+        "select (count(*) as ?n) where { ?a ex:p ?b . ?b ex:p ?c . ?c ex:p ?a }",
+        "select * where { ?a ex:p ?b . ?b ex:p ?c . ?a ex:p ?c . ?c ex:v 2 } order by ?a ?b ?c"
+    };
+
+    static final String[] PUSHDOWN = {
+        "select * where { ?s ex:q ?n filter (?n > 3) } order by ?s",
+        "select * where { ?o ex:v ?n filter (?n = 1 || 5 <= ?n) } order by ?o",
+        "select * where { ?o ex:v ?n filter (!(?n < 3)) } order by ?o",
+        "select * where { ?s ex:r ?t . ?s ex:q ?n filter (?t = ex:t3 && ?n != 2) } order by ?s",
+        "select * where { ?s ex:q ?n filter (?s = ex:s10) }",
+        "select * where { ?s ex:r ?t filter (?t = ex:unknown) }",
+        "select * where { ?s ex:p ?o filter (!(datatype(?o) = xsd:string)) } order by ?s",
+        "select * where { ?s ex:q ?n optional { ?s ex:w ?w filter (?w > 1) } } order by ?s",
+        "select * where { ?s ex:l ?l filter (lang(?l) = 'fr' || isNumeric(?l)) } order by ?l",
+        "select * where { ?s ex:l ?l filter (isLiteral(?l) && ?l > 'p') } order by ?l"
+    };
+
+    static final String[] PATH = {
+        "select (count(*) as ?c) where { ex:c0 ex:n+ ?y }",
+        "select * where { ?x ex:n{2,3} ex:c10 } order by ?x",
+        "select * where { ex:s1 (ex:p/ex:v)? ?y } order by ?y",
+        "select * where { ?s (ex:p|ex:r) ?o filter (?s = ex:s3) } order by ?o",
+        "select * where { ex:o3 (^ex:p)* ?s } order by ?s",
+        "select (count(*) as ?c) where { ?x (ex:n|^ex:n)+ ?y filter (?x = ex:c5) }",
+        "select * where { ex:c0 ex:n* ?y } order by ?y limit 5",
+        "select * where { ?s ex:p/ex:v ?n ; ex:q ?n } order by ?s"
+    };
+
+    static final String[] BOUND_PATH = {
+        "select * where { ex:c0 ex:n+ ex:c1500 }",
+        "select * where { ex:c1500 ex:n+ ex:c0 }",
+        "select * where { ex:c1500 (^ex:n)+ ex:c0 }",
+        "select * where { ex:c7 ex:n* ex:c7 }",
+        "select * where { ex:c7 ex:n+ ex:c7 }",
+        "select * where { ex:s1 (ex:p|^ex:p)+ ex:s41 }",
+        "select * where { ?s ex:q 3 ; ex:r ex:t5 . ?s (ex:p|^ex:p)* ?x . ?x ex:q 4 } order by ?s ?x",
+        "select * where { ?x ex:v 1 filter exists { ?s ex:p ?x . ex:s1 (ex:p|^ex:p)+ ?s } } order by ?x",
+        "select ?s ?o where { ex:c0 ex:n+ :: $path ex:c3 . graph $path { ?s ?p ?o } } order by ?s"
+    };
+
+    static final String[] CLOSURE_PATH = {
+        "select (count(*) as ?c) where { ex:c0 ex:n+ ?y }",
+        "select (count(*) as ?c) where { ?x ex:n* ex:c1500 }",
+        "select * where { ex:c1990 ex:n* ?y } order by ?y",
+        "select * where { ex:c5 (^ex:n)+ ?y } order by ?y",
+        "select * where { ex:c7 ex:n+ ex:c7 }",
+        "select * where { ex:c1500 ex:n+ ex:c0 }",
+        "select * where { ?s ex:q 3 ; ex:r ex:t5 . ?s ex:p+ ?x } order by ?s ?x",
+        "select * where { values ?x { ex:c3 ex:s1 ex:unknown } ?x ex:n* ?y filter (?y in (ex:c3, ex:c9, ex:s1, ex:unknown)) } order by ?x ?y"
+    };
+
+    static final String[] MULTI_SOURCE_PATH = {
+        "select * where { { ?x ex:q 3 } { ?x (ex:p|^ex:p)+ ?y } } order by ?x ?y",
+        "select (count(*) as ?c) where { { ?x ex:q 3 } { ?x (ex:p|^ex:p)* ?y } }",
+        "select (count(*) as ?c) where { { ?x ex:q 3 } { ?y (^ex:p|ex:p)+ ?x } }",
+        "select * where { { ?x ex:w ?w } { ?x (!ex:q)+ ?y } } order by ?x ?y",
+        "select * where { ?s ex:q 2 optional { ?s (ex:p|ex:n)+ ?y filter (?y < ex:c10) } } order by ?s ?y",
+        "select (count(*) as ?c) where { values ?x { ex:c0 ex:c5 ex:c10 ex:c15 ex:c20 ex:c25 ex:c30 ex:c35 ex:c40 ex:c45 ex:c50 ex:c55 ex:c60 ex:c65 ex:c70 ex:c75 ex:unknown } { ?x ex:n* ?y } }",
+        "select (count(*) as ?c) where { { ?x ex:r ex:t3 } union { values ?x { ex:c1 ex:c1990 } } { ?x ex:n+ ?y } }",
+        "select * where { ?x ex:q 4 minus { ?x ex:p+ ex:o4 } } order by ?x"
+    };
+
+    /**
+     * Solutions share several variables, some values are equal numbers
+     * with different labels (1 and 01), some solutions have unbound variables
+     */
+    Graph init() throws EngineException {
+        Graph g = Graph.create();
+        StringBuilder sb = new StringBuilder("prefix ex: <http://example.org/> insert data {");
+        for (int i = 0; i < 500; i++) {
+            sb.append(String.format("ex:s%s ex:p ex:o%s ; ex:q %s ; ex:r ex:t%s .\n", i, i % 40, i % 7, i % 13));
+            if (i % 9 == 0) {
+                sb.append(String.format("ex:s%s ex:w %s .\n", i, i % 5));
+            }
+        }
+        for (int i = 0; i < 30; i++) {
+            sb.append(String.format("ex:o%s ex:v %s .\n", i,
+                    (i % 2 == 0) ? Integer.toString(i % 7) : String.format("'0%s'^^xsd:integer", i % 7)));
+        }
+        sb.append("}");
+        QueryProcess.create(g).query(sb.toString());
+        return g;
+    }
+
+    String eval(Graph g, String[] list) throws EngineException {
+        QueryProcess exec = QueryProcess.create(g);
+        StringBuilder sb = new StringBuilder();
+        for (String q : list) {
+            sb.append(exec.query("prefix ex: <http://example.org/> " + q).toString(false, false, 10000));
+        }
+        return sb.toString();
+    }
+
+    @Test
+    public void testHashJoin() throws EngineException {
+        Graph g = init();
+        String res = eval(g, JOIN);
+        try {
+            HashJoin.HASH_JOIN = false;
+            assertEquals(eval(g, JOIN), res);
+        } finally {
+            HashJoin.HASH_JOIN = true;
+        }
+    }
+
+    @Test
+    public void testHashMinusOptional() throws EngineException {
+        Graph g = init();
+        String res = eval(g, MINUS_OPTIONAL);
+        try {
+            HashJoin.HASH_JOIN = false;
+            assertEquals(eval(g, MINUS_OPTIONAL), res);
+        } finally {
+            HashJoin.HASH_JOIN = true;
+        }
+    }
+
+    @Test
+    public void testHashAggregate() throws EngineException {
+        Graph g = init();
+        String res = eval(g, AGGREGATE);
+        try {
+            HashAggregate.HASH_AGGREGATE = false;
+            assertEquals(eval(g, AGGREGATE), res);
+        } finally {
+            HashAggregate.HASH_AGGREGATE = true;
+        }
+    }
+
+    @Test
+    public void testHashJoinSize() throws EngineException {
+        Graph g = init();
+        String res = eval(g, JOIN);
+        String minus = eval(g, MINUS_OPTIONAL);
+        long budget = HashJoin.MEMORY_BUDGET;
+        try {
+            // join partitioned in run files beyond memory budget
+            HashJoin.MEMORY_BUDGET = 1000;
+            assertEquals(eval(g, JOIN), res);
+            // minus and optional without table
+            assertEquals(eval(g, MINUS_OPTIONAL), minus);
+        } finally {
+            HashJoin.MEMORY_BUDGET = budget;
+        }
+    }
+
+    @Test
+    public void testTopK() throws EngineException {
+        Graph g = init();
+        String res = eval(g, ORDER_LIMIT);
+        try {
+            TopK.TOP_K = false;
+            assertEquals(eval(g, ORDER_LIMIT), res);
+        } finally {
+            TopK.TOP_K = true;
+        }
+    }
+
+    @Test
+    public void testExternalSort() throws EngineException {
+        Graph g = init();
+        String res = eval(g, ORDER);
+        int budget = ExternalSort.MEMORY_BUDGET;
+        try {
+            // spill every 10 solutions
+            ExternalSort.MEMORY_BUDGET = 10;
+            assertEquals(res, eval(g, ORDER));
+        } finally {
+            ExternalSort.MEMORY_BUDGET = budget;
+        }
+        QueryProcess exec = QueryProcess.create(g);
+        String q = "prefix ex: <http://example.org/> @budget %s "
+                + "select distinct ?s ?t where { ?s ex:q ?n ; ex:r ?t } order by ?t";
+        // below budget: no external sort
+        Mappings map = exec.query(String.format(q, 1000));
+        assertNull(map.getExternalSort());
+        String json = ResultFormat.create(map, ResultFormat.JSON_FORMAT).toString();
+        map = exec.query(String.format(q, 100));
+        assertTrue(map.isStream());
+        assertEquals(5, map.getExternalSort().getRunCount());
+        File dir = map.getExternalSort().getDirectory();
+        assertEquals(5, dir.listFiles().length);
+        // result writer reads the merge of runs
+        assertEquals(json, ResultFormat.create(map, ResultFormat.JSON_FORMAT).toString());
+        // run files are deleted when the merge is consumed
+        assertFalse(dir.exists());
+
+        map = exec.query(String.format(q, 100));
+        dir = map.getExternalSort().getDirectory();
+        assertEquals(500, map.size());
+        // solutions read from runs have the nodes of the graph
+        for (Mapping m : map) {
+            assertTrue(m.getNode("?s") == g.getNode(m.getNode("?s")));
+            assertTrue(m.getNode("?t") == g.getNode(m.getNode("?t")));
+        }
+        assertFalse(dir.exists());
+
+        // cursor close deletes run files
+        map = exec.query(String.format(q, 100));
+        dir = map.getExternalSort().getDirectory();
+        try (Cursor cursor = new Cursor(map)) {
+            assertTrue(cursor.hasNext());
+        }
+        assertFalse(dir.exists());
+    }
+
+    @Test
+    public void testCursor() throws EngineException {
+        Graph g = init();
+        QueryProcess exec = QueryProcess.create(g);
+        for (String q : CURSOR) {
+            String query = "prefix ex: <http://example.org/> " + q;
+            Mappings map = exec.query(query);
+            int i = 0;
+            try (Cursor cursor = exec.queryCursor(query)) {
+                for (Mapping m : cursor) {
+                    assertEquals(map.get(i++).toString(), m.toString());
+                }
+            }
+            assertEquals(map.size(), i);
+        }
+        // early close stops evaluation
+        Cursor cursor = exec.queryCursor("select * where { ?x ?p ?y . ?z ?q ?t }");
+        for (int i = 0; i < 5; i++) {
+            cursor.next();
+        }
+        cursor.close();
+        assertTrue(cursor.getCount() <= Cursor.CAPACITY + 5);
+        exec.query("insert data { <a> <b> <c> }");
+
+        // no cursor thread available: query is evaluated before iteration
+        String query = "select * where { ?x ?p ?y . ?z ?q ?t }";
+        int size = exec.query(query).size();
+        int threads = Cursor.getThreads();
+        try {
+            Cursor.setThreads(1);
+            try (Cursor c1 = exec.queryCursor(query); Cursor c2 = exec.queryCursor(query)) {
+                c1.next();
+                assertEquals(1, Cursor.getRunning());
+                int i = 0;
+                for (Mapping m : c2) {
+                    i++;
+                }
+                assertEquals(size, i);
+            }
+        } finally {
+            Cursor.setThreads(threads);
+        }
+    }
+
+    /**
+     * Consumer updates the graph while iterating: no deadlock, the cursor
+     * reads the graph as it was when the cursor was created
+     */
+    @Test(timeout = 60_000)
+    public void testCursorUpdate() throws EngineException {
+        String query = "prefix ex: <http://example.org/> select * where { ?s ex:p ?o . ?x ex:w ?v }";
+        Graph g = init();
+        QueryProcess exec = QueryProcess.create(g);
+        int size = exec.query(query).size();
+        assertTrue(size > Cursor.CAPACITY);
+        Cursor cursor = exec.queryCursor(query);
+        cursor.next();
+        exec.query("prefix ex: <http://example.org/> insert data { ex:a ex:w 1 }");
+        exec.query("prefix ex: <http://example.org/> delete where { ?s ex:p ?o }");
+        int i = 1;
+        for (Mapping m : cursor) {
+            i++;
+        }
+        assertEquals(size, i);
+        assertEquals(0, exec.query(query).size());
+
+        // multi version mode: cursor reads a version of the graph
+        g = init();
+        g.setVersioning(true);
+        exec = QueryProcess.create(g);
+        cursor = exec.queryCursor(query);
+        cursor.next();
+        exec.query("prefix ex: <http://example.org/> insert data { ex:a ex:w 1 }");
+        i = 1;
+        for (Mapping m : cursor) {
+            i++;
+        }
+        assertEquals(size, i);
+    }
+
+    /**
+     * Cursor that is not closed: producer stops when cursor is garbage
+     * collected
+     */
+    @Test(timeout = 60_000)
+    public void testCursorAbandon() throws EngineException, InterruptedException {
+        Graph g = init();
+        QueryProcess exec = QueryProcess.create(g);
+        abandon(exec);
+        for (int i = 0; i < 100 && Cursor.getRunning() > 0; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        assertEquals(0, Cursor.getRunning());
+        exec.query("insert data { <a> <b> <c> }");
+    }
+
+    void abandon(QueryProcess exec) throws EngineException {
+        Cursor cursor = exec.queryCursor("select * where { ?x ?p ?y . ?z ?q ?t }");
+        cursor.next();
+    }
+
+    @Test
+    public void testParallel() throws EngineException {
+        Graph g = init();
+        String res = eval(g, PARALLEL);
+        int threads = Parallel.getThreads();
+        try {
+            Parallel.PARALLEL = true;
+            Parallel.setThreads(4);
+            assertEquals(res, eval(g, PARALLEL));
+        } finally {
+            Parallel.PARALLEL = false;
+            Parallel.setThreads(threads);
+        }
+    }
+
+    @Test
+    public void testMorsel() throws EngineException {
+        Graph g = init();
+        // duplicate triples in named graphs: one solution in default graph
+        QueryProcess.create(g).query("prefix ex: <http://example.org/> insert data { "
+                + "graph ex:g1 { ex:s1 ex:p ex:o1 . ex:s2 ex:q 2 } graph ex:g2 { ex:s1 ex:p ex:o1 . ex:s2 ex:q 2 } }");
+        String res = eval(g, MORSEL);
+        int threads = Parallel.getThreads();
+        int size = Morsel.SIZE;
+        try {
+            Parallel.PARALLEL = true;
+            Parallel.setThreads(4);
+            Morsel.SIZE = 50;
+            assertEquals(res, eval(g, MORSEL));
+            // range boundaries skip runs of duplicate triples
+            Morsel.SIZE = 1;
+            assertEquals(res, eval(g, MORSEL));
+        } finally {
+            Parallel.PARALLEL = false;
+            Parallel.setThreads(threads);
+            Morsel.SIZE = size;
+        }
+    }
+
+    @Test
+    public void testQueryCache() throws EngineException {
+        Graph g = init();
+        String res = eval(g, AGGREGATE) + eval(g, ORDER_LIMIT);
+        QueryCache cache = g.getQueryCache();
+        try {
+            QueryProcess.PLAN_CACHE = true;
+            cache.clear();
+            int hit = cache.getHitCount();
+            assertEquals(res, eval(g, AGGREGATE) + eval(g, ORDER_LIMIT));
+            assertEquals(res, eval(g, AGGREGATE) + eval(g, ORDER_LIMIT));
+            assertEquals(hit + AGGREGATE.length + ORDER_LIMIT.length, cache.getHitCount());
+            // new public function clears the cache
+            int invalidation = cache.getInvalidationCount();
+            QueryProcess.create(g).query("@public function us:testQueryCache(?x) { ?x }");
+            assertEquals(res, eval(g, AGGREGATE) + eval(g, ORDER_LIMIT));
+            assertEquals(invalidation + 1, cache.getInvalidationCount());
+            // update of existing predicate clears the pools of the graph
+            QueryProcess.create(g).query("prefix ex: <http://example.org/> insert data { ex:s1 ex:q 100 }");
+            invalidation = cache.getInvalidationCount();
+            assertEquals(AGGREGATE.length + ORDER_LIMIT.length, cache.size());
+            String upd = eval(g, AGGREGATE) + eval(g, ORDER_LIMIT);
+            assertNotEquals(res, upd);
+            assertEquals(invalidation + AGGREGATE.length + ORDER_LIMIT.length, cache.getInvalidationCount());
+            assertEquals(upd, eval(g, AGGREGATE) + eval(g, ORDER_LIMIT));
+            // each graph has its own cache
+            Graph g2 = init();
+            int size = cache.size();
+            assertEquals(res, eval(g2, AGGREGATE) + eval(g2, ORDER_LIMIT));
+            assertEquals(size, cache.size());
+            assertEquals(AGGREGATE.length + ORDER_LIMIT.length, g2.getQueryCache().size());
+        } finally {
+            QueryProcess.PLAN_CACHE = false;
+            cache.clear();
+        }
+    }
+
+    @Test
+    public void testPrepare() throws EngineException {
+        Graph g = init();
+        QueryProcess exec = QueryProcess.create(g);
+        PreparedQuery pq = exec.prepare("prefix ex: <http://example.org/> "
+                + "select * where { ?s ex:p ?o ; ex:q ?n optional { ?s ex:w ?w } } order by ?s");
+        for (int i = 0; i < 10; i++) {
+            String res = exec.query(String.format("prefix ex: <http://example.org/> "
+                    + "select * where { ?s ex:p ?o ; ex:q ?n optional { ?s ex:w ?w } values (?o ?n) { (ex:o%s %s) } } order by ?s",
+                    i, i % 7)).toString(false, false, 10000);
+            Mappings map = pq.execute(Map.of("o", DatatypeMap.createResource("http://example.org/o" + i),
+                    "?n", DatatypeMap.newInstance(i % 7)));
+            assertTrue(map.size() > 0);
+            assertEquals(res, map.toString(false, false, 10000));
+        }
+        assertEquals(eval(g, new String[]{"select * where { ?s ex:p ?o ; ex:q ?n optional { ?s ex:w ?w } } order by ?s"}),
+                pq.execute().toString(false, false, 10000));
+        // one query plan for each set of parameters
+        assertEquals(2, pq.getCompileCount());
+        assertEquals(11, pq.getExecuteCount());
+    }
+
+    @Test
+    public void testCostSorter() throws EngineException {
+        Graph g = init();
+        String res = eval(g, JOIN) + eval(g, MINUS_OPTIONAL) + eval(g, AGGREGATE);
+        int plan = QuerySolver.QUERY_PLAN;
+        try {
+            QuerySolver.QUERY_PLAN = Query.QP_COST;
+            assertEquals(res, eval(g, JOIN) + eval(g, MINUS_OPTIONAL) + eval(g, AGGREGATE));
+            // star pattern: most selective predicate first
+            String plan1 = QueryProcess.create(g).explain("prefix ex: <http://example.org/> "
+                    + "select * where { ?s ex:p ?o . ?s ex:q ?n . ?s ex:w ?w }");
+            assertTrue(plan1.contains("[card: "));
+            assertTrue(plan1.indexOf("ex:w") < plan1.indexOf("ex:p"));
+        } finally {
+            QuerySolver.QUERY_PLAN = plan;
+        }
+    }
+
+    @Test
+    public void testTrieJoin() throws EngineException {
+        Graph g = init();
+        try {
+            String res = eval(g, CYCLE);
+            // 1 and 01: Eval evaluates the triple patterns
+            QuerySorter.TRIE_JOIN = true;
+            assertEquals(res, eval(g, CYCLE));
+            String plan = QueryProcess.create(g).explain("prefix ex: <http://example.org/> " + CYCLE[0]);
+            assertTrue(plan.contains("TRIEJOIN"));
+            Graph gg = Graph.create();
+            StringBuilder sb = new StringBuilder("prefix ex: <http://example.org/> insert data {");
+            for (int i = 0; i < 200; i++) {
+                sb.append(String.format("ex:s%s ex:p ex:s%s, ex:s%s ; ex:v %s .\n", i, (i + 1) % 200, (i * 7) % 200, i % 5));
+            }
+            sb.append("}");
+            QueryProcess.create(gg).query(sb.toString());
+            QuerySorter.TRIE_JOIN = false;
+            res = eval(gg, TRIANGLE);
+            QuerySorter.TRIE_JOIN = true;
+            assertEquals(res, eval(gg, TRIANGLE));
+            // join stops when limit is reached
+            Mappings map = QueryProcess.create(gg).query("prefix ex: <http://example.org/> "
+                    + "select * where { ?a ex:p ?b . ?b ex:p ?c . ?a ex:p ?c } limit 3");
+            assertEquals(3, map.size());
+        } finally {
+            QuerySorter.TRIE_JOIN = false;
+        }
+    }
+
+    @Test
+    public void testFilterPushdown() throws EngineException {
+        Graph g = init();
+        QueryProcess.create(g).query("prefix ex: <http://example.org/> "
+                + "insert data { ex:a ex:l 'un'@fr, 'one'@en, 'uno', 1, 'quatre'@fr, ex:b }");
+        try {
+            DataFilterCompiler.FILTER_PUSHDOWN = false;
+            String res = eval(g, PUSHDOWN);
+            DataFilterCompiler.FILTER_PUSHDOWN = true;
+            assertEquals(res, eval(g, PUSHDOWN));
+        } finally {
+            DataFilterCompiler.FILTER_PUSHDOWN = true;
+        }
+    }
+
+    @Test
+    public void testPathIterator() throws EngineException {
+        Graph g = init();
+        StringBuilder sb = new StringBuilder("prefix ex: <http://example.org/> insert data {");
+        for (int i = 0; i < 2000; i++) {
+            sb.append(String.format("ex:c%s ex:n ex:c%s .\n", i, i + 1));
+        }
+        sb.append("}");
+        QueryProcess exec = QueryProcess.create(g);
+        exec.query(sb.toString());
+        StringBuilder res = new StringBuilder();
+        for (String q : PATH) {
+            res.append(exec.query("prefix ex: <http://example.org/> " + q).toString(false, false, 10000));
+        }
+        exec.setListPath(false);
+        StringBuilder it = new StringBuilder();
+        for (String q : PATH) {
+            it.append(exec.query("prefix ex: <http://example.org/> " + q).toString(false, false, 10000));
+        }
+        assertEquals(res.toString(), it.toString());
+        // long path without recursion
+        assertEquals(2000, exec.query("prefix ex: <http://example.org/> " + PATH[0]).getValue("?c").intValue());
+        Mappings map = exec.query("prefix ex: <http://example.org/> select * where { ?x ex:n+ ?y } limit 3");
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    public void testBidirectionalPath() throws EngineException {
+        Graph g = init();
+        StringBuilder sb = new StringBuilder("prefix ex: <http://example.org/> insert data {");
+        for (int i = 0; i < 2000; i++) {
+            sb.append(String.format("ex:c%s ex:n ex:c%s .\n", i, i + 1));
+        }
+        sb.append("ex:c2000 ex:n ex:c7 }");
+        QueryProcess.create(g).query(sb.toString());
+        try {
+            BidirectionalSearch.BIDIRECTIONAL = false;
+            String res = eval(g, BOUND_PATH);
+            BidirectionalSearch.BIDIRECTIONAL = true;
+            assertEquals(res, eval(g, BOUND_PATH));
+        } finally {
+            BidirectionalSearch.BIDIRECTIONAL = true;
+        }
+    }
+
+    @Test
+    public void testClosureIndex() throws EngineException {
+        Graph g = init();
+        StringBuilder sb = new StringBuilder("prefix ex: <http://example.org/> insert data {");
+        for (int i = 0; i < 2000; i++) {
+            sb.append(String.format("ex:c%s ex:n ex:c%s .\n", i, i + 1));
+        }
+        sb.append("ex:c2000 ex:n ex:c7 }");
+        QueryProcess exec = QueryProcess.create(g);
+        exec.query(sb.toString());
+        // closure index is opt-in
+        String std = eval(g, CLOSURE_PATH);
+        long max = ClosureIndex.MAX_MEMORY;
+        assertTrue(g.getClosureIndex(false) == null);
+        g.getClosureIndex().declare("http://example.org/n").declare("http://example.org/p");
+        assertTrue(g.getClosureIndex() == g.getClosureIndex());
+        try {
+            PathIndexSearch.PATH_INDEX = false;
+            String res = eval(g, CLOSURE_PATH);
+            assertEquals(std, res);
+            PathIndexSearch.PATH_INDEX = true;
+            assertEquals(res, eval(g, CLOSURE_PATH));
+            assertTrue(g.getClosureIndex().getClosure("http://example.org/n") != null);
+            assertTrue(g.getClosureIndex().getMemory() > 0);
+            // closure is computed again after update
+            exec.query("prefix ex: <http://example.org/> delete data { ex:c1000 ex:n ex:c1001 }");
+            assertTrue(g.getClosureIndex().getClosure("http://example.org/n") == null);
+            // memory of closures is bounded
+            ClosureIndex.MAX_MEMORY = 1000;
+            assertEquals(eval(g, CLOSURE_PATH), std(g));
+            assertTrue(g.getClosureIndex().getClosure("http://example.org/n") == null);
+            ClosureIndex.MAX_MEMORY = max;
+            exec.query("prefix ex: <http://example.org/> insert data { ex:c3 ex:n ex:s1 }");
+            res = eval(g, CLOSURE_PATH);
+            PathIndexSearch.PATH_INDEX = false;
+            assertEquals(res, eval(g, CLOSURE_PATH));
+        } finally {
+            PathIndexSearch.PATH_INDEX = true;
+            ClosureIndex.MAX_MEMORY = max;
+        }
+    }
+
+    // evaluation without closure index
+    String std(Graph g) throws EngineException {
+        try {
+            PathIndexSearch.PATH_INDEX = false;
+            return eval(g, CLOSURE_PATH);
+        } finally {
+            PathIndexSearch.PATH_INDEX = true;
+        }
+    }
+
+    @Test
+    public void testMultiSourcePath() throws EngineException {
+        Graph g = init();
+        StringBuilder sb = new StringBuilder("prefix ex: <http://example.org/> insert data {");
+        for (int i = 0; i < 2000; i++) {
+            sb.append(String.format("ex:c%s ex:n ex:c%s .\n", i, i + 1));
+        }
+        sb.append("ex:c2000 ex:n ex:c7 . ex:o4 ex:n ex:c1990 }");
+        QueryProcess.create(g).query(sb.toString());
+        int chunk = MultiSourceSearch.CHUNK;
+        try {
+            MultiSourceSearch.MULTI_SOURCE = false;
+            String res = eval(g, MULTI_SOURCE_PATH);
+            MultiSourceSearch.MULTI_SOURCE = true;
+            assertEquals(res, eval(g, MULTI_SOURCE_PATH));
+            // groups of sources evaluated by parallel tasks
+            MultiSourceSearch.CHUNK = 10;
+            Parallel.PARALLEL = true;
+            String[] optional = {MULTI_SOURCE_PATH[4], MULTI_SOURCE_PATH[7]};
+            String par = eval(g, optional);
+            Parallel.PARALLEL = false;
+            MultiSourceSearch.MULTI_SOURCE = false;
+            assertEquals(eval(g, optional), par);
+        } finally {
+            MultiSourceSearch.MULTI_SOURCE = true;
+            MultiSourceSearch.CHUNK = chunk;
+            Parallel.PARALLEL = false;
+        }
+    }
+
+    /**
+     * Statement with a leading edge or path receives the Mappings of the
+     * preceding statement: same results as the subquery evaluated alone
+     */
+    @Test
+    public void testLeadingEdgeData() throws EngineException {
+        Graph g = init();
+        StringBuilder sb = new StringBuilder("prefix ex: <http://example.org/> insert data {");
+        for (int i = 0; i < 100; i++) {
+            sb.append(String.format("ex:o%s ex:n ex:o%s .\n", i, i + 1));
+        }
+        sb.append("}");
+        QueryProcess.create(g).query(sb.toString());
+        String[] query = {
+            "select * where { { ?x ex:q 3 } { %s } } order by ?x ?o ?y",
+            "select * where { ?x ex:q 3 optional { %s } } order by ?x ?o ?y",
+            "select * where { ?x ex:q 3 minus { %s filter (?y = ex:o20) } } order by ?x"
+        };
+        String[] body = {
+            "?x ex:p ?o . ?o ex:n+ ?y",
+            "?x ex:p ?o . ?o ex:n ?y",
+            "?x ex:p+ ?o . ?o ex:n ?y"
+        };
+        QueryProcess exec = QueryProcess.create(g);
+        for (String q : query) {
+            for (String b : body) {
+                String std = "prefix ex: <http://example.org/> " + String.format(q, b);
+                String sub = "prefix ex: <http://example.org/> "
+                        + String.format(q, String.format("{ select * where { %s } }", b));
+                Mappings map = exec.query(std);
+                assertTrue(map.size() > 0);
+                assertEquals(exec.query(sub).toString(), map.toString());
+            }
+        }
+    }
+
+    /**
+     * Weighted shortest path: distinct short (one path), short (all paths)
+     */
+    @Test
+    public void testShortestPath() throws EngineException {
+        Graph g = Graph.create();
+        StringBuilder sb = new StringBuilder("prefix ex: <http://example.org/> insert data {");
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                sb.append(String.format("ex:c%s_%s ex:x %s ; ex:y %s .\n", i, j, i, j));
+                if (j < 9) {
+                    sb.append(String.format("ex:c%s_%s ex:road ex:c%s_%s .\n", i, j, i, j + 1));
+                }
+                if (i < 9) {
+                    sb.append(String.format("ex:c%s_%s ex:rail ex:c%s_%s .\n", i, j, i + 1, j));
+                }
+            }
+        }
+        sb.append("ex:c0_0 ex:fly ex:c9_9 }");
+        QueryProcess exec = QueryProcess.create(g);
+        exec.query(sb.toString());
+        String prefix = "prefix ex: <http://example.org/> prefix us: <http://example.org/fun/> ";
+        String q = "select * where { ex:c0_0 distinct short (ex:road@2|ex:rail@3|ex:fly@%s)+ :: $path ex:c9_9 "
+                + "bind (kg:pathLength($path) as ?l) }";
+        Mappings map = exec.query(prefix + String.format(q, 50));
+        assertEquals(1, map.size());
+        assertEquals(18, map.get(0).getValue("?l").intValue());
+        map = exec.query(prefix + String.format(q, 40));
+        assertEquals(1, map.size());
+        assertEquals(1, map.get(0).getValue("?l").intValue());
+        // all shortest paths: 6 paths of length 4
+        map = exec.query(prefix
+                + "select * where { ex:c0_0 short (ex:road|ex:rail)+ :: $path ex:c2_2 graph $path { ?a ?p ?b } }");
+        assertEquals(24, map.size());
+        map = exec.query(prefix
+                + "select * where { ?x distinct short (ex:road@2|ex:rail@3)* :: $path ex:c5_5 "
+                + "bind (kg:pathLength($path) as ?l) ?x ex:x ?i ; ex:y ?j }");
+        assertEquals(36, map.size());
+        for (Mapping m : map) {
+            assertEquals(10 - m.getValue("?i").intValue() - m.getValue("?j").intValue(),
+                    m.getValue("?l").intValue());
+        }
+        // A* heuristic
+        String h = prefix + "@heuristic us:h " + String.format(q, 50)
+                + "function us:h(n, t) { let (select * where { ?n ex:x ?xn ; ex:y ?yn . ?t ex:x ?xt ; ex:y ?yt }) "
+                + "{ 3 * abs(?xt - ?xn) + 2 * abs(?yt - ?yn) } }";
+        map = exec.query(h);
+        assertEquals(1, map.size());
+        assertEquals(18, map.get(0).getValue("?l").intValue());
+    }
+
+}
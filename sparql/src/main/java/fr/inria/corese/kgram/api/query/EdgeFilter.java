@@ -0,0 +1,16 @@
+package fr.inria.corese.kgram.api.query;
+
+/**
+ * Filters of a triple pattern compiled by the Producer and evaluated during
+ * edge iteration, recorded in the query Exp of the triple pattern
+ * (see corese DataFilterCompiler)
+ *
+ */
+public interface EdgeFilter {
+
+    /**
+     * No filter of the triple pattern can be compiled
+     */
+    boolean isEmpty();
+
+}
@@ -0,0 +1,24 @@
+package fr.inria.corese.kgram.api.query;
+
+import fr.inria.corese.kgram.api.core.Node;
+
+/**
+ * Reachability index of a property p returned by Producer getPathIndex()
+ * PathFinder answers p+ p* (^p)+ (^p)* with the index instead of
+ * computing the paths (see PathIndexSearch)
+ *
+ */
+public interface PathIndex {
+
+    /**
+     * Is there a path p+ from subject to object
+     */
+    boolean reach(Node subject, Node object);
+
+    /**
+     * Nodes reachable from node by p+ (index = 0) or nodes that reach node by
+     * p+ (index = 1), each node occurs once
+     */
+    Iterable<Node> reach(Node node, int index);
+
+}
@@ -1,12 +1,14 @@
 package fr.inria.corese.kgram.api.query;
 
 import fr.inria.corese.kgram.api.core.DatatypeValueFactory;
+import java.util.Iterator;
 import java.util.List;
 
 import fr.inria.corese.kgram.api.core.Graph;
 import fr.inria.corese.kgram.api.core.Node;
 import fr.inria.corese.kgram.api.core.Regex;
 import fr.inria.corese.kgram.core.Exp;
+import fr.inria.corese.kgram.core.Mapping;
 import fr.inria.corese.kgram.core.Mappings;
 import fr.inria.corese.kgram.core.Query;
 import fr.inria.corese.kgram.api.core.Edge;
@@ -121,6 +123,25 @@ public interface Producer {
 
     Mappings getMappings(Node gNode, List<Node> from, Exp exp, Environment env) throws SparqlException;
 
+    /**
+     * Evaluate BGP of cyclic triple patterns (exp.isTrieJoin())
+     * Return iterator on solutions computed on demand, or null when
+     * Producer does not evaluate it, Eval then evaluates triple patterns
+     */
+    default Iterator<Mapping> getTrieJoin(Node gNode, List<Node> from, Exp exp, Environment env) throws SparqlException {
+        return null;
+    }
+
+    /**
+     * Edges of query edge split into consecutive ranges of about size edges
+     * that can be iterated concurrently, in getEdges() order
+     * Return null when edges cannot be split
+     * use case: morsel driven parallel evaluation (see Morsel)
+     */
+    default List<Iterable<Edge>> getEdgeRanges(Node gNode, List<Node> from, Edge qEdge, Environment env, int size) {
+        return null;
+    }
+
     /**
      * ************** PATH *************
      */
@@ -179,6 +200,17 @@ public interface Producer {
     Iterable<Edge> getEdges(Node gNode, List<Node> from, Edge qEdge, Environment env,
             Regex exp, Node src, Node start, int index);
 
+    /**
+     * Reachability index of property exp for path exp+ exp* (see
+     * PathIndexSearch)
+     *
+     * @param exp a property name
+     * @return null when there is no index, PathFinder then computes the paths
+     */
+    default PathIndex getPathIndex(Node gNode, List<Node> from, Edge qEdge, Environment env, Regex exp) {
+        return null;
+    }
+
     /**
      * ************** value to node *************
      */
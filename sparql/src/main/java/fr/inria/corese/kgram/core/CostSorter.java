@@ -0,0 +1,358 @@
+package fr.inria.corese.kgram.core;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.sorter.core.IProducerQP;
+import fr.inria.corese.kgram.sorter.core.IStatistics;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Cost based sort of triple patterns
+ * Query.QP_COST: exec.setPlanProfile(Query.QP_COST)
+ *
+ * A BGP is split into segments of successive triple patterns and filters,
+ * the triple patterns of a segment are sorted in the order that minimizes
+ * the sum of estimated cardinalities of intermediate results (left deep
+ * join). The order is computed by dynamic programming on subsets of triple
+ * patterns up to DP triple patterns, by greedy search with one step
+ * lookahead beyond. Filters are moved afterward by QuerySorter sortFilter().
+ *
+ * Cardinalities are estimated with graph statistics of the Producer
+ * (IStatistics): number of triples, distinct subjects and objects of
+ * predicates. Star patterns on a subject variable are estimated with
+ * characteristic sets. Estimated cardinality is recorded in Exp and shown
+ * by QueryProcess explain().
+ * When the Producer has no statistics, the default Sorter is used.
+ *
+ */
+public class CostSorter extends Sorter {
+
+    // exhaustive search up to DP triple patterns
+    public static int DP = 10;
+
+    private QuerySorter querySorter;
+    private IStatistics stat;
+    // star estimation of predicate list
+    private HashMap<List<String>, Double> starCache;
+
+    CostSorter(QuerySorter qs) {
+        querySorter = qs;
+        starCache = new HashMap<>();
+    }
+
+    @Override
+    public void sort(Query q, Exp exp, List<String> lVar, List<Exp> lBind) {
+        if (getStatistics() == null) {
+            super.sort(q, exp, lVar, lBind);
+        } else {
+            process(q, exp, lVar, lBind, true);
+        }
+    }
+
+    /**
+     * Record estimated cardinality of triple patterns without sorting
+     * use case: explain with another query plan
+     */
+    void estimate(Query q, Exp exp, List<String> lVar, List<Exp> lBind) {
+        if (getStatistics() != null) {
+            process(q, exp, lVar, lBind, false);
+        }
+    }
+
+    IStatistics getStatistics() {
+        if (stat == null && querySorter.getProducer() instanceof IProducerQP) {
+            stat = ((IProducerQP) querySorter.getProducer()).getStatistics();
+        }
+        return stat;
+    }
+
+    void process(Query q, Exp exp, List<String> lVar, List<Exp> lBind, boolean sort) {
+        List<String> varList = new ArrayList<>(lVar);
+        Mappings map = q.getActualMappings();
+        if (map != null && map.size() > 0) {
+            // variables bound by exec.query(q, m)
+            for (Node node : map.get(0).getQueryNodes()) {
+                add(node, varList);
+            }
+        }
+        int i = 0;
+        while (i < exp.size()) {
+            if (!isSegment(exp.get(i))) {
+                bind(exp.get(i), varList);
+                i++;
+                continue;
+            }
+            List<Exp> edgeList = new ArrayList<>();
+            List<Integer> indexList = new ArrayList<>();
+            int j = i;
+            for (; j < exp.size() && isSegment(exp.get(j)); j++) {
+                if (exp.get(j).isEdge()) {
+                    edgeList.add(exp.get(j));
+                    indexList.add(j);
+                }
+            }
+            List<Exp> plan = (sort && edgeList.size() > 1) ? plan(edgeList, varList, lBind) : edgeList;
+            for (int k = 0; k < plan.size(); k++) {
+                exp.set(indexList.get(k), plan.get(k));
+            }
+            cardinality(plan, varList, lBind);
+            i = j;
+        }
+    }
+
+    boolean isSegment(Exp exp) {
+        return exp.isEdge() || exp.isFilter();
+    }
+
+    /**
+     * Record estimated cardinality of intermediate results
+     * and add edge variables to varList
+     */
+    void cardinality(List<Exp> plan, List<String> varList, List<Exp> lBind) {
+        double card = 1;
+        List<Exp> done = new ArrayList<>();
+        for (Exp exp : plan) {
+            card *= fanout(exp, done, varList, lBind);
+            exp.setCardinality(card);
+            done.add(exp);
+        }
+        for (Exp exp : plan) {
+            bind(exp, varList);
+        }
+    }
+
+    /**
+     * Order of edges that minimizes the sum of intermediate cardinalities
+     */
+    List<Exp> plan(List<Exp> list, List<String> varList, List<Exp> lBind) {
+        if (list.size() <= DP) {
+            return dynamic(list, varList, lBind);
+        }
+        return greedy(list, varList, lBind);
+    }
+
+    /**
+     * Dynamic programming on subsets of edges (bit mask)
+     * Subsets are enumerated in increasing order hence before supersets
+     */
+    List<Exp> dynamic(List<Exp> list, List<String> varList, List<Exp> lBind) {
+        int n = list.size();
+        int size = 1 << n;
+        double[] cost = new double[size];
+        double[] card = new double[size];
+        int[] last = new int[size];
+        Arrays.fill(cost, Double.MAX_VALUE);
+        cost[0] = 0;
+        card[0] = 1;
+        for (int mask = 0; mask < size; mask++) {
+            if (cost[mask] == Double.MAX_VALUE) {
+                continue;
+            }
+            List<Exp> done = subset(list, mask);
+            for (int i = 0; i < n; i++) {
+                if ((mask & (1 << i)) == 0) {
+                    double c = card[mask] * fanout(list.get(i), done, varList, lBind);
+                    int next = mask | (1 << i);
+                    if (cost[mask] + c < cost[next]) {
+                        cost[next] = cost[mask] + c;
+                        card[next] = c;
+                        last[next] = i;
+                    }
+                }
+            }
+        }
+        ArrayList<Exp> plan = new ArrayList<>();
+        for (int mask = size - 1; mask != 0; mask &= ~(1 << last[mask])) {
+            plan.add(list.get(last[mask]));
+        }
+        Collections.reverse(plan);
+        return plan;
+    }
+
+    List<Exp> subset(List<Exp> list, int mask) {
+        List<Exp> res = new ArrayList<>();
+        for (int i = 0; i < list.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                res.add(list.get(i));
+            }
+        }
+        return res;
+    }
+
+    /**
+     * Choose next edge that minimizes cardinality after this edge and after
+     * the best following edge
+     */
+    List<Exp> greedy(List<Exp> list, List<String> varList, List<Exp> lBind) {
+        List<Exp> todo = new ArrayList<>(list);
+        List<Exp> plan = new ArrayList<>();
+        double card = 1;
+        while (!todo.isEmpty()) {
+            Exp best = null;
+            double bestScore = Double.MAX_VALUE, bestCard = 0;
+            for (Exp exp : todo) {
+                double c = card * fanout(exp, plan, varList, lBind);
+                double look = 0;
+                if (todo.size() > 1) {
+                    plan.add(exp);
+                    look = Double.MAX_VALUE;
+                    for (Exp next : todo) {
+                        if (next != exp) {
+                            look = Math.min(look, c * fanout(next, plan, varList, lBind));
+                        }
+                    }
+                    plan.remove(plan.size() - 1);
+                }
+                if (c + look < bestScore) {
+                    bestScore = c + look;
+                    bestCard = c;
+                    best = exp;
+                }
+            }
+            plan.add(best);
+            todo.remove(best);
+            card = bestCard;
+        }
+        return plan;
+    }
+
+    /**
+     * Estimated number of solutions of edge for one solution of done edges
+     */
+    double fanout(Exp exp, List<Exp> done, List<String> varList, List<Exp> lBind) {
+        Edge edge = exp.getEdge();
+        Node subject = edge.getNode(0);
+        Node object = edge.getNode(1);
+        Node predicate = edge.getProperty();
+        double count, subjectCount, objectCount;
+
+        if (predicate.isVariable()) {
+            count = stat.size();
+            subjectCount = stat.subjectCount();
+            objectCount = stat.objectCount();
+            if (isBound(predicate, done, varList, lBind)) {
+                count = count / Math.max(1, stat.predicateCount());
+            }
+        } else {
+            count = stat.count(predicate);
+            subjectCount = stat.subjectCount(predicate);
+            objectCount = stat.objectCount(predicate);
+        }
+        if (count == 0) {
+            return 0;
+        }
+        double res = count;
+        if (isBound(subject, done, varList, lBind)) {
+            double star = star(exp, done);
+            res = (star >= 0) ? star : count / Math.max(1, subjectCount);
+        }
+        if (isBound(object, done, varList, lBind)) {
+            res = res / Math.max(1, objectCount);
+        }
+        return res;
+    }
+
+    /**
+     * Edge subject is a variable that is subject of done edges with constant
+     * predicate: estimate with characteristic sets
+     * star(p1 .. pn p) / star(p1 .. pn)
+     * return -1 when there is no estimation
+     */
+    double star(Exp exp, List<Exp> done) {
+        Node subject = exp.getEdge().getNode(0);
+        Node predicate = exp.getEdge().getProperty();
+        if (!subject.isVariable() || predicate.isVariable()) {
+            return -1;
+        }
+        List<Node> list = new ArrayList<>();
+        for (Exp ee : done) {
+            Edge edge = ee.getEdge();
+            if (edge.getNode(0).same(subject)) {
+                if (edge.getProperty().isVariable()) {
+                    return -1;
+                }
+                list.add(edge.getProperty());
+            }
+        }
+        if (list.isEmpty()) {
+            return -1;
+        }
+        double before = star(list);
+        list.add(predicate);
+        double after = star(list);
+        if (before <= 0 || after < 0) {
+            return -1;
+        }
+        return after / before;
+    }
+
+    double star(List<Node> list) {
+        List<String> key = new ArrayList<>();
+        for (Node node : list) {
+            key.add(node.getLabel());
+        }
+        Collections.sort(key);
+        Double res = starCache.get(key);
+        if (res == null) {
+            res = stat.star(list);
+            starCache.put(key, res);
+        }
+        return res;
+    }
+
+    boolean isBound(Node node, List<Exp> done, List<String> varList, List<Exp> lBind) {
+        if (node.isConstant() || varList.contains(node.getLabel())) {
+            return true;
+        }
+        for (Exp exp : lBind) {
+            if (node.same(exp.first().getNode())) {
+                return true;
+            }
+        }
+        for (Exp exp : done) {
+            if (exp.contains(node)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add variables bound by exp
+     */
+    void bind(Exp exp, List<String> varList) {
+        switch (exp.type()) {
+            case Exp.EDGE:
+            case Exp.PATH:
+                for (int i = 0; i < exp.nbNode(); i++) {
+                    add(exp.getNode(i), varList);
+                }
+                break;
+            case Exp.BIND:
+                add(exp.getNode(), varList);
+                break;
+            case Exp.VALUES:
+                for (Node node : exp.getNodeList()) {
+                    add(node, varList);
+                }
+                break;
+            case Exp.FILTER:
+                break;
+            default:
+                for (Node node : exp.getInScopeNodes()) {
+                    add(node, varList);
+                }
+        }
+    }
+
+    void add(Node node, List<String> varList) {
+        if (node != null && node.isVariable() && !varList.contains(node.getLabel())) {
+            varList.add(node.getLabel());
+        }
+    }
+
+}
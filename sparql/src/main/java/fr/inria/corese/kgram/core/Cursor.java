@@ -0,0 +1,326 @@
+package fr.inria.corese.kgram.core;
+
+import java.io.Closeable;
+import java.lang.ref.Cleaner;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pull based iterator of query solutions
+ * for (Mapping m : exec.queryCursor(q)) {}
+ *
+ * Eval runs in a producer task and puts the solutions in a bounded buffer
+ * instead of storing them in Mappings: Eval waits when the buffer is full,
+ * hence evaluation is driven by the consumer and memory remains flat.
+ * Limit and offset are processed by the buffer, Eval stops when limit is
+ * reached.
+ * Producer tasks run on a shared executor, the number of running producers
+ * is bounded by getThreads(): when there is no thread available, submit()
+ * returns null and the caller evaluates the query before iteration.
+ *
+ * Graph: the producer reads a version of the graph pinned for its lifetime
+ * (cf QueryProcess queryCursor), hence the solutions are those of the graph
+ * when the cursor is created and a writer (possibly the consumer itself) is
+ * not blocked by an idle cursor.
+ *
+ * close() stops evaluation with Eval setStop(true). A cursor that is not
+ * closed is closed when it is garbage collected or when the consumer does
+ * not pull solutions during TIMEOUT.
+ *
+ * Use case: select query without order by, group by, aggregate, distinct
+ * Other queries are evaluated before iteration and the cursor iterates
+ * their Mappings.
+ *
+ */
+public class Cursor implements Iterator<Mapping>, Iterable<Mapping>, Closeable {
+
+    // number of solutions in the buffer
+    public static int CAPACITY = 1000;
+    // producer stops when consumer does not pull solutions during TIMEOUT ms
+    public static long TIMEOUT = 600_000;
+    static final long WAIT = 100;
+    static final Object END = new Object();
+    static final Cleaner CLEANER = Cleaner.create();
+    // max number of running producers
+    private static int threads = Runtime.getRuntime().availableProcessors();
+    private static volatile Semaphore permit = new Semaphore(threads);
+    private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "corese-cursor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private Buffer buffer;
+    private Cleaner.Cleanable cleanable;
+    private Iterator<Mapping> iterator;
+    private Mapping next;
+    private boolean end = false;
+
+    /**
+     * Evaluation of the query, run by the producer task
+     */
+    public interface Producer {
+
+        void produce() throws Exception;
+    }
+
+    /**
+     * State shared by the cursor and the producer task
+     * The producer does not reference the cursor: an abandoned cursor can be
+     * garbage collected and the cleaner closes its buffer
+     */
+    static class Buffer {
+
+        private BlockingQueue<Object> queue;
+        private volatile Eval eval;
+        private volatile boolean closed = false;
+        private volatile Exception exception;
+        // limit + offset
+        private int max = Integer.MAX_VALUE;
+        private int offset = 0;
+        // number of solutions found by eval
+        private volatile int count = 0;
+
+        Buffer() {
+            queue = new ArrayBlockingQueue<>(CAPACITY);
+        }
+
+        /**
+         * Eval starts with this buffer
+         */
+        void start(Eval eval) {
+            this.eval = eval;
+            if (closed || max <= offset) {
+                eval.setStop(true);
+            }
+        }
+
+        /**
+         * New solution found by Eval
+         * Wait while buffer is full
+         */
+        void add(Mapping m) {
+            if (count++ < offset) {
+                return;
+            }
+            put(m);
+            if (count >= max) {
+                eval.setStop(true);
+            }
+        }
+
+        void put(Object obj) {
+            if (closed || queue.offer(obj)) {
+                return;
+            }
+            waitOffer(obj);
+        }
+
+        void waitOffer(Object obj) {
+            long time = 0;
+            try {
+                while (!closed && !queue.offer(obj, WAIT, TimeUnit.MILLISECONDS)) {
+                    // consumer is not ready
+                    time += WAIT;
+                    if (time >= TIMEOUT) {
+                        // abandoned cursor
+                        close();
+                    }
+                }
+            } catch (InterruptedException ex) {
+                close();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * End of evaluation, ex is an exception or null
+         */
+        void complete(Exception ex) {
+            exception = ex;
+            put(END);
+        }
+
+        Object take() throws InterruptedException {
+            return queue.take();
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                if (eval != null) {
+                    eval.setStop(true);
+                }
+                queue.clear();
+            }
+        }
+    }
+
+    private Cursor() {
+        buffer = new Buffer();
+        cleanable = CLEANER.register(this, buffer::close);
+    }
+
+    /**
+     * Cursor on query evaluated by producer (cf submit)
+     */
+    private Cursor(Query q) {
+        this();
+        buffer.max = q.getLimitOffset();
+        buffer.offset = q.getOffset();
+        q.setCursor(buffer);
+    }
+
+    /**
+     * Cursor on evaluated Mappings
+     * External sort: iterate the merge of runs, close() deletes run files
+     */
+    public Cursor(Mappings map) {
+        iterator = map.iterator();
+        if (map.isStream()) {
+            cleanable = CLEANER.register(this, map.getExternalSort()::close);
+        }
+    }
+
+    /**
+     * Solutions can be streamed
+     */
+    public static boolean accept(Query q) {
+        return q.isSelect() && !(q.isOrderBy() || q.hasGroupBy() || q.isAggregate()
+                || q.isDistinct() || q.isTemplate() || q.getGlobalQuery().isAlgebra()
+                || q.getQueryProfile() == Query.COUNT_PROFILE);
+    }
+
+    public static int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Max number of running producers
+     */
+    public static synchronized void setThreads(int n) {
+        threads = n;
+        permit = new Semaphore(n);
+    }
+
+    /**
+     * Number of running producers
+     */
+    public static int getRunning() {
+        Semaphore sem = permit;
+        return Math.max(0, threads - sem.availablePermits());
+    }
+
+    /**
+     * Submit the producer that evaluates the query to the shared executor
+     * Return null when there is no thread available: caller evaluates query
+     * pragma: producer must not reference the cursor
+     */
+    public static Cursor submit(Query q, Producer producer) {
+        Semaphore sem = permit;
+        if (!sem.tryAcquire()) {
+            return null;
+        }
+        Cursor cursor = new Cursor(q);
+        Buffer buf = cursor.buffer;
+        try {
+            executor.execute(() -> {
+                Exception error = null;
+                try {
+                    producer.produce();
+                } catch (Exception ex) {
+                    error = ex;
+                }
+                try {
+                    buf.complete(error);
+                } finally {
+                    sem.release();
+                }
+            });
+        } catch (RuntimeException ex) {
+            sem.release();
+            q.setCursor(null);
+            throw ex;
+        }
+        return cursor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (iterator != null) {
+            return iterator.hasNext();
+        }
+        if (next != null) {
+            return true;
+        }
+        if (end || buffer.closed) {
+            return false;
+        }
+        Object obj;
+        try {
+            obj = buffer.take();
+        } catch (InterruptedException ex) {
+            close();
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        if (obj == END) {
+            end = true;
+            Exception ex = buffer.exception;
+            if (ex instanceof RuntimeException) {
+                throw (RuntimeException) ex;
+            } else if (ex != null) {
+                throw new IllegalStateException(ex);
+            }
+            return false;
+        }
+        next = (Mapping) obj;
+        return true;
+    }
+
+    @Override
+    public Mapping next() {
+        if (iterator != null) {
+            return iterator.next();
+        }
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Mapping m = next;
+        next = null;
+        return m;
+    }
+
+    @Override
+    public Iterator<Mapping> iterator() {
+        return this;
+    }
+
+    /**
+     * Stop evaluation
+     */
+    @Override
+    public void close() {
+        if (cleanable != null) {
+            cleanable.clean();
+        }
+    }
+
+    public boolean isClosed() {
+        return buffer != null && buffer.closed;
+    }
+
+    /**
+     * Number of solutions found by eval
+     */
+    public int getCount() {
+        return (buffer == null) ? 0 : buffer.count;
+    }
+
+}
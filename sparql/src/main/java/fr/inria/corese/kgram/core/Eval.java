@@ -27,6 +27,7 @@ import fr.inria.corese.kgram.event.EventImpl;
 import fr.inria.corese.kgram.event.EventListener;
 import fr.inria.corese.kgram.event.EventManager;
 import fr.inria.corese.kgram.event.ResultListener;
+import fr.inria.corese.kgram.path.MultiSourceSearch;
 import fr.inria.corese.kgram.path.PathFinder;
 import fr.inria.corese.kgram.tool.Message;
 import fr.inria.corese.kgram.tool.ResultsImpl;
@@ -131,7 +132,17 @@ public class Eval implements ExpType, Plugin {
     private boolean hasCandidate = false,
             hasStatement = false,
             hasProduce = false;
-    private boolean stop = false;
+    private volatile boolean stop = false;
+    // order by limit with bounded heap
+    private TopK topK;
+    // order by distinct with spill to disk
+    private ExternalSort externalSort;
+    // number of stored solutions that starts external sort, 0 when not concerned
+    private int sortBudget = 0;
+    // pull based evaluation: solutions are consumed by cursor
+    private Cursor.Buffer cursor;
+    // edges of first triple pattern evaluated by a parallel worker
+    private Iterable<Edge> morsel;
     private boolean joinMappings = JOIN_MAPPINGS;
     
     public Eval() {
@@ -272,11 +283,52 @@ public class Eval implements ExpType, Plugin {
             check.check(q);
         }
        
-        if (!q.isFail()) {           
-            queryWE(gNode, q, m, map);
+        if (!q.isFail()) {
+            if (!isSubEval && q.getCursor() != null) {
+                // solutions are not stored in results
+                cursor = q.getCursor();
+                cursor.start(this);
+            } else if (!isSubEval && HashAggregate.accept(this, q)) {
+                // group by and aggregate when solutions are stored
+                getResults().setHashAggregate(HashAggregate.create(this, q));
+            } else if (!isSubEval && TopK.accept(this, q)) {
+                // order by limit with bounded heap
+                topK = TopK.create(this, q);
+            } else if (!isSubEval && ExternalSort.accept(this, q)) {
+                // order by distinct with spill to disk beyond memory budget
+                // external sort starts when results reach the budget
+                sortBudget = ExternalSort.budget(q);
+            }
+            try {
+                queryWE(gNode, q, m, map);
+            } catch (Throwable ex) {
+                if (externalSort != null) {
+                    // delete run files
+                    externalSort.close();
+                    externalSort = null;
+                }
+                throw ex;
+            } finally {
+                sortBudget = 0;
+            }
+            if (topK != null) {
+                topK.finish();
+                getTrace().append(String.format("Top-K order by limit: %s solutions among %s",
+                        topK.size(), topK.getCount())).append(Message.NL);
+                topK = null;
+            } else if (externalSort != null) {
+                externalSort.finish();
+                if (externalSort.getRunCount() > 0) {
+                    getTrace().append(externalSort).append(Message.NL);
+                }
+                getResults().setExternalSort(externalSort);
+                externalSort = null;
+            }
 
             if (q.getQueryProfile() == Query.COUNT_PROFILE) {
                 countProfile();
+            } else if (getResults().isStream()) {
+                // sorted solutions are read from external sort runs
             } else {
                 if (q.isAlgebra()) {
                     getMemory().setResults(getResults());
@@ -563,8 +615,15 @@ public class Eval implements ExpType, Plugin {
             graphNode = null;
         }
         bind(mem, exp, main, map, m, bind);
-        Mappings lMap = eval.subEval(getQuery(), graphNode, Stack.create(exp), map, 0);
-        return lMap;
+        // stop eval when parallel task is stopped
+        Parallel.Task task = Parallel.register(eval);
+        try {
+            return eval.subEval(getQuery(), graphNode, Stack.create(exp), map, 0);
+        } finally {
+            if (task != null) {
+                task.remove(eval);
+            }
+        }
     }  
     
     
@@ -753,6 +812,39 @@ public class Eval implements ExpType, Plugin {
         return mem;
     }
 
+    /**
+     * Worker of morsel driven parallel evaluation
+     * Eval copy with its own Memory and results that evaluates the stack
+     * with the edges of the morsel for the first triple pattern
+     */
+    Eval morsel(Producer p, Exp exp, Iterable<Edge> list) {
+        Memory mem = copyMemory(getMemory(), getQuery(), null, exp);
+        mem.setAppxSearchEnv(getMemory().getAppxSearchEnv());
+        Eval eval = copy(mem, p);
+        eval.morsel = list;
+        eval.start(getQuery());
+        eval.profile(getQuery());
+        if (getResults().getHashAggregate() != null) {
+            eval.getResults().setHashAggregate(HashAggregate.create(eval, getQuery()));
+        }
+        return eval;
+    }
+
+    /**
+     * Merge results of morsel worker
+     */
+    void merge(Eval eval) throws SparqlException {
+        nbResult += eval.nbResult;
+        nbEdge += eval.nbEdge;
+        if (getResults().getHashAggregate() != null) {
+            getResults().getHashAggregate().merge(eval.getResults().getHashAggregate());
+        } else {
+            for (Mapping m : eval.getResults()) {
+                store(m);
+            }
+        }
+    }
+
     void setLevel(int n) {
         level = n;
     }
@@ -1316,11 +1408,20 @@ public class Eval implements ExpType, Plugin {
         int backtrack = n - 1;
         // join(A, union(B, C)) ; map = eval(A).distinct(inscopenodes())
 
+        // parallel mode: rest is evaluated by another thread
+        Parallel.Task task = Parallel.accept(this)
+                ? Parallel.submit(() -> unionBranch(p, graphNode, exp.rest(), exp, data)) : null;
         Mappings map1 = unionBranch(p, graphNode, exp.first(), exp, data);
         if (stop) {
+            if (task != null) {
+                task.stop();
+            }
+            return STOP;
+        }
+        Mappings map2 = (task == null) ? unionBranch(p, graphNode, exp.rest(), exp, data) : task.get(this);
+        if (map2 == null) {
             return STOP;
         }
-        Mappings map2 = unionBranch(p, graphNode, exp.rest(), exp, data);
 
         getVisitor().union(this, getGraphNode(graphNode), exp, map1, map2);
              
@@ -1399,7 +1500,7 @@ public class Eval implements ExpType, Plugin {
     private int and(Producer p, Node graphNode, Exp exp, Stack stack, Mappings data, int n) throws SparqlException {
         getVisitor().bgp(this, getGraphNode(graphNode), exp, null);
 
-        if (data != null && exp.size() > 0 && exp.get(0).isEdgePath()) {
+        if (data != null && exp.size() > 0 && exp.get(0).isEdge()) {
             // pass Mappings data as values clause
             exp = exp.complete(data);
             //System.out.println(exp);
@@ -1410,6 +1511,7 @@ public class Eval implements ExpType, Plugin {
         else {
             stack = stack.and(exp, n);
             // pass Mappings data as parameter
+            // path: multi source search or values clause (see path())
             return eval(p, graphNode, stack, data, n);
         }
     }
@@ -1417,7 +1519,18 @@ public class Eval implements ExpType, Plugin {
     private int bgp(Producer p, Node graphNode, Exp exp, Stack stack, int n) throws SparqlException {
         int backtrack = n - 1;
         List<Node> from = getQuery().getFrom(graphNode);
-        Mappings map = p.getMappings(graphNode, from, exp, getMemory());
+        Iterable<Mapping> map;
+        if (exp.isTrieJoin()) {
+            Iterator<Mapping> it = p.getTrieJoin(graphNode, from, exp, getMemory());
+            if (it == null) {
+                // Producer cannot evaluate this BGP with a worst case optimal join
+                return and(p, graphNode, exp, stack, null, n);
+            }
+            // solutions are computed on demand: join stops when eval stops
+            map = () -> it;
+        } else {
+            map = p.getMappings(graphNode, from, exp, getMemory());
+        }
 
         for (Mapping m : map) {
             if (stop) {
@@ -1723,12 +1836,21 @@ public class Eval implements ExpType, Plugin {
         Memory env = getMemory();
         Query qq = getQuery();
         boolean isEvent = hasEvent;
-        
-        if (data!=null && data.getNodeList()!=null && isPushEdgeMappings()) {   
-            // push values(data) before edge in stack
-            logger.info(String.format("Push path mappings:\nvalue %s\n%s", 
-                 data.getNodeList(), data.toString(false, false, DISPLAY_RESULT_MAX)));
-            return eval(p, graphNode, stack.addCopy(n, exp.getValues(data)), n);
+        Iterable<Mapping> candidates = null;
+
+        if (data!=null && data.getNodeList()!=null && isPushEdgeMappings()) {
+            MultiSourceSearch search = (p.getMode() == Producer.EXTENSION) ? null
+                    : path.start(exp.getEdge(), qq.getPathNode(), env, graphNode, qq.getFrom(graphNode), data);
+            if (search == null) {
+                // push values(data) before edge in stack
+                if (isDebug()) {
+                    logger.warn(String.format("Push path mappings:\nvalues %s\n%s",
+                            data.getNodeList(), data.toString(false, false, DISPLAY_RESULT_MAX)));
+                }
+                return eval(p, graphNode, stack.addCopy(n, exp.getValues(data)), n);
+            }
+            // paths from all values of start variable in data
+            candidates = multiSource(search);
         }
 
         if (stack.size() > n + 1) {
@@ -1737,7 +1859,9 @@ public class Eval implements ExpType, Plugin {
             }
         }
 
-        path.start(exp.getEdge(), qq.getPathNode(), env, f);
+        if (candidates == null) {
+            path.start(exp.getEdge(), qq.getPathNode(), env, f);
+        }
         boolean isSuccess = false;
 
         List<Node> list = qq.getFrom(graphNode);
@@ -1752,7 +1876,11 @@ public class Eval implements ExpType, Plugin {
             }
         }
 
-        for (Mapping map : path.candidate(graphNode, list, env)) {
+        if (candidates == null) {
+            candidates = path.candidate(graphNode, list, env);
+        }
+
+        for (Mapping map : candidates) {
             if (stop) {
                 path.stop();
                 return STOP;
@@ -1787,6 +1915,49 @@ public class Eval implements ExpType, Plugin {
         return backtrack;
     }
 
+    /**
+     * Paths of multi source search by groups of sources
+     * Parallel mode: groups are evaluated by Parallel tasks, when there is no
+     * thread available the group is evaluated by current thread. Solutions
+     * are in group order as in sequential mode.
+     */
+    Mappings multiSource(MultiSourceSearch search) throws SparqlException {
+        int size = search.size(), chunk = MultiSourceSearch.CHUNK;
+        Mappings res = new Mappings();
+        if (size <= chunk || !Parallel.accept(this)) {
+            for (int i = 0; i < size && !isStop(); i += chunk) {
+                res.add(search.process(i, Math.min(size, i + chunk)));
+            }
+            return res;
+        }
+        List<Parallel.Task> taskList = new ArrayList<>();
+        List<Mappings> resList = new ArrayList<>();
+        try {
+            for (int i = 0; i < size && !isStop(); i += chunk) {
+                int begin = i, end = Math.min(size, i + chunk);
+                Parallel.Task task = Parallel.submit(() -> search.process(begin, end));
+                taskList.add(task);
+                resList.add(task == null ? search.process(begin, end) : null);
+            }
+            for (int i = 0; i < taskList.size(); i++) {
+                Mappings map = (taskList.get(i) == null) ? resList.get(i) : taskList.get(i).get(this);
+                if (map == null) {
+                    // eval is stopped
+                    break;
+                }
+                res.add(map);
+                taskList.set(i, null);
+            }
+        } finally {
+            for (Parallel.Task task : taskList) {
+                if (task != null) {
+                    task.stop();
+                }
+            }
+        }
+        return res;
+    }
+
     private int values(Producer p, Node graphNode, Exp exp, Stack stack, int n) throws SparqlException {
         int backtrack = n - 1;
         getVisitor().values(this, getGraphNode(graphNode), exp, exp.getMappings());
@@ -1911,8 +2082,19 @@ public class Eval implements ExpType, Plugin {
             }
         }
 
+        if (n == 0 && morsel == null && !hasProduce && !isSubEval && Morsel.accept(this, stack)) {
+            // split edges into morsels evaluated by parallel workers
+            List<Iterable<Edge>> ranges = p.getEdgeRanges(graphNode, graphNodeList, qEdge, env, Morsel.SIZE);
+            if (ranges != null) {
+                return new Morsel(this, p, graphNode, stack).eval(ranges);
+            }
+        }
+
         Iterable<Edge> entities;
-        if (hasProduce) {
+        if (n == 0 && morsel != null) {
+            // worker of morsel driven parallel evaluation
+            entities = morsel;
+        } else if (hasProduce) {
             // draft not used
             entities = produce(p, graphNode, graphNodeList, qEdge);
             if (entities == null) {
@@ -2143,7 +2325,7 @@ public class Eval implements ExpType, Plugin {
         return -1;
     }
     
-    void store(Mapping ans) {
+    void store(Mapping ans) throws SparqlException {
         if (ans != null && acceptable(ans)) {
             //submit(ans);
             if (hasEvent) {
@@ -2157,13 +2339,30 @@ public class Eval implements ExpType, Plugin {
                 }
             }
             if (b) {
-                getResults().add(ans);
+                if (getResults().getHashAggregate() != null) {
+                    getResults().getHashAggregate().add(ans);
+                } else if (topK != null) {
+                    topK.add(ans);
+                } else if (externalSort != null) {
+                    externalSort.add(ans);
+                } else if (cursor != null) {
+                    cursor.add(ans);
+                } else {
+                    getResults().add(ans);
+                    if (sortBudget > 0 && getResults().size() >= sortBudget) {
+                        externalSort = ExternalSort.create(this, getQuery());
+                        sortBudget = 0;
+                    }
+                }
             }
         }
     }
 
     boolean acceptable(Mapping m) {
-        return getQuery().getGlobalQuery().isAlgebra() || getResults().acceptable(m);
+        return getQuery().getGlobalQuery().isAlgebra()
+                // distinct computed by external sort merge
+                || (externalSort != null && externalSort.isDistinct())
+                || getResults().acceptable(m);
     }
 
     void submit(Mapping map) {
@@ -42,8 +42,15 @@ public class EvalJoin {
         }
         int backtrack = n - 1;
         Memory env = eval.getMemory();
+        // parallel mode: rest is evaluated by another thread without the
+        // solutions of first, except with service that may need them
+        Parallel.Task task = (Parallel.accept(eval) && !eval.isFederate(exp))
+                ? Parallel.submit(() -> eval.subEval(p, graphNode, graphNode, exp.rest(), exp, null)) : null;
         Mappings map1 = eval.subEval(p, graphNode, graphNode, exp.first(), exp, data);
         if (map1.size() == 0) {
+            if (task != null) {
+                task.stop();
+            }
             eval.getVisitor().join(eval, eval.getGraphNode(graphNode), exp, map1, map1);
             return backtrack;
         }
@@ -60,18 +67,29 @@ public class EvalJoin {
 
         Date d2 = new Date();
         if (stop) {
+            if (task != null) {
+                task.stop();
+            }
             return STOP;
         }
         
-        MappingSet set1 = new MappingSet(getQuery(), map1Extended);
-        Mappings joinMappings = null;
-        if (eval.isJoinMappings()) {
-            joinMappings = set1.prepareMappingsRest(exp.rest());
-            if (debug) {
-                System.out.println("join 2nd with data:\n" + joinMappings);
+        Mappings map2;
+        if (task == null) {
+            MappingSet set1 = new MappingSet(getQuery(), map1Extended);
+            Mappings joinMappings = null;
+            if (eval.isJoinMappings()) {
+                joinMappings = set1.prepareMappingsRest(exp.rest());
+                if (debug) {
+                    System.out.println("join 2nd with data:\n" + joinMappings);
+                }
+            }
+            map2 = eval.subEval(p, graphNode, graphNode, exp.rest(), exp, joinMappings);
+        } else {
+            map2 = task.get(eval);
+            if (map2 == null) {
+                return STOP;
             }
         }
-        Mappings map2 = eval.subEval(p, graphNode, graphNode, exp.rest(), exp, joinMappings);
 
         eval.getVisitor().join(eval, eval.getGraphNode(graphNode), exp, map1, map2);
 
@@ -120,7 +138,10 @@ public class EvalJoin {
             System.out.println("join:");
             System.out.println(map1);
             System.out.println(map2);
-        }        
+        }
+        if (HashJoin.accept(map1, map2) && !(SORT_OVERLOAD && HashJoin.isOverload(eval))) {
+            return hashJoin(p, graphNode, stack, env, map1, map2, n);
+        }
         if (SORT_OVERLOAD) {
             // setEval enable node comparison overload by Visitor compare() for extended datatypes
             map2.setEval(eval);
@@ -202,6 +223,57 @@ public class EvalJoin {
         return backtrack;
     }
 
+    /**
+     * map1 is the smallest, map1 and map2 share common variables
+     * hash map1 on all common variables
+     * enumerate map2, retrieve candidate Mapping of map1 in hash table
+     * Mapping with unbound common variable are candidate for all Mapping
+     * Beyond memory budget, join is partitioned in run files
+     */
+    int hashJoin(Producer p, Node graphNode, Stack stack, Memory env, Mappings map1, Mappings map2, int n) throws SparqlException {
+        try (HashJoin.Partition part = HashJoin.partition(map1, map2, map1.getCommonVariables(map2))) {
+            int backtrack = n - 1;
+            for (HashJoin table : part) {
+                backtrack = hashJoin(p, graphNode, stack, env, table, n);
+                if (backtrack < n) {
+                    return backtrack;
+                }
+            }
+            return backtrack;
+        }
+    }
+
+    int hashJoin(Producer p, Node graphNode, Stack stack, Memory env, HashJoin table, int n) throws SparqlException {
+        int backtrack = n - 1;
+
+        for (Mapping m2 : table.getProbe()) {
+            if (stop) {
+                return STOP;
+            }
+            if (env.push(m2, n)) {
+
+                for (Mapping m1 : table.candidate(m2)) {
+                    if (stop) {
+                        return STOP;
+                    }
+                    if (env.push(m1, n)) {
+                        if (debug) {
+                            System.out.println("hash join:\n" + m1 + "\n" + m2);
+                        }
+                        backtrack = eval.eval(p, graphNode, stack, n + 1);
+                        env.pop(m1);
+                        if (backtrack < n) {
+                            return backtrack;
+                        }
+                    }
+                }
+
+                env.pop(m2);
+            }
+        }
+        return backtrack;
+    }
+
     /**
      * No variable in common: cartesian product of mappings
      */
@@ -91,6 +91,10 @@ public class EvalSPARQL {
             return map1.joiner(map2);
         }
         
+        if (HashJoin.accept(map1, map2) && !HashJoin.isOverload(eval)) {
+            return map1.hashJoin(map2);
+        }
+        
         // sort map2 according to common variable, null value first
         map2.sort(eval, cmn);
         return map1.joiner(map2, cmn); 
@@ -14,6 +14,7 @@ import fr.inria.corese.kgram.api.core.Node;
 import fr.inria.corese.kgram.api.core.PointerType;
 import static fr.inria.corese.kgram.api.core.PointerType.STATEMENT;
 import fr.inria.corese.kgram.api.core.Regex;
+import fr.inria.corese.kgram.api.query.EdgeFilter;
 import fr.inria.corese.kgram.api.query.Producer;
 import fr.inria.corese.sparql.triple.parser.Expression;
 import java.util.HashMap;
@@ -93,6 +94,13 @@ public class Exp extends PointerObject
     private int num = -1;
     private boolean isSystem = false;
     private boolean mappings = false;
+    // estimated cardinality of intermediate result (see CostSorter)
+    private double cardinality = -1;
+    // BGP of cyclic triple patterns evaluated by a worst case optimal join
+    private boolean trieJoin = false;
+    // filters of triple pattern compiled by the Producer
+    // volatile: parallel workers may compile them concurrently
+    private volatile EdgeFilter pushdown;
 
     
     public Exp getBind() {
@@ -354,6 +362,9 @@ public class Exp extends PointerObject
        
     StringBuilder toString(StringBuilder sb, int n) {
         sb.append(title()).append(SP);
+        if (isTrieJoin()) {
+            sb.append("TRIEJOIN").append(SP);
+        }
 
         if (type() == VALUES) {
             sb.append(getNodeList());
@@ -370,6 +381,9 @@ public class Exp extends PointerObject
             if (getBind() != null) {
                 sb.append(SP).append(getBind()).append(SP);
             }
+            if (getCardinality() >= 0) {
+                sb.append(String.format(getCardinality() < 10 ? " [card: %.2f] " : " [card: %.0f] ", getCardinality()));
+            }
         }
         if (node != null) {
             sb.append(node).append(SP);
@@ -986,6 +1000,11 @@ public class Exp extends PointerObject
                     Node node = getNode(i);
                     addBind(node, lVar);
                 }
+                break;
+            case BGP:
+                for (Exp exp : this) {
+                    exp.addBind(lVar);
+                }
         }
     }
 
@@ -2186,4 +2205,41 @@ public class Exp extends PointerObject
     }
 
     
+
+    /**
+     * Estimated cardinality of intermediate result after this statement
+     * -1 when there is no estimation
+     */
+    public double getCardinality() {
+        return cardinality;
+    }
+
+    public void setCardinality(double cardinality) {
+        this.cardinality = cardinality;
+    }
+
+    /**
+     * BGP of cyclic triple patterns evaluated by a worst case optimal join
+     * (see QuerySorter trieJoin())
+     */
+    public boolean isTrieJoin() {
+        return trieJoin;
+    }
+
+    public void setTrieJoin(boolean trieJoin) {
+        this.trieJoin = trieJoin;
+    }
+
+    /**
+     * Filters of triple pattern compiled by the Producer and evaluated
+     * during edge iteration (see corese DataFilterCompiler)
+     */
+    public EdgeFilter getPushdown() {
+        return pushdown;
+    }
+
+    public void setPushdown(EdgeFilter pushdown) {
+        this.pushdown = pushdown;
+    }
+
 }
@@ -0,0 +1,595 @@
+package fr.inria.corese.kgram.core;
+
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.sparql.api.IDatatype;
+import fr.inria.corese.sparql.triple.parser.Metadata;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.Cleaner;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * External merge sort for order by and distinct
+ * select distinct * where {} order by ?x
+ *
+ * Solutions are stored by Eval in Mappings as usual. When Mappings reach the
+ * memory budget (number of solutions), Eval creates the external sort:
+ * solutions are moved into a buffer that is sorted and written in a
+ * temporary file (a run) of a private temporary directory, the buffer is
+ * then cleared each time it reaches the budget.
+ * At the end, runs and buffer are not merged into Mappings: Mappings
+ * iterator() is a k-way merge of runs and buffer that reads solutions on
+ * demand, hence result writers and Cursor read sorted solutions with
+ * bounded memory. The solutions are read once: run files are deleted when
+ * the merge is consumed. Mappings size() is known without merge, except
+ * for distinct where it is computed by a merge that counts solutions.
+ * Random access to solutions (e.g. Mappings get(i)) first stores the merge
+ * in Mappings.
+ *
+ * Order: order by values (Mappings comparator) then arrival number, hence
+ * the result is the same as with the standard (stable) sort.
+ * Distinct is computed during the merge (once spill has occurred) when
+ * duplicate solutions have same order by values, i.e. order by
+ * select variables. Without order by, distinct solutions are sorted
+ * on select values.
+ * A run stores the nodes of solutions as integers (see Runs), hence
+ * solutions read from a run have the same nodes (with their graph index) as
+ * the solutions of Eval and memory is the number of distinct nodes instead
+ * of the number of solutions.
+ * When a solution has nested Mappings, there is no more spill and solutions
+ * remain in memory.
+ * Run files are deleted when the merge is consumed, when a cursor is closed,
+ * when evaluation fails and when Mappings are garbage collected.
+ * When LDScript visitor overloads compare, solutions are merged into
+ * Mappings at the end of evaluation.
+ *
+ * Memory budget: ExternalSort.MEMORY_BUDGET or @budget 100000
+ *
+ */
+public class ExternalSort {
+
+    public static boolean EXTERNAL_SORT = true;
+    // default number of solutions sorted in memory
+    public static int MEMORY_BUDGET = 1_000_000;
+
+    static final String PREFIX = "corese-sort";
+    static final Cleaner CLEANER = Cleaner.create();
+    // sorted solutions after evaluation
+    static final int MEMORY = 0;
+    // merge not yet started
+    static final int STREAM = 1;
+    // merge started
+    static final int CONSUMED = 2;
+
+    private Mappings map;
+    private Eval eval;
+    private Query query;
+    private int budget;
+    // distinct computed by merge
+    private boolean distinct;
+    // false when a value cannot be written
+    private boolean spill = true;
+    private List<Record> buffer;
+    private Runs runs;
+    private List<Reader> readers;
+    private Cleaner.Cleanable cleanable;
+    private int state = MEMORY;
+    // number of sorted solutions, -1 when unknown
+    private int size = -1;
+    // metrics
+    private int count = 0;
+    private int spilled = 0;
+    private long bytes = 0;
+    private long time = 0;
+
+    ExternalSort(Mappings map, Eval eval, Query q, int budget) {
+        this.map = map;
+        this.eval = eval;
+        query = q;
+        this.budget = Math.max(budget, 1);
+        buffer = new ArrayList<>();
+        runs = new Runs(PREFIX);
+        distinct = map.isDistinct() && isDistinctMerge(q);
+    }
+
+    /**
+     * Solutions stored in Mappings have reached the budget: move them into
+     * the buffer and write the first run
+     */
+    static ExternalSort create(Eval eval, Query q) throws SparqlException {
+        Mappings map = eval.getResults();
+        // comparator may be overloaded by visitor
+        map.setEval(eval);
+        ExternalSort sort = new ExternalSort(map, eval, q, budget(q));
+        sort.start();
+        return sort;
+    }
+
+    void start() throws SparqlException {
+        for (Mapping m : map.getMappingList()) {
+            buffer.add(new Record(m, count++));
+        }
+        map.getMappingList().clear();
+        if (buffer.size() >= budget) {
+            write();
+        }
+    }
+
+    static int budget(Query q) {
+        IDatatype dt = q.getAST().getMetaValue(Metadata.BUDGET);
+        if (dt != null && dt.isNumber()) {
+            return dt.intValue();
+        }
+        return MEMORY_BUDGET;
+    }
+
+    /**
+     * Select query with order by or distinct without aggregate
+     * Distinct with limit without order by stops when limit is reached: not
+     * concerned
+     * Eval creates the sort when Mappings reach the budget
+     */
+    static boolean accept(Eval eval, Query q) {
+        return EXTERNAL_SORT && (q.isOrderBy() || q.isDistinct())
+                && !(q.isAggregate() || q.hasGroupBy())
+                && !q.isConstruct() && !q.isTemplate() && !q.getGlobalQuery().isAlgebra()
+                && !q.isListGroup() && !q.isDistribute() && !Group.isCompareIndex()
+                && q.getQueryProfile() != Query.COUNT_PROFILE
+                && q.getLimitOffset() == Integer.MAX_VALUE
+                && eval.getResults().getHashAggregate() == null;
+    }
+
+    /**
+     * Duplicate solutions have same order by values when order by
+     * select variables
+     */
+    static boolean isDistinctMerge(Query q) {
+        for (Exp exp : q.getOrderBy()) {
+            if (exp.getNode() == null || q.getSelectExp(exp.getNode().getLabel()) == null
+                    || (exp.getFilter() != null && !exp.getFilter().getExp().isVariable())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Distinct is computed by merge instead of Mappings distinct table
+     */
+    boolean isDistinct() {
+        return distinct && !runs.isEmpty();
+    }
+
+    void add(Mapping m) throws SparqlException {
+        buffer.add(new Record(m, count++));
+        if (spill && buffer.size() >= budget) {
+            write();
+        }
+    }
+
+    /**
+     * Sort buffer and write it in a new run
+     */
+    void write() throws SparqlException {
+        long start = System.currentTimeMillis();
+        for (Record rec : buffer) {
+            if (!Runs.accept(rec.map)) {
+                // remain in memory
+                spill = false;
+                return;
+            }
+        }
+        buffer.sort(Record::compareTo);
+        try {
+            File file = runs.create();
+            try (DataOutputStream out = runs.output(file)) {
+                for (Record rec : buffer) {
+                    write(out, rec);
+                }
+                bytes += out.size();
+            }
+        } catch (IOException ex) {
+            throw new SparqlException(ex, "External sort: " + ex.getMessage());
+        }
+        spilled += buffer.size();
+        buffer.clear();
+        time += System.currentTimeMillis() - start;
+    }
+
+    /**
+     * End of evaluation
+     * Without run, buffer is stored in Mappings
+     * With runs, Mappings iterate the merge of runs and buffer on demand,
+     * except when compare is overloaded by LDScript visitor: the merge is
+     * stored in Mappings now
+     */
+    void finish() throws SparqlException {
+        buffer.sort(Record::compareTo);
+        if (runs.isEmpty()) {
+            for (Record rec : buffer) {
+                map.add(rec.map);
+            }
+            buffer = null;
+        } else {
+            // delete run files if Mappings are not consumed
+            cleanable = CLEANER.register(map, runs);
+            state = STREAM;
+            if (HashJoin.isOverload(eval)) {
+                // store the merge in Mappings
+                map.getMappingList();
+            }
+        }
+        eval = null;
+        map.setEval(null);
+    }
+
+    /**
+     * Mappings iterate the merge
+     */
+    boolean isStream() {
+        return state != MEMORY;
+    }
+
+    boolean isConsumed() {
+        return state == CONSUMED;
+    }
+
+    /**
+     * Iterate sorted solutions once, run files are deleted at the end
+     */
+    Iterator<Mapping> stream() {
+        if (state != STREAM) {
+            throw new IllegalStateException("External sort: sorted solutions are read once");
+        }
+        state = CONSUMED;
+        Iterator<Mapping> it = iterator(true);
+        return new Iterator<Mapping>() {
+            int n = 0;
+
+            @Override
+            public boolean hasNext() {
+                if (it.hasNext()) {
+                    return true;
+                }
+                if (size < 0) {
+                    size = n;
+                }
+                close();
+                return false;
+            }
+
+            @Override
+            public Mapping next() {
+                n++;
+                return it.next();
+            }
+        };
+    }
+
+    /**
+     * Store sorted solutions in list
+     * use case: random access to Mappings
+     */
+    void materialize(List<Mapping> list) {
+        long start = System.currentTimeMillis();
+        try {
+            Iterator<Mapping> it = stream();
+            while (it.hasNext()) {
+                list.add(it.next());
+            }
+        } finally {
+            close();
+        }
+        state = MEMORY;
+        time += System.currentTimeMillis() - start;
+    }
+
+    /**
+     * Number of sorted solutions
+     * distinct: computed by a merge that does not delete run files
+     */
+    int size() {
+        if (size < 0) {
+            if (state == CONSUMED) {
+                throw new IllegalStateException("External sort: size of distinct solutions is unknown during merge");
+            } else if (distinct) {
+                int n = 0;
+                Iterator<Mapping> it = iterator(false);
+                try {
+                    while (it.hasNext()) {
+                        it.next();
+                        n++;
+                    }
+                } finally {
+                    closeReaders();
+                }
+                size = n;
+            } else {
+                size = Math.max(0, count - query.getOffset());
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Delete run files
+     * Called when the merge is consumed, when a cursor is closed and when
+     * evaluation fails
+     */
+    void close() {
+        closeReaders();
+        if (cleanable != null) {
+            cleanable.clean();
+        } else {
+            runs.run();
+        }
+        buffer = null;
+    }
+
+    void closeReaders() {
+        if (readers != null) {
+            for (Reader r : readers) {
+                r.close();
+            }
+            readers = null;
+        }
+    }
+
+    /**
+     * Iterate sorted solutions: merge runs and sorted buffer
+     * Skip duplicate solutions when distinct and solutions before offset
+     * delete: delete each run file when it has been read
+     */
+    Iterator<Mapping> iterator(boolean delete) {
+        readers = new ArrayList<>();
+        for (File file : runs.getFiles()) {
+            readers.add(new Reader(file, delete));
+        }
+        readers.add(new Reader(buffer.iterator()));
+        Merge merge = new Merge(readers);
+        for (int i = 0; i < query.getOffset() && merge.hasNext(); i++) {
+            merge.next();
+        }
+        return merge;
+    }
+
+    void write(DataOutputStream out, Record rec) throws IOException {
+        runs.write(out, rec.map);
+        out.writeInt(rec.rank);
+    }
+
+    Record read(DataInputStream in) throws IOException {
+        Mapping m = runs.read(in);
+        if (m == null) {
+            return null;
+        }
+        return new Record(m, in.readInt());
+    }
+
+    /**
+     * Compare solutions without arrival number
+     * order by values, or select values for distinct without order by
+     */
+    int compare(Mapping m1, Mapping m2) {
+        if (query.isOrderBy()) {
+            return map.compare(m1, m2);
+        }
+        if (distinct) {
+            return compareDistinct(m1, m2);
+        }
+        return 0;
+    }
+
+    int compareDistinct(Mapping m1, Mapping m2) {
+        for (Exp exp : query.getSelectFun()) {
+            int res = compare(m1.getNode(exp.getNode()), m2.getNode(exp.getNode()));
+            if (res != 0) {
+                return res;
+            }
+        }
+        return 0;
+    }
+
+    // same as Distinct
+    int compare(Node n1, Node n2) {
+        if (n1 == n2) {
+            return 0;
+        } else if (n1 == null) {
+            return -1;
+        } else if (n2 == null) {
+            return +1;
+        } else {
+            return n1.compare(n2);
+        }
+    }
+
+    /**
+     * Number of solutions
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Number of solutions written in runs
+     */
+    public int getSpillCount() {
+        return spilled;
+    }
+
+    public int getRunCount() {
+        return runs.size();
+    }
+
+    /**
+     * Private temporary directory of run files, null if there is no run
+     */
+    public File getDirectory() {
+        return runs.getDirectory();
+    }
+
+    public long getBytes() {
+        return bytes;
+    }
+
+    /**
+     * Time in ms spent in spill and merge
+     */
+    public long getTime() {
+        return time;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("External sort: budget %s solutions %s spilled %s runs %s bytes %s time %s ms",
+                budget, count, spilled, runs.size(), bytes, time);
+    }
+
+    class Record implements Comparable<Record> {
+
+        Mapping map;
+        int rank;
+
+        Record(Mapping m, int n) {
+            map = m;
+            rank = n;
+        }
+
+        @Override
+        public int compareTo(Record rec) {
+            int res = compare(map, rec.map);
+            if (res == 0) {
+                return Integer.compare(rank, rec.rank);
+            }
+            return res;
+        }
+    }
+
+    /**
+     * Read a run or the buffer
+     */
+    class Reader {
+
+        DataInputStream in;
+        File file;
+        boolean delete;
+        Iterator<Record> it;
+        Record current;
+
+        Reader(File file, boolean delete) {
+            this.file = file;
+            this.delete = delete;
+            try {
+                in = runs.input(file);
+            } catch (IOException ex) {
+                throw new IllegalStateException("External sort: " + ex.getMessage(), ex);
+            }
+        }
+
+        Reader(Iterator<Record> it) {
+            this.it = it;
+        }
+
+        // return false at the end of the run
+        boolean next() {
+            if (it != null) {
+                current = it.hasNext() ? it.next() : null;
+            } else {
+                try {
+                    current = read(in);
+                } catch (IOException ex) {
+                    throw new IllegalStateException(ex);
+                }
+                if (current == null) {
+                    close();
+                }
+            }
+            return current != null;
+        }
+
+        void close() {
+            if (in != null) {
+                try {
+                    in.close();
+                } catch (IOException ex) {
+                }
+                in = null;
+                if (delete) {
+                    file.delete();
+                }
+            }
+        }
+    }
+
+    /**
+     * k-way merge of sorted readers
+     * distinct: skip solutions already seen among solutions with same order
+     */
+    class Merge implements Iterator<Mapping> {
+
+        PriorityQueue<Reader> heap;
+        Mapping next;
+        // distinct solutions with same order as last solution
+        TreeSet<Mapping> seen;
+
+        Merge(List<Reader> list) {
+            heap = new PriorityQueue<>(list.size(), (r1, r2) -> r1.current.compareTo(r2.current));
+            for (Reader r : list) {
+                if (r.next()) {
+                    heap.add(r);
+                }
+            }
+            seen = new TreeSet<>(ExternalSort.this::compareDistinct);
+            advance();
+        }
+
+        void advance() {
+            next = null;
+            while (next == null && !heap.isEmpty()) {
+                Reader r = heap.poll();
+                Mapping m = r.current.map;
+                if (r.next()) {
+                    heap.add(r);
+                }
+                if (distinct) {
+                    if (!seen.isEmpty() && compare(seen.first(), m) != 0) {
+                        // new order
+                        seen.clear();
+                    }
+                    if (seen.add(m)) {
+                        next = m;
+                    }
+                } else {
+                    next = m;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Mapping next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Mapping m = next;
+            advance();
+            return m;
+        }
+    }
+
+}
@@ -0,0 +1,282 @@
+package fr.inria.corese.kgram.core;
+
+import fr.inria.corese.kgram.api.core.ExprType;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.sparql.api.IDatatype;
+import fr.inria.corese.sparql.triple.function.aggregate.Aggregate;
+import fr.inria.corese.sparql.triple.function.term.Binding;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming group by and aggregate
+ * select ?x (count(?y) as ?c) (sum(?z) as ?s) where {} group by ?x
+ *
+ * Solutions are aggregated on the fly when they are stored by Eval:
+ * a hash table group key -> group state where group state is the first
+ * solution of the group and one running aggregate per select aggregate
+ * (count, sum, avg, min, max, group_concat, sample)
+ * Solutions of a group are not stored, distinct values are stored only
+ * for aggregate distinct
+ * At the end, there is one Mapping per group, the first solution of the group
+ * with the value of the aggregates, as with Group and Mappings aggregate()
+ *
+ * Partial aggregates computed on subsets of the solutions can be merged
+ * with merge(), use case: parallel evaluation
+ *
+ */
+public class HashAggregate {
+
+    public static boolean HASH_AGGREGATE = true;
+
+    private Eval eval;
+    private Query query;
+    // group by nodes
+    private List<Node> nodes;
+    // select aggregate
+    private List<Exp> aggregateList;
+    private HashMap<Key, GroupState> table;
+    // number of solutions
+    private int count = 0;
+
+    HashAggregate(Eval eval, Query q) {
+        this.eval = eval;
+        query = q;
+        table = new HashMap<>();
+        nodes = new ArrayList<>();
+        for (Exp exp : q.getGroupBy()) {
+            nodes.add(exp.getNode());
+        }
+        aggregateList = new ArrayList<>();
+        for (Exp exp : q.getSelectFun()) {
+            if (exp.getFilter() != null && exp.isAggregate()) {
+                aggregateList.add(exp);
+            }
+        }
+    }
+
+    public static HashAggregate create(Eval eval, Query q) {
+        return new HashAggregate(eval, q);
+    }
+
+    /**
+     * Streaming is possible when select aggregates are count, sum, avg, min,
+     * max, group_concat or sample and their argument is not an aggregate
+     * and when there is no having and no order by aggregate function
+     * Otherwise aggregates are computed by Mappings aggregate()
+     */
+    static boolean accept(Eval eval, Query q) {
+        if (!HASH_AGGREGATE || !(q.isAggregate() || q.hasGroupBy())
+                || q.getHaving() != null || q.isConstruct() || q.isTemplate()
+                || q.isListGroup() || q.isConnect() || q.getGlobalQuery().isAlgebra()
+                || q.getQueryProfile() == Query.COUNT_PROFILE
+                || q.getAST().hasMetadata(Mappings.AGGREGATE_LOCAL)
+                || Group.isCompareIndex() || eval.hasEvent
+                || !(eval.getVisitor() instanceof ProcessVisitorDefault)) {
+            return false;
+        }
+        for (Exp exp : q.getSelectFun()) {
+            if (exp.getFilter() != null && exp.isAggregate() && !accept(exp)) {
+                return false;
+            }
+        }
+        for (Exp exp : q.getOrderBy()) {
+            if (exp.isAggregate() && exp.getFilter() != null) {
+                // order by count(?x)
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static boolean accept(Exp exp) {
+        if (exp.isExpGroupBy()
+                || !(exp.getFilter().getExp() instanceof Aggregate)) {
+            return false;
+        }
+        Aggregate agg = (Aggregate) exp.getFilter().getExp();
+        switch (agg.oper()) {
+            case ExprType.COUNT:
+            case ExprType.SUM:
+            case ExprType.AVG:
+            case ExprType.MIN:
+            case ExprType.MAX:
+            case ExprType.GROUPCONCAT:
+            case ExprType.SAMPLE:
+                return agg.arity() == 0 || !agg.getBasicArg(0).isRecAggregate();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Aggregate a new solution in its group
+     */
+    public void add(Mapping map) throws SparqlException {
+        count++;
+        Key key = new Key(map);
+        GroupState group = table.get(key);
+        if (group == null) {
+            group = new GroupState(map);
+            table.put(key, group);
+        }
+        group.aggregate(map);
+    }
+
+    /**
+     * Merge partial aggregates of another subset of the solutions
+     * pragma: same query
+     */
+    public void merge(HashAggregate agg) {
+        count += agg.count;
+        for (Map.Entry<Key, GroupState> entry : agg.table.entrySet()) {
+            GroupState group = table.get(entry.getKey());
+            if (group == null) {
+                table.put(entry.getKey(), entry.getValue());
+            } else {
+                group.merge(entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Generate one Mapping per group with the value of the aggregates
+     * Groups are sorted as with Group
+     */
+    void finish(Mappings res) {
+        List<Key> list = new ArrayList<>(table.keySet());
+        list.sort(Key::compareTo);
+        for (Key key : list) {
+            res.submit2(table.get(key).result());
+        }
+        res.setNbsolutions(count);
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Values of group by nodes in a solution
+     * Equal keys have same hash code, see HashJoin hash()
+     */
+    class Key implements Comparable<Key> {
+
+        Node[] values;
+        int hash = 1;
+
+        Key(Mapping map) {
+            values = new Node[nodes.size()];
+            for (int i = 0; i < values.length; i++) {
+                Node val = map.getGroupBy(nodes.get(i), i);
+                values[i] = val;
+                hash = 31 * hash + ((val == null) ? 0 : HashJoin.hash(val));
+            }
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && compareTo((Key) obj) == 0;
+        }
+
+        @Override
+        public int compareTo(Key key) {
+            for (int i = 0; i < values.length; i++) {
+                int res = compare(values[i], key.values[i]);
+                if (res != 0) {
+                    return res;
+                }
+            }
+            return 0;
+        }
+
+        // same as Group
+        int compare(Node n1, Node n2) {
+            if (n1 == n2) {
+                return 0;
+            } else if (n1 == null) {
+                return -1;
+            } else if (n2 == null) {
+                return +1;
+            } else {
+                return n1.compare(n2);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(values);
+        }
+    }
+
+    /**
+     * First solution of the group and running aggregates
+     */
+    class GroupState {
+
+        Mapping first;
+        List<Aggregate> list;
+        // bnode table shared by the solutions of the group
+        Map<String, IDatatype> bnode;
+
+        GroupState(Mapping map) throws SparqlException {
+            first = map;
+            bnode = new HashMap<>();
+            list = new ArrayList<>(aggregateList.size());
+            Memory mem = eval.getMemory();
+            for (Exp exp : aggregateList) {
+                Aggregate agg = ((Aggregate) exp.getFilter().getExp()).duplicate();
+                agg.startStream(eval.getEvaluator(), mem.getBind(), mem, eval.getProducer());
+                list.add(agg);
+            }
+        }
+
+        void aggregate(Mapping map) throws SparqlException {
+            if (list.isEmpty()) {
+                return;
+            }
+            map.setQuery(query);
+            map.setMap(bnode);
+            map.setEval(eval);
+            Binding b = eval.getMemory().getBind();
+            for (Aggregate agg : list) {
+                agg.stream(eval.getEvaluator(), b, map, eval.getProducer());
+            }
+        }
+
+        void merge(GroupState group) {
+            for (int i = 0; i < list.size(); i++) {
+                list.get(i).merge(group.list.get(i));
+            }
+        }
+
+        Mapping result() {
+            for (int i = 0; i < list.size(); i++) {
+                first.setNode(aggregateList.get(i).getNode(), list.get(i).resultStream());
+            }
+            int n = 0;
+            for (Exp exp : query.getOrderBy()) {
+                if (exp.isAggregate()) {
+                    // order by ?c where ?c is select aggregate
+                    first.setOrderBy(n, first.getNode(exp.getNode()));
+                }
+                n++;
+            }
+            first.setMappings(null);
+            return first;
+        }
+    }
+
+}
@@ -0,0 +1,492 @@
+package fr.inria.corese.kgram.core;
+
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.sparql.api.IDatatype;
+import fr.inria.corese.sparql.datatype.CoreseDate;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Hash table of Mappings on the values of common variables
+ * join: build on the smallest Mappings, probe with the Mapping of the other one
+ * minus, optional: build on the right Mappings, probe with the left ones
+ * Mapping with unbound common variable are kept apart:
+ * they are candidate for every probe Mapping
+ * A probe Mapping with unbound common variable is candidate with
+ * every Mapping of the table
+ * Candidate Mapping are not yet checked: the join check them with
+ * merge() or Memory push()
+ *
+ * The hash code of a value is consistent with Node match():
+ * same hash code for 1 and 01 and 1.0 (datatype entailment)
+ *
+ * Memory budget: estimated bytes of the table (see bytes()).
+ * Beyond, join partitions both Mappings on the hash code in run files
+ * (see Runs) and joins partition by partition: one table of a partition is
+ * in memory at a time. Mapping with unbound common variable remain in
+ * memory. Beyond, minus and optional do not use a table.
+ *
+ */
+public class HashJoin {
+
+    public static boolean HASH_JOIN = true;
+    // memory budget in bytes of the hash table
+    // default: ExternalSort budget with 256 bytes per solution
+    public static long MEMORY_BUDGET = 256L * ExternalSort.MEMORY_BUDGET;
+    // estimated bytes of a Mapping and its table entry, without nodes
+    static final int MAPPING_BYTES = 128;
+    // maximum number of partition files written at the same time
+    static final int MAX_PARTITION = 256;
+    static final String PREFIX = "corese-join";
+
+    private Mappings map;
+    private List<String> varList;
+    private HashMap<Integer, List<Mapping>> table;
+    // Mapping with unbound common variable
+    private List<Mapping> unbound;
+    // candidate of probe Mapping with unbound common variable
+    private List<Mapping> all;
+    // probe Mappings of a partition
+    private Iterable<Mapping> probe;
+    private Candidate candidate;
+
+    HashJoin(Mappings map, List<String> varList) {
+        this.map = map;
+        this.varList = varList;
+        table = new HashMap<>();
+        unbound = new ArrayList<>();
+        all = map.getMappingList();
+        candidate = new Candidate();
+    }
+
+    /**
+     * Both Mappings are materialized: join partitions Mappings beyond
+     * memory budget
+     */
+    static boolean accept(Mappings map1, Mappings map2) {
+        return HASH_JOIN;
+    }
+
+    /**
+     * map is the table of minus and optional (right argument)
+     */
+    static boolean accept(Mappings map) {
+        return HASH_JOIN && bytes(map) <= MEMORY_BUDGET;
+    }
+
+    /**
+     * Estimated bytes of the table of map: Mapping with node arrays and
+     * table entry, nodes are shared with the graph
+     */
+    static long bytes(Mappings map) {
+        long bytes = 0;
+        for (Mapping m : map) {
+            bytes += MAPPING_BYTES + 8L * m.getNodes().length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Sort join compares values with the Visitor compare() that may be
+     * overloaded for extended datatypes (see EvalJoin SORT_OVERLOAD),
+     * hash join does not: it is not relevant with such a Visitor
+     */
+    static boolean isOverload(Eval eval) {
+        return eval != null && !(eval.getVisitor() instanceof ProcessVisitorDefault);
+    }
+
+    static HashJoin create(Mappings map, List<String> varList) {
+        return new HashJoin(map, varList).index();
+    }
+
+    /**
+     * Tables of join of build with probe, each table with its probe Mappings
+     */
+    static Partition partition(Mappings build, Mappings probe, List<String> varList) {
+        return new Partition(build, probe, varList).create();
+    }
+
+    HashJoin index() {
+        for (Mapping m : map) {
+            Integer key = key(m);
+            if (key == null) {
+                unbound.add(m);
+            } else {
+                table.computeIfAbsent(key, k -> new ArrayList<>(1)).add(m);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Mapping of the table that may be compatible with m
+     * The iterator of bucket and unbound Mapping is reused by each probe
+     */
+    Iterable<Mapping> candidate(Mapping m) {
+        Integer key = key(m);
+        if (key == null) {
+            return all;
+        }
+        List<Mapping> list = table.get(key);
+        if (list == null) {
+            return unbound;
+        }
+        if (unbound.isEmpty()) {
+            return list;
+        }
+        return candidate.set(list);
+    }
+
+    Integer key(Mapping m) {
+        return key(m, varList);
+    }
+
+    /**
+     * Hash code of the values of common variables
+     * null if one common variable is unbound
+     */
+    static Integer key(Mapping m, List<String> varList) {
+        int hash = 1;
+        for (String var : varList) {
+            Node val = m.getNodeValue(var);
+            if (val == null) {
+                return null;
+            }
+            hash = 31 * hash + hash(val);
+        }
+        return hash;
+    }
+
+    /**
+     * Equal values have same hash code whatever their label and their
+     * compatible datatype: 1 01 1.0 '1'^^xsd:long ; true '1'^^xsd:boolean
+     */
+    static int hash(Node node) {
+        IDatatype dt = node.getDatatypeValue();
+        if (dt == null) {
+            return node.getLabel().hashCode();
+        } else if (dt.isNumber()) {
+            return Double.hashCode(dt.doubleValue());
+        } else if (dt.isBoolean()) {
+            return Boolean.hashCode(dt.booleanValue());
+        } else if (dt instanceof CoreseDate) {
+            return ((CoreseDate) dt).getCalendar().hashCode();
+        } else if (dt.isTriple()) {
+            // triple reference match by edge: same bucket
+            return dt.getCode();
+        }
+        return dt.getLabel().hashCode();
+    }
+
+    /**
+     * Join this Mappings (the table) with probe Mappings
+     */
+    Mappings join(Mappings probe, Query q) {
+        Mappings res = Mappings.create(q);
+        join(probe, res);
+        return res;
+    }
+
+    void join(Iterable<Mapping> probe, Mappings res) {
+        for (Mapping m1 : probe) {
+            for (Mapping m2 : candidate(m1)) {
+                Mapping m = m1.merge(m2);
+                if (m != null) {
+                    res.add(m);
+                }
+            }
+        }
+    }
+
+    /**
+     * Is there a Mapping in the table minus compatible with m
+     * varList: common variables of map1 and map2
+     */
+    boolean minusCompatible(Mapping m) {
+        for (Mapping minus : candidate(m)) {
+            if (m.minusCompatible(minus, varList)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Mappings getMappings() {
+        return map;
+    }
+
+    public List<String> getVariableList() {
+        return varList;
+    }
+
+    public int size() {
+        return table.size();
+    }
+
+    /**
+     * Probe Mappings of this table
+     */
+    Iterable<Mapping> getProbe() {
+        return probe;
+    }
+
+    /**
+     * Bucket followed by unbound Mapping
+     */
+    class Candidate implements Iterable<Mapping>, Iterator<Mapping> {
+
+        List<Mapping> list;
+        int i;
+
+        Candidate set(List<Mapping> list) {
+            this.list = list;
+            return this;
+        }
+
+        @Override
+        public Iterator<Mapping> iterator() {
+            i = 0;
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return i < list.size() + unbound.size();
+        }
+
+        @Override
+        public Mapping next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int n = i++;
+            return (n < list.size()) ? list.get(n) : unbound.get(n - list.size());
+        }
+    }
+
+    /**
+     * Join of build and probe partition by partition
+     * Within memory budget: one table of build with probe
+     * Beyond: build and probe are written in partition files on hash code,
+     * the table of a partition is read when it is enumerated and partition
+     * files are deleted when they are read
+     * Mapping with unbound common variable remain in memory: build ones are
+     * candidate in every partition, probe ones are probed in every partition
+     * with the build Mapping of the partition, and with unbound build Mapping
+     * in the first partition only
+     */
+    static class Partition implements Iterable<HashJoin>, Closeable {
+
+        private Mappings build;
+        private Mappings probe;
+        private List<String> varList;
+        private int size = 1;
+        // null within memory budget
+        private Runs runs;
+        private File[] buildFiles;
+        private File[] probeFiles;
+        private List<Mapping> buildUnbound;
+        private List<Mapping> probeUnbound;
+
+        Partition(Mappings build, Mappings probe, List<String> varList) {
+            this.build = build;
+            this.probe = probe;
+            this.varList = varList;
+        }
+
+        Partition create() {
+            long bytes = bytes(build);
+            if (bytes > MEMORY_BUDGET && isWritable(build) && isWritable(probe)) {
+                size = (int) Math.min(MAX_PARTITION, bytes / Math.max(MEMORY_BUDGET, 1) + 1);
+                runs = new Runs(PREFIX);
+                buildUnbound = new ArrayList<>();
+                probeUnbound = new ArrayList<>();
+                try {
+                    buildFiles = write(build, buildUnbound);
+                    probeFiles = write(probe, probeUnbound);
+                } catch (IOException ex) {
+                    // join in memory
+                    close();
+                    runs = null;
+                    size = 1;
+                }
+            }
+            return this;
+        }
+
+        boolean isWritable(Mappings map) {
+            for (Mapping m : map) {
+                if (!Runs.accept(m)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        File[] write(Mappings map, List<Mapping> unbound) throws IOException {
+            File[] files = new File[size];
+            DataOutputStream[] out = new DataOutputStream[size];
+            try {
+                for (int i = 0; i < size; i++) {
+                    files[i] = runs.create();
+                    out[i] = runs.output(files[i]);
+                }
+                for (Mapping m : map) {
+                    Integer key = key(m, varList);
+                    if (key == null) {
+                        unbound.add(m);
+                    } else {
+                        runs.write(out[index(key)], m);
+                    }
+                }
+            } finally {
+                for (DataOutputStream o : out) {
+                    if (o != null) {
+                        o.close();
+                    }
+                }
+            }
+            return files;
+        }
+
+        int index(int key) {
+            return Math.floorMod(key ^ (key >>> 16), size);
+        }
+
+        @Override
+        public Iterator<HashJoin> iterator() {
+            if (runs == null) {
+                HashJoin table = HashJoin.create(build, varList);
+                table.probe = probe;
+                return List.of(table).iterator();
+            }
+            return new Iterator<HashJoin>() {
+                int i = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return i < size;
+                }
+
+                @Override
+                public HashJoin next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return read(i++);
+                }
+            };
+        }
+
+        /**
+         * Table of partition i with its probe Mappings
+         */
+        HashJoin read(int i) {
+            Mappings map = new Mappings();
+            try (DataInputStream in = runs.input(buildFiles[i])) {
+                for (Mapping m = runs.read(in); m != null; m = runs.read(in)) {
+                    map.add(m);
+                }
+            } catch (IOException ex) {
+                throw new IllegalStateException("Hash join: " + ex.getMessage(), ex);
+            }
+            buildFiles[i].delete();
+            HashJoin table = new HashJoin(map, varList);
+            table.unbound = buildUnbound;
+            table.index();
+            if (i == 0 && !buildUnbound.isEmpty()) {
+                table.all = new ArrayList<>(map.getMappingList());
+                table.all.addAll(buildUnbound);
+            }
+            File file = probeFiles[i];
+            table.probe = () -> new Reader(file, probeUnbound);
+            return table;
+        }
+
+        /**
+         * Delete partition files
+         */
+        @Override
+        public void close() {
+            if (runs != null) {
+                runs.run();
+            }
+        }
+
+        int size() {
+            return size;
+        }
+
+        /**
+         * Probe Mappings of a partition file followed by unbound probe Mapping
+         */
+        class Reader implements Iterator<Mapping> {
+
+            DataInputStream in;
+            File file;
+            Iterator<Mapping> it;
+            Mapping next;
+
+            Reader(File file, List<Mapping> list) {
+                this.file = file;
+                it = list.iterator();
+                try {
+                    in = runs.input(file);
+                } catch (IOException ex) {
+                    throw new IllegalStateException("Hash join: " + ex.getMessage(), ex);
+                }
+                advance();
+            }
+
+            void advance() {
+                next = null;
+                if (in != null) {
+                    try {
+                        next = runs.read(in);
+                    } catch (IOException ex) {
+                        throw new IllegalStateException("Hash join: " + ex.getMessage(), ex);
+                    }
+                    if (next == null) {
+                        close();
+                    }
+                }
+                if (next == null && it.hasNext()) {
+                    next = it.next();
+                }
+            }
+
+            void close() {
+                try {
+                    in.close();
+                } catch (IOException ex) {
+                }
+                in = null;
+                file.delete();
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public Mapping next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                Mapping m = next;
+                advance();
+                return m;
+            }
+        }
+    }
+
+}
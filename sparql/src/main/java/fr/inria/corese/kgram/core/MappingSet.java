@@ -37,6 +37,8 @@ public class MappingSet {
             intersection; // intersection of variables    
     List<String> varList;
     boolean isBound = false;
+    // hash table of map2 on common variables
+    HashJoin hashJoin;
     private boolean debug= false;
     
   
@@ -96,7 +98,9 @@ public class MappingSet {
         if (isDebug()) {
             System.out.println(this);
         }
-        if (isBound) {
+        if (!varList.isEmpty() && HashJoin.accept(set2.getMappings())) {
+            hashJoin = HashJoin.create(set2.getMappings(), varList);
+        } else if (isBound) {
             set2.getMappings().sort(varList);
         }
         return this;
@@ -124,9 +128,14 @@ public class MappingSet {
      * If common variables are bound in every Mapping, 
      * find potential compatible Mapping by dichotomy and iterate
      * else return all Mappings
+     * If map2 is hashed on common variables, return Mapping with same hash code
+     * and Mapping with unbound common variable
      * PRAGMA: if isBound, map2 has been sorted by start() above
      */
     Iterable<Mapping> getCandidateMappings(Mapping m) {
+        if (hashJoin != null) {
+            return hashJoin.candidate(m);
+        }
         if (isBound) {
             return new Iterate(m);
         }
@@ -170,7 +179,10 @@ public class MappingSet {
             // no common variables
             return false;
         } else {
-            if (isBound) {
+            if (hashJoin != null) {
+                // check map compatible with candidates in hash table
+                return hashJoin.minusCompatible(map);
+            } else if (isBound) {
                 // check map compatible by dichotomy in map2
                 return set2.getMappings().minusCompatible(map, varList);
             } else {
@@ -44,7 +44,7 @@ public class Mappings extends PointerObject
     private static Logger logger = LoggerFactory.getLogger(Mappings.class);
 
     private static final String NL = System.getProperty("line.separator");
-    private static final String AGGREGATE_LOCAL = "@local";
+    static final String AGGREGATE_LOCAL = "@local";
     private static final long serialVersionUID = 1L;
     private static int SELECT = -1;
     private static int HAVING = -2;
@@ -72,6 +72,10 @@ public class Mappings extends PointerObject
     private List<Node> nodeList;
     private Group group;
     private Group distinct;
+    // streaming group by and aggregate
+    private HashAggregate hashAggregate;
+    // order by distinct with spill to disk
+    private ExternalSort externalSort;
     private Eval eval;
     // service report if Mappings from service
     // json object
@@ -254,16 +258,32 @@ public class Mappings extends PointerObject
         getMappingList().addAll(lm.getMappingList());
     }
 
+    /**
+     * External sort with runs: iterate the merge of runs once
+     */
     @Override
     public Iterator<Mapping> iterator() {
+        if (isStream()) {
+            return externalSort.stream();
+        }
         return getMappingList().iterator();
     }
 
     @Override
     public int size() {
+        if (isStream()) {
+            return externalSort.size();
+        }
         return getMappingList().size();
     }
 
+    /**
+     * Solutions are read from external sort runs instead of list
+     */
+    public boolean isStream() {
+        return externalSort != null && externalSort.isStream();
+    }
+
     public boolean isEmpty() {
         return size() == 0;
     }
@@ -1011,6 +1031,15 @@ public class Mappings extends PointerObject
     }
     
     public void aggregate(Query q, Evaluator evaluator, Memory memory, Producer p) throws SparqlException {
+        if (getHashAggregate() != null) {
+            HashAggregate agg = getHashAggregate();
+            setHashAggregate(null);
+            if (agg.getCount() > 0) {
+                // solutions have been aggregated when they were stored
+                agg.finish(this);
+                return;
+            }
+        }
         if (size() == 0) {
             if (q.isAggregate()) {
                 // SPARQL semantics requires that aggregate empty result set return one empty result
@@ -1377,6 +1406,25 @@ public class Mappings extends PointerObject
         return getGroup();
     }
 
+    /**
+     * External sort of order by distinct, if any, with its metrics
+     */
+    public ExternalSort getExternalSort() {
+        return externalSort;
+    }
+
+    void setExternalSort(ExternalSort externalSort) {
+        this.externalSort = externalSort;
+    }
+
+    public HashAggregate getHashAggregate() {
+        return hashAggregate;
+    }
+
+    public void setHashAggregate(HashAggregate agg) {
+        hashAggregate = agg;
+    }
+
     public Group getGroup() {
         return group;
     }
@@ -1540,6 +1588,30 @@ public class Mappings extends PointerObject
         return res;
     }
 
+    /**
+     * Hash join on all common variables
+     * Hash table is built on the smallest Mappings
+     * Beyond memory budget, join is partitioned in run files
+     */
+    public Mappings hashJoin(Mappings map2) {
+        List<String> varList = getCommonVariables(map2);
+        if (varList.isEmpty()) {
+            return joiner(map2);
+        }
+        Mappings build = this, probe = map2;
+        if (build.size() > probe.size()) {
+            build = map2;
+            probe = this;
+        }
+        Mappings res = Mappings.create(getQuery());
+        try (HashJoin.Partition part = HashJoin.partition(build, probe, varList)) {
+            for (HashJoin table : part) {
+                table.join(table.getProbe(), res);
+            }
+        }
+        return res;
+    }
+
     // join with cmn common variable, map2 is sorted on cmn, null value first
     public Mappings joiner(Mappings map2, Node cmn) {
         Mappings map1 = this;
@@ -1596,9 +1668,10 @@ public class Mappings extends PointerObject
 
     public Mappings minus(Mappings lm) {
         Mappings res = new Mappings();
+        HashJoin table = hashTable(lm);
         for (Mapping m1 : this) {
             boolean ok = true;
-            for (Mapping m2 : lm) {
+            for (Mapping m2 : (table == null) ? lm : table.candidate(m1)) {
                 if (m1.compatible(m2)) {
                     ok = false;
                     break;
@@ -1617,9 +1690,10 @@ public class Mappings extends PointerObject
 
     public Mappings option(Mappings lm) {
         Mappings res = new Mappings();
+        HashJoin table = hashTable(lm);
         for (Mapping m1 : this) {
             boolean ok = false;
-            for (Mapping m2 : lm) {
+            for (Mapping m2 : (table == null) ? lm : table.candidate(m1)) {
                 Mapping map = m1.join(m2);
                 if (map != null) {
                     ok = true;
@@ -1634,6 +1708,21 @@ public class Mappings extends PointerObject
         return res;
     }
 
+    /**
+     * Hash table of right argument lm of minus and optional
+     * on common variables, null if hash is not relevant
+     */
+    HashJoin hashTable(Mappings lm) {
+        if (!HashJoin.accept(lm)) {
+            return null;
+        }
+        List<String> varList = getCommonVariables(lm);
+        if (varList.isEmpty()) {
+            return null;
+        }
+        return HashJoin.create(lm, varList);
+    }
+
     public Mappings project(List<Exp> lExp) {
         Mappings res = new Mappings();
 
@@ -2064,7 +2153,16 @@ public class Mappings extends PointerObject
         this.distinct = distinct;
     }
 
+    /**
+     * External sort with runs: merge of runs is stored in list
+     */
     public List<Mapping> getMappingList() {
+        if (isStream()) {
+            if (externalSort.isConsumed()) {
+                throw new IllegalStateException("External sort: sorted solutions are read once");
+            }
+            externalSort.materialize(list);
+        }
         return list;
     }
 
@@ -0,0 +1,205 @@
+package fr.inria.corese.kgram.core;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.ExpType;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.api.query.Producer;
+import fr.inria.corese.kgram.tool.Message;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Morsel driven parallel evaluation of the first triple pattern
+ * @parallel select ?x (count(*) as ?c) where { ?x ex:p ?y . ?y ex:q ?z } group by ?x
+ *
+ * The Producer splits the sorted edge list of the first triple pattern into
+ * morsels: index ranges of about SIZE edges (Producer getEdgeRanges()),
+ * edges are neither enumerated nor copied by current thread. Each morsel is
+ * evaluated by a worker: an Eval copy with its own Memory that evaluates
+ * the whole stack and iterates the edges of its range for the first triple
+ * pattern. Workers run as Parallel tasks, when there is no thread available
+ * the morsel is evaluated by current thread.
+ * When the Producer cannot split the edges (e.g. subject or object of the
+ * first triple pattern is bound), the query is evaluated sequentially.
+ * Worker results are merged into the main Eval in morsel order, hence
+ * solutions are in the same order as in sequential mode: group by and
+ * aggregate are merged with HashAggregate merge(), count(*) profile adds
+ * counters, other solutions are stored by main Eval (distinct, order by).
+ *
+ * Parallel mode: Parallel.PARALLEL = true or @parallel
+ * Use case: main select query without limit, the rest of the stack is made
+ * of triple patterns, filter, bind, optional, minus, union, join, values
+ * without exists
+ *
+ */
+public class Morsel implements ExpType {
+
+    public static boolean MORSEL = true;
+    // number of edges of a morsel
+    public static int SIZE = 10_000;
+
+    private Eval eval;
+    private Producer producer;
+    private Node graphNode;
+    private Stack stack;
+    // workers whose results are not yet merged, in morsel order
+    private LinkedList<Worker> pending;
+    private int morselCount = 0, taskCount = 0;
+
+    Morsel(Eval eval, Producer p, Node graphNode, Stack stack) {
+        this.eval = eval;
+        producer = p;
+        this.graphNode = graphNode;
+        this.stack = stack;
+        pending = new LinkedList<>();
+    }
+
+    /**
+     * First triple pattern of main query in parallel mode
+     */
+    static boolean accept(Eval eval, Stack stack) {
+        Query q = eval.getQuery();
+        if (!MORSEL || !Parallel.accept(eval)
+                || q.isSubQuery() || q.isRule() || q.getCursor() != null
+                || q.getLimitOffset() < Integer.MAX_VALUE
+                || q.getGlobalQuery().isAlgebra()) {
+            return false;
+        }
+        for (int i = 1; i < stack.size(); i++) {
+            if (!accept(stack.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Statement can be evaluated concurrently by several Eval
+     * exists {} reuse a Memory stored in Exp, it is not thread safe
+     */
+    static boolean accept(Exp exp) {
+        switch (exp.type()) {
+            case EDGE:
+            case EMPTY:
+            case VALUES:
+                return true;
+            case FILTER:
+            case BIND:
+                return exp.getFilter() != null && !exp.isFunctional()
+                        && !exp.getFilter().getExp().isRecExist();
+            case AND:
+            case OPTIONAL:
+            case MINUS:
+            case UNION:
+            case JOIN:
+                for (Exp ee : exp) {
+                    if (!accept(ee)) {
+                        return false;
+                    }
+                }
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Evaluate edge ranges by workers
+     */
+    int eval(List<Iterable<Edge>> ranges) throws SparqlException {
+        try {
+            for (Iterable<Edge> range : ranges) {
+                if (eval.isStop() || submit(range) == Eval.STOP) {
+                    return Eval.STOP;
+                }
+            }
+            while (!pending.isEmpty()) {
+                if (merge(pending.removeFirst()) == Eval.STOP) {
+                    return Eval.STOP;
+                }
+            }
+        } finally {
+            for (Worker w : pending) {
+                if (w.task != null) {
+                    w.task.stop();
+                }
+            }
+        }
+        eval.getTrace().append(toString()).append(Message.NL);
+        return -1;
+    }
+
+    /**
+     * Evaluate morsel in a task or in current thread when there is no
+     * thread available
+     * Number of pending workers is bounded, merge first workers before
+     * submitting more
+     */
+    int submit(Iterable<Edge> range) throws SparqlException {
+        morselCount++;
+        Worker w = new Worker(eval.morsel(producer, stack.get(0), range));
+        w.task = Parallel.submit(w::call);
+        if (w.task == null) {
+            w.call();
+        } else {
+            taskCount++;
+        }
+        pending.add(w);
+        while (pending.size() > Parallel.getThreads()) {
+            if (merge(pending.removeFirst()) == Eval.STOP) {
+                return Eval.STOP;
+            }
+        }
+        return 0;
+    }
+
+    int merge(Worker w) throws SparqlException {
+        if (w.task != null && w.task.get(eval) == null) {
+            // main eval is stopped
+            return Eval.STOP;
+        }
+        eval.merge(w.eval);
+        return 0;
+    }
+
+    public int getMorselCount() {
+        return morselCount;
+    }
+
+    public int getTaskCount() {
+        return taskCount;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Morsel: %s morsels, %s tasks",
+                morselCount, taskCount);
+    }
+
+    /**
+     * Eval of one morsel
+     */
+    class Worker {
+
+        Eval eval;
+        Parallel.Task task;
+
+        Worker(Eval eval) {
+            this.eval = eval;
+        }
+
+        Mappings call() throws SparqlException {
+            // stop worker when task is stopped
+            Parallel.Task current = Parallel.register(eval);
+            try {
+                eval.eval(producer, graphNode, stack.copy(), 0);
+                return eval.getResults();
+            } finally {
+                if (current != null) {
+                    current.remove(eval);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+package fr.inria.corese.kgram.core;
+
+import fr.inria.corese.sparql.triple.parser.Metadata;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Parallel evaluation of independent statements
+ * union(A, B): A and B
+ * join(A, B) : A and B when B does not need the solutions of A
+ * @parallel select * where { {A} union {B} union {C} }
+ *
+ * One branch is evaluated by a task in another thread, the other branch is
+ * evaluated by current thread. Each branch is evaluated by subEval with its
+ * own Memory and Eval copy, as in sequential mode. Results are processed
+ * in the same order as in sequential mode.
+ * Number of running tasks is bounded by getThreads(): when there is no thread
+ * available, branch is evaluated by current thread.
+ * When Eval is stopped, running tasks are stopped. A task that exceeds
+ * TIMEOUT ms is stopped and the query fails.
+ *
+ * Parallel mode: Parallel.PARALLEL = true or @parallel
+ *
+ */
+public class Parallel {
+
+    public static boolean PARALLEL = false;
+    // max number of running tasks
+    private static int threads = Runtime.getRuntime().availableProcessors();
+    // max duration of a task in ms, 0 means no timeout
+    public static long TIMEOUT = 0;
+    static final long WAIT = 100;
+
+    private static volatile Semaphore permit = new Semaphore(threads);
+    private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread thread = new Thread(r, "corese-parallel");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // task of current thread, if any
+    private static final ThreadLocal<Task> current = new ThreadLocal<>();
+
+    public static int getThreads() {
+        return threads;
+    }
+
+    /**
+     * Max number of running tasks
+     */
+    public static synchronized void setThreads(int n) {
+        threads = n;
+        permit = new Semaphore(n);
+    }
+
+    /**
+     * Parallel mode for this Eval
+     * Visitor with events is not thread safe
+     */
+    static boolean accept(Eval eval) {
+        return (PARALLEL || eval.getQuery().getGlobalQuery().getAST().hasMetadata(Metadata.PARALLEL))
+                && !eval.hasEvent && eval.getListener() == null
+                && eval.getVisitor() instanceof ProcessVisitorDefault;
+    }
+
+    /**
+     * Submit branch evaluation to a new task
+     * Return null when there is no thread available: caller evaluates branch
+     */
+    static Task submit(Callable<Mappings> branch) {
+        Semaphore sem = permit;
+        if (!sem.tryAcquire()) {
+            return null;
+        }
+        Task task = new Task(current.get(), sem);
+        try {
+            task.future = executor.submit(() -> task.call(branch));
+        } catch (RuntimeException ex) {
+            sem.release();
+            throw ex;
+        }
+        return task;
+    }
+
+    /**
+     * Record Eval created by current task in order to stop it
+     */
+    static Task register(Eval eval) {
+        Task task = current.get();
+        if (task != null) {
+            task.add(eval);
+        }
+        return task;
+    }
+
+    /**
+     * Branch evaluated by another thread
+     */
+    static class Task {
+
+        Future<Mappings> future;
+        Task parent;
+        Semaphore permit;
+        // running Eval of the branch and nested tasks
+        List<Eval> evalList;
+        List<Task> taskList;
+        volatile boolean stop = false;
+        long start;
+
+        Task(Task parent, Semaphore permit) {
+            this.permit = permit;
+            evalList = new ArrayList<>();
+            taskList = new ArrayList<>();
+            start = System.currentTimeMillis();
+            this.parent = parent;
+            if (parent != null) {
+                parent.add(this);
+            }
+        }
+
+        Mappings call(Callable<Mappings> branch) throws Exception {
+            current.set(this);
+            try {
+                return branch.call();
+            } finally {
+                current.remove();
+                permit.release();
+                if (parent != null) {
+                    parent.remove(this);
+                }
+            }
+        }
+
+        synchronized void add(Eval eval) {
+            if (stop) {
+                eval.finish();
+            }
+            evalList.add(eval);
+        }
+
+        synchronized void remove(Eval eval) {
+            evalList.remove(eval);
+        }
+
+        synchronized void add(Task task) {
+            if (stop) {
+                task.stop();
+            }
+            taskList.add(task);
+        }
+
+        synchronized void remove(Task task) {
+            taskList.remove(task);
+        }
+
+        synchronized void stop() {
+            stop = true;
+            for (Eval eval : evalList) {
+                eval.finish();
+            }
+            for (Task task : taskList) {
+                task.stop();
+            }
+        }
+
+        /**
+         * Wait for the result of the branch
+         * eval: caller, when it is stopped, the task is stopped
+         * return null when caller is stopped
+         */
+        Mappings get(Eval eval) throws SparqlException {
+            while (true) {
+                try {
+                    return future.get(WAIT, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException ex) {
+                    if (eval.isStop()) {
+                        stop();
+                        return null;
+                    }
+                    if (TIMEOUT > 0 && System.currentTimeMillis() - start > TIMEOUT) {
+                        stop();
+                        throw new SparqlException(String.format("Parallel branch timeout: %s ms", TIMEOUT));
+                    }
+                } catch (InterruptedException ex) {
+                    stop();
+                    Thread.currentThread().interrupt();
+                    return null;
+                } catch (ExecutionException ex) {
+                    if (ex.getCause() instanceof SparqlException) {
+                        throw (SparqlException) ex.getCause();
+                    }
+                    throw new SparqlException(ex, ex.getCause().getMessage());
+                }
+            }
+        }
+    }
+
+}
@@ -38,6 +38,7 @@ public class Query extends Exp implements Graphable {
     public static final int QP_DEFAULT = 1; //Default Corese QP
     public static final int QP_HEURISTICS_BASED = 2;//Heuristics based QP
     public static final int QP_BGP = 3;//BGP based QP
+    public static final int QP_COST = 4;//Statistics based QP
 
     //used to set the default query plan method 
     public static int STD_PLAN = QP_DEFAULT;
@@ -223,6 +224,12 @@ public class Query extends Exp implements Graphable {
     private HashMap<Edge, Exp> edgeAndContext;
     private Mappings selection;
     private Mappings discorevy;
+    // pull based evaluation
+    private Cursor.Buffer cursor;
+    // prepared query parameter variables
+    private List<String> parameterList = new ArrayList<>(0);
+    // record estimated cardinality of statements
+    private boolean explain = false;
 
     private String service;
 	
@@ -2694,4 +2701,35 @@ public class Query extends Exp implements Graphable {
         this.discorevy = discorevy;
     }
 
+    Cursor.Buffer getCursor() {
+        return cursor;
+    }
+
+    void setCursor(Cursor.Buffer cursor) {
+        this.cursor = cursor;
+    }
+
+    /**
+     * Variables bound by prepared query parameters
+     */
+    public List<String> getParameterList() {
+        return parameterList;
+    }
+
+    public void setParameterList(List<String> parameterList) {
+        this.parameterList = parameterList;
+    }
+
+    /**
+     * Query planner records estimated cardinality of statements
+     * see QueryProcess explain()
+     */
+    public boolean isExplain() {
+        return explain;
+    }
+
+    public void setExplain(boolean explain) {
+        this.explain = explain;
+    }
+
 }
@@ -1,5 +1,6 @@
 package fr.inria.corese.kgram.core;
 
+import fr.inria.corese.kgram.api.core.Edge;
 import fr.inria.corese.kgram.api.core.ExpType;
 import fr.inria.corese.kgram.api.core.Expr;
 import fr.inria.corese.kgram.api.core.ExprType;
@@ -7,6 +8,7 @@ import fr.inria.corese.kgram.api.core.Filter;
 import fr.inria.corese.kgram.api.core.Node;
 import fr.inria.corese.kgram.api.query.Producer;
 import fr.inria.corese.kgram.filter.Compile;
+import fr.inria.corese.kgram.sorter.core.IProducerQP;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -19,10 +21,16 @@ import java.util.List;
  */
 public class QuerySorter implements ExpType {
 
+    // group cyclic triple patterns in a BGP evaluated by a worst case optimal join
+    public static boolean TRIE_JOIN = false;
+    // min number of triple patterns of such a BGP
+    public static int TRIE_JOIN_SIZE = 3;
+
     private boolean isSort = true;
     private boolean testJoin = false;
 
     private Sorter sort;
+    private CostSorter costSorter;
     private Query query;
     Compile compiler;
     private Producer prod;
@@ -53,6 +61,8 @@ public class QuerySorter implements ExpType {
     void compile(Producer prod) {
         this.setProducer(prod);
         VString bound = new VString();
+        // parameters of prepared query are bound before evaluation
+        bound.addAll(getQuery().getParameterList());
         compile(getQuery(), bound, false);
     }
 
@@ -112,7 +122,7 @@ public class QuerySorter implements ExpType {
                 // match query and subquery
                 Query q = exp.getQuery();
                 modifier(q);
-                if (!varList.isEmpty()) {
+                if (!varList.isEmpty() && q != getQuery()) {
                     // lVar = intersection(select variables,lVar)                   
                     varList = getSelectVariables(q, varList);
                 }
@@ -198,10 +208,24 @@ public class QuerySorter implements ExpType {
                     setBind(getQuery(), exp);
                     break;
 
+                case Query.QP_COST:
+                    // sort edges wrt estimated cardinality
+                    getCostSorter().sort(getQuery(), exp, lVar, lBind);
+                    trieJoin(exp, lVar);
+                    sortFilter(exp, lVar);
+                    setBind(getQuery(), exp);
+                    break;
+
                 case Query.QP_BGP:
                 case Query.QP_DEFAULT:
                     // sort statements in connected order
                     sort.sort(getQuery(), exp, lVar, lBind);
+                    if (getQuery().isExplain()) {
+                        getCostSorter().estimate(getQuery(), exp, lVar, lBind);
+                    }
+                    if (getQuery().getPlanProfile() == Query.QP_DEFAULT) {
+                        trieJoin(exp, lVar);
+                    }
                     // move filters
                     sortFilter(exp, lVar);
                     setBind(getQuery(), exp);
@@ -258,6 +282,96 @@ public class QuerySorter implements ExpType {
        exp.setNodeList(exp.getInScopeNodes());
     }
     
+    /**
+     * Group the triple patterns that belong to cycles of a BGP in a BGP
+     * statement evaluated by the Producer with a worst case optimal join
+     * use case: ?a :knows ?b . ?b :knows ?c . ?c :knows ?a
+     * Candidate triple patterns have a constant predicate and two distinct
+     * variables that are not bound. Triple patterns of a sequence of
+     * triple patterns and filters are candidate together. Candidate triple
+     * patterns with a variable that occurs in no other candidate are
+     * not in a cycle, they are removed until there is no such triple pattern.
+     */
+    void trieJoin(Exp exp, List<String> lVar) {
+        if (!TRIE_JOIN || exp.isTrieJoin() || getQuery().isRule()
+                || !(getProducer() instanceof IProducerQP)
+                || !((IProducerQP) getProducer()).isTrieJoin()) {
+            return;
+        }
+        int end = exp.size();
+        for (int i = exp.size() - 1; i >= -1; i--) {
+            if (i == -1 || !(exp.get(i).isEdge() || exp.get(i).isFilter())) {
+                trieJoin(exp, i + 1, end, lVar);
+                end = i;
+            }
+        }
+    }
+
+    void trieJoin(Exp exp, int begin, int end, List<String> lVar) {
+        List<Exp> list = new ArrayList<>();
+        for (int i = begin; i < end; i++) {
+            if (isTrieJoin(exp.get(i), lVar)) {
+                list.add(exp.get(i));
+            }
+        }
+        boolean prune = true;
+        while (prune) {
+            prune = false;
+            for (Exp ee : new ArrayList<>(list)) {
+                if (count(list, ee.getEdge().getNode(0)) == 1
+                        || count(list, ee.getEdge().getNode(1)) == 1) {
+                    list.remove(ee);
+                    prune = true;
+                }
+            }
+        }
+        if (list.size() < TRIE_JOIN_SIZE) {
+            return;
+        }
+        Exp bgp = Exp.create(BGP);
+        bgp.setTrieJoin(true);
+        for (Exp ee : list) {
+            bgp.add(ee);
+        }
+        // BGP takes place of its first triple pattern
+        for (int i = end - 1; i >= begin; i--) {
+            if (exp.get(i) == list.get(0)) {
+                exp.set(i, bgp);
+            } else if (list.contains(exp.get(i))) {
+                exp.getExpList().remove(i);
+            }
+        }
+    }
+
+    boolean isTrieJoin(Exp exp, List<String> lVar) {
+        if (!exp.isEdge() || exp.getEdge().nbNode() != 2
+                || exp.getEdge().getEdgeVariable() != null
+                || exp.getEdge().isNested()) {
+            return false;
+        }
+        Node subject = exp.getEdge().getNode(0);
+        Node object = exp.getEdge().getNode(1);
+        return isFree(subject, lVar) && isFree(object, lVar)
+                && !subject.getLabel().equals(object.getLabel());
+    }
+
+    boolean isFree(Node node, List<String> lVar) {
+        return node.isVariable() && !node.isBlank() && !lVar.contains(node.getLabel());
+    }
+
+    // number of triple patterns with node
+    int count(List<Exp> list, Node node) {
+        int count = 0;
+        for (Exp exp : list) {
+            Edge edge = exp.getEdge();
+            if (edge.getNode(0).getLabel().equals(node.getLabel())
+                    || edge.getNode(1).getLabel().equals(node.getLabel())) {
+                count++;
+            }
+        }
+        return count;
+    }
+
     void setBind(Query q, Exp exp){
         if (q.isUseBind()){
             exp.setBind();
@@ -407,6 +521,13 @@ public class QuerySorter implements ExpType {
         return sort;
     }
 
+    CostSorter getCostSorter() {
+        if (costSorter == null) {
+            costSorter = new CostSorter(this);
+        }
+        return costSorter;
+    }
+
     
     public void setSorter(Sorter sort) {
         this.sort = sort;
@@ -0,0 +1,180 @@
+package fr.inria.corese.kgram.core;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+/**
+ * Temporary files of Mapping (runs) in a private temporary directory
+ * use case: ExternalSort runs, HashJoin partitions
+ *
+ * A run stores the nodes and edges of Mapping as integers: a node is stored
+ * once in the object table, hence Mapping read from a run have the same
+ * nodes (with their graph index) and edges as the Mapping written.
+ * Does not reference the sort or the join: it may be the cleaner action of
+ * Mappings.
+ *
+ */
+class Runs implements Runnable {
+
+    static final int NULL = -1;
+
+    private String prefix;
+    private File directory;
+    private List<File> files;
+    // query nodes, nodes, query edges and edges of Mapping
+    private List<Object> objectList;
+    private IdentityHashMap<Object, Integer> objectIndex;
+
+    Runs(String prefix) {
+        this.prefix = prefix;
+        files = new ArrayList<>();
+        objectList = new ArrayList<>();
+        objectIndex = new IdentityHashMap<>();
+    }
+
+    /**
+     * Mapping can be written in a run
+     */
+    static boolean accept(Mapping m) {
+        return m.getMappings() == null && m.getMap() == null;
+    }
+
+    synchronized File create() throws IOException {
+        if (directory == null) {
+            directory = Files.createTempDirectory(prefix).toFile();
+        }
+        File file = new File(directory, "run" + files.size());
+        files.add(file);
+        return file;
+    }
+
+    DataOutputStream output(File file) throws IOException {
+        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+    }
+
+    DataInputStream input(File file) throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+    }
+
+    /**
+     * Delete run files and directory
+     */
+    @Override
+    public synchronized void run() {
+        for (File file : files) {
+            file.delete();
+        }
+        if (directory != null) {
+            directory.delete();
+        }
+        objectList.clear();
+        objectIndex.clear();
+    }
+
+    void write(DataOutputStream out, Mapping m) throws IOException {
+        write(out, m.getQueryNodes(), m.getNodes());
+        write(out, m.getQueryEdges(), m.getEdges());
+        Node[] order = m.getOrderBy();
+        out.writeInt((order == null) ? NULL : order.length);
+        if (order != null) {
+            for (Node node : order) {
+                out.writeInt(index(node));
+            }
+        }
+    }
+
+    void write(DataOutputStream out, Object[] query, Object[] target) throws IOException {
+        out.writeInt((query == null) ? NULL : query.length);
+        if (query != null) {
+            for (int i = 0; i < query.length; i++) {
+                out.writeInt(index(query[i]));
+                out.writeInt(index(target[i]));
+            }
+        }
+    }
+
+    /**
+     * Mapping, null at the end of the run
+     */
+    Mapping read(DataInputStream in) throws IOException {
+        int n;
+        try {
+            n = in.readInt();
+        } catch (EOFException ex) {
+            return null;
+        }
+        Node[] qnodes = new Node[n];
+        Node[] nodes = new Node[n];
+        for (int i = 0; i < n; i++) {
+            qnodes[i] = (Node) object(in.readInt());
+            nodes[i] = (Node) object(in.readInt());
+        }
+        int k = in.readInt();
+        Edge[] qedges = new Edge[Math.max(k, 0)];
+        Edge[] edges = new Edge[Math.max(k, 0)];
+        for (int i = 0; i < k; i++) {
+            qedges[i] = (Edge) object(in.readInt());
+            edges[i] = (Edge) object(in.readInt());
+        }
+        Mapping m = new Mapping(qedges, edges, qnodes, nodes);
+        k = in.readInt();
+        if (k >= 0) {
+            Node[] order = new Node[k];
+            for (int i = 0; i < k; i++) {
+                order[i] = (Node) object(in.readInt());
+            }
+            m.setOrderBy(order);
+        }
+        return m;
+    }
+
+    /**
+     * Number of object in object table, the same object is read back
+     */
+    int index(Object obj) {
+        if (obj == null) {
+            return NULL;
+        }
+        Integer i = objectIndex.get(obj);
+        if (i == null) {
+            i = objectList.size();
+            objectIndex.put(obj, i);
+            objectList.add(obj);
+        }
+        return i;
+    }
+
+    Object object(int i) {
+        return (i == NULL) ? null : objectList.get(i);
+    }
+
+    synchronized List<File> getFiles() {
+        return new ArrayList<>(files);
+    }
+
+    File getDirectory() {
+        return directory;
+    }
+
+    int size() {
+        return files.size();
+    }
+
+    boolean isEmpty() {
+        return files.isEmpty();
+    }
+
+}
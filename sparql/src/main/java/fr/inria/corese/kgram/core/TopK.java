@@ -0,0 +1,121 @@
+package fr.inria.corese.kgram.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Top-K order by limit offset
+ * select * where {} order by ?x limit 10 offset 5
+ *
+ * Solutions are stored by Eval in a bounded heap of size limit + offset
+ * ordered by the Mappings order by comparator: when the heap is full,
+ * a new solution either replaces the worst solution of the heap or is
+ * discarded because it can no longer be in the result.
+ * Solutions with same order by values are ordered by arrival as with
+ * the standard (stable) sort, hence results are the same.
+ * At the end, heap solutions are stored in Mappings in arrival order,
+ * Mappings complete() sort them and apply limit offset.
+ *
+ */
+public class TopK {
+
+    public static boolean TOP_K = true;
+
+    private Mappings map;
+    // max heap: worst solution first
+    private PriorityQueue<Entry> heap;
+    private int size;
+    // arrival number of solutions
+    private int count = 0;
+
+    TopK(Mappings map, int size) {
+        this.map = map;
+        this.size = size;
+        heap = new PriorityQueue<>(Math.min(size, 1000) + 1, (e1, e2) -> e2.compareTo(e1));
+    }
+
+    static TopK create(Eval eval, Query q) {
+        Mappings map = eval.getResults();
+        // comparator may be overloaded by visitor
+        map.setEval(eval);
+        return new TopK(map, q.getLimit() + q.getOffset());
+    }
+
+    /**
+     * Order by with limit on select query without aggregate
+     */
+    static boolean accept(Eval eval, Query q) {
+        return TOP_K && q.isOrderBy() && q.getLimit() < Integer.MAX_VALUE
+                && q.getOffset() < Integer.MAX_VALUE - q.getLimit()
+                && !(q.isAggregate() || q.hasGroupBy())
+                && !q.isConstruct() && !q.isTemplate() && !q.getGlobalQuery().isAlgebra()
+                && q.getQueryProfile() != Query.COUNT_PROFILE
+                && eval.getResults().getHashAggregate() == null;
+    }
+
+    void add(Mapping m) {
+        Entry e = new Entry(m, count++);
+        if (heap.size() < size) {
+            heap.add(e);
+        } else if (size > 0 && e.compareTo(heap.peek()) < 0) {
+            heap.poll();
+            heap.add(e);
+        }
+    }
+
+    /**
+     * Store heap solutions in Mappings in arrival order
+     */
+    void finish() {
+        List<Entry> list = new ArrayList<>(heap);
+        list.sort((e1, e2) -> Integer.compare(e1.rank, e2.rank));
+        for (Entry e : list) {
+            map.add(e.map);
+        }
+        map.setEval(null);
+    }
+
+    /**
+     * Number of solutions
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Number of solutions in the heap
+     */
+    public int size() {
+        return heap.size();
+    }
+
+    /**
+     * Max number of solutions: limit + offset
+     */
+    public int capacity() {
+        return size;
+    }
+
+    class Entry implements Comparable<Entry> {
+
+        Mapping map;
+        int rank;
+
+        Entry(Mapping m, int n) {
+            map = m;
+            rank = n;
+        }
+
+        // same order by values: first arrived is first
+        @Override
+        public int compareTo(Entry e) {
+            int res = TopK.this.map.compare(map, e.map);
+            if (res == 0) {
+                return Integer.compare(rank, e.rank);
+            }
+            return res;
+        }
+    }
+
+}
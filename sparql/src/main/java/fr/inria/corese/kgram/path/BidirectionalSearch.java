@@ -0,0 +1,270 @@
+package fr.inria.corese.kgram.path;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.api.core.Regex;
+import fr.inria.corese.kgram.core.Mapping;
+import fr.inria.corese.kgram.core.Mappings;
+import fr.inria.corese.kgram.core.ProcessVisitorDefault;
+import fr.inria.corese.kgram.tool.EdgeInv;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Property path exp+ exp* where both subject and object are bound (variable
+ * bound or constant), exp is a property, a negated property set, their
+ * inverse or an alternative of these. Subject and object are not literals.
+ * use case: ask { ?a rdfs:subClassOf+ ?b } with ?a and ?b bound
+ *
+ * There is at most one solution: breadth first search from the subject and
+ * from the object (with the index of object nodes) until the two frontiers
+ * meet. The smaller frontier is expanded first. Visited nodes are recorded in
+ * bitsets of node index. The path of the solution is a shortest path
+ * rebuilt from the predecessor of each visited node.
+ * exp* of length 0 is checked first as PathIterator does.
+ *
+ * Returns as soon as the frontiers meet hence ask and exists stop as soon
+ * as the target is reached.
+ * Not used with named graph, short path, count path, path listener, event
+ * visitor and path length constraint: PathIterator is used.
+ *
+ */
+public class BidirectionalSearch {
+
+    public static boolean BIDIRECTIONAL = true;
+    static final int FORWARD = 0;
+    static final int BACKWARD = 1;
+
+    private PathFinder finder;
+    // regex exp of exp+ as a list of properties
+    private List<Regex> list;
+    // visited nodes of each direction
+    private BitSet[] visited;
+    // predecessor of visited node in its direction
+    private Node[][] previous;
+    private Node[] root;
+    // nodes to expand in each direction
+    private List<List<Node>> frontier;
+    // node where frontiers meet
+    private Node last;
+
+    BidirectionalSearch(PathFinder pf, List<Regex> list) {
+        finder = pf;
+        this.list = list;
+        visited = new BitSet[]{new BitSet(), new BitSet()};
+        previous = new Node[][]{new Node[64], new Node[64]};
+        root = new Node[2];
+        frontier = new ArrayList<>();
+        frontier.add(new ArrayList<>());
+        frontier.add(new ArrayList<>());
+    }
+
+    /**
+     * Return a search if the path can be computed this way, null otherwise
+     */
+    static BidirectionalSearch create(PathFinder pf) {
+        if (!BIDIRECTIONAL || pf.gNode != null || pf.isShort || pf.isCountPath
+                || pf.hasListener || pf.hasPathLength()
+                || pf.kgram == null || pf.kgram.getVisitor().getClass() != ProcessVisitorDefault.class) {
+            return null;
+        }
+        for (int i = 0; i < 2; i++) {
+            Node qNode = pf.edge.getNode(i);
+            Node node = qNode.isConstant() ? qNode : pf.memory.getNode(qNode);
+            if (node == null || node.getDatatypeValue().isLiteral()) {
+                // literals with same value share node index (1 and 01)
+                return null;
+            }
+        }
+        Regex exp = pf.regexp1;
+        if (exp.retype() != Regex.PLUS && exp.retype() != Regex.STAR) {
+            return null;
+        }
+        List<Regex> list = new ArrayList<>();
+        if (!properties(exp.getArg(0), list)) {
+            return null;
+        }
+        return new BidirectionalSearch(pf, list);
+    }
+
+    /**
+     * exp = p | ^p | !(p) | exp1 | exp2
+     */
+    static boolean properties(Regex exp, List<Regex> list) {
+        switch (exp.retype()) {
+            case Regex.LABEL:
+            case Regex.NOT:
+                list.add(exp);
+                return true;
+            case Regex.ALT:
+                return properties(exp.getArg(0), list) && properties(exp.getArg(1), list);
+            default:
+                return false;
+        }
+    }
+
+    Iterable<Mapping> candidate() {
+        Mappings res = new Mappings();
+        Mapping map = process();
+        if (map != null) {
+            res.add(map);
+        }
+        return res;
+    }
+
+    Mapping process() {
+        if (finder.regexp1.retype() == Regex.STAR) {
+            // path of length 0
+            Path path = new Path(finder.isReverse);
+            for (Node node : finder.getNodeIterator(finder.get(finder.memory, finder.index), null)) {
+                if (node != null) {
+                    Mapping map = finder.result(path, null, node);
+                    if (map != null) {
+                        return map;
+                    }
+                }
+            }
+        }
+        // object node and its predecessors
+        if (!expand(BACKWARD, value(BACKWARD))) {
+            return null;
+        }
+        // successors of subject node
+        Node meet = expand(FORWARD, value(FORWARD)) ? null : last;
+        while (meet == null && !finder.isStop()) {
+            int dir = (frontier.get(FORWARD).size() <= frontier.get(BACKWARD).size()) ? FORWARD : BACKWARD;
+            List<Node> current = frontier.get(dir);
+            if (current.isEmpty()) {
+                return null;
+            }
+            frontier.set(dir, new ArrayList<>());
+            for (Node node : current) {
+                if (!expand(dir, node) || finder.isStop()) {
+                    meet = last;
+                    break;
+                }
+            }
+        }
+        if (meet == null || finder.isStop()) {
+            return null;
+        }
+        return finder.result(path(meet), null, null);
+    }
+
+    /**
+     * Value of subject (FORWARD) or object (BACKWARD), null for a constant:
+     * Producer retrieves the node of the constant
+     */
+    Node value(int dir) {
+        Node qNode = finder.edge.getNode(dir);
+        return qNode.isConstant() ? null : finder.memory.getNode(qNode);
+    }
+
+    /**
+     * Visit successors (FORWARD) or predecessors (BACKWARD) of node
+     * The first time, node is the value of subject or object (null for a
+     * constant), it is the root of the search.
+     * return false when frontiers meet (last is the meeting node) or there is
+     * no root
+     */
+    boolean expand(int dir, Node node) {
+        int other = 1 - dir;
+        boolean isRoot = root[dir] == null;
+        for (Regex exp : list) {
+            boolean inverse = exp.isInverse() || exp.isReverse();
+            for (Edge ent : finder.producer.getEdges(null, finder.from, finder.edge, finder.memory,
+                    exp, null, node, dir)) {
+                if (ent == null) {
+                    continue;
+                }
+                Edge rel = inverse ? new EdgeInv(ent) : ent;
+                if (root[dir] == null) {
+                    if (node != null && !rel.getNode(dir).getDatatypeValue().sameTerm(node.getDatatypeValue())) {
+                        // node is not a node of the graph: Producer returns all edges
+                        return false;
+                    }
+                    root[dir] = rel.getNode(dir);
+                    if (dir == BACKWARD) {
+                        visited[dir].set(root[dir].getIndex());
+                    }
+                }
+                Node next = rel.getNode(other);
+                int index = next.getIndex();
+                if (index < 0 || visited[dir].get(index)) {
+                    continue;
+                }
+                visited[dir].set(index);
+                setPrevious(dir, index, rel.getNode(dir));
+                frontier.get(dir).add(next);
+                if (visited[other].get(index)) {
+                    last = next;
+                    return false;
+                }
+            }
+        }
+        return !(isRoot && root[dir] == null);
+    }
+
+    void setPrevious(int dir, int index, Node node) {
+        if (index >= previous[dir].length) {
+            Node[] tmp = new Node[Math.max(2 * previous[dir].length, index + 1)];
+            System.arraycopy(previous[dir], 0, tmp, 0, previous[dir].length);
+            previous[dir] = tmp;
+        }
+        previous[dir][index] = node;
+    }
+
+    /**
+     * Path from subject to meet and from meet to object
+     */
+    Path path(Node meet) {
+        List<Node> nodes = new ArrayList<>();
+        // at least one edge from subject, subject may be meet (cycle)
+        Node node = meet;
+        do {
+            nodes.add(0, node);
+            node = previous[FORWARD][node.getIndex()];
+        } while (node.getIndex() != root[FORWARD].getIndex());
+        nodes.add(0, node);
+        node = meet;
+        while (node.getIndex() != root[BACKWARD].getIndex()) {
+            node = previous[BACKWARD][node.getIndex()];
+            nodes.add(node);
+        }
+        List<Edge> edges = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        for (int i = 0; i < nodes.size() - 1; i++) {
+            edge(nodes.get(i), nodes.get(i + 1), edges, weights);
+        }
+        Path path = new Path(finder.isReverse);
+        // reverse path is recorded from object to subject
+        for (int i = 0; i < edges.size(); i++) {
+            int j = finder.isReverse ? edges.size() - 1 - i : i;
+            path.add(edges.get(j), weights.get(j));
+        }
+        return path;
+    }
+
+    /**
+     * Edge from node to next
+     */
+    void edge(Node node, Node next, List<Edge> edges, List<Integer> weights) {
+        for (Regex exp : list) {
+            boolean inverse = exp.isInverse() || exp.isReverse();
+            for (Edge ent : finder.producer.getEdges(null, finder.from, finder.edge, finder.memory,
+                    exp, null, node, FORWARD)) {
+                if (ent != null) {
+                    Edge rel = inverse ? new EdgeInv(ent) : ent;
+                    if (rel.getNode(BACKWARD).getIndex() == next.getIndex()) {
+                        Edge copy = finder.producer.copy(ent);
+                        edges.add(inverse ? new EdgeInv(copy) : copy);
+                        weights.add(exp.getWeight());
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+}
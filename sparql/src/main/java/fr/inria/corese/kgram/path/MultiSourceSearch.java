@@ -0,0 +1,336 @@
+package fr.inria.corese.kgram.path;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.api.core.Regex;
+import fr.inria.corese.kgram.core.Mapping;
+import fr.inria.corese.kgram.core.Mappings;
+import fr.inria.corese.kgram.core.ProcessVisitorDefault;
+import fr.inria.corese.kgram.tool.EdgeInv;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Property path exp+ exp* whose start variable is bound by the Mappings of
+ * the previous statement of a join, optional or minus (see Eval path).
+ * use case: { ?x a foaf:Person } { ?x foaf:knows+ ?y }
+ *
+ * Instead of one path search per value of the start variable (the sources),
+ * there is one breadth first search from all the sources at once. Sources
+ * are processed by groups of CHUNK sources, each source of a group has a bit
+ * (a lane) in the long words recorded for each visited node: a node is
+ * expanded once per level for all the sources that reach it at this level.
+ * Solutions are the pairs (source, target) in source order, each node
+ * reachable from a source once and the source itself for the path of length
+ * 0 of exp*, as PathIterator does. Eval joins them with the Mappings
+ * afterwards. In parallel mode, groups are evaluated by Parallel tasks.
+ * exp is a property, a negated property set, their inverse or an alternative
+ * of these, as in BidirectionalSearch.
+ *
+ * The path itself is not computed hence there is no user path variable.
+ * Not used with named graph, short path, count path, path listener, event
+ * visitor, path length constraint, literal source (literals with same value
+ * share node index), bound or constant target and less than MIN_SIZE
+ * sources: Eval pushes values(data) and PathFinder computes the paths of
+ * each source.
+ *
+ */
+public class MultiSourceSearch {
+
+    public static boolean MULTI_SOURCE = true;
+    // min number of sources
+    public static int MIN_SIZE = 16;
+    // number of sources of a group
+    public static int CHUNK = 256;
+    static final int LANE = 64;
+
+    private PathFinder finder;
+    // regex exp of exp+ as a list of properties
+    private List<Regex> list;
+    // distinct values of start variable
+    private List<Node> sources;
+    private boolean isStar;
+
+    MultiSourceSearch(PathFinder pf, List<Regex> list, List<Node> sources) {
+        finder = pf;
+        this.list = list;
+        this.sources = sources;
+        isStar = pf.regexp1.retype() == Regex.STAR;
+    }
+
+    /**
+     * Return a search if the path can be computed from the values of a
+     * variable of the edge in data, null otherwise
+     */
+    static MultiSourceSearch create(PathFinder pf, Mappings data) {
+        if (!MULTI_SOURCE || pf.gNode != null || pf.isShort || pf.isCountPath
+                || pf.hasListener || pf.hasPathLength()
+                || pf.kgram == null || pf.kgram.getVisitor().getClass() != ProcessVisitorDefault.class) {
+            return null;
+        }
+        if (pf.varNode != null && !pf.varNode.isBlank()) {
+            // user path variable
+            return null;
+        }
+        if (data.size() < MIN_SIZE) {
+            return null;
+        }
+        Regex exp = pf.regexp1;
+        if (exp.retype() != Regex.PLUS && exp.retype() != Regex.STAR) {
+            return null;
+        }
+        List<Regex> list = new ArrayList<>();
+        if (!BidirectionalSearch.properties(exp.getArg(0), list)) {
+            return null;
+        }
+        int index = index(pf, data);
+        if (index == -1) {
+            return null;
+        }
+        List<Node> sources = sources(data, pf.edge.getNode(index));
+        if (sources == null || sources.size() < MIN_SIZE) {
+            return null;
+        }
+        pf.start(index);
+        pf.targetNode = null;
+        return new MultiSourceSearch(pf, list, sources);
+    }
+
+    /**
+     * Index of the unbound variable of the edge that is bound in data, the
+     * other node is an unbound variable, -1 if there is none
+     */
+    static int index(PathFinder pf, Mappings data) {
+        for (int i = 0; i < 2; i++) {
+            Node qNode = pf.edge.getNode(i);
+            Node qOther = pf.edge.getNode(1 - i);
+            if (qNode.isVariable() && qOther.isVariable()
+                    && !pf.memory.isBound(qNode) && !pf.memory.isBound(qOther)
+                    && !qNode.getLabel().equals(qOther.getLabel())
+                    && contains(data.getNodeList(), qNode)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static boolean contains(List<Node> list, Node qNode) {
+        for (Node node : list) {
+            if (node.getLabel().equals(qNode.getLabel())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Distinct values of qNode in data, null if a value is unbound or is a
+     * literal
+     */
+    static List<Node> sources(Mappings data, Node qNode) {
+        Map<String, Node> table = new HashMap<>();
+        List<Node> list = new ArrayList<>();
+        for (Mapping map : data) {
+            Node node = map.getNode(qNode);
+            if (node == null || node.getDatatypeValue().isLiteral()) {
+                return null;
+            }
+            if (table.putIfAbsent(node.getLabel(), node) == null) {
+                list.add(node);
+            }
+        }
+        return list;
+    }
+
+    public int size() {
+        return sources.size();
+    }
+
+    public List<Node> getSources() {
+        return sources;
+    }
+
+    /**
+     * Paths of sources begin .. end-1, at most CHUNK sources
+     * May be called concurrently for distinct groups of sources
+     */
+    public Mappings process(int begin, int end) {
+        return new Group(begin, end).process();
+    }
+
+    /**
+     * Breadth first search of a group of sources
+     */
+    class Group {
+
+        int begin, size;
+        // number of long words of a node
+        int width;
+        // local id -> node, sources first
+        List<Node> nodeList;
+        Map<String, Integer> resource;
+        Map<Node, Integer> literal;
+        // lanes of node id: id * width .. id * width + width - 1
+        long[] visited, current, next;
+
+        Group(int begin, int end) {
+            this.begin = begin;
+            size = end - begin;
+            width = (size + LANE - 1) / LANE;
+            nodeList = new ArrayList<>();
+            resource = new HashMap<>();
+            literal = new TreeMap<>(Node::compare);
+            int length = Math.max(2 * size, 64) * width;
+            visited = new long[length];
+            current = new long[length];
+            next = new long[length];
+        }
+
+        Mappings process() {
+            List<Integer> frontier = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                int id = define(sources.get(begin + i));
+                current[id * width + i / LANE] |= 1L << (i % LANE);
+                if (isStar) {
+                    // source is the target of the path of length 0
+                    visited[id * width + i / LANE] |= 1L << (i % LANE);
+                }
+                frontier.add(id);
+            }
+            int dir = finder.index;
+            while (!frontier.isEmpty() && !finder.isStop()) {
+                List<Integer> list = new ArrayList<>();
+                for (int id : frontier) {
+                    expand(dir, id, list);
+                    Arrays.fill(current, id * width, id * width + width, 0);
+                }
+                long[] tmp = current;
+                current = next;
+                next = tmp;
+                frontier = list;
+            }
+            return result();
+        }
+
+        /**
+         * Visit successors (index 0) or predecessors (index 1) of node id
+         * with the lanes of current frontier, nodes visited by a new lane are
+         * added to list
+         */
+        void expand(int dir, int id, List<Integer> list) {
+            Node node = nodeList.get(id);
+            for (Regex exp : MultiSourceSearch.this.list) {
+                boolean inverse = exp.isInverse() || exp.isReverse();
+                boolean isFirst = id < size;
+                for (Edge ent : finder.producer.getEdges(null, finder.from, finder.edge, finder.memory,
+                        exp, null, node, dir)) {
+                    if (ent == null) {
+                        continue;
+                    }
+                    Edge rel = inverse ? new EdgeInv(ent) : ent;
+                    if (isFirst) {
+                        if (!rel.getNode(dir).getDatatypeValue().sameTerm(node.getDatatypeValue())) {
+                            // source is not a node of the graph: Producer returns all edges
+                            break;
+                        }
+                        isFirst = false;
+                    }
+                    visit(id, define(rel.getNode(1 - dir)), list);
+                }
+                if (finder.isStop()) {
+                    return;
+                }
+            }
+        }
+
+        void visit(int id, int target, List<Integer> list) {
+            int from = id * width, to = target * width;
+            boolean isNew = false, isEmpty = true;
+            for (int w = 0; w < width; w++) {
+                if (next[to + w] != 0) {
+                    isEmpty = false;
+                }
+                long lanes = current[from + w] & ~visited[to + w];
+                if (lanes != 0) {
+                    visited[to + w] |= lanes;
+                    next[to + w] |= lanes;
+                    isNew = true;
+                }
+            }
+            if (isNew && isEmpty) {
+                list.add(target);
+            }
+        }
+
+        /**
+         * Solutions in source order, targets of a source in visit order
+         */
+        Mappings result() {
+            List<List<Node>> targets = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                targets.add(new ArrayList<>());
+            }
+            for (int id = 0; id < nodeList.size(); id++) {
+                for (int w = 0; w < width; w++) {
+                    long lanes = visited[id * width + w];
+                    while (lanes != 0) {
+                        int i = w * LANE + Long.numberOfTrailingZeros(lanes);
+                        lanes &= lanes - 1;
+                        if (!(isStar && id == i)) {
+                            targets.get(i).add(nodeList.get(id));
+                        }
+                    }
+                }
+            }
+            Mappings res = new Mappings();
+            for (int i = 0; i < size && !finder.isStop(); i++) {
+                Node source = sources.get(begin + i);
+                if (isStar) {
+                    add(res, source, source);
+                }
+                for (Node node : targets.get(i)) {
+                    add(res, source, node);
+                }
+            }
+            return res;
+        }
+
+        void add(Mappings res, Node start, Node target) {
+            Mapping map = finder.result(start, target);
+            if (map != null) {
+                res.add(map);
+            }
+        }
+
+        int define(Node node) {
+            Integer id;
+            if (node.getDatatypeValue().isLiteral()) {
+                id = literal.get(node);
+                if (id == null) {
+                    id = nodeList.size();
+                    literal.put(node, id);
+                    nodeList.add(node);
+                }
+            } else {
+                id = resource.get(node.getLabel());
+                if (id == null) {
+                    id = nodeList.size();
+                    resource.put(node.getLabel(), id);
+                    nodeList.add(node);
+                }
+            }
+            if ((id + 1) * width > visited.length) {
+                int length = 2 * visited.length;
+                visited = Arrays.copyOf(visited, length);
+                current = Arrays.copyOf(current, length);
+                next = Arrays.copyOf(next, length);
+            }
+            return id;
+        }
+    }
+
+}
@@ -22,7 +22,6 @@ import fr.inria.corese.kgram.core.Query;
 import fr.inria.corese.kgram.core.SparqlException;
 import fr.inria.corese.kgram.event.EventManager;
 import fr.inria.corese.kgram.event.ResultListener;
-import fr.inria.corese.kgram.tool.EdgeInv;
 import java.util.HashMap;
 
 import org.slf4j.Logger;
@@ -33,7 +32,7 @@ import org.slf4j.LoggerFactory;
  *
  * ?x rdf:resf * /rdf:first
  *
- * write paths in a synchronized buffer
+ * enumerate paths with a PathIterator in the thread of the caller
  *
  * ?x ^(p/q) ?y ::= ?y p/q ?x -> ?x inv(q)/inv(p) ?y
  *
@@ -52,8 +51,8 @@ import org.slf4j.LoggerFactory;
  *
  * Path Enumeration: ?x exp :: $path ?y graph $path {?a ?p ?b}
  *
- * Shortest path: ?x distinct short exp ?y ; ?x short exp ?y -- TODO: complete
- * short to get only shortest
+ * Shortest path: ?x distinct short exp ?y ; ?x short exp ?y
+ * with weights, subject or object bound: see ShortestPathSearch
  *
  * Path weight: ?x (rdf:first@2 / rdf:rest@1* / ^rdf:first@2) * ?y
  *
@@ -76,33 +75,29 @@ public class PathFinder {
 
     private static Logger logger = LoggerFactory.getLogger(PathFinder.class);
     public static long cedge = 0, cresult = 0, ctest = 0;
-    // thread that enumerates the path
-    private GraphPath path;
-    // synchronized buffer between this and projection
-    private Buffer mbuffer;
-    private Environment memory;
+    Environment memory;
     private EventManager manager;
-    private ResultListener listener;
-    private Eval kgram;
-    private Producer producer;
+    ResultListener listener;
+    Eval kgram;
+    Producer producer;
     private Matcher matcher;
     private Evaluator evaluator;
     private Query query;
     private Mappings lMap;
     HashMap<Integer, Mappings> store;
-    private Filter filter;
+    Filter filter;
     private Memory mem;
-    private Edge edge;
-    private Node gNode, targetNode, regexNode, varNode;
-    private List<Node> from;
-    private Node[] qNodes;
+    Edge edge;
+    Node gNode, targetNode, regexNode, varNode;
+    List<Node> from;
+    private Node[] qNodes, indexNodes;
     // index of node in edge that is the start of the path
-    private int index = 0;
+    int index = 0;
     // the inverse of the index (i.e. the other arg)
-    private int other;
+    int other;
     private boolean isStop = false,
-            hasEvent = false,
-            hasListener = false,
+            hasEvent = false;
+    boolean hasListener = false,
             // true if breadth first (else depth first)
             isBreadth,
             isDistinct = !true,
@@ -112,18 +107,19 @@ public class PathFinder {
             isReverse,
             isShort,
             isOne,
-            // if true: return list of path instead of thread buffer: 50% faster but enumerate all path
+            // if true: return list of path instead of path iterator: enumerate all path
             isList = false,
             checkLoop = false,
             isCountPath = false,
             isCache = !true,
             trace = true;
     private int maxLength = Integer.MAX_VALUE,
-            min = 0, max = maxLength,
-            userMin = -1,
+            min = 0;
+    int max = maxLength;
+    private int userMin = -1,
             userMax = -1;
     private int count = 0;
-    private Regex regexp1, regexp;
+    Regex regexp1, regexp;
     // depth or width first 
     private String mode = "";
     private final static String DISTINCT = "distinct";
@@ -324,8 +320,7 @@ public class PathFinder {
     }
 
     /**
-     * Enumerate all path, return a list of path 50% faster that thread but
-     * enumerate *all* path
+     * Enumerate all path, return a list of path
      */
     public Iterable<Mapping> candidate2(Node gNode, List<Node> from, Environment mem) {
         this.gNode = gNode;
@@ -340,7 +335,9 @@ public class PathFinder {
 
         //lMap.clear();
         lMap = new Mappings();
-        process(cstart, memory);
+        for (Mapping m : new PathIterator(this, cstart)) {
+            lMap.add(m);
+        }
         putMappings(cstart, lMap);
         return lMap;
     }
@@ -363,52 +360,73 @@ public class PathFinder {
     }
 
     /**
-     * Enumerate path in a parallel thread, return a synchronised buffer Useful
-     * if backjump or have a limit in sparql query
+     * Enumerate path one by one with a path iterator in the thread of the caller
+     * Useful if backjump or have a limit in sparql query
      */
     public Iterable<Mapping> candidate(Node gNode, List<Node> from, Environment env) {
         isStop = false;
         if (mem != null) {
             mem.setGraphNode(gNode);
         }
+        this.gNode = gNode;
+        this.from = from;
+        this.memory = env;
+        PathIndexSearch indexSearch = PathIndexSearch.create(this);
+        if (indexSearch != null) {
+            // reachability index of property
+            return indexSearch.candidate();
+        }
+        ShortestPathSearch shortSearch = ShortestPathSearch.create(this);
+        if (shortSearch != null) {
+            // short path with a bound node
+            return shortSearch.candidate();
+        }
+        BidirectionalSearch search = BidirectionalSearch.create(this);
+        if (search != null) {
+            // subject and object are bound
+            return search.candidate();
+        }
         if (isList) {
             return candidate2(gNode, from, env);
         }
+        return new PathIterator(this, get(env, index));
+    }
+
+    /**
+     * Start a multi source search of paths from the values of the start
+     * variable in data (see MultiSourceSearch)
+     * Return null when it does not apply, the path is computed by
+     * start() and candidate()
+     */
+    public MultiSourceSearch start(Edge edge, Node node, Memory env, Node gNode, List<Node> from, Mappings data) {
+        start(edge, node, env, null);
+        isStop = false;
+        if (mem != null) {
+            mem.setGraphNode(gNode);
+        }
         this.gNode = gNode;
         this.from = from;
         this.memory = env;
-        mstart(env);
-        // return path enumeration (read the synchronized buffer)
-        return mbuffer;
+        return MultiSourceSearch.create(this, data);
     }
 
     int getIndex() {
         return index;
     }
 
-    void mstart(Environment mem) {
-        //isStop = false;
-        // buffer store path enumeration
-        mbuffer = new Buffer();
-        // path enumeration in a thread 
-        path = new GraphPath(this, mem, mbuffer);
-        // launch path computing (one by one) eg launch process() below
-        path.start();
-    }
-
-    public void run() {
-        Node cstart = get(memory, index);
-        process(cstart, memory);
+    Evaluator getEvaluator() {
+        return evaluator;
     }
 
     public void stop() {
         isStop = true;
     }
 
-    public void interrupt() {
-        if (path != null) {
-            path.interrupt();
-        }
+    /**
+     * Path enumeration stops when this or Eval is stopped (limit, timeout)
+     */
+    boolean isStop() {
+        return isStop || (kgram != null && kgram.isStop());
     }
 
     /**
@@ -463,6 +481,11 @@ public class PathFinder {
         return edge;
     }
 
+    // filter pathLength($path) on min or max
+    boolean hasPathLength() {
+        return userMin != -1 || userMax != -1;
+    }
+
     /**
      * start at run time depends on index : which arg is bound or where we start
      */
@@ -492,35 +515,6 @@ public class PathFinder {
         return node;
     }
 
-    void process(Node cstart, Environment memory) {
-        // Is the source of edge bound ?
-        // In which case all path relations come from same source 
-        Node csource = null;
-        if (gNode != null) {
-            csource = gNode.isConstant() ? gNode : memory.getNode(gNode);
-            //csource = memory.getNode(gNode);
-        }
-
-        // the start concept for path
-        //Node cstart = get(memory, index);
-        Path path = new Path(isReverse);
-        path.setMax(max);
-        path.setIsShort(isShort);
-
-        if (isShort && cstart != null) {
-            // if null, will be done later
-            producer.initPath(edge, 0);
-        }
-
-        eval(regexp1, path, cstart, csource);
-
-        // in order to stop enumeration, return null
-        if (!isList) {
-            mbuffer.put(null, false);
-        }
-
-    }
-
     /**
      * Path result as a Mapping start and last nodes the path variable whose
      * index is used (e.g. pathLength) to retrieve the list of edges in the
@@ -628,7 +622,7 @@ public class PathFinder {
      * cstart is not bound when edge node is a constant, this case
      * is processed by Producer
      */
-    private Iterable<Node> getNodeIterator(Node cstart, Node csrc) {
+    Iterable<Node> getNodeIterator(Node cstart, Node csrc) {
         if (cstart == null) {
             return getNodeIterator(csrc, edge, from, null);
         } else {
@@ -723,376 +717,10 @@ public class PathFinder {
     /**
      * *******************************************************************************
      *
-     * New version interprets regex directly with a stack
+     * Regex is interpreted by PathIterator with an explicit stack of frames
      *
      *******************************************************************************
      */
-    /**
-     * rewrite ! (^ p) as ^ (! p) rewrite ^(p/q) as ^q/^p
-     */
-    void eval(Regex exp, Path path, Node start, Node src) {
-        Record stack = new Record(Visit.create(isReverse, isCountPath));
-        stack.push(exp);
-        try {
-            eval(stack, path, start, src);
-        } catch (StackOverflowError e) {
-            logger.error("** Property Path Size: " + path.size());
-            logger.error("** Property Path Error: \n" + e);
-        }
-    }
-
-    /**
-     * top of stack is current exp to eval rest of stack is in sequence path may
-     * be walked left to right if start is bound or right to left if end is
-     * bound in the later case, index = 1
-     */
-    void eval(Record stack, Path path, Node start, Node src) {
-        //trace(start.toString());
-
-        if (isStop) {
-            return;
-        }
-
-        if (stack.isEmpty()) {
-
-            if (stack.getTarget() != null) {
-                // this is a parallel path check, path is finished: stop it
-                if (start.match(stack.getTarget())) {
-                    // it is successful 
-                    stack.setSuccess(true);
-                }
-                return;
-            }
-
-            result(stack, path, start, src);
-            return;
-        }
-
-        Regex exp = stack.pop();
-
-        //System.out.println(exp.toString() + " " + start);
-
-        switch (exp.retype()) {
-
-            case Regex.TEST: {
-                // exp @[ ?this != <John> ]
-
-                boolean b = true;
-                
-                if (start != null) {
-                    //ctest ++;
-                    b = test(exp.getExpr().getFilter(), path, regexNode, start);
-                }
-
-                if (b) {
-                    eval(stack, path, start, src);
-                }
-                stack.push(exp);
-            }
-            break;
-
-
-            case Regex.LABEL:
-            case Regex.NOT: {
-
-                if (path.size() >= path.getMax()) {
-                    stack.push(exp);
-                    return;
-                }
-
-                boolean inverse = exp.isInverse() || exp.isReverse();
-                Producer pp = producer;
-                List<Node> ff = from;
-                Edge ee = edge;
-                Environment env = memory;
-                int ii = index, oo = other;
-                int pweight = path.weight(), eweight = exp.getWeight();
-                int size = path.size();
-
-                boolean hasFilter = filter != null,
-                        isStart = start == null,
-                        hasSource = size == 0 && src == null && gNode != null,
-                        hasHandler = hasListener,
-                        hasShort = isShort,
-                        hasOne = isOne;
-
-                Visit visit = stack.getVisit();
-                Node gg = gNode, previous = null;
-                ResultListener handler = listener;
-
-                for (Edge ent : pp.getEdges(gg, ff, ee, env, exp, src, start, ii)) {
-
-                    if (isStop) {
-                        stack.push(exp);
-                        return;
-                    }
-
-                    if (stack.isSuccess()) {
-                        // parallel path has succeeded: stop it
-                        stack.push(exp);
-                        return;
-                    }
-
-                    if (ent == null) {
-                        continue;
-                    }
-
-                    //cedge++;
-                    //trace(ent);
-
-                    Edge rel = ent;
-                    Node node = rel.getNode(ii);
-
-                    if (inverse) {
-                        EdgeInv ei = new EdgeInv(ent);
-                        rel = ei;
-                        ent = ei;
-                        node = rel.getNode(ii);
-                    }
-
-                    if (hasFilter && isStart) {
-                        // test a filter on the index node
-                        boolean test = test(rel.getNode(ii));
-                        if (!test) {
-                            continue;
-                        }
-                    }
-
-                    if (hasSource) {
-                        // first time: bind the common source of current path
-                        src = ent.getGraph();
-                    } else if (src != null && !ent.getGraph().match(src)) {
-                        // all relations need same source in one path
-                        continue;
-                    }
-
-                    if (isStart) {
-
-                        boolean isNew = previous == null || !previous.match(node);
-                        previous = node;
-
-                        if (isNew) {
-                            // clean the table of visited nodes as we have a new start node
-                            visit.start(node);
-                        }
-
-                        // visit start node
-                        visit.nstart(node);
-                        // in case there is e1 || e2
-                        stack.pushStart(node);
-
-
-                        if (hasShort) {
-                            // reset node length to zero when start changes
-                            if (isNew) {
-                                pp.initPath(ee, 0);
-                                visit.initPath();
-                            }
-                        }
-                    }
-
-
-                    if (hasShort) {
-                        // shortest path
-                        Node other = rel.getNode(oo);
-                        Integer l = visit.getLength(other, exp);
-                        int length = pweight + eweight;
-
-                        if (l == null) {
-                            visit.setLength(other, exp, length);
-                        } else if (length > l) {
-                            continue;
-                        } else if (hasOne && length == l) {
-                            continue;
-                        } else {
-                            visit.setLength(other, exp, length);
-                        }
-                    }
-
-                    if (hasHandler) {
-                        handler.enter(ent, exp, size);
-                    }
-                   
-                    path.add(ent, eweight);
-
-                    boolean suc = kgram.getVisitor().step(kgram, src, ee, path, path.firstNode(), path.lastNode());
-                    
-                    if (suc) {
-                        eval(stack, path, rel.getNode(oo), src);
-                    }
-                    
-                    path.remove(ent, eweight);
-
-                    if (hasHandler) {
-                        handler.leave(ent, exp, size);
-                    }
-
-                    if (isStart) {
-                        visit.nleave(node);
-                        stack.popStart();
-                    }
-
-                }
-
-
-
-                stack.push(exp);
-            }
-            break;
-
-            case Regex.SEQ: {
-
-                int fst = 0, rst = 1;
-                if (isReverse) {
-                    // path walk from right to left
-                    // index = 1
-                    // hence sequence walk from right to left
-                    // use case: ?x p/q <uri>
-                    fst = 1;
-                    rst = 0;
-                }
-
-                stack.push(exp.getArg(rst));
-                stack.push(exp.getArg(fst));
-
-                eval(stack, path, start, src);
-
-                stack.pop();
-                stack.pop();
-                stack.push(exp);
-
-            }
-            break;
-
-
-            case Regex.PARA:
-
-                // e1 || e2
-                if (start != null) {
-                    stack.pushStart(start);
-                }
-                // push check(e2) (para has a 3rd argument for check)
-                stack.push(exp.getArg(2));
-                // push e1
-                stack.push(exp.getArg(0));
-                eval(stack, path, start, src);
-                // pop e1
-                stack.pop();
-                // pop check(e2)
-                stack.pop();
-
-                if (start != null) {
-                    stack.popStart();
-                }
-                // push para
-                stack.push(exp);
-
-                break;
-
-
-
-            case Regex.CHECK:
-                // additional statement to perform checking after
-                // a standard operation occurs
-
-                Node target = start;
-                Regex test = exp.getArg(0);
-
-                switch (test.retype()) {
-
-                    case Regex.PARA:
-
-                        // check(e1 || e2)
-                        // e1 has computed a path from former start to this start (which is now target of e2)
-                        // check there is a parallel path e2 from start to target
-                        // create new Record to check loop specific to path e2 
-                        Record st = new Record(Visit.create(isReverse, isCountPath));
-                        // push e2
-                        st.push(test.getArg(1));
-                        st.setTarget(target);
-                        // retrieve the common start of path e1 and e2
-                        Node prev = stack.getStart();
-
-                        eval(st, path, prev, src);
-
-                        if (st.isSuccess()) {
-                            eval(stack, path, start, src);
-                        }
-
-                        stack.push(exp);
-                        break;
-
-
-
-                    case Regex.OPTION:
-                        // check that target has not already been reached by option
-                        // because sparql 1.1 option is not counting 
-
-                        if (stack.getVisit().nloop(test, target)) {
-                            // target already reached: 
-                            // do nothing and backtrack
-                        } else {
-                            eval(stack, path, start, src);
-                        }
-
-                        stack.push(exp);
-                        break;
-                }
-
-
-                break;
-
-
-
-            case Regex.PLUS:
-                // exp+
-                if (start == null && stack.getVisit().knows(exp)) {
-                    stack.push(exp);
-                    return;
-                }
-                plus(exp, stack, path, start, src);
-                break;
-
-
-            case Regex.COUNT:
-                // exp{1,n}
-                count(exp, stack, path, start, src);
-                break;
-
-
-            case Regex.STAR:
-                // exp*
-                if (start == null && stack.getVisit().knows(exp)) {
-                    stack.push(exp);
-                    return;
-                }
-                star(exp, stack, path, start, src);
-                break;
-
-
-            case Regex.ALT:
-
-                stack.push(exp.getArg(0));
-                eval(stack, path, start, src);
-                stack.pop();
-
-                stack.push(exp.getArg(1));
-                eval(stack, path, start, src);
-                stack.pop();
-
-                stack.push(exp);
-                break;
-
-
-            case Regex.OPTION:
-
-                option(exp, stack, path, start, src);
-                break;
-
-        }
-
-    }
-
     Regex test(Regex exp) {
 
         return exp;
@@ -1116,291 +744,62 @@ public class PathFinder {
         return b;
     }
 
-    void result(Record stack, Path path, Node start, Node src) {
-
-        if (path.size() > 0) {
-            if (isDistinct) {
-                // distinct (start,target)
-                if (!isDistinct(stack, path.firstNode(), path.lastNode())) {
-                    return;
-                }
-            }
-
-            boolean store = true;
-            if (hasListener) {
-                store = listener.process(path);
-            }
-
-            if (store) {
-                Mapping map = result(path, gNode, src, start, isReverse);
-                if (map != null) {
-                    result(src, map);
-                }
-            }
-        } else {
-            resultNode(stack, path, start, src);
-        }
-    }
-    
-    
-     void resultNode(Record stack, Path path, Node start, Node src) {
-        for (Node node : getNodeIterator(start, src)) {
-
-            if (isStop) {
-                return;
-            }
-
-            if (node != null) {
-                if (gNode != null) {
-                    src = node.getGraph();
-                }
-                Mapping m = result(path, gNode, src, node, isReverse);
-
-                if (m != null) {
-                    result(src, m);
-                }
+    /**
+     * Solution of a path of length > 0, null if it is rejected
+     */
+    Mapping result(Record stack, Path path, Node start, Node src) {
+        if (isDistinct) {
+            // distinct (start,target)
+            if (!isDistinct(stack, path.firstNode(), path.lastNode())) {
+                return null;
             }
         }
-    }
-
-    void result(Node src, Mapping map) {
-        kgram.getVisitor().path(kgram, src, edge, map.getPath(2), map.getNode(0), map.getNode(1));
-        if (isList) {
-            lMap.add(map);
-        } else {
-            mbuffer.put(map, true);
+        if (hasListener && !listener.process(path)) {
+            return null;
         }
-    }
-
-    void option(Regex exp, Record stack, Path path, Node start, Node src) {
-
-        if (stack.getVisit().nloop(exp, start)) {
-            stack.push(exp);
-            return;
+        Mapping map = result(path, gNode, src, start, isReverse);
+        if (map == null) {
+            return null;
         }
-
-        // skip option
-        eval(stack, path, start, src);
-
-        // with option
-        // push check:
-        stack.push(exp.getArg(1));
-        stack.push(exp.getArg(0));
-        eval(stack, path, start, src);
-
-        // pop exp and check
-        stack.pop();
-        stack.pop();
-        stack.push(exp);
-
-        stack.getVisit().nunset(exp);
-
+        return solution(src, map);
     }
 
     /**
-     * exp*
+     * Solution of a path of length 0 on node, null if it is rejected
      */
-    void star(Regex exp, Record stack, Path path, Node start, Node src) {
-
-        // start is the first node of exp*
-        boolean isFirst = stack.getVisit().nfirst(exp);
-
-        if (stack.getVisit().nloop(exp, start)) {
-            // start already met in exp path: stop
-            stack.push(exp);
-            return;
-        }
-
-        // use case: (p*/q)*
-        // we must save each visited of p*
-        // because it expands to p*/q . p*/q ...
-        // and each occurrence of p* must have its own visited 
-
-        Visit.VisitedNode save = stack.getVisit().nunset(exp);
-        eval(stack, path, start, src);
-        stack.getVisit().nset(exp, save);
-
-        // first step: zero length 
-        //eval(stack, path, start, src);
-
-        // restore exp*
-        stack.push(exp);
-        // push exp
-        stack.push(exp.getArg(0));
-        // second step: eval exp once more
-        eval(stack, path, start, src);
-        // restore stack (exp* on top)
-        stack.pop();
-
-        stack.getVisit().nremove(exp, start);
-        if (isFirst) {
-            stack.getVisit().nunset(exp);
+    Mapping result(Path path, Node src, Node node) {
+        Mapping map = result(path, gNode, src, node, isReverse);
+        if (map == null) {
+            return null;
         }
+        return solution(src, map);
     }
 
     /**
-     * exp = exp+ ; stack = rest
-     * Distinguish 1. first execution where index(exp+) = 0  and 2. next executions where index(exp+) = 1
-     * 1.    stack := (exp, exp+, rest) ; eval(stack)
-     * 2. a) stack = (rest) ; eval(stack) b) stack := (exp, exp+, rest) ; eval(stack)
-     * 
-     * In addition there are two cases whether start node is bound or not
-     * If start is bound, OK
-     * If start is not bound, it will be bound by case LABEL: above
-     * ?x p+ ?y 
-     * When index(p+) = 0, start is not bound, execute(p/p+). When we come back to p+ in the stack, 
+     * Solution from start to target given by a path index, there is no path
+     * (see PathIndexSearch)
      */
-    void plus(Regex exp, Record stack, Path path, Node start, Node src) {
-        Visit visit = stack.getVisit();
-        // start is the first node of exp+
-        boolean isFirst = visit.nfirst(exp);
-        
-        if (visit.count(exp) == 0) {
-            // case 1: first execution of exp+
-
-            // declare exp such that when start node changes (in case LABEL:)
-            // the visitedNode table of exp be cleared by visit.start()
-            visit.declare(exp);
-
-            // push exp+ again in stack to loop later
-            stack.push(exp);
-            // assign index=1 to exp+, hence exp+ will be executed by case 2 below
-            visit.count(exp, +1);
-            // push exp to execute it now
-            stack.push(exp.getArg(0));
-            // execute exp ; stack = (exp, exp+, rest) ; exp+ will be executed by case 2 below
-            eval(stack, path, start, src);
-            stack.pop();
-            visit.count(exp, -1);
-
-            if (!isCountPath) { 
-                // std sparql
-                // leave exp+
-                visit.nremove(exp, start);
-            }
-
-        } else {
-            // case 2:
-            // next execution of exp+ after first one
-            if (visit.nloop(exp, start)) {
-                stack.push(exp);
-                return;
-            }
-            // we have executed exp at least once
-            // exp = exp+ ; stack = (rest)
-            // (1) evaluate the stack if any and store result
-            // use case: eval rest in: exp+ / rest
-            // switch off exp+ visitedNode table in case: (exp1+/exp2+)+
-            // exp1 would be ready to start "again" with "new" visitedNode table
-            Visit.VisitedNode save = visit.nunset(exp);
-            visit.set(exp, 0);
-
-            // eval rest
-            eval(stack, path, start, src);
-            
-            // switch on exp+ index and visitedNode table
-            visit.set(exp, 1);
-            visit.nset(exp, save);
-            
-            // (2) loop again
-            // push exp+
-            stack.push(exp);
-            // push exp
-            stack.push(exp.getArg(0));
-            // stack = (exp, exp+, rest) ; eval(stack)
-            eval(stack, path, start, src);
-            stack.pop();
-
-            //
-            visit.nremove(exp, start);
+    Mapping result(Node start, Node target) {
+        Node n0 = isReverse ? target : start;
+        Node n1 = isReverse ? start : target;
+        if (!check(n0, n1)) {
+            return null;
         }
-
-        if (isFirst) {
-            //visit.nunset(exp); // @todo
+        if (indexNodes == null) {
+            indexNodes = new Node[]{edge.getNode(0), edge.getNode(1)};
         }
+        return Mapping.create(indexNodes, new Node[]{n0, n1});
+    }
 
+    Mapping solution(Node src, Mapping map) {
+        kgram.getVisitor().path(kgram, src, edge, map.getPath(2), map.getNode(0), map.getNode(1));
+        return map;
     }
 
     void trace(Object str) {
         System.out.println("** PF: " + str);
     }
 
-    /**
-     * exp{n,m} exp{n,}
-     */
-    void count(Regex exp, Record stack, Path path, Node start, Node src) {
-
-        if (stack.getVisit().count(exp) >= exp.getMin()) {
-
-            if (checkLoop(exp)) {
-                if (stack.getVisit().nloop(exp, start)) {
-                    stack.push(exp);
-                    return;
-                }
-            }
-
-            // min length is reached, can leave
-            int save = stack.getVisit().count(exp);
-            stack.getVisit().set(exp, 0);
-            eval(stack, path, start, src);
-            stack.getVisit().set(exp, save);
-
-            stack.push(exp);
-
-            if (stack.getVisit().count(exp) < exp.getMax()) {
-                // max length not reached, can continue
-
-                stack.getVisit().count(exp, +1);
-                stack.push(exp.getArg(0));
-                eval(stack, path, start, src);
-                stack.pop();
-                stack.getVisit().count(exp, -1);
-            }
-
-            if (checkLoop(exp)) {
-                stack.getVisit().nremove(exp, start);
-            }
-
-        } else {
-            // count(exp) < exp.getMin()
-
-            if (isReverse) {
-                if (checkLoop(exp)) {
-                    // use case: ?x exp{2,} <uri>
-                    // path goes backward
-                    stack.getVisit().ninsert(exp, start);
-                }
-            } // TODO: draft
-            else if (checkLoop) {
-                if (stack.getVisit().nloop(exp, start)) {
-                    stack.push(exp);
-                    return;
-                }
-            }
-
-
-            stack.push(exp);
-
-            stack.getVisit().count(exp, +1);
-            stack.push(exp.getArg(0));
-            eval(stack, path, start, src);
-            stack.pop();
-            stack.getVisit().count(exp, -1);
-
-            if (isReverse) {
-                if (checkLoop(exp)) {
-                    // use case: ?x exp{2,} <uri>
-                    // path goes backward
-                    stack.getVisit().nremove(exp, start);
-                }
-            } // TODO: draft
-            else if (checkLoop) {
-                stack.getVisit().nremove(exp, start);
-            }
-        }
-
-    }
-
     Regex star(Regex exp) {
         return exp;
     }
@@ -0,0 +1,139 @@
+package fr.inria.corese.kgram.path;
+
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.api.core.Regex;
+import fr.inria.corese.kgram.api.query.PathIndex;
+import fr.inria.corese.kgram.core.Mapping;
+import fr.inria.corese.kgram.core.Mappings;
+import fr.inria.corese.kgram.core.ProcessVisitorDefault;
+
+/**
+ * Property path p+ p* (^p)+ (^p)* where p is a property and subject or
+ * object is bound (variable bound or constant) answered by the
+ * reachability index of p provided by Producer getPathIndex().
+ * use case: ?x rdfs:subClassOf* us:Person
+ *
+ * Solutions are the same as those of PathIterator: each reachable node
+ * once, the bound node for the path of length 0 of p*.
+ * The path itself is not computed hence there is no user path variable
+ * (?x p+ :: ?path ?y). Bound subject or object is not a literal (literals
+ * with same value share node index).
+ * Not used with named graph, short path, count path, path listener, event
+ * visitor and path length constraint.
+ * Producer returns null when there is no index for p: PathFinder computes
+ * the paths.
+ *
+ */
+public class PathIndexSearch {
+
+    public static boolean PATH_INDEX = true;
+
+    private PathFinder finder;
+    private PathIndex pathIndex;
+    // p is ^p
+    private boolean isReverse;
+
+    PathIndexSearch(PathFinder pf, PathIndex pi, boolean rev) {
+        finder = pf;
+        pathIndex = pi;
+        isReverse = rev;
+    }
+
+    /**
+     * Return a search if the path can be answered by an index, null otherwise
+     */
+    static PathIndexSearch create(PathFinder pf) {
+        if (!PATH_INDEX || pf.gNode != null || pf.isShort || pf.isCountPath
+                || pf.hasListener || pf.hasPathLength()
+                || pf.kgram == null || pf.kgram.getVisitor().getClass() != ProcessVisitorDefault.class) {
+            return null;
+        }
+        if (pf.varNode != null && !pf.varNode.isBlank()) {
+            // user path variable
+            return null;
+        }
+        Regex exp = pf.regexp1;
+        if (exp.retype() != Regex.PLUS && exp.retype() != Regex.STAR) {
+            return null;
+        }
+        Regex arg = exp.getArg(0);
+        if (arg.retype() != Regex.LABEL || arg.isInverse()) {
+            return null;
+        }
+        Node qStart = pf.edge.getNode(pf.index);
+        Node start = qStart.isConstant() ? qStart : pf.memory.getNode(qStart);
+        if (start == null || start.getDatatypeValue().isLiteral()) {
+            return null;
+        }
+        Node qNode = pf.edge.getNode(pf.other);
+        if (!qNode.isConstant() && pf.memory.getNode(qNode) == null
+                && qNode.getLabel().equals(qStart.getLabel())) {
+            // ?x p+ ?x
+            return null;
+        }
+        PathIndex pi = pf.producer.getPathIndex(pf.gNode, pf.from, pf.edge, pf.memory, arg);
+        if (pi == null) {
+            return null;
+        }
+        return new PathIndexSearch(pf, pi, arg.isReverse());
+    }
+
+    Iterable<Mapping> candidate() {
+        Mappings res = new Mappings();
+        Node start = node(finder.index);
+        Node target = node(finder.other);
+        if (finder.regexp1.retype() == Regex.STAR) {
+            // path of length 0
+            for (Node node : finder.getNodeIterator(finder.get(finder.memory, finder.index), null)) {
+                if (node != null) {
+                    Mapping map = finder.result(new Path(finder.isReverse), null, node);
+                    if (map != null) {
+                        res.add(map);
+                        if (target != null) {
+                            return res;
+                        }
+                    }
+                }
+            }
+        }
+        // search from subject (0) or from object (1) of p
+        int index = (finder.index == 0) != isReverse ? 0 : 1;
+        if (target == null || target.getDatatypeValue().isLiteral()) {
+            // literal target is checked by PathFinder as PathIterator does
+            boolean star = finder.regexp1.retype() == Regex.STAR;
+            for (Node node : pathIndex.reach(start, index)) {
+                if (finder.isStop()) {
+                    break;
+                }
+                if (star && node.getDatatypeValue().sameTerm(start.getDatatypeValue())) {
+                    // start node on a cycle is the solution of length 0
+                    continue;
+                }
+                add(res, start, node);
+            }
+        } else if ((index == 0) ? pathIndex.reach(start, target) : pathIndex.reach(target, start)) {
+            add(res, start, target);
+        }
+        return res;
+    }
+
+    /**
+     * Value of subject (0) or object (1), graph node of a constant, null if
+     * unbound
+     */
+    Node node(int i) {
+        Node qNode = finder.edge.getNode(i);
+        if (qNode.isConstant()) {
+            return finder.producer.getNode(qNode.getDatatypeValue());
+        }
+        return finder.memory.getNode(qNode);
+    }
+
+    void add(Mappings res, Node start, Node target) {
+        Mapping map = finder.result(start, target);
+        if (map != null) {
+            res.add(map);
+        }
+    }
+
+}
@@ -0,0 +1,704 @@
+package fr.inria.corese.kgram.path;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.api.core.Regex;
+import fr.inria.corese.kgram.core.Mapping;
+import fr.inria.corese.kgram.tool.EdgeInv;
+import java.util.Iterator;
+
+/**
+ * Pull based enumeration of property path solutions in the thread of the
+ * caller (see PathFinder candidate())
+ *
+ * Regex interpreter: eval(stack, path, start, src) evaluates the regex on top
+ * of the stack from start node, the rest of the stack is the rest of the
+ * sequence. Each call to eval is a Frame of an explicit stack of frames, the
+ * state of a Frame records where to resume when the called Frame is finished.
+ * next() runs frames until a path solution is found and returns it, next
+ * call to next() resumes evaluation. Frames share the Record stack of regex,
+ * the Visit tables of loop check and the current Path.
+ * Enumeration stops when PathFinder or Eval is stopped (limit, timeout).
+ *
+ */
+public class PathIterator implements Iterable<Mapping>, Iterator<Mapping> {
+
+    // frame states
+    static final int EVAL = 0;
+    static final int TEST_END = 1;
+    static final int LABEL = 2;
+    static final int LABEL_NEXT = 3;
+    static final int SEQ_END = 4;
+    static final int PARA_END = 5;
+    static final int CHECK_PARA = 6;
+    static final int CHECK_END = 7;
+    static final int PLUS_FIRST_END = 8;
+    static final int PLUS_REST_END = 9;
+    static final int PLUS_END = 10;
+    static final int COUNT_REST_END = 11;
+    static final int COUNT_END = 12;
+    static final int COUNT_MIN_END = 13;
+    static final int STAR_ZERO_END = 14;
+    static final int STAR_END = 15;
+    static final int ALT_FIRST_END = 16;
+    static final int ALT_END = 17;
+    static final int OPTION_SKIP_END = 18;
+    static final int OPTION_END = 19;
+    static final int RESULT_NODE = 20;
+
+    private PathFinder finder;
+    private Path path;
+    private Frame[] frames;
+    private int top = -1;
+    private Mapping next;
+    private boolean done = false;
+
+    /**
+     * Eval call: regex stack, start node, source of path edges (named graph)
+     * and local variables of the call
+     */
+    class Frame {
+
+        int state;
+        Record stack;
+        Node start, src;
+        Regex exp;
+        // LABEL
+        Iterator<Edge> it;
+        Edge ent;
+        Node node, previous;
+        boolean inverse, isStart, hasSource;
+        int pweight, eweight, size;
+        // PLUS STAR COUNT
+        boolean isFirst;
+        int count;
+        Visit.VisitedNode save;
+        // CHECK of e1 || e2
+        Record check;
+        // path of length 0
+        Iterator<Node> nodes;
+
+        void init(Record stack, Node start, Node src) {
+            state = EVAL;
+            this.stack = stack;
+            this.start = start;
+            this.src = src;
+            exp = null;
+            it = null;
+            ent = null;
+            node = null;
+            previous = null;
+            save = null;
+            check = null;
+            nodes = null;
+        }
+    }
+
+    PathIterator(PathFinder pf, Node start) {
+        finder = pf;
+        frames = new Frame[16];
+        // Is the source of edge bound ?
+        // In which case all path relations come from same source
+        Node src = null;
+        if (pf.gNode != null) {
+            src = pf.gNode.isConstant() ? pf.gNode : pf.memory.getNode(pf.gNode);
+        }
+        path = new Path(pf.isReverse);
+        path.setMax(pf.max);
+        path.setIsShort(pf.isShort);
+        if (pf.isShort && start != null) {
+            // if null, will be done later
+            pf.producer.initPath(pf.edge, 0);
+        }
+        Record stack = new Record(Visit.create(pf.isReverse, pf.isCountPath));
+        stack.push(pf.regexp1);
+        call(stack, start, src);
+    }
+
+    @Override
+    public Iterator<Mapping> iterator() {
+        return this;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !done) {
+            next = compute();
+            done = next == null;
+        }
+        return next != null;
+    }
+
+    @Override
+    public Mapping next() {
+        hasNext();
+        Mapping map = next;
+        next = null;
+        return map;
+    }
+
+    /**
+     * Run frames until next path solution
+     */
+    Mapping compute() {
+        while (top >= 0) {
+            if (finder.isStop()) {
+                top = -1;
+                return null;
+            }
+            Mapping map = step(frames[top]);
+            if (map != null) {
+                return map;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Call eval(stack, path, start, src)
+     */
+    void call(Record stack, Node start, Node src) {
+        if (++top == frames.length) {
+            Frame[] tmp = new Frame[2 * frames.length];
+            System.arraycopy(frames, 0, tmp, 0, frames.length);
+            frames = tmp;
+        }
+        if (frames[top] == null) {
+            frames[top] = new Frame();
+        }
+        frames[top].init(stack, start, src);
+    }
+
+    /**
+     * Call eval(stack, path, start, src) from frame f which resumes with state
+     */
+    void call(Frame f, int state, Record stack, Node start, Node src) {
+        f.state = state;
+        call(stack, start, src);
+    }
+
+    /**
+     * Return from current frame
+     */
+    Mapping ret() {
+        frames[top].it = null;
+        frames[top].nodes = null;
+        top--;
+        return null;
+    }
+
+    /**
+     * Push back regex of frame and return
+     */
+    Mapping end(Frame f) {
+        f.stack.push(f.exp);
+        return ret();
+    }
+
+    Mapping step(Frame f) {
+        Record stack = f.stack;
+        Visit visit = stack.getVisit();
+        Regex exp = f.exp;
+
+        switch (f.state) {
+
+            case EVAL:
+                return eval(f);
+
+            case LABEL:
+                return label(f);
+
+            case LABEL_NEXT:
+                leave(f);
+                f.state = LABEL;
+                return null;
+
+            case TEST_END:
+            case CHECK_END:
+                return end(f);
+
+            case SEQ_END:
+                stack.pop();
+                stack.pop();
+                return end(f);
+
+            case PARA_END:
+                // pop e1 and check(e2)
+                stack.pop();
+                stack.pop();
+                if (f.start != null) {
+                    stack.popStart();
+                }
+                return end(f);
+
+            case CHECK_PARA:
+                if (f.check.isSuccess()) {
+                    call(f, CHECK_END, stack, f.start, f.src);
+                    return null;
+                }
+                return end(f);
+
+            case PLUS_FIRST_END:
+                stack.pop();
+                visit.count(exp, -1);
+                if (!finder.isCountPath) {
+                    // std sparql
+                    // leave exp+
+                    visit.nremove(exp, f.start);
+                }
+                return ret();
+
+            case PLUS_REST_END:
+                // switch on exp+ index and visitedNode table
+                visit.set(exp, 1);
+                visit.nset(exp, f.save);
+                // loop again
+                stack.push(exp);
+                stack.push(exp.getArg(0));
+                call(f, PLUS_END, stack, f.start, f.src);
+                return null;
+
+            case PLUS_END:
+                stack.pop();
+                visit.nremove(exp, f.start);
+                return ret();
+
+            case COUNT_REST_END:
+                visit.set(exp, f.count);
+                stack.push(exp);
+                if (visit.count(exp) < exp.getMax()) {
+                    // max length not reached, can continue
+                    visit.count(exp, +1);
+                    stack.push(exp.getArg(0));
+                    call(f, COUNT_END, stack, f.start, f.src);
+                    return null;
+                }
+                if (finder.checkLoop(exp)) {
+                    visit.nremove(exp, f.start);
+                }
+                return ret();
+
+            case COUNT_END:
+                stack.pop();
+                visit.count(exp, -1);
+                if (finder.checkLoop(exp)) {
+                    visit.nremove(exp, f.start);
+                }
+                return ret();
+
+            case COUNT_MIN_END:
+                stack.pop();
+                visit.count(exp, -1);
+                if (finder.isReverse) {
+                    if (finder.checkLoop(exp)) {
+                        visit.nremove(exp, f.start);
+                    }
+                } else if (finder.checkLoop) {
+                    visit.nremove(exp, f.start);
+                }
+                return ret();
+
+            case STAR_ZERO_END:
+                visit.nset(exp, f.save);
+                // restore exp*
+                stack.push(exp);
+                // eval exp once more
+                stack.push(exp.getArg(0));
+                call(f, STAR_END, stack, f.start, f.src);
+                return null;
+
+            case STAR_END:
+                stack.pop();
+                visit.nremove(exp, f.start);
+                if (f.isFirst) {
+                    visit.nunset(exp);
+                }
+                return ret();
+
+            case ALT_FIRST_END:
+                stack.pop();
+                stack.push(exp.getArg(1));
+                call(f, ALT_END, stack, f.start, f.src);
+                return null;
+
+            case ALT_END:
+                stack.pop();
+                return end(f);
+
+            case OPTION_SKIP_END:
+                // with option: push check
+                stack.push(exp.getArg(1));
+                stack.push(exp.getArg(0));
+                call(f, OPTION_END, stack, f.start, f.src);
+                return null;
+
+            case OPTION_END:
+                stack.pop();
+                stack.pop();
+                stack.push(exp);
+                visit.nunset(exp);
+                return ret();
+
+            case RESULT_NODE:
+                return resultNode(f);
+        }
+        return ret();
+    }
+
+    /**
+     * Top of stack is current exp to eval, rest of stack is in sequence.
+     * Path may be walked left to right if start is bound or right to left if
+     * end is bound, in the later case, index = 1
+     */
+    Mapping eval(Frame f) {
+        Record stack = f.stack;
+        Node start = f.start;
+
+        if (stack.isEmpty()) {
+            if (stack.getTarget() != null) {
+                // this is a parallel path check, path is finished: stop it
+                if (start.match(stack.getTarget())) {
+                    stack.setSuccess(true);
+                }
+                return ret();
+            }
+            if (path.size() > 0) {
+                Mapping map = finder.result(stack, path, start, f.src);
+                ret();
+                return map;
+            }
+            f.nodes = finder.getNodeIterator(start, f.src).iterator();
+            f.state = RESULT_NODE;
+            return null;
+        }
+
+        Regex exp = stack.pop();
+        f.exp = exp;
+        Visit visit = stack.getVisit();
+
+        switch (exp.retype()) {
+
+            case Regex.TEST:
+                // exp @[ ?this != <John> ]
+                if (start == null || finder.test(exp.getExpr().getFilter(), path, finder.regexNode, start)) {
+                    call(f, TEST_END, stack, start, f.src);
+                    return null;
+                }
+                return end(f);
+
+            case Regex.LABEL:
+            case Regex.NOT:
+                if (path.size() >= path.getMax()) {
+                    return end(f);
+                }
+                f.inverse = exp.isInverse() || exp.isReverse();
+                f.pweight = path.weight();
+                f.eweight = exp.getWeight();
+                f.size = path.size();
+                f.isStart = start == null;
+                f.hasSource = f.size == 0 && f.src == null && finder.gNode != null;
+                f.it = finder.producer.getEdges(finder.gNode, finder.from, finder.edge, finder.memory,
+                        exp, f.src, start, finder.index).iterator();
+                f.state = LABEL;
+                return null;
+
+            case Regex.SEQ:
+                int fst = 0, rst = 1;
+                if (finder.isReverse) {
+                    // path walk from right to left
+                    // use case: ?x p/q <uri>
+                    fst = 1;
+                    rst = 0;
+                }
+                stack.push(exp.getArg(rst));
+                stack.push(exp.getArg(fst));
+                call(f, SEQ_END, stack, start, f.src);
+                return null;
+
+            case Regex.PARA:
+                // e1 || e2
+                if (start != null) {
+                    stack.pushStart(start);
+                }
+                // push check(e2) (para has a 3rd argument for check)
+                stack.push(exp.getArg(2));
+                // push e1
+                stack.push(exp.getArg(0));
+                call(f, PARA_END, stack, start, f.src);
+                return null;
+
+            case Regex.CHECK:
+                Regex test = exp.getArg(0);
+                switch (test.retype()) {
+                    case Regex.PARA:
+                        // check(e1 || e2)
+                        // e1 has computed a path from former start to this start (which is now target of e2)
+                        // check there is a parallel path e2 from start to target
+                        // with a new Record for loop check specific to path e2
+                        f.check = new Record(Visit.create(finder.isReverse, finder.isCountPath));
+                        f.check.push(test.getArg(1));
+                        f.check.setTarget(start);
+                        call(f, CHECK_PARA, f.check, stack.getStart(), f.src);
+                        return null;
+
+                    case Regex.OPTION:
+                        // check that target has not already been reached by option
+                        // because sparql 1.1 option is not counting
+                        if (visit.nloop(test, start)) {
+                            return end(f);
+                        }
+                        call(f, CHECK_END, stack, start, f.src);
+                        return null;
+                }
+                return ret();
+
+            case Regex.PLUS:
+                // exp+
+                if (start == null && visit.knows(exp)) {
+                    return end(f);
+                }
+                return plus(f);
+
+            case Regex.COUNT:
+                // exp{n,m}
+                return count(f);
+
+            case Regex.STAR:
+                // exp*
+                if (start == null && visit.knows(exp)) {
+                    return end(f);
+                }
+                return star(f);
+
+            case Regex.ALT:
+                stack.push(exp.getArg(0));
+                call(f, ALT_FIRST_END, stack, start, f.src);
+                return null;
+
+            case Regex.OPTION:
+                if (visit.nloop(exp, start)) {
+                    return end(f);
+                }
+                // skip option
+                call(f, OPTION_SKIP_END, stack, start, f.src);
+                return null;
+        }
+        return ret();
+    }
+
+    /**
+     * Enumerate edges of exp from start node
+     */
+    Mapping label(Frame f) {
+        Record stack = f.stack;
+        Visit visit = stack.getVisit();
+        PathFinder pf = finder;
+
+        while (f.it.hasNext()) {
+            if (pf.isStop() || stack.isSuccess()) {
+                // parallel path has succeeded: stop it
+                break;
+            }
+            Edge ent = f.it.next();
+            if (ent == null) {
+                continue;
+            }
+            Edge rel = ent;
+            Node node = rel.getNode(pf.index);
+
+            if (f.inverse) {
+                EdgeInv ei = new EdgeInv(ent);
+                rel = ei;
+                ent = ei;
+                node = rel.getNode(pf.index);
+            }
+
+            if (pf.filter != null && f.isStart && !pf.test(node)) {
+                // test a filter on the index node
+                continue;
+            }
+
+            if (f.hasSource) {
+                // first time: bind the common source of current path
+                f.src = ent.getGraph();
+            } else if (f.src != null && !ent.getGraph().match(f.src)) {
+                // all relations need same source in one path
+                continue;
+            }
+
+            if (f.isStart) {
+                boolean isNew = f.previous == null || !f.previous.match(node);
+                f.previous = node;
+                if (isNew) {
+                    // clean the table of visited nodes as we have a new start node
+                    visit.start(node);
+                }
+                // visit start node
+                visit.nstart(node);
+                // in case there is e1 || e2
+                stack.pushStart(node);
+                if (pf.isShort && isNew) {
+                    // reset node length to zero when start changes
+                    pf.producer.initPath(pf.edge, 0);
+                    visit.initPath();
+                }
+            }
+
+            if (pf.isShort) {
+                // shortest path
+                Node other = rel.getNode(pf.other);
+                Integer l = visit.getLength(other, f.exp);
+                int length = f.pweight + f.eweight;
+                if (l == null) {
+                    visit.setLength(other, f.exp, length);
+                } else if (length > l) {
+                    continue;
+                } else if (pf.isOne && length == l) {
+                    continue;
+                } else {
+                    visit.setLength(other, f.exp, length);
+                }
+            }
+
+            if (pf.hasListener) {
+                pf.listener.enter(ent, f.exp, f.size);
+            }
+            path.add(ent, f.eweight);
+            f.ent = ent;
+            f.node = node;
+
+            if (pf.kgram.getVisitor().step(pf.kgram, f.src, pf.edge, path, path.firstNode(), path.lastNode())) {
+                call(f, LABEL_NEXT, stack, rel.getNode(pf.other), f.src);
+                return null;
+            }
+            leave(f);
+        }
+        return end(f);
+    }
+
+    void leave(Frame f) {
+        path.remove(f.ent, f.eweight);
+        if (finder.hasListener) {
+            finder.listener.leave(f.ent, f.exp, f.size);
+        }
+        if (f.isStart) {
+            f.stack.getVisit().nleave(f.node);
+            f.stack.popStart();
+        }
+    }
+
+    /**
+     * exp = exp+ ; stack = rest
+     * 1. first execution where count(exp+) = 0
+     * stack := (exp, exp+, rest) ; eval(stack)
+     * 2. next executions where count(exp+) = 1
+     * a) stack = (rest) ; eval(stack) b) stack := (exp, exp+, rest) ; eval(stack)
+     */
+    Mapping plus(Frame f) {
+        Record stack = f.stack;
+        Visit visit = stack.getVisit();
+        Regex exp = f.exp;
+        // start is the first node of exp+
+        f.isFirst = visit.nfirst(exp);
+
+        if (visit.count(exp) == 0) {
+            // declare exp such that when start node changes
+            // the visitedNode table of exp be cleared by visit.start()
+            visit.declare(exp);
+            // push exp+ again in stack to loop later
+            stack.push(exp);
+            visit.count(exp, +1);
+            stack.push(exp.getArg(0));
+            call(f, PLUS_FIRST_END, stack, f.start, f.src);
+            return null;
+        }
+        if (visit.nloop(exp, f.start)) {
+            return end(f);
+        }
+        // eval rest with exp+ visitedNode table switched off
+        // use case: (exp1+/exp2+)+
+        f.save = visit.nunset(exp);
+        visit.set(exp, 0);
+        call(f, PLUS_REST_END, stack, f.start, f.src);
+        return null;
+    }
+
+    /**
+     * exp{n,m} exp{n,}
+     */
+    Mapping count(Frame f) {
+        Record stack = f.stack;
+        Visit visit = stack.getVisit();
+        Regex exp = f.exp;
+
+        if (visit.count(exp) >= exp.getMin()) {
+            if (finder.checkLoop(exp) && visit.nloop(exp, f.start)) {
+                return end(f);
+            }
+            // min length is reached, can leave
+            f.count = visit.count(exp);
+            visit.set(exp, 0);
+            call(f, COUNT_REST_END, stack, f.start, f.src);
+            return null;
+        }
+        // count(exp) < exp.getMin()
+        if (finder.isReverse) {
+            if (finder.checkLoop(exp)) {
+                // use case: ?x exp{2,} <uri>
+                visit.ninsert(exp, f.start);
+            }
+        } else if (finder.checkLoop && visit.nloop(exp, f.start)) {
+            return end(f);
+        }
+        stack.push(exp);
+        visit.count(exp, +1);
+        stack.push(exp.getArg(0));
+        call(f, COUNT_MIN_END, stack, f.start, f.src);
+        return null;
+    }
+
+    /**
+     * exp*
+     */
+    Mapping star(Frame f) {
+        Record stack = f.stack;
+        Visit visit = stack.getVisit();
+        Regex exp = f.exp;
+        // start is the first node of exp*
+        f.isFirst = visit.nfirst(exp);
+
+        if (visit.nloop(exp, f.start)) {
+            // start already met in exp path: stop
+            return end(f);
+        }
+        // use case: (p*/q)*
+        // each occurrence of p* must have its own visited
+        f.save = visit.nunset(exp);
+        // zero length
+        call(f, STAR_ZERO_END, stack, f.start, f.src);
+        return null;
+    }
+
+    /**
+     * Path of length 0: enumerate start nodes
+     */
+    Mapping resultNode(Frame f) {
+        while (f.nodes.hasNext()) {
+            if (finder.isStop()) {
+                return ret();
+            }
+            Node node = f.nodes.next();
+            if (node != null) {
+                if (finder.gNode != null) {
+                    f.src = node.getGraph();
+                }
+                Mapping map = finder.result(path, f.src, node);
+                if (map != null) {
+                    return map;
+                }
+            }
+        }
+        return ret();
+    }
+
+}
@@ -0,0 +1,554 @@
+package fr.inria.corese.kgram.path;
+
+import fr.inria.corese.kgram.api.core.Edge;
+import fr.inria.corese.kgram.api.core.Node;
+import fr.inria.corese.kgram.api.core.Regex;
+import fr.inria.corese.kgram.core.Mapping;
+import fr.inria.corese.kgram.core.Mappings;
+import fr.inria.corese.kgram.core.ProcessVisitorDefault;
+import fr.inria.corese.kgram.tool.EdgeInv;
+import fr.inria.corese.sparql.api.Computer;
+import fr.inria.corese.sparql.api.IDatatype;
+import fr.inria.corese.sparql.exceptions.EngineException;
+import fr.inria.corese.sparql.triple.function.script.Funcall;
+import fr.inria.corese.sparql.triple.function.script.Function;
+import fr.inria.corese.sparql.triple.parser.ASTExtension;
+import fr.inria.corese.sparql.triple.parser.Metadata;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shortest path with weights: ?x short exp ?y ?x distinct short exp ?y
+ * where subject or object is bound (variable bound or constant)
+ * use case: ?x short (ex:road@3 | ex:rail@1)+ :: $path ex:Nice
+ *
+ * exp is compiled into an automaton (Thompson construction), Dijkstra
+ * algorithm searches the product of the graph and the automaton from the
+ * bound node: a vertex is a pair (node, state), the weight of an edge of
+ * property p is the weight of p in exp (1 by default). Vertices are settled
+ * by increasing path weight and a target is a node in final state.
+ * distinct short: one shortest path for each target
+ * short: all the shortest paths for each target (simple paths)
+ * Solutions are in increasing path weight order with the path variable as
+ * PathIterator does, hence pathLength($path), pathWeight($path) and
+ * graph $path { } are available.
+ * When the target is bound, search stops when the target is reached and
+ * the search may be guided by an A* heuristic: an LDScript function of the
+ * query that estimates the weight of a path from node to target:
+ * @heuristic us:distance
+ * function us:distance(node, target) { ... }
+ * The heuristic must not overestimate the weight (admissible) and must
+ * satisfy h(n) <= w(n, m) + h(m) (consistent) to return shortest paths.
+ *
+ * Not used with named graph, count path, path listener, event visitor,
+ * path length constraint, filter on start node, exp with filter test or parallel path and when
+ * both subject and object are unbound: PathIterator is used.
+ *
+ */
+public class ShortestPathSearch {
+
+    private static Logger logger = LoggerFactory.getLogger(ShortestPathSearch.class);
+    public static boolean SHORTEST_PATH = true;
+    // max number of automaton states of exp{n,m}
+    public static int MAX_STATE = 1000;
+
+    private PathFinder finder;
+    private StateMachine automaton;
+    private Node start, target;
+    // local id -> node
+    private List<Node> nodeList;
+    private Map<String, Integer> resource;
+    private Map<Node, Integer> literal;
+    // vertex (node id, state) -> vertex id
+    private Map<Long, Integer> vertex;
+    private int[] vertexNode, vertexState, distance;
+    private boolean[] settled;
+    // shortest path arcs to vertex
+    private Arc[] previous;
+    // A* heuristic of node id, NaN when not computed
+    private double[] estimate;
+    private Function heuristic;
+    private String heuristicName;
+
+    /**
+     * Automaton of exp with epsilon transitions and int states for the
+     * product with the graph (Automaton is designed for the walk of PathFinder)
+     * state i: transitions label.get(i) -> next.get(i), epsilon.get(i)
+     */
+    private static class StateMachine {
+
+        List<List<Regex>> label = new ArrayList<>();
+        List<List<Integer>> next = new ArrayList<>();
+        List<List<Integer>> epsilon = new ArrayList<>();
+        // states reachable by epsilon transitions
+        int[][] closure;
+        boolean[] isFinal;
+        int in, out;
+
+        int create() {
+            label.add(new ArrayList<>());
+            next.add(new ArrayList<>());
+            epsilon.add(new ArrayList<>());
+            return label.size() - 1;
+        }
+
+        int size() {
+            return label.size();
+        }
+
+        /**
+         * Transitions from state s to state t for exp, false if exp is not
+         * supported
+         * Sequence is walked from right to left when path is reverse
+         */
+        boolean compile(Regex exp, int s, int t, boolean isReverse) {
+            if (size() > MAX_STATE) {
+                return false;
+            }
+            switch (exp.retype()) {
+                case Regex.LABEL:
+                case Regex.NOT:
+                    label.get(s).add(exp);
+                    next.get(s).add(t);
+                    return true;
+
+                case Regex.SEQ: {
+                    int m = create();
+                    Regex fst = exp.getArg(isReverse ? 1 : 0), rst = exp.getArg(isReverse ? 0 : 1);
+                    return compile(fst, s, m, isReverse) && compile(rst, m, t, isReverse);
+                }
+
+                case Regex.ALT:
+                    return compile(exp.getArg(0), s, t, isReverse) && compile(exp.getArg(1), s, t, isReverse);
+
+                case Regex.OPTION:
+                    epsilon.get(s).add(t);
+                    return compile(exp.getArg(0), s, t, isReverse);
+
+                case Regex.STAR:
+                    return star(exp.getArg(0), s, t, isReverse);
+
+                case Regex.PLUS: {
+                    int m = create();
+                    return compile(exp.getArg(0), s, m, isReverse) && star(exp.getArg(0), m, t, isReverse);
+                }
+
+                case Regex.COUNT: {
+                    // exp{n,m}: n times exp and m-n times exp? or exp*
+                    int min = Math.max(exp.getMin(), 0), max = exp.getMax();
+                    if (min > MAX_STATE || (max != Integer.MAX_VALUE && max > MAX_STATE) || max < min) {
+                        return false;
+                    }
+                    int current = s;
+                    for (int i = 0; i < min; i++) {
+                        int m = create();
+                        if (!compile(exp.getArg(0), current, m, isReverse)) {
+                            return false;
+                        }
+                        current = m;
+                    }
+                    if (max == Integer.MAX_VALUE) {
+                        return star(exp.getArg(0), current, t, isReverse);
+                    }
+                    for (int i = min; i < max; i++) {
+                        int m = create();
+                        epsilon.get(current).add(t);
+                        if (!compile(exp.getArg(0), current, m, isReverse)) {
+                            return false;
+                        }
+                        current = m;
+                    }
+                    epsilon.get(current).add(t);
+                    return true;
+                }
+
+                default:
+                    // filter test, parallel path
+                    return false;
+            }
+        }
+
+        boolean star(Regex exp, int s, int t, boolean isReverse) {
+            int loop = create();
+            epsilon.get(s).add(loop);
+            epsilon.get(loop).add(t);
+            int m = create();
+            epsilon.get(m).add(loop);
+            return compile(exp, loop, m, isReverse);
+        }
+
+        /**
+         * Compute epsilon closure and final states
+         */
+        void complete() {
+            int n = size();
+            closure = new int[n][];
+            isFinal = new boolean[n];
+            for (int s = 0; s < n; s++) {
+                boolean[] visited = new boolean[n];
+                List<Integer> list = new ArrayList<>();
+                List<Integer> todo = new ArrayList<>();
+                todo.add(s);
+                visited[s] = true;
+                while (!todo.isEmpty()) {
+                    int q = todo.remove(todo.size() - 1);
+                    list.add(q);
+                    for (int r : epsilon.get(q)) {
+                        if (!visited[r]) {
+                            visited[r] = true;
+                            todo.add(r);
+                        }
+                    }
+                }
+                closure[s] = list.stream().mapToInt(Integer::intValue).toArray();
+                isFinal[s] = visited[out];
+            }
+        }
+    }
+
+    /**
+     * Shortest path arc to a vertex
+     */
+    static class Arc {
+
+        int from;
+        Edge edge;
+        int weight;
+        // other arc with same path weight (short)
+        Arc next;
+
+        Arc(int from, Edge edge, int weight, Arc next) {
+            this.from = from;
+            this.edge = edge;
+            this.weight = weight;
+            this.next = next;
+        }
+    }
+
+    /**
+     * Vertex to settle: f = weight + heuristic
+     */
+    static class Entry implements Comparable<Entry> {
+
+        double f;
+        int weight, vertex;
+
+        Entry(double f, int weight, int vertex) {
+            this.f = f;
+            this.weight = weight;
+            this.vertex = vertex;
+        }
+
+        @Override
+        public int compareTo(Entry e) {
+            int res = Double.compare(f, e.f);
+            return (res == 0) ? Integer.compare(weight, e.weight) : res;
+        }
+    }
+
+    private ShortestPathSearch(PathFinder pf, StateMachine a, Node start, Node target) {
+        finder = pf;
+        automaton = a;
+        this.start = start;
+        this.target = target;
+        nodeList = new ArrayList<>();
+        resource = new HashMap<>();
+        literal = new TreeMap<>(Node::compare);
+        vertex = new HashMap<>();
+        vertexNode = new int[64];
+        vertexState = new int[64];
+        distance = new int[64];
+        settled = new boolean[64];
+        previous = new Arc[64];
+        estimate = new double[0];
+    }
+
+    /**
+     * Return a search if the short path can be computed this way, null
+     * otherwise
+     */
+    static ShortestPathSearch create(PathFinder pf) {
+        if (!SHORTEST_PATH || !pf.isShort || pf.gNode != null || pf.isCountPath
+                || pf.hasListener || pf.hasPathLength() || pf.filter != null
+                || pf.kgram == null || pf.kgram.getVisitor().getClass() != ProcessVisitorDefault.class) {
+            return null;
+        }
+        Node start = node(pf, pf.index);
+        if (start == null) {
+            return null;
+        }
+        StateMachine a = new StateMachine();
+        a.in = a.create();
+        a.out = a.create();
+        if (!a.compile(pf.regexp1, a.in, a.out, pf.isReverse)) {
+            return null;
+        }
+        a.complete();
+        return new ShortestPathSearch(pf, a, start, node(pf, pf.other));
+    }
+
+    /**
+     * Value of subject (0) or object (1), graph node of a constant, null if
+     * unbound or if constant is not a graph node
+     */
+    static Node node(PathFinder pf, int i) {
+        Node qNode = pf.edge.getNode(i);
+        if (qNode.isConstant()) {
+            return pf.producer.getNode(qNode.getDatatypeValue());
+        }
+        return pf.memory.getNode(qNode);
+    }
+
+    Iterable<Mapping> candidate() {
+        Mappings res = new Mappings();
+        initHeuristic();
+        int targetId = (target == null) ? -1 : define(target);
+        // target node id -> weight of its shortest paths
+        Map<Integer, Integer> reached = new HashMap<>();
+        PriorityQueue<Entry> queue = new PriorityQueue<>();
+        int root = vertex(define(start), automaton.in);
+        distance[root] = 0;
+        queue.add(new Entry(estimate(vertexNode[root]), 0, root));
+
+        while (!queue.isEmpty() && !finder.isStop()) {
+            Entry e = queue.poll();
+            int u = e.vertex;
+            if (settled[u] || e.weight > distance[u]) {
+                continue;
+            }
+            if (target != null && reached.containsKey(targetId) && e.f > reached.get(targetId)) {
+                // target is reached, remaining paths are longer
+                break;
+            }
+            settled[u] = true;
+            int node = vertexNode[u];
+            if (automaton.isFinal[vertexState[u]] && (target == null || node == targetId)) {
+                Integer weight = reached.get(node);
+                if (weight == null || (!finder.isOne && weight == distance[u])) {
+                    reached.put(node, distance[u]);
+                    result(root, u, res);
+                    if (finder.isOne && node == targetId) {
+                        break;
+                    }
+                }
+            }
+            expand(u, queue);
+        }
+        return res;
+    }
+
+    /**
+     * Relax the edges of vertex u
+     */
+    void expand(int u, PriorityQueue<Entry> queue) {
+        Node node = nodeList.get(vertexNode[u]);
+        boolean isRoot = vertexNode[u] == 0;
+        for (int q : automaton.closure[vertexState[u]]) {
+            List<Regex> labels = automaton.label.get(q);
+            for (int i = 0; i < labels.size(); i++) {
+                Regex exp = labels.get(i);
+                int state = automaton.next.get(q).get(i);
+                boolean inverse = exp.isInverse() || exp.isReverse();
+                int w = Math.max(exp.getWeight(), 1);
+                boolean isFirst = isRoot;
+                for (Edge ent : finder.producer.getEdges(null, finder.from, finder.edge, finder.memory,
+                        exp, null, node, finder.index)) {
+                    if (finder.isStop()) {
+                        return;
+                    }
+                    if (ent == null) {
+                        continue;
+                    }
+                    Edge rel = inverse ? new EdgeInv(ent) : ent;
+                    if (isFirst) {
+                        if (!rel.getNode(finder.index).getDatatypeValue().sameTerm(node.getDatatypeValue())) {
+                            // start is not a node of the graph: Producer returns all edges
+                            break;
+                        }
+                        isFirst = false;
+                    }
+                    int nodeId = define(rel.getNode(finder.other));
+                    int v = vertex(nodeId, state);
+                    int weight = distance[u] + w;
+                    if (weight < distance[v]) {
+                        distance[v] = weight;
+                        previous[v] = new Arc(u, copy(ent, inverse), w, null);
+                        queue.add(new Entry(weight + estimate(nodeId), weight, v));
+                    } else if (weight == distance[v] && !finder.isOne && u != v) {
+                        previous[v] = new Arc(u, copy(ent, inverse), w, previous[v]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Graph iterator may reuse the same Edge object
+     */
+    Edge copy(Edge ent, boolean inverse) {
+        Edge copy = finder.producer.copy(ent);
+        return inverse ? new EdgeInv(copy) : copy;
+    }
+
+    /**
+     * Shortest paths from root to vertex v: one path for distinct short, all
+     * simple paths otherwise
+     */
+    void result(int root, int v, Mappings res) {
+        if (v == root) {
+            add(res, new Path(finder.isReverse));
+            return;
+        }
+        // arcs of current path from v backward to root
+        List<Arc> arcs = new ArrayList<>();
+        Set<Integer> onPath = new HashSet<>();
+        onPath.add(v);
+        int current = v;
+        Arc arc = previous[v];
+        while (!finder.isStop()) {
+            if (current == root) {
+                add(res, path(arcs));
+                if (finder.isOne) {
+                    return;
+                }
+                arc = null;
+            }
+            if (arc != null) {
+                if (onPath.contains(arc.from)) {
+                    arc = arc.next;
+                } else {
+                    arcs.add(arc);
+                    onPath.add(arc.from);
+                    current = arc.from;
+                    arc = previous[current];
+                }
+            } else {
+                // backtrack
+                if (arcs.isEmpty()) {
+                    return;
+                }
+                Arc last = arcs.remove(arcs.size() - 1);
+                onPath.remove(last.from);
+                current = arcs.isEmpty() ? v : arcs.get(arcs.size() - 1).from;
+                arc = last.next;
+            }
+        }
+    }
+
+    Path path(List<Arc> arcs) {
+        Path path = new Path(finder.isReverse);
+        for (int i = arcs.size() - 1; i >= 0; i--) {
+            path.add(arcs.get(i).edge, arcs.get(i).weight);
+        }
+        return path;
+    }
+
+    void add(Mappings res, Path path) {
+        Mapping map = finder.result(path, null, start);
+        if (map != null) {
+            res.add(map);
+        }
+    }
+
+    int define(Node node) {
+        Integer id;
+        if (node.getDatatypeValue().isLiteral()) {
+            id = literal.get(node);
+            if (id == null) {
+                id = nodeList.size();
+                literal.put(node, id);
+                nodeList.add(node);
+            }
+        } else {
+            id = resource.get(node.getLabel());
+            if (id == null) {
+                id = nodeList.size();
+                resource.put(node.getLabel(), id);
+                nodeList.add(node);
+            }
+        }
+        return id;
+    }
+
+    int vertex(int node, int state) {
+        long key = (long) node * automaton.size() + state;
+        Integer id = vertex.get(key);
+        if (id == null) {
+            id = vertex.size();
+            vertex.put(key, id);
+            if (id == distance.length) {
+                int n = 2 * id;
+                vertexNode = Arrays.copyOf(vertexNode, n);
+                vertexState = Arrays.copyOf(vertexState, n);
+                distance = Arrays.copyOf(distance, n);
+                settled = Arrays.copyOf(settled, n);
+                previous = Arrays.copyOf(previous, n);
+            }
+            vertexNode[id] = node;
+            vertexState[id] = state;
+            distance[id] = Integer.MAX_VALUE;
+        }
+        return id;
+    }
+
+    /**
+     * A* heuristic function of the query: @heuristic us:fun
+     */
+    void initHeuristic() {
+        if (target == null || !(finder.getEvaluator() instanceof Computer)) {
+            return;
+        }
+        heuristicName = finder.memory.getQuery().getGlobalAST().getMetadataValue(Metadata.HEURISTIC);
+        if (heuristicName == null) {
+            return;
+        }
+        ASTExtension ext = finder.memory.getExtension();
+        heuristic = (ext == null) ? null : ext.get(heuristicName, 2);
+        if (heuristic == null) {
+            logger.warn("Undefined heuristic function: " + heuristicName);
+        }
+    }
+
+    /**
+     * Estimate of the weight of a path from node id to target, 0 without
+     * heuristic
+     */
+    double estimate(int id) {
+        if (heuristic == null) {
+            return 0;
+        }
+        if (id >= estimate.length) {
+            int n = estimate.length;
+            estimate = Arrays.copyOf(estimate, Math.max(2 * n, id + 64));
+            Arrays.fill(estimate, n, estimate.length, Double.NaN);
+        }
+        if (Double.isNaN(estimate[id])) {
+            estimate[id] = heuristic(nodeList.get(id));
+        }
+        return estimate[id];
+    }
+
+    double heuristic(Node node) {
+        try {
+            IDatatype dt = new Funcall(heuristicName).callWE((Computer) finder.getEvaluator(),
+                    finder.memory.getBind(), finder.memory, finder.producer, heuristic,
+                    node.getDatatypeValue(), target.getDatatypeValue());
+            if (dt != null && dt.isNumber()) {
+                return Math.max(dt.doubleValue(), 0);
+            }
+        } catch (EngineException ex) {
+            logger.error(ex.getMessage());
+        }
+        return 0;
+    }
+
+}
@@ -26,4 +26,19 @@ public interface IProducerQP {
      * @return 
      */
     public int getCount(QPGNode n, int type);
+
+    /**
+     * Graph statistics for cost based query planning, null when there is none
+     */
+    default IStatistics getStatistics() {
+        return null;
+    }
+
+    /**
+     * Producer evaluates BGP of cyclic triple patterns with a worst case
+     * optimal join (see QuerySorter trieJoin())
+     */
+    default boolean isTrieJoin() {
+        return false;
+    }
 }
@@ -0,0 +1,51 @@
+package fr.inria.corese.kgram.sorter.core;
+
+import fr.inria.corese.kgram.api.core.Node;
+import java.util.List;
+
+/**
+ * Graph statistics for cost based query planning (see CostSorter)
+ * Statistics are computed by the Producer graph and are kept up to date as
+ * the graph changes.
+ *
+ */
+public interface IStatistics {
+
+    /**
+     * Number of triples
+     */
+    int size();
+
+    /**
+     * Number of distinct predicates
+     */
+    int predicateCount();
+
+    /**
+     * Number of distinct subjects (resp objects) of the graph
+     */
+    int subjectCount();
+
+    int objectCount();
+
+    /**
+     * Number of triples with predicate
+     */
+    int count(Node predicate);
+
+    /**
+     * Number of distinct subjects (resp objects) of triples with predicate
+     */
+    int subjectCount(Node predicate);
+
+    int objectCount(Node predicate);
+
+    /**
+     * Estimated number of solutions of star pattern with same subject and
+     * predicate list: ?s p1 ?o1 . ?s p2 ?o2 ...
+     * computed with characteristic sets
+     * return -1 when there is no estimation
+     */
+    double star(List<Node> predicateList);
+
+}
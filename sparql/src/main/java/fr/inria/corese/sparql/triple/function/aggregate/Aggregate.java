@@ -29,6 +29,8 @@ public class Aggregate extends LDScript {
     TreeData tree;
     boolean isError;
     boolean isRunning = false;
+    // sample value of streaming aggregate
+    IDatatype sample;
     
     public Aggregate() {       
     }
@@ -122,6 +124,89 @@ public class Aggregate extends LDScript {
 
     public void aggregate(IDatatype dt) {
     }
+    
+    /**
+     * count(*)
+     */
+    public void aggregate(Mapping map) {
+    }
+    
+    /**
+     * Streaming aggregate: this is a duplicate dedicated to one group
+     * solutions of the group are aggregated one by one by stream(map)
+     * and are not stored
+     */
+    public void startStream(Computer eval, Binding b, Environment env, Producer p) throws EngineException {
+        isError = false;
+        sample = null;
+        init(env);
+        start();
+    }
+    
+    /**
+     * Aggregate the value of the argument in one solution of the group
+     * pragma: map is prepared for evaluation (query, eval, bnode map)
+     */
+    public void stream(Computer eval, Binding b, Mapping map, Producer p) throws EngineException {
+        if (arity() == 0) {
+            // count(*)
+            aggregate(map);
+            return;
+        }
+        if (map.getBind() == null) {
+            map.setBind(b);
+        }
+        IDatatype dt = getBasicArg(0).eval(eval, map.getBind(), map, p);
+        if (dt != null) {
+            if (oper() == ExprType.SAMPLE) {
+                if (sample == null) {
+                    sample = dt;
+                }
+            } else {
+                aggregate(dt);
+            }
+        }
+    }
+    
+    public IDatatype resultStream() {
+        if (isError) {
+            return null;
+        }
+        if (oper() == ExprType.SAMPLE) {
+            return sample;
+        }
+        return result();
+    }
+    
+    /**
+     * Merge partial aggregate of same function computed on another
+     * subset of the solutions of the group
+     * distinct: aggregate the distinct values of agg
+     */
+    public void merge(Aggregate agg) {
+        isError |= agg.isError;
+        if (isDistinct() && agg.tree != null) {
+            for (IDatatype dt : agg.tree.keySet()) {
+                aggregate(dt);
+            }
+        } else if (isDistinct() && agg.group != null) {
+            // count(distinct *)
+            for (Mapping map : agg.group.getTable().keySet()) {
+                aggregate(map);
+            }
+        } else {
+            combine(agg);
+        }
+    }
+    
+    /**
+     * Merge partial result of agg, without distinct
+     */
+    void combine(Aggregate agg) {
+        if (sample == null) {
+            sample = agg.sample;
+        }
+    }
 
     public void start() {       
     }
@@ -53,6 +53,18 @@ public class AggregateCount extends Aggregate {
         }
     }
     
+    @Override
+    public void aggregate(Mapping map) {
+        if (accept(map)) {
+            num++;
+        }
+    }
+    
+    @Override
+    void combine(Aggregate agg) {
+        num += ((AggregateCount) agg).num;
+    }
+    
     @Override
     public void start(){
         num = 0;
@@ -74,6 +74,34 @@ public class AggregateGroupConcat extends Aggregate {
         }
     }
     
+    @Override
+    public void startStream(Computer eval, Binding b, Environment env, Producer p) throws EngineException {
+        init(eval, b, env, p);
+        super.startStream(eval, b, env, p);
+    }
+    
+    @Override
+    void combine(Aggregate agg) {
+        AggregateGroupConcat cat = (AggregateGroupConcat) agg;
+        if (cat.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            hasLang = cat.hasLang;
+            lang = cat.lang;
+            ok = cat.ok;
+        } else {
+            sb.append(sep);
+            if (!(ok && cat.ok && hasLang == cat.hasLang
+                    && (!hasLang || lang.equals(cat.lang)))) {
+                ok = false;
+            }
+        }
+        isString &= cat.isString;
+        sb.append(cat.sb);
+        count += cat.count;
+    }
+    
     void init(Computer eval, Binding b, Environment env, Producer prod) throws EngineException {
         sep = format(eval, b, env, prod);
     }
@@ -40,6 +40,18 @@ public class AggregateMinMax extends Aggregate {
         }
     }
 
+    /**
+     * distinct is useless for min and max
+     */
+    @Override
+    public void merge(Aggregate agg) {
+        isError |= agg.isError;
+        IDatatype dt = ((AggregateMinMax) agg).dtres;
+        if (dt != null) {
+            aggregate(dt);
+        }
+    }
+
     @Override
     public void start() {
         dtres = null;
@@ -36,6 +36,15 @@ public class AggregateSumAvg extends Aggregate {
         }
     }
     
+    @Override
+    void combine(Aggregate agg) {
+        AggregateSumAvg sum = (AggregateSumAvg) agg;
+        if (sum.dtres != null) {
+            dtres = (dtres == null) ? sum.dtres : dtres.plus(sum.dtres);
+            num += sum.num;
+        }
+    }
+    
     @Override
     public void start(){
         num = 0;
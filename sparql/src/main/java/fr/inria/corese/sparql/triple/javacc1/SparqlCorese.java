@@ -4581,7 +4581,9 @@
     case QNAME:
     case VAR1:
     case VAR2:
+    case DISTINCT:
     case XPATH:
+    case SHORT:
     case BEGIN_WITH:
     case LPAREN:
     case BANG:
@@ -4607,7 +4609,9 @@
     case Q_IRIref:
     case QNAME_NS:
     case QNAME:
+    case DISTINCT:
     case XPATH:
+    case SHORT:
     case BEGIN_WITH:
     case LPAREN:
     case BANG:
@@ -4655,6 +4659,16 @@
       jj_consume_token(RPAREN);
             exp = astq.createFunction(t.image, astq.createConstant(s, null, null));
       break;
+    case DISTINCT:
+      jj_consume_token(DISTINCT);
+      exp = RegExp();
+            exp = astq.createFunction(ASTQuery.DISTINCT, exp);
+      break;
+    case SHORT:
+      jj_consume_token(SHORT);
+      exp = RegExp();
+            exp = astq.createFunction(ASTQuery.SHORT, exp);
+      break;
     case Q_IRIref:
     case QNAME_NS:
     case QNAME:
@@ -8856,18 +8870,12 @@ ExpressionList arg, el = null; Metadata meta = null;
     finally { jj_save(18, xla); }
   }
 
-  final private boolean jj_3R_108() {
-    if (jj_3R_142()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_107() {
-    if (jj_3R_141()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_106() {
-    if (jj_3R_140()) return true;
+  final private boolean jj_3R_164() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_185()) jj_scanpos = xsp;
+    if (jj_scan_token(EXIST)) return true;
+    if (jj_3R_95()) return true;
     return false;
   }
 
@@ -8890,36 +8898,6 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_74() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_106()) {
-    jj_scanpos = xsp;
-    if (jj_3R_107()) {
-    jj_scanpos = xsp;
-    if (jj_3R_108()) {
-    jj_scanpos = xsp;
-    if (jj_3R_109()) {
-    jj_scanpos = xsp;
-    if (jj_3R_110()) {
-    jj_scanpos = xsp;
-    if (jj_3R_111()) {
-    jj_scanpos = xsp;
-    if (jj_3R_112()) return true;
-    }
-    }
-    }
-    }
-    }
-    }
-    return false;
-  }
-
-  final private boolean jj_3R_166() {
-    if (jj_scan_token(LBRACE)) return true;
-    return false;
-  }
-
   final private boolean jj_3R_121() {
     if (jj_3R_157()) return true;
     return false;
@@ -8930,11 +8908,6 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_185() {
-    if (jj_scan_token(NOT)) return true;
-    return false;
-  }
-
   final private boolean jj_3_8() {
     if (jj_3R_73()) return true;
     return false;
@@ -8945,17 +8918,18 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
+  final private boolean jj_3R_82() {
+    if (jj_3R_95()) return true;
+    return false;
+  }
+
   final private boolean jj_3R_88() {
     if (jj_3R_122()) return true;
     return false;
   }
 
-  final private boolean jj_3R_164() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_185()) jj_scanpos = xsp;
-    if (jj_scan_token(EXIST)) return true;
-    if (jj_3R_95()) return true;
+  final private boolean jj_3R_137() {
+    if (jj_3R_164()) return true;
     return false;
   }
 
@@ -8986,42 +8960,6 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_82() {
-    if (jj_3R_95()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_137() {
-    if (jj_3R_164()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_72() {
-    if (jj_3R_74()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_71() {
-    if (jj_3R_101()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_70() {
-    if (jj_3R_100()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_69() {
-    if (jj_3R_67()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_68() {
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_99()) return true;
-    return false;
-  }
-
   final private boolean jj_3R_81() {
     if (jj_scan_token(LBRACKET)) return true;
     return false;
@@ -9083,22 +9021,23 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3_7() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_68()) {
-    jj_scanpos = xsp;
-    if (jj_3R_69()) {
-    jj_scanpos = xsp;
-    if (jj_3R_70()) {
-    jj_scanpos = xsp;
-    if (jj_3R_71()) {
-    jj_scanpos = xsp;
-    if (jj_3R_72()) return true;
-    }
-    }
-    }
-    }
+  final private boolean jj_3R_72() {
+    if (jj_3R_74()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_71() {
+    if (jj_3R_101()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_70() {
+    if (jj_3R_100()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_69() {
+    if (jj_3R_67()) return true;
     return false;
   }
 
@@ -9107,6 +9046,12 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
+  final private boolean jj_3R_68() {
+    if (jj_scan_token(LPAREN)) return true;
+    if (jj_3R_99()) return true;
+    return false;
+  }
+
   final private boolean jj_3_16() {
     if (jj_scan_token(AT)) return true;
     Token xsp;
@@ -9168,13 +9113,32 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_281() {
+  final private boolean jj_3R_283() {
     if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_251()) return true;
+    if (jj_3R_253()) return true;
     return false;
   }
 
-  final private boolean jj_3R_280() {
+  final private boolean jj_3_7() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_68()) {
+    jj_scanpos = xsp;
+    if (jj_3R_69()) {
+    jj_scanpos = xsp;
+    if (jj_3R_70()) {
+    jj_scanpos = xsp;
+    if (jj_3R_71()) {
+    jj_scanpos = xsp;
+    if (jj_3R_72()) return true;
+    }
+    }
+    }
+    }
+    return false;
+  }
+
+  final private boolean jj_3R_282() {
     if (jj_3R_91()) return true;
     return false;
   }
@@ -9208,12 +9172,12 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_277() {
+  final private boolean jj_3R_279() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_280()) {
+    if (jj_3R_282()) {
     jj_scanpos = xsp;
-    if (jj_3R_281()) return true;
+    if (jj_3R_283()) return true;
     }
     xsp = jj_scanpos;
     if (jj_3_16()) jj_scanpos = xsp;
@@ -9364,24 +9328,19 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_285() {
+  final private boolean jj_3R_287() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_scan_token(241)) {
+    if (jj_scan_token(242)) {
     jj_scanpos = xsp;
-    if (jj_scan_token(239)) {
+    if (jj_scan_token(240)) {
     jj_scanpos = xsp;
-    if (jj_scan_token(243)) return true;
+    if (jj_scan_token(244)) return true;
     }
     }
     return false;
   }
 
-  final private boolean jj_3R_178() {
-    if (jj_scan_token(FORMAT)) return true;
-    return false;
-  }
-
   final private boolean jj_3R_132() {
     Token xsp;
     xsp = jj_scanpos;
@@ -9402,18 +9361,13 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3_1() {
-    if (jj_3R_61()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_284() {
+  final private boolean jj_3R_286() {
     if (jj_scan_token(LBRACE)) return true;
     return false;
   }
 
-  final private boolean jj_3R_218() {
-    if (jj_scan_token(FILTER)) return true;
+  final private boolean jj_3R_178() {
+    if (jj_scan_token(FORMAT)) return true;
     return false;
   }
 
@@ -9422,6 +9376,11 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
+  final private boolean jj_3_1() {
+    if (jj_3R_61()) return true;
+    return false;
+  }
+
   final private boolean jj_3R_131() {
     Token xsp;
     xsp = jj_scanpos;
@@ -9433,31 +9392,31 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_75() {
-    if (jj_3R_95()) return true;
+  final private boolean jj_3R_218() {
+    if (jj_scan_token(FILTER)) return true;
     return false;
   }
 
-  final private boolean jj_3R_283() {
-    if (jj_3R_285()) return true;
+  final private boolean jj_3R_285() {
+    if (jj_3R_287()) return true;
     return false;
   }
 
-  final private boolean jj_3R_279() {
+  final private boolean jj_3R_281() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_283()) {
+    if (jj_3R_285()) {
     jj_scanpos = xsp;
-    if (jj_3R_284()) return true;
+    if (jj_3R_286()) return true;
     }
     return false;
   }
 
-  final private boolean jj_3R_266() {
-    if (jj_3R_277()) return true;
+  final private boolean jj_3R_268() {
+    if (jj_3R_279()) return true;
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_279()) jj_scanpos = xsp;
+    if (jj_3R_281()) jj_scanpos = xsp;
     return false;
   }
 
@@ -9495,219 +9454,225 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_265() {
-    if (jj_scan_token(BEGIN_WITH)) return true;
-    if (jj_3R_277()) return true;
+  final private boolean jj_3R_75() {
+    if (jj_3R_95()) return true;
     return false;
   }
 
-  final private boolean jj_3R_257() {
-    if (jj_3R_260()) return true;
+  final private boolean jj_3R_267() {
+    if (jj_scan_token(BEGIN_WITH)) return true;
+    if (jj_3R_279()) return true;
     return false;
   }
 
-  final private boolean jj_3R_264() {
-    if (jj_scan_token(BANG)) return true;
-    if (jj_3R_277()) return true;
+  final private boolean jj_3R_259() {
+    if (jj_3R_262()) return true;
     return false;
   }
 
-  final private boolean jj_3R_177() {
-    if (jj_scan_token(GROUP)) return true;
+  final private boolean jj_3R_266() {
+    if (jj_scan_token(BANG)) return true;
+    if (jj_3R_279()) return true;
     return false;
   }
 
-  final private boolean jj_3R_256() {
+  final private boolean jj_3R_258() {
     if (jj_scan_token(MINUS)) return true;
     return false;
   }
 
-  final private boolean jj_3R_154() {
-    if (jj_3R_178()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_255() {
+  final private boolean jj_3R_257() {
     if (jj_scan_token(PLUS)) return true;
     return false;
   }
 
-  final private boolean jj_3R_153() {
-    if (jj_3R_177()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_254() {
+  final private boolean jj_3R_256() {
     if (jj_scan_token(BANG)) return true;
     return false;
   }
 
-  final private boolean jj_3R_152() {
-    if (jj_3R_176()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_245() {
-    if (jj_scan_token(SERVICE)) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_259() {
+  final private boolean jj_3R_261() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_264()) {
+    if (jj_3R_266()) {
     jj_scanpos = xsp;
-    if (jj_3R_265()) {
+    if (jj_3R_267()) {
     jj_scanpos = xsp;
-    if (jj_3R_266()) return true;
+    if (jj_3R_268()) return true;
     }
     }
     return false;
   }
 
-  final private boolean jj_3R_252() {
+  final private boolean jj_3R_254() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_254()) {
+    if (jj_3R_256()) {
     jj_scanpos = xsp;
-    if (jj_3R_255()) {
+    if (jj_3R_257()) {
     jj_scanpos = xsp;
-    if (jj_3R_256()) {
+    if (jj_3R_258()) {
     jj_scanpos = xsp;
-    if (jj_3R_257()) return true;
+    if (jj_3R_259()) return true;
     }
     }
     }
     return false;
   }
 
-  final private boolean jj_3R_119() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_152()) {
-    jj_scanpos = xsp;
-    if (jj_3R_153()) {
-    jj_scanpos = xsp;
-    if (jj_3R_154()) return true;
-    }
-    }
+  final private boolean jj_3R_177() {
+    if (jj_scan_token(GROUP)) return true;
     return false;
   }
 
   final private boolean jj_3R_145() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_scan_token(191)) {
+    if (jj_scan_token(192)) {
     jj_scanpos = xsp;
-    if (jj_scan_token(190)) return true;
+    if (jj_scan_token(191)) return true;
     }
     if (jj_3R_170()) return true;
     return false;
   }
 
-  final private boolean jj_3R_261() {
+  final private boolean jj_3R_263() {
     if (jj_scan_token(SLASH)) return true;
     return false;
   }
 
-  final private boolean jj_3R_253() {
-    if (jj_3R_259()) return true;
+  final private boolean jj_3R_154() {
+    if (jj_3R_178()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_153() {
+    if (jj_3R_177()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_152() {
+    if (jj_3R_176()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_247() {
+    if (jj_scan_token(SERVICE)) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_255() {
+    if (jj_3R_261()) return true;
     Token xsp;
     while (true) {
       xsp = jj_scanpos;
-      if (jj_3R_261()) { jj_scanpos = xsp; break; }
+      if (jj_3R_263()) { jj_scanpos = xsp; break; }
     }
     return false;
   }
 
-  final private boolean jj_3R_250() {
-    if (jj_3R_252()) return true;
+  final private boolean jj_3R_119() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_152()) {
+    jj_scanpos = xsp;
+    if (jj_3R_153()) {
+    jj_scanpos = xsp;
+    if (jj_3R_154()) return true;
+    }
+    }
     return false;
   }
 
-  final private boolean jj_3R_263() {
-    if (jj_scan_token(SC_OR)) return true;
+  final private boolean jj_3R_252() {
+    if (jj_3R_254()) return true;
     return false;
   }
 
-  final private boolean jj_3R_236() {
-    if (jj_3R_250()) return true;
+  final private boolean jj_3R_265() {
+    if (jj_scan_token(SC_OR)) return true;
     return false;
   }
 
-  final private boolean jj_3R_244() {
-    if (jj_scan_token(GRAPH)) return true;
+  final private boolean jj_3R_236() {
+    if (jj_3R_252()) return true;
     return false;
   }
 
-  final private boolean jj_3R_262() {
+  final private boolean jj_3R_264() {
     if (jj_scan_token(BAR)) return true;
     return false;
   }
 
-  final private boolean jj_3R_258() {
+  final private boolean jj_3R_260() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_262()) {
+    if (jj_3R_264()) {
     jj_scanpos = xsp;
-    if (jj_3R_263()) return true;
+    if (jj_3R_265()) return true;
     }
     return false;
   }
 
-  final private boolean jj_3R_249() {
-    if (jj_scan_token(VALUES)) return true;
+  final private boolean jj_3R_220() {
+    if (jj_3R_236()) return true;
     return false;
   }
 
-  final private boolean jj_3R_220() {
-    if (jj_3R_236()) return true;
+  final private boolean jj_3R_246() {
+    if (jj_scan_token(GRAPH)) return true;
     return false;
   }
 
-  final private boolean jj_3R_251() {
-    if (jj_3R_253()) return true;
+  final private boolean jj_3R_253() {
+    if (jj_3R_255()) return true;
     Token xsp;
     while (true) {
       xsp = jj_scanpos;
-      if (jj_3R_258()) { jj_scanpos = xsp; break; }
+      if (jj_3R_260()) { jj_scanpos = xsp; break; }
     }
     return false;
   }
 
-  final private boolean jj_3R_246() {
-    if (jj_scan_token(SCOPE)) return true;
-    return false;
-  }
-
   final private boolean jj_3_18() {
     if (jj_3R_83()) return true;
     return false;
   }
 
-  final private boolean jj_3R_282() {
+  final private boolean jj_3R_284() {
     if (jj_3R_91()) return true;
     return false;
   }
 
-  final private boolean jj_3R_241() {
-    if (jj_3R_251()) return true;
+  final private boolean jj_3R_251() {
+    if (jj_scan_token(VALUES)) return true;
     return false;
   }
 
-  final private boolean jj_3R_240() {
-    if (jj_scan_token(XPATH)) return true;
-    if (jj_scan_token(LPAREN)) return true;
+  final private boolean jj_3R_243() {
+    if (jj_3R_253()) return true;
     return false;
   }
 
-  final private boolean jj_3R_278() {
-    if (jj_3R_282()) return true;
+  final private boolean jj_3R_280() {
+    if (jj_3R_284()) return true;
     return false;
   }
 
-  final private boolean jj_3R_247() {
-    if (jj_scan_token(EXIST)) return true;
+  final private boolean jj_3R_242() {
+    if (jj_scan_token(SHORT)) return true;
+    if (jj_3R_227()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_248() {
+    if (jj_scan_token(SCOPE)) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_241() {
+    if (jj_scan_token(DISTINCT)) return true;
+    if (jj_3R_227()) return true;
     return false;
   }
 
@@ -9721,11 +9686,38 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
+  final private boolean jj_3R_240() {
+    if (jj_scan_token(XPATH)) return true;
+    if (jj_scan_token(LPAREN)) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_249() {
+    if (jj_scan_token(EXIST)) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_184() {
+    if (jj_3R_205()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_101() {
+    if (jj_3R_91()) return true;
+    if (jj_3R_83()) return true;
+    return false;
+  }
+
   final private boolean jj_3R_92() {
     if (jj_3R_91()) return true;
     return false;
   }
 
+  final private boolean jj_3R_211() {
+    if (jj_scan_token(ANON)) return true;
+    return false;
+  }
+
   final private boolean jj_3R_94() {
     if (jj_scan_token(WHERE)) return true;
     return false;
@@ -9744,39 +9736,39 @@ ExpressionList arg, el = null; Metadata meta = null;
     xsp = jj_scanpos;
     if (jj_3R_240()) {
     jj_scanpos = xsp;
-    if (jj_3R_241()) return true;
+    if (jj_3R_241()) {
+    jj_scanpos = xsp;
+    if (jj_3R_242()) {
+    jj_scanpos = xsp;
+    if (jj_3R_243()) return true;
+    }
+    }
     }
     return false;
   }
 
-  final private boolean jj_3R_243() {
+  final private boolean jj_3R_245() {
     if (jj_scan_token(MINUSP)) return true;
     return false;
   }
 
-  final private boolean jj_3R_184() {
-    if (jj_3R_205()) return true;
-    return false;
-  }
-
   final private boolean jj_3R_93() {
     if (jj_scan_token(NAMED)) return true;
     return false;
   }
 
-  final private boolean jj_3R_101() {
-    if (jj_3R_91()) return true;
-    if (jj_3R_83()) return true;
+  final private boolean jj_3R_163() {
+    if (jj_3R_184()) return true;
     return false;
   }
 
-  final private boolean jj_3R_239() {
-    if (jj_scan_token(COLON2)) return true;
+  final private boolean jj_3R_210() {
+    if (jj_scan_token(BLANK_NODE_LABEL)) return true;
     return false;
   }
 
-  final private boolean jj_3R_211() {
-    if (jj_scan_token(ANON)) return true;
+  final private boolean jj_3R_239() {
+    if (jj_scan_token(COLON2)) return true;
     return false;
   }
 
@@ -9799,21 +9791,11 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_242() {
+  final private boolean jj_3R_244() {
     if (jj_scan_token(OPTIONAL)) return true;
     return false;
   }
 
-  final private boolean jj_3R_163() {
-    if (jj_3R_184()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_210() {
-    if (jj_scan_token(BLANK_NODE_LABEL)) return true;
-    return false;
-  }
-
   final private boolean jj_3R_193() {
     Token xsp;
     xsp = jj_scanpos;
@@ -9844,21 +9826,11 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_197() {
-    if (jj_3R_67()) return true;
-    return false;
-  }
-
   final private boolean jj_3R_99() {
     if (jj_3R_129()) return true;
     return false;
   }
 
-  final private boolean jj_3R_196() {
-    if (jj_3R_213()) return true;
-    return false;
-  }
-
   final private boolean jj_3R_172() {
     if (jj_3R_193()) return true;
     return false;
@@ -9906,16 +9878,6 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_174() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_196()) {
-    jj_scanpos = xsp;
-    if (jj_3R_197()) return true;
-    }
-    return false;
-  }
-
   final private boolean jj_3R_189() {
     if (jj_3R_207()) return true;
     return false;
@@ -9936,7 +9898,7 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3_6() {
+  final private boolean jj_3R_197() {
     if (jj_3R_67()) return true;
     return false;
   }
@@ -9946,13 +9908,8 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_150() {
-    if (jj_scan_token(KW_A)) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_149() {
-    if (jj_3R_174()) return true;
+  final private boolean jj_3R_196() {
+    if (jj_3R_213()) return true;
     return false;
   }
 
@@ -9964,17 +9921,12 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_248() {
-    if (jj_scan_token(BIND)) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_115() {
+  final private boolean jj_3R_174() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_149()) {
+    if (jj_3R_196()) {
     jj_scanpos = xsp;
-    if (jj_3R_150()) return true;
+    if (jj_3R_197()) return true;
     }
     return false;
   }
@@ -9984,6 +9936,11 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
+  final private boolean jj_3_6() {
+    if (jj_3R_67()) return true;
+    return false;
+  }
+
   final private boolean jj_3R_171() {
     Token xsp;
     xsp = jj_scanpos;
@@ -10020,16 +9977,31 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
+  final private boolean jj_3R_150() {
+    if (jj_scan_token(KW_A)) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_149() {
+    if (jj_3R_174()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_250() {
+    if (jj_scan_token(BIND)) return true;
+    return false;
+  }
+
   final private boolean jj_3R_221() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_scan_token(210)) {
-    jj_scanpos = xsp;
     if (jj_scan_token(211)) {
     jj_scanpos = xsp;
     if (jj_scan_token(212)) {
     jj_scanpos = xsp;
-    if (jj_scan_token(213)) return true;
+    if (jj_scan_token(213)) {
+    jj_scanpos = xsp;
+    if (jj_scan_token(214)) return true;
     }
     }
     }
@@ -10046,9 +10018,13 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_79() {
-    if (jj_scan_token(LBRACE)) return true;
-    if (jj_scan_token(BAR)) return true;
+  final private boolean jj_3R_115() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_149()) {
+    jj_scanpos = xsp;
+    if (jj_3R_150()) return true;
+    }
     return false;
   }
 
@@ -10101,6 +10077,12 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
+  final private boolean jj_3R_79() {
+    if (jj_scan_token(LBRACE)) return true;
+    if (jj_scan_token(BAR)) return true;
+    return false;
+  }
+
   final private boolean jj_3R_238() {
     if (jj_scan_token(DATATYPE)) return true;
     return false;
@@ -10121,21 +10103,6 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_195() {
-    if (jj_3R_157()) return true;
-    return false;
-  }
-
-  final private boolean jj_3_15() {
-    if (jj_3R_79()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_194() {
-    if (jj_3R_212()) return true;
-    return false;
-  }
-
   final private boolean jj_3R_207() {
     if (jj_3R_221()) return true;
     Token xsp;
@@ -10144,16 +10111,6 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_173() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_194()) {
-    jj_scanpos = xsp;
-    if (jj_3R_195()) return true;
-    }
-    return false;
-  }
-
   final private boolean jj_3R_225() {
     if (jj_scan_token(DOUBLE)) return true;
     return false;
@@ -10169,18 +10126,23 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_235() {
-    if (jj_3R_249()) return true;
+  final private boolean jj_3R_195() {
+    if (jj_3R_157()) return true;
     return false;
   }
 
-  final private boolean jj_3R_113() {
-    if (jj_3R_67()) return true;
+  final private boolean jj_3_15() {
+    if (jj_3R_79()) return true;
     return false;
   }
 
-  final private boolean jj_3R_234() {
-    if (jj_3R_248()) return true;
+  final private boolean jj_3R_194() {
+    if (jj_3R_212()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_113() {
+    if (jj_3R_67()) return true;
     return false;
   }
 
@@ -10202,11 +10164,6 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_233() {
-    if (jj_3R_247()) return true;
-    return false;
-  }
-
   final private boolean jj_3R_76() {
     Token xsp;
     xsp = jj_scanpos;
@@ -10217,28 +10174,13 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_232() {
-    if (jj_3R_246()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_231() {
-    if (jj_3R_245()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_161() {
-    if (jj_3R_182()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_230() {
-    if (jj_3R_244()) return true;
-    return false;
-  }
-
-  final private boolean jj_3_10() {
-    if (jj_3R_75()) return true;
+  final private boolean jj_3R_173() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_194()) {
+    jj_scanpos = xsp;
+    if (jj_3R_195()) return true;
+    }
     return false;
   }
 
@@ -10247,44 +10189,18 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_229() {
-    if (jj_3R_243()) return true;
+  final private boolean jj_3R_235() {
+    if (jj_3R_251()) return true;
     return false;
   }
 
-  final private boolean jj_3R_228() {
-    if (jj_3R_242()) return true;
+  final private boolean jj_3R_234() {
+    if (jj_3R_250()) return true;
     return false;
   }
 
-  final private boolean jj_3R_219() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_228()) {
-    jj_scanpos = xsp;
-    if (jj_3R_229()) {
-    jj_scanpos = xsp;
-    if (jj_3_10()) {
-    jj_scanpos = xsp;
-    if (jj_3R_230()) {
-    jj_scanpos = xsp;
-    if (jj_3R_231()) {
-    jj_scanpos = xsp;
-    if (jj_3R_232()) {
-    jj_scanpos = xsp;
-    if (jj_3R_233()) {
-    jj_scanpos = xsp;
-    if (jj_3R_234()) {
-    jj_scanpos = xsp;
-    if (jj_3R_235()) return true;
-    }
-    }
-    }
-    }
-    }
-    }
-    }
-    }
+  final private boolean jj_3R_233() {
+    if (jj_3R_249()) return true;
     return false;
   }
 
@@ -10298,32 +10214,47 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_148() {
-    if (jj_3R_173()) return true;
+  final private boolean jj_3R_232() {
+    if (jj_3R_248()) return true;
     return false;
   }
 
-  final private boolean jj_3R_276() {
+  final private boolean jj_3R_231() {
+    if (jj_3R_247()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_161() {
+    if (jj_3R_182()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_230() {
+    if (jj_3R_246()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_278() {
     if (jj_3R_157()) return true;
     return false;
   }
 
-  final private boolean jj_3R_124() {
-    if (jj_scan_token(WHERE)) return true;
+  final private boolean jj_3_10() {
+    if (jj_3R_75()) return true;
     return false;
   }
 
-  final private boolean jj_3R_275() {
-    if (jj_3R_278()) return true;
+  final private boolean jj_3R_277() {
+    if (jj_3R_280()) return true;
     return false;
   }
 
-  final private boolean jj_3R_274() {
+  final private boolean jj_3R_276() {
     if (jj_3R_193()) return true;
     return false;
   }
 
-  final private boolean jj_3R_273() {
+  final private boolean jj_3R_275() {
     if (jj_3R_209()) return true;
     return false;
   }
@@ -10333,7 +10264,7 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_272() {
+  final private boolean jj_3R_274() {
     if (jj_3R_208()) return true;
     return false;
   }
@@ -10343,11 +10274,16 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_271() {
+  final private boolean jj_3R_273() {
     if (jj_3R_207()) return true;
     return false;
   }
 
+  final private boolean jj_3R_229() {
+    if (jj_3R_245()) return true;
+    return false;
+  }
+
   final private boolean jj_3R_199() {
     Token xsp;
     xsp = jj_scanpos;
@@ -10358,54 +10294,75 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_270() {
+  final private boolean jj_3R_272() {
     if (jj_3R_67()) return true;
     return false;
   }
 
-  final private boolean jj_3R_269() {
-    if (jj_3R_74()) return true;
+  final private boolean jj_3R_228() {
+    if (jj_3R_244()) return true;
     return false;
   }
 
-  final private boolean jj_3R_123() {
-    if (jj_scan_token(DATA)) return true;
+  final private boolean jj_3R_219() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_228()) {
+    jj_scanpos = xsp;
+    if (jj_3R_229()) {
+    jj_scanpos = xsp;
+    if (jj_3_10()) {
+    jj_scanpos = xsp;
+    if (jj_3R_230()) {
+    jj_scanpos = xsp;
+    if (jj_3R_231()) {
+    jj_scanpos = xsp;
+    if (jj_3R_232()) {
+    jj_scanpos = xsp;
+    if (jj_3R_233()) {
+    jj_scanpos = xsp;
+    if (jj_3R_234()) {
+    jj_scanpos = xsp;
+    if (jj_3R_235()) return true;
+    }
+    }
+    }
+    }
+    }
+    }
+    }
+    }
     return false;
   }
 
-  final private boolean jj_3R_268() {
-    if (jj_3R_100()) return true;
+  final private boolean jj_3R_271() {
+    if (jj_3R_74()) return true;
     return false;
   }
 
-  final private boolean jj_3R_267() {
-    if (jj_3R_139()) return true;
+  final private boolean jj_3R_270() {
+    if (jj_3R_100()) return true;
     return false;
   }
 
-  final private boolean jj_3R_64() {
-    if (jj_3R_91()) return true;
+  final private boolean jj_3R_269() {
+    if (jj_3R_139()) return true;
     return false;
   }
 
-  final private boolean jj_3R_78() {
-    if (jj_3R_115()) return true;
-    if (jj_3R_148()) return true;
+  final private boolean jj_3R_148() {
+    if (jj_3R_173()) return true;
     return false;
   }
 
-  final private boolean jj_3R_63() {
-    if (jj_3R_67()) return true;
+  final private boolean jj_3R_124() {
+    if (jj_scan_token(WHERE)) return true;
     return false;
   }
 
-  final private boolean jj_3R_260() {
+  final private boolean jj_3R_262() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_267()) {
-    jj_scanpos = xsp;
-    if (jj_3R_268()) {
-    jj_scanpos = xsp;
     if (jj_3R_269()) {
     jj_scanpos = xsp;
     if (jj_3R_270()) {
@@ -10420,7 +10377,11 @@ ExpressionList arg, el = null; Metadata meta = null;
     jj_scanpos = xsp;
     if (jj_3R_275()) {
     jj_scanpos = xsp;
-    if (jj_3R_276()) return true;
+    if (jj_3R_276()) {
+    jj_scanpos = xsp;
+    if (jj_3R_277()) {
+    jj_scanpos = xsp;
+    if (jj_3R_278()) return true;
     }
     }
     }
@@ -10436,7 +10397,7 @@ ExpressionList arg, el = null; Metadata meta = null;
   final private boolean jj_3R_215() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_scan_token(246)) {
+    if (jj_scan_token(247)) {
     jj_scanpos = xsp;
     if (jj_scan_token(17)) return true;
     }
@@ -10464,6 +10425,37 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
+  final private boolean jj_3R_123() {
+    if (jj_scan_token(DATA)) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_64() {
+    if (jj_3R_91()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_78() {
+    if (jj_3R_115()) return true;
+    if (jj_3R_148()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_63() {
+    if (jj_3R_67()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_169() {
+    if (jj_scan_token(LOOP)) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_151() {
+    if (jj_3R_175()) return true;
+    return false;
+  }
+
   final private boolean jj_3R_90() {
     if (jj_scan_token(DELETE)) return true;
     Token xsp;
@@ -10480,24 +10472,53 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
+  final private boolean jj_3R_175() {
+    if (jj_3R_99()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_179() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_198()) jj_scanpos = xsp;
+    if (jj_scan_token(LPAREN)) return true;
+    if (jj_3R_199()) return true;
+    while (true) {
+      xsp = jj_scanpos;
+      if (jj_3R_199()) { jj_scanpos = xsp; break; }
+    }
+    return false;
+  }
+
   final private boolean jj_3_13() {
     if (jj_scan_token(SEMICOLON)) return true;
     if (jj_3R_78()) return true;
     return false;
   }
 
-  final private boolean jj_3_5() {
-    if (jj_3R_66()) return true;
+  final private boolean jj_3R_144() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_scan_token(58)) {
+    jj_scanpos = xsp;
+    if (jj_3R_169()) return true;
+    }
+    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
-  final private boolean jj_3R_169() {
-    if (jj_scan_token(LOOP)) return true;
+  final private boolean jj_3_5() {
+    if (jj_3R_66()) return true;
     return false;
   }
 
-  final private boolean jj_3R_151() {
-    if (jj_3R_175()) return true;
+  final private boolean jj_3R_117() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_scan_token(242)) {
+    jj_scanpos = xsp;
+    if (jj_3R_151()) return true;
+    }
     return false;
   }
 
@@ -10542,11 +10563,6 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_175() {
-    if (jj_3R_99()) return true;
-    return false;
-  }
-
   final private boolean jj_3R_183() {
     Token xsp;
     xsp = jj_scanpos;
@@ -10565,37 +10581,13 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_179() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_198()) jj_scanpos = xsp;
-    if (jj_scan_token(LPAREN)) return true;
-    if (jj_3R_199()) return true;
-    while (true) {
-      xsp = jj_scanpos;
-      if (jj_3R_199()) { jj_scanpos = xsp; break; }
-    }
-    return false;
-  }
-
-  final private boolean jj_3R_144() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(58)) {
-    jj_scanpos = xsp;
-    if (jj_3R_169()) return true;
-    }
-    if (jj_scan_token(LPAREN)) return true;
+  final private boolean jj_3R_118() {
+    if (jj_scan_token(SEMICOLON)) return true;
     return false;
   }
 
-  final private boolean jj_3R_117() {
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_scan_token(241)) {
-    jj_scanpos = xsp;
-    if (jj_3R_151()) return true;
-    }
+  final private boolean jj_3R_116() {
+    if (jj_scan_token(DISTINCT)) return true;
     return false;
   }
 
@@ -10628,18 +10620,19 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_118() {
-    if (jj_scan_token(SEMICOLON)) return true;
+  final private boolean jj_3_2() {
+    if (jj_3R_62()) return true;
     return false;
   }
 
-  final private boolean jj_3_2() {
-    if (jj_3R_62()) return true;
+  final private boolean jj_3R_85() {
+    if (jj_3R_119()) return true;
     return false;
   }
 
-  final private boolean jj_3R_116() {
-    if (jj_scan_token(DISTINCT)) return true;
+  final private boolean jj_3R_140() {
+    if (jj_scan_token(IF)) return true;
+    if (jj_scan_token(LPAREN)) return true;
     return false;
   }
 
@@ -10671,14 +10664,16 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_85() {
-    if (jj_3R_119()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_140() {
-    if (jj_scan_token(IF)) return true;
+  final private boolean jj_3R_83() {
     if (jj_scan_token(LPAREN)) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_116()) jj_scanpos = xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_117()) jj_scanpos = xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_118()) jj_scanpos = xsp;
+    if (jj_scan_token(RPAREN)) return true;
     return false;
   }
 
@@ -10687,26 +10682,35 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
+  final private boolean jj_3R_156() {
+    if (jj_3R_180()) return true;
+    return false;
+  }
+
   final private boolean jj_3R_201() {
     if (jj_3R_157()) return true;
     return false;
   }
 
+  final private boolean jj_3R_155() {
+    if (jj_3R_179()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_180() {
+    if (jj_scan_token(LBRACKET)) return true;
+    if (jj_3R_77()) return true;
+    return false;
+  }
+
   final private boolean jj_3R_200() {
     if (jj_3R_76()) return true;
     return false;
   }
 
-  final private boolean jj_3R_83() {
+  final private boolean jj_3R_146() {
+    if (jj_scan_token(QUERY)) return true;
     if (jj_scan_token(LPAREN)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_116()) jj_scanpos = xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_117()) jj_scanpos = xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_118()) jj_scanpos = xsp;
-    if (jj_scan_token(RPAREN)) return true;
     return false;
   }
 
@@ -10730,19 +10734,44 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_156() {
-    if (jj_3R_180()) return true;
+  final private boolean jj_3R_120() {
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_155()) {
+    jj_scanpos = xsp;
+    if (jj_3R_156()) return true;
+    }
     return false;
   }
 
-  final private boolean jj_3R_155() {
-    if (jj_3R_179()) return true;
+  final private boolean jj_3R_84() {
+    if (jj_3R_99()) return true;
     return false;
   }
 
-  final private boolean jj_3R_180() {
-    if (jj_scan_token(LBRACKET)) return true;
-    if (jj_3R_77()) return true;
+  final private boolean jj_3_19() {
+    if (jj_scan_token(SEMICOLON)) return true;
+    Token xsp;
+    xsp = jj_scanpos;
+    if (jj_3R_84()) {
+    jj_scanpos = xsp;
+    if (jj_3R_85()) return true;
+    }
+    return false;
+  }
+
+  final private boolean jj_3R_112() {
+    if (jj_3R_146()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_111() {
+    if (jj_3R_145()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_110() {
+    if (jj_3R_144()) return true;
     return false;
   }
 
@@ -10751,9 +10780,8 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_146() {
-    if (jj_scan_token(QUERY)) return true;
-    if (jj_scan_token(LPAREN)) return true;
+  final private boolean jj_3R_109() {
+    if (jj_3R_143()) return true;
     return false;
   }
 
@@ -10767,11 +10795,26 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
+  final private boolean jj_3R_108() {
+    if (jj_3R_142()) return true;
+    return false;
+  }
+
   final private boolean jj_3R_103() {
     if (jj_3R_100()) return true;
     return false;
   }
 
+  final private boolean jj_3R_107() {
+    if (jj_3R_141()) return true;
+    return false;
+  }
+
+  final private boolean jj_3R_106() {
+    if (jj_3R_140()) return true;
+    return false;
+  }
+
   final private boolean jj_3R_105() {
     Token xsp;
     xsp = jj_scanpos;
@@ -10786,49 +10829,38 @@ ExpressionList arg, el = null; Metadata meta = null;
     return false;
   }
 
-  final private boolean jj_3R_120() {
+  final private boolean jj_3R_74() {
     Token xsp;
     xsp = jj_scanpos;
-    if (jj_3R_155()) {
+    if (jj_3R_106()) {
     jj_scanpos = xsp;
-    if (jj_3R_156()) return true;
-    }
-    return false;
-  }
-
-  final private boolean jj_3R_84() {
-    if (jj_3R_99()) return true;
-    return false;
-  }
-
-  final private boolean jj_3_19() {
-    if (jj_scan_token(SEMICOLON)) return true;
-    Token xsp;
-    xsp = jj_scanpos;
-    if (jj_3R_84()) {
+    if (jj_3R_107()) {
     jj_scanpos = xsp;
-    if (jj_3R_85()) return true;
+    if (jj_3R_108()) {
+    jj_scanpos = xsp;
+    if (jj_3R_109()) {
+    jj_scanpos = xsp;
+    if (jj_3R_110()) {
+    jj_scanpos = xsp;
+    if (jj_3R_111()) {
+    jj_scanpos = xsp;
+    if (jj_3R_112()) return true;
+    }
+    }
+    }
+    }
+    }
     }
     return false;
   }
 
-  final private boolean jj_3R_112() {
-    if (jj_3R_146()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_111() {
-    if (jj_3R_145()) return true;
-    return false;
-  }
-
-  final private boolean jj_3R_110() {
-    if (jj_3R_144()) return true;
+  final private boolean jj_3R_166() {
+    if (jj_scan_token(LBRACE)) return true;
     return false;
   }
 
-  final private boolean jj_3R_109() {
-    if (jj_3R_143()) return true;
+  final private boolean jj_3R_185() {
+    if (jj_scan_token(NOT)) return true;
     return false;
   }
 
@@ -10863,7 +10895,7 @@ ExpressionList arg, el = null; Metadata meta = null;
       jj_la1_8();
    }
    private static void jj_la1_0() {
-      jj_la1_0 = new int[] {0x3f000000,0x0,0x3f000000,0x3f060000,0x60000,0x0,0x404000,0x808000,0xf00,0xf00,0xf00,0xc3ff00,0x0,0x0,0xc0c000,0x3700,0xc0c000,0xc0c000,0x404000,0x0,0x808000,0x0,0x0,0xc0c000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x700,0x0,0x700,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x700,0x0,0x33f00,0x0,0x33f00,0x0,0x700,0x0,0x0,0x0,0x3f00,0x0,0x3f00,0x0,0x40000000,0x3f00,0x0,0x3f00,0x0,0x3f00,0x0,0x0,0x0,0x3f00,0x0,0x8000000,0x3000,0x1000000,0x0,0x0,0x0,0x3700,0x3700,0x0,0x0,0x0,0x40000000,0x0,0x40000000,0x3000,0x0,0x3000,0x0,0x3000,0x0,0x3000,0x700,0x0,0x0,0x0,0x0,0x0,0x0,0x3000,0x0,0x700,0x0,0x700,0x0,0x3000,0x700,0x700,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3700,0x0,0x0,0x3700,0x0,0x1000000,0x33f00,0x33f00,0x0,0x33f00,0x0,0x0,0x0,0x33f00,0x0,0x0,0x0,0x3000,0x0,0x3700,0x0,0x700,0x33f00,0x0,0x33f00,0x0,0x33f00,0x30000,0x3f00,0x0,0x33f00,0x0,0x0,0x0,0x0,0x33f00,0x203700,0x3700,0x0,0x700,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x700,0x0,0x700,0x0,0x0,0x0,0x30000,0x20000,0x30000,0x30000,0x33f00,0x33f00,0x30000,0x3f00,0x3f00,0x3700,0x3000,0x0,0x700,0xf00,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3f00,0x0,0x3f00,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xd000000,0x0,0x0,0x0,0x0,0x0,0x3000,0x0,0x3000,0xd063f00,0x1063000,0xd000000,0x700,0x700,0x700,0x0,0x0,0x0,0x700,0x3700,0xd063f00,0x1063700,0x700,0x0,0x700,0x0,0x700,0x3700,0x0,0x0,0x0,0x3000,0x0,0x3000,0x0,0x0,0x0,0x3000,0x3000,0x0,0x3000,0x60000,0x60000,0x700,0x700,0x0,0x3f00,0x3f00,0x0,0x3f00,0x0,0x60000,0x40000000,0x0,0x3f00,0x3f00,0x0,0x3f00,0x700,0x0,0x40000,0x40000,0x0,0x0,0x700,0x700,0x600,0x800,};
+      jj_la1_0 = new int[] {0x3f000000,0x0,0x3f000000,0x3f060000,0x60000,0x0,0x404000,0x808000,0xf00,0xf00,0xf00,0xc3ff00,0x0,0x0,0xc0c000,0x3700,0xc0c000,0xc0c000,0x404000,0x0,0x808000,0x0,0x0,0xc0c000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x700,0x0,0x700,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x700,0x0,0x33f00,0x0,0x33f00,0x0,0x700,0x0,0x0,0x0,0x3f00,0x0,0x3f00,0x0,0x40000000,0x3f00,0x0,0x3f00,0x0,0x3f00,0x0,0x0,0x0,0x3f00,0x0,0x8000000,0x3000,0x1000000,0x0,0x0,0x0,0x3700,0x3700,0x0,0x0,0x0,0x40000000,0x0,0x40000000,0x3000,0x0,0x3000,0x0,0x3000,0x0,0x3000,0x700,0x0,0x0,0x0,0x0,0x0,0x0,0x3000,0x0,0x700,0x0,0x700,0x0,0x3000,0x700,0x700,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3700,0x0,0x0,0x3700,0x0,0x1000000,0x33f00,0x33f00,0x0,0x33f00,0x0,0x0,0x0,0x33f00,0x0,0x0,0x0,0x3000,0x0,0x3700,0x0,0x700,0x33f00,0x0,0x33f00,0x0,0x33f00,0x30000,0x3f00,0x0,0x33f00,0x0,0x0,0x0,0x0,0x33f00,0x40203700,0x40003700,0x0,0x40000700,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x700,0x0,0x700,0x0,0x0,0x0,0x30000,0x20000,0x30000,0x30000,0x33f00,0x33f00,0x30000,0x3f00,0x3f00,0x3700,0x3000,0x0,0x700,0xf00,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3f00,0x0,0x3f00,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xd000000,0x0,0x0,0x0,0x0,0x0,0x3000,0x0,0x3000,0xd063f00,0x1063000,0xd000000,0x700,0x700,0x700,0x0,0x0,0x0,0x700,0x3700,0xd063f00,0x1063700,0x700,0x0,0x700,0x0,0x700,0x3700,0x0,0x0,0x0,0x3000,0x0,0x3000,0x0,0x0,0x0,0x3000,0x3000,0x0,0x3000,0x60000,0x60000,0x700,0x700,0x0,0x3f00,0x3f00,0x0,0x3f00,0x0,0x60000,0x40000000,0x0,0x3f00,0x3f00,0x0,0x3f00,0x700,0x0,0x40000,0x40000,0x0,0x0,0x700,0x700,0x600,0x800,};
    }
    private static void jj_la1_1() {
       jj_la1_1 = new int[] {0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x800,0x0,0x800,0x0,0x800,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x900,0x0,0x0,0x0,0x800,0x800,0x800,0x800,0x0,0x0,0x400,0x0,0x0,0x0,0x0,0x0,0x100,0x0,0x0,0x800,0x0,0x200,0x0,0x0,0x0,0x0,0x9ff50000,0x0,0x9ff50000,0x0,0x0,0x9ff50000,0x0,0x9ff50000,0x0,0x9ff50000,0x0,0x0,0x0,0x9ff50000,0x200,0x0,0x0,0x0,0x200,0x200,0x600,0x0,0x0,0x200,0x0,0x0,0x1,0x0,0x1,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x100,0x400,0x20,0x8,0x6,0x0,0x0,0x0,0x0,0x0,0x80310000,0x0,0x80310000,0x0,0x0,0x0,0x4,0x2,0x6,0x8,0x0,0x0,0x0,0x8,0x0,0x9ff50000,0xc0,0xc0,0x80310000,0xc0,0x0,0x8002b800,0x8002b800,0x0,0x0,0x0,0x0,0x0,0x0,0xa000,0x80021800,0x0,0x0,0x0,0x0,0x4000,0x9ff50000,0x800,0x0,0x800,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x10000,0x10000,0x10000,0x0,0x0,0x0,0x0,0x9ff50000,0x0,0x9ff50000,0x200000,0x0,0x0,0x0,0x100000,0x0,0x80310000,0x10000,0x1fc40000,0x0,0x0,0x10000000,0x40000000,0x0,0xc000000,0x0,0x0,0x0,0x9ff51000,0x0,0x1000,0x0,0x0,0x0,0xc00000,0x0,0x3000000,0x0,0x0,0x9ff51000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x9ff50000,0x9ff50000,0x0,0x9ff50000,0x0,0x0,0x0,0x0,0x9ff50000,0x9ff50000,0x0,0x9ff50000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,};
@@ -10878,13 +10910,13 @@ ExpressionList arg, el = null; Metadata meta = null;
       jj_la1_4 = new int[] {0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xffffffff,0x0,0xffffffff,0x0,0x0,0xffffffff,0x0,0xffffffff,0x0,0xffffffff,0x0,0x0,0x0,0xffffffff,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xffffffff,0x0,0xffffffff,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xffffffff,0x0,0x0,0xffffffff,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xffffffff,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xffffffff,0x0,0xffffffff,0x2080,0x7ffd73f,0xf8000000,0x800,0x40,0x0,0xffffffff,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xffffffff,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xffffffff,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xffffffff,0xffffffff,0x0,0xffffffff,0x0,0x0,0x0,0x0,0xffffffff,0xffffffff,0x0,0xffffffff,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,};
    }
    private static void jj_la1_5() {
-      jj_la1_5 = new int[] {0x0,0x40000000,0x40000000,0x40000000,0x40000000,0x40000000,0x0,0x0,0x6,0x6,0x6,0xc00006,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x10,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x800,0xc00006,0x0,0xc00006,0x0,0x0,0x0,0x0,0x0,0xff8043e7,0x0,0xff8043e7,0x3e0,0x0,0xff8043e7,0x0,0xff8043e7,0x380,0xff8043e7,0x0,0x0,0x0,0xff8043e7,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x800,0x8,0x0,0x20000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x420,0x0,0x800,0x10,0x0,0x0,0x2006,0x3f804001,0x2006,0x3f804001,0x0,0x2006,0x0,0x0,0x0,0x0,0x0,0x400,0x20,0x400,0x420,0x10000,0xff804001,0x0,0x0,0x3f804001,0x0,0x0,0xc01806,0xc01806,0x0,0xc00006,0x0,0x0,0x0,0xc00006,0x0,0x1800,0x0,0x0,0x0,0x0,0x0,0xff804001,0xc00006,0x0,0xc00006,0x0,0xc00006,0xc00000,0x6,0xc00000,0x6,0x0,0x0,0x0,0x0,0x6,0x20000000,0x20000000,0x200000,0x20000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x6,0x6,0x0,0x6,0x0,0x0,0x0,0x200000,0x6,0x6,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xff804007,0x0,0xff804007,0x0,0xf000000,0x4001,0x30000000,0x800000,0x0,0x3f804001,0x0,0xc0000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xff804007,0x0,0x0,0x6,0x6,0x6,0x0,0x0,0x0,0x0,0x0,0xff804007,0x0,0x0,0xc0000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x6,0x6,0x0,0xff8043e7,0xff8043e7,0x0,0xff8043e7,0x0,0x40000000,0x0,0x0,0xff804007,0xff804007,0x0,0xff804007,0x6,0x0,0x0,0x0,0x6,0x0,0x0,0x0,0x0,0x0,};
+      jj_la1_5 = new int[] {0x0,0x80000000,0x80000000,0x80000000,0x80000000,0x80000000,0x0,0x0,0x6,0x6,0x6,0xc00006,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x10,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x800,0xc00006,0x0,0xc00006,0x0,0x0,0x0,0x0,0x0,0xbf8043e7,0x0,0xbf8043e7,0x3e0,0x0,0xbf8043e7,0x0,0xbf8043e7,0x380,0xbf8043e7,0x0,0x0,0x0,0xbf8043e7,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x800,0x8,0x0,0x20000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x420,0x0,0x800,0x10,0x0,0x0,0x2006,0x3f804001,0x2006,0x3f804001,0x0,0x2006,0x0,0x0,0x0,0x0,0x0,0x400,0x20,0x400,0x420,0x10000,0xbf804001,0x0,0x0,0x3f804001,0x0,0x0,0xc01806,0xc01806,0x0,0xc00006,0x0,0x0,0x0,0xc00006,0x0,0x1800,0x0,0x0,0x0,0x0,0x0,0xbf804001,0xc00006,0x0,0xc00006,0x0,0xc00006,0xc00000,0x6,0xc00000,0x6,0x0,0x0,0x0,0x0,0x6,0x60000000,0x60000000,0x200000,0x60000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x6,0x6,0x0,0x6,0x0,0x0,0x0,0x200000,0x6,0x6,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xbf804007,0x0,0xbf804007,0x0,0xf000000,0x4001,0x30000000,0x800000,0x0,0x3f804001,0x0,0x80000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xbf804007,0x0,0x0,0x6,0x6,0x6,0x0,0x0,0x0,0x0,0x0,0xbf804007,0x0,0x0,0x80000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x6,0x6,0x0,0xbf8043e7,0xbf8043e7,0x0,0xbf8043e7,0x0,0x80000000,0x0,0x0,0xbf804007,0xbf804007,0x0,0xbf804007,0x6,0x0,0x0,0x0,0x6,0x0,0x0,0x0,0x0,0x0,};
    }
    private static void jj_la1_6() {
-      jj_la1_6 = new int[] {0x0,0x4000002,0x4000002,0x4000002,0x4000002,0x4000002,0x0,0x0,0x413c3800,0x413c3800,0x413c3800,0x513c3800,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x80000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x513c3800,0x0,0x513c3800,0x0,0x0,0x0,0x1000000,0x10000000,0x413c3801,0x80000000,0x413c3801,0x0,0x0,0x413c3801,0x80000000,0x413c3801,0x0,0x413c3801,0x1000000,0x13c0000,0x1000000,0x413c3801,0x0,0x0,0x1000000,0x0,0x0,0x0,0x4000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000000,0x1000000,0x1000000,0x1000000,0x1000000,0x0,0x1000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000000,0x3c3800,0x0,0x3c3800,0x0,0x1000000,0x3c3800,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000001,0x0,0x0,0x0,0x1000000,0x0,0x553c3800,0x553c3800,0x0,0x513c3800,0x0,0x0,0x0,0x513c3800,0x0,0x0,0x0,0x1000000,0x0,0x0,0x0,0x1000001,0x513c3800,0x0,0x513c3800,0x0,0x513c3800,0x11000000,0x413c3800,0x0,0x513c3800,0x0,0x0,0x0,0x0,0x513c3800,0x1000020,0x1000020,0x0,0x1000020,0x0,0x0,0x0,0x800,0x0,0x800,0x4000000,0x4000000,0x1000020,0x0,0x1000000,0x14000800,0x38,0x3c0,0x11000000,0x0,0x0,0x0,0x513c3800,0x513c3800,0x11000000,0x413c3800,0x40000000,0x0,0x0,0x0,0x13c3800,0x413c3800,0x0,0x0,0x0,0x3c,0x3c,0x0,0x0,0x0,0x0,0x413c3801,0x0,0x413c3801,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1,0x0,0x0,0x4000000,0x0,0x2000000,0x0,0x0,0x0,0x1000000,0x413c3801,0x1000000,0x0,0x13c3800,0x13c3800,0x3c3800,0x0,0x0,0x0,0x0,0x1000000,0x413c3801,0x1000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000000,0x0,0x0,0x0,0x1000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3c3800,0x3c3800,0x0,0x413c3801,0x413c3801,0x80000000,0x493c3801,0x2,0x0,0x0,0x0,0x413c3801,0x413c3801,0x80000000,0x413c3801,0x3c3800,0x3800,0x0,0x0,0x0,0x3c0000,0x0,0x0,0x0,0x40000000,};
+      jj_la1_6 = new int[] {0x0,0x8000004,0x8000004,0x8000004,0x8000004,0x8000004,0x0,0x0,0x82787000,0x82787000,0x82787000,0xa2787000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xa2787000,0x0,0xa2787000,0x0,0x0,0x0,0x2000000,0x20000000,0x82787003,0x0,0x82787003,0x0,0x0,0x82787003,0x0,0x82787003,0x0,0x82787003,0x2000000,0x2780000,0x2000000,0x82787003,0x0,0x0,0x2000000,0x0,0x0,0x0,0x8000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x2000000,0x2000000,0x2000000,0x2000000,0x2000000,0x0,0x2000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x2000000,0x787000,0x0,0x787000,0x0,0x2000000,0x787000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x2000003,0x0,0x0,0x0,0x2000000,0x0,0xaa787000,0xaa787000,0x0,0xa2787000,0x0,0x0,0x0,0xa2787000,0x0,0x0,0x0,0x2000000,0x0,0x0,0x0,0x2000003,0xa2787000,0x0,0xa2787000,0x0,0xa2787000,0x22000000,0x82787000,0x0,0xa2787000,0x0,0x0,0x0,0x0,0xa2787000,0x2000040,0x2000040,0x0,0x2000040,0x0,0x0,0x0,0x1000,0x0,0x1000,0x8000000,0x8000000,0x2000040,0x0,0x2000000,0x28001000,0x70,0x780,0x22000000,0x0,0x0,0x0,0xa2787000,0xa2787000,0x22000000,0x82787000,0x80000000,0x0,0x0,0x0,0x2787000,0x82787000,0x0,0x0,0x0,0x78,0x78,0x0,0x0,0x0,0x0,0x82787003,0x0,0x82787003,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x3,0x0,0x0,0x8000000,0x0,0x4000000,0x0,0x0,0x0,0x2000000,0x82787003,0x2000000,0x0,0x2787000,0x2787000,0x787000,0x0,0x0,0x0,0x0,0x2000000,0x82787003,0x2000000,0x0,0x1,0x0,0x0,0x0,0x0,0x0,0x2000000,0x0,0x0,0x0,0x2000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x787000,0x787000,0x0,0x82787003,0x82787003,0x0,0x92787003,0x4,0x0,0x0,0x0,0x82787003,0x82787003,0x0,0x82787003,0x787000,0x7000,0x0,0x0,0x0,0x780000,0x0,0x0,0x0,0x80000000,};
    }
    private static void jj_la1_7() {
-      jj_la1_7 = new int[] {0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x10,0x0,0x10,0xc00010,0x2,0x0,0x0,0x800000,0x0,0x0,0x0,0x2,0x0,0x2,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0xc00010,0x0,0xc00010,0x0,0x0,0x1,0x0,0x0,0xc00010,0x0,0xc00010,0x0,0x0,0xc00010,0x0,0xc00010,0x0,0xc00010,0x0,0x0,0x0,0xc00010,0x0,0x0,0x820000,0x0,0x0,0x0,0x0,0x800000,0x820000,0x0,0x0,0x0,0x0,0x0,0x0,0x820000,0x0,0x800000,0x0,0x820000,0x1,0x800000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x800000,0x0,0x10,0x0,0x10,0x0,0x800000,0x10,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x800000,0x0,0x0,0x800000,0x0,0x0,0xc00010,0xc00010,0x2,0xc00010,0x2,0x0,0x2,0xc00010,0x0,0x0,0x1,0x800000,0x0,0x800000,0x0,0x0,0xc00010,0x2,0xc00010,0x2,0xc00010,0x400010,0x800010,0x0,0xc00000,0x100000,0x100000,0x2,0x1,0xc00010,0x800400,0x800400,0x0,0x400,0x102000,0x102000,0x40000,0x0,0x1,0x1,0xa8000,0xa8000,0x400,0xa8000,0x0,0x0,0xbcc,0x0,0x400000,0x400000,0x400000,0x400000,0xc00010,0xc00010,0x400000,0x800000,0x800000,0x800000,0x800000,0x0,0x0,0x0,0x2000,0x4000,0x0,0xbcc,0xbcc,0x18000,0x18000,0x60000,0x60000,0x818410,0x0,0x818410,0x0,0x0,0x0,0x0,0x0,0x1,0x0,0x0,0x0,0x0,0x1,0x0,0x0,0x1,0x0,0x800001,0x1,0x800000,0xc18410,0x800000,0x400000,0x0,0x0,0x0,0x0,0x1,0x0,0x0,0x800000,0xc18410,0x800000,0x0,0x0,0x0,0x1,0x0,0x800000,0x1,0x0,0x1,0x800000,0x1,0x900002,0x100000,0x2,0x2,0x900002,0x800001,0x1,0x800000,0x0,0x0,0x800000,0x800000,0x20000,0x818410,0x818410,0x0,0x818410,0x0,0x0,0x0,0x1,0x838410,0x838410,0x0,0x800010,0x0,0x0,0x200000,0x200000,0x0,0x0,0x0,0x0,0x0,0x0,};
+      jj_la1_7 = new int[] {0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x20,0x0,0x20,0x1800020,0x4,0x0,0x0,0x1000000,0x0,0x0,0x0,0x4,0x0,0x4,0x0,0x0,0x1,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1800020,0x0,0x1800020,0x0,0x0,0x2,0x0,0x0,0x1800020,0x1,0x1800020,0x0,0x0,0x1800020,0x1,0x1800020,0x0,0x1800020,0x0,0x0,0x0,0x1800020,0x0,0x0,0x1040000,0x0,0x0,0x0,0x0,0x1000000,0x1040000,0x0,0x0,0x0,0x0,0x0,0x0,0x1040000,0x0,0x1000000,0x0,0x1040000,0x2,0x1000000,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000000,0x0,0x20,0x0,0x20,0x0,0x1000000,0x20,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x1000000,0x0,0x0,0x1000000,0x0,0x0,0x1800020,0x1800020,0x4,0x1800020,0x4,0x0,0x4,0x1800020,0x0,0x0,0x2,0x1000000,0x0,0x1000000,0x0,0x0,0x1800020,0x4,0x1800020,0x4,0x1800020,0x800020,0x1000020,0x0,0x1800000,0x200000,0x200000,0x4,0x2,0x1800020,0x1000800,0x1000800,0x0,0x800,0x204000,0x204000,0x80000,0x0,0x2,0x2,0x150000,0x150000,0x800,0x150000,0x0,0x0,0x1798,0x0,0x800000,0x800000,0x800000,0x800000,0x1800020,0x1800020,0x800000,0x1000000,0x1000000,0x1000000,0x1000000,0x0,0x0,0x0,0x4000,0x8000,0x0,0x1798,0x1798,0x30000,0x30000,0xc0000,0xc0000,0x1030820,0x0,0x1030820,0x0,0x0,0x0,0x0,0x0,0x2,0x0,0x0,0x0,0x0,0x2,0x0,0x0,0x2,0x0,0x1000002,0x2,0x1000000,0x1830820,0x1000000,0x800000,0x0,0x0,0x0,0x0,0x2,0x0,0x0,0x1000000,0x1830820,0x1000000,0x0,0x0,0x0,0x2,0x0,0x1000000,0x2,0x0,0x2,0x1000000,0x2,0x1200004,0x200000,0x4,0x4,0x1200004,0x1000002,0x2,0x1000000,0x0,0x0,0x1000000,0x1000000,0x40000,0x1030820,0x1030820,0x1,0x1030820,0x0,0x0,0x0,0x2,0x1070820,0x1070820,0x1,0x1000020,0x0,0x0,0x400000,0x400000,0x0,0x0,0x0,0x0,0x0,0x0,};
    }
    private static void jj_la1_8() {
       jj_la1_8 = new int[] {0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,0x0,};
@@ -11064,8 +11096,8 @@ ExpressionList arg, el = null; Metadata meta = null;
 
   public ParseException generateParseException() {
     jj_expentries.removeAllElements();
-    boolean[] la1tokens = new boolean[257];
-    for (int i = 0; i < 257; i++) {
+    boolean[] la1tokens = new boolean[258];
+    for (int i = 0; i < 258; i++) {
       la1tokens[i] = false;
     }
     if (jj_kind >= 0) {
@@ -11105,7 +11137,7 @@ ExpressionList arg, el = null; Metadata meta = null;
         }
       }
     }
-    for (int i = 0; i < 257; i++) {
+    for (int i = 0; i < 258; i++) {
       if (la1tokens[i]) {
         jj_expentry = new int[1];
         jj_expentry[0] = i;
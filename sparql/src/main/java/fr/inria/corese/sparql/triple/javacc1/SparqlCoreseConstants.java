@@ -188,73 +188,74 @@ public interface SparqlCoreseConstants {
   int IS_TRIPLE = 187;
   int SPARQL_COMPARE = 188;
   int XPATH = 189;
-  int FUNCTION = 190;
-  int LAMBDA = 191;
-  int QUERY = 192;
-  int PACKAGE = 193;
-  int IN = 194;
-  int EQ2 = 195;
-  int NE2 = 196;
-  int BEGIN_WITH = 197;
-  int SPEC = 198;
-  int SAME = 199;
-  int GENERALISATION = 200;
-  int STRICT_GENERALISATION = 201;
-  int EQ_LANG = 202;
-  int INTEGER = 203;
-  int DECIMAL = 204;
-  int DOUBLE = 205;
-  int EXPONENT = 206;
-  int QUOTE_3D = 207;
-  int QUOTE_3S = 208;
-  int ECHAR = 209;
-  int STRING_LITERAL1 = 210;
-  int STRING_LITERAL2 = 211;
-  int STRING_LITERAL_LONG1 = 212;
-  int STRING_LITERAL_LONG2 = 213;
-  int DIGITS = 214;
-  int HEX = 215;
-  int LPAREN = 216;
-  int RPAREN = 217;
-  int LBRACE = 218;
-  int RBRACE = 219;
-  int LBRACKET = 220;
-  int RBRACKET = 221;
-  int ANON = 222;
-  int SEMICOLON = 223;
-  int COMMA = 224;
-  int DOT = 225;
-  int EQ = 226;
-  int NE = 227;
-  int LTLT = 228;
-  int GTGT = 229;
-  int LT = 230;
-  int GT = 231;
-  int LE = 232;
-  int GE = 233;
-  int BANG = 234;
-  int TILDE = 235;
-  int COLON = 236;
-  int SC_OR = 237;
-  int SC_AND = 238;
-  int PLUS = 239;
-  int MINUS = 240;
-  int STAR = 241;
-  int SLASH = 242;
-  int QM = 243;
-  int BAR = 244;
-  int DATATYPE = 245;
-  int AT = 246;
-  int VAR3 = 247;
-  int NCCHAR1p = 248;
-  int NCCHAR1 = 249;
-  int NCCHAR = 250;
-  int NCNAME_PREFIX = 251;
-  int NCNAME = 252;
-  int BLANKNAME = 253;
-  int VARNAME = 254;
-  int LOCAL_ESC = 255;
-  int PERCENT = 256;
+  int SHORT = 190;
+  int FUNCTION = 191;
+  int LAMBDA = 192;
+  int QUERY = 193;
+  int PACKAGE = 194;
+  int IN = 195;
+  int EQ2 = 196;
+  int NE2 = 197;
+  int BEGIN_WITH = 198;
+  int SPEC = 199;
+  int SAME = 200;
+  int GENERALISATION = 201;
+  int STRICT_GENERALISATION = 202;
+  int EQ_LANG = 203;
+  int INTEGER = 204;
+  int DECIMAL = 205;
+  int DOUBLE = 206;
+  int EXPONENT = 207;
+  int QUOTE_3D = 208;
+  int QUOTE_3S = 209;
+  int ECHAR = 210;
+  int STRING_LITERAL1 = 211;
+  int STRING_LITERAL2 = 212;
+  int STRING_LITERAL_LONG1 = 213;
+  int STRING_LITERAL_LONG2 = 214;
+  int DIGITS = 215;
+  int HEX = 216;
+  int LPAREN = 217;
+  int RPAREN = 218;
+  int LBRACE = 219;
+  int RBRACE = 220;
+  int LBRACKET = 221;
+  int RBRACKET = 222;
+  int ANON = 223;
+  int SEMICOLON = 224;
+  int COMMA = 225;
+  int DOT = 226;
+  int EQ = 227;
+  int NE = 228;
+  int LTLT = 229;
+  int GTGT = 230;
+  int LT = 231;
+  int GT = 232;
+  int LE = 233;
+  int GE = 234;
+  int BANG = 235;
+  int TILDE = 236;
+  int COLON = 237;
+  int SC_OR = 238;
+  int SC_AND = 239;
+  int PLUS = 240;
+  int MINUS = 241;
+  int STAR = 242;
+  int SLASH = 243;
+  int QM = 244;
+  int BAR = 245;
+  int DATATYPE = 246;
+  int AT = 247;
+  int VAR3 = 248;
+  int NCCHAR1p = 249;
+  int NCCHAR1 = 250;
+  int NCCHAR = 251;
+  int NCNAME_PREFIX = 252;
+  int NCNAME = 253;
+  int BLANKNAME = 254;
+  int VARNAME = 255;
+  int LOCAL_ESC = 256;
+  int PERCENT = 257;
 
   int DEFAULT = 0;
 
@@ -449,6 +450,7 @@ public interface SparqlCoreseConstants {
     "\"isTriple\"",
     "\"sparql-compare\"",
     "\"xpath\"",
+    "\"short\"",
     "\"function\"",
     "\"lambda\"",
     "\"query\"",
@@ -46,54 +46,54 @@ private final int jjMoveStringLiteralDfa0_0()
          jjmatchedKind = 1;
          return jjMoveNfa_0(0, 0);
       case 33:
-         jjmatchedKind = 234;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x800000010L);
+         jjmatchedKind = 235;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x1000000020L);
       case 38:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x400000000000L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x800000000000L);
       case 40:
-         jjmatchedKind = 216;
+         jjmatchedKind = 217;
          return jjMoveNfa_0(0, 0);
       case 41:
-         jjmatchedKind = 217;
+         jjmatchedKind = 218;
          return jjMoveNfa_0(0, 0);
       case 42:
-         jjmatchedKind = 241;
+         jjmatchedKind = 242;
          return jjMoveNfa_0(0, 0);
       case 43:
-         jjmatchedKind = 239;
+         jjmatchedKind = 240;
          return jjMoveNfa_0(0, 0);
       case 44:
-         jjmatchedKind = 224;
+         jjmatchedKind = 225;
          return jjMoveNfa_0(0, 0);
       case 45:
-         jjmatchedKind = 240;
+         jjmatchedKind = 241;
          return jjMoveNfa_0(0, 0);
       case 46:
-         jjmatchedKind = 225;
+         jjmatchedKind = 226;
          return jjMoveNfa_0(0, 0);
       case 47:
-         jjmatchedKind = 242;
+         jjmatchedKind = 243;
          return jjMoveNfa_0(0, 0);
       case 58:
-         jjmatchedKind = 236;
+         jjmatchedKind = 237;
          return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x20000000000000L, 0x0L);
       case 59:
-         jjmatchedKind = 223;
+         jjmatchedKind = 224;
          return jjMoveNfa_0(0, 0);
       case 60:
-         jjmatchedKind = 230;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x11000000040L);
+         jjmatchedKind = 231;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x22000000080L);
       case 61:
-         jjmatchedKind = 226;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x88L);
+         jjmatchedKind = 227;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x110L);
       case 62:
-         jjmatchedKind = 231;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x22000000300L);
+         jjmatchedKind = 232;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x44000000600L);
       case 63:
-         jjmatchedKind = 243;
+         jjmatchedKind = 244;
          return jjMoveNfa_0(0, 0);
       case 64:
-         jjmatchedKind = 246;
+         jjmatchedKind = 247;
          return jjMoveStringLiteralDfa1_0(0x3c000L, 0x0L, 0x0L, 0x0L);
       case 65:
          return jjMoveStringLiteralDfa1_0(0x4010000000L, 0x100104020L, 0x5000040001000L, 0x0L);
@@ -106,15 +106,15 @@ private final int jjMoveStringLiteralDfa0_0()
       case 69:
          return jjMoveStringLiteralDfa1_0(0xc000000000000000L, 0x400000040040000L, 0x0L, 0x0L);
       case 70:
-         return jjMoveStringLiteralDfa1_0(0x400020000000000L, 0x20000001L, 0x4000004400000200L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x400020000000000L, 0x20000001L, 0x8000004400000200L, 0x0L);
       case 71:
          return jjMoveStringLiteralDfa1_0(0x80000000000L, 0x0L, 0x2008000000L, 0x0L);
       case 72:
          return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x40000020000L, 0x0L);
       case 73:
-         return jjMoveStringLiteralDfa1_0(0x1000000000000000L, 0xe000080000008200L, 0x800010000000037L, 0x4L);
+         return jjMoveStringLiteralDfa1_0(0x1000000000000000L, 0xe000080000008200L, 0x800010000000037L, 0x8L);
       case 76:
-         return jjMoveStringLiteralDfa1_0(0x8c0000200000000L, 0x81800000000002L, 0x8000000000000000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x8c0000200000000L, 0x81800000000002L, 0x0L, 0x1L);
       case 77:
          return jjMoveStringLiteralDfa1_0(0x800000000000L, 0x9fc00080L, 0x980448000L, 0x0L);
       case 78:
@@ -122,13 +122,13 @@ private final int jjMoveStringLiteralDfa0_0()
       case 79:
          return jjMoveStringLiteralDfa1_0(0x200c00000000L, 0x0L, 0x400000000000000L, 0x0L);
       case 80:
-         return jjMoveStringLiteralDfa1_0(0x800000L, 0x0L, 0x200001000000800L, 0x2L);
+         return jjMoveStringLiteralDfa1_0(0x800000L, 0x0L, 0x200001000000800L, 0x4L);
       case 81:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x1L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x2L);
       case 82:
          return jjMoveStringLiteralDfa1_0(0x2108000000L, 0x1000000200080000L, 0x1c0L, 0x0L);
       case 83:
-         return jjMoveStringLiteralDfa1_0(0x322100081000000L, 0x33c21e400010000L, 0x1102820037880008L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x322100081000000L, 0x33c21e400010000L, 0x5102820037880008L, 0x0L);
       case 84:
          return jjMoveStringLiteralDfa1_0(0x2014000020000000L, 0x40L, 0xc0000200300000L, 0x0L);
       case 85:
@@ -142,14 +142,14 @@ private final int jjMoveStringLiteralDfa0_0()
       case 89:
          return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x4000L, 0x0L);
       case 91:
-         jjmatchedKind = 220;
+         jjmatchedKind = 221;
          return jjMoveNfa_0(0, 0);
       case 93:
-         jjmatchedKind = 221;
+         jjmatchedKind = 222;
          return jjMoveNfa_0(0, 0);
       case 94:
-         jjmatchedKind = 197;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x20000000000000L);
+         jjmatchedKind = 198;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x40000000000000L);
       case 97:
          jjmatchedKind = 21;
          return jjMoveStringLiteralDfa1_0(0x4010000000L, 0x100104020L, 0x5000040001000L, 0x0L);
@@ -162,15 +162,15 @@ private final int jjMoveStringLiteralDfa0_0()
       case 101:
          return jjMoveStringLiteralDfa1_0(0xc000000000000000L, 0x400000040040000L, 0x0L, 0x0L);
       case 102:
-         return jjMoveStringLiteralDfa1_0(0x400020000000000L, 0x20000001L, 0x4000004400000200L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x400020000000000L, 0x20000001L, 0x8000004400000200L, 0x0L);
       case 103:
          return jjMoveStringLiteralDfa1_0(0x80000000000L, 0x0L, 0x2008000000L, 0x0L);
       case 104:
          return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x40000020000L, 0x0L);
       case 105:
-         return jjMoveStringLiteralDfa1_0(0x1000000000000000L, 0xe000080000008200L, 0x800010000000037L, 0x4L);
+         return jjMoveStringLiteralDfa1_0(0x1000000000000000L, 0xe000080000008200L, 0x800010000000037L, 0x8L);
       case 108:
-         return jjMoveStringLiteralDfa1_0(0x8c0000200000000L, 0x81800000000002L, 0x8000000000000000L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x8c0000200000000L, 0x81800000000002L, 0x0L, 0x1L);
       case 109:
          return jjMoveStringLiteralDfa1_0(0x800000000000L, 0x9fc00080L, 0x980448000L, 0x0L);
       case 110:
@@ -178,13 +178,13 @@ private final int jjMoveStringLiteralDfa0_0()
       case 111:
          return jjMoveStringLiteralDfa1_0(0x200c00000000L, 0x0L, 0x400000000000000L, 0x0L);
       case 112:
-         return jjMoveStringLiteralDfa1_0(0x800000L, 0x0L, 0x200001000000800L, 0x2L);
+         return jjMoveStringLiteralDfa1_0(0x800000L, 0x0L, 0x200001000000800L, 0x4L);
       case 113:
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x1L);
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x2L);
       case 114:
          return jjMoveStringLiteralDfa1_0(0x2108000000L, 0x1000000200080000L, 0x1c0L, 0x0L);
       case 115:
-         return jjMoveStringLiteralDfa1_0(0x322100081000000L, 0x33c21e400010000L, 0x1102820037880008L, 0x0L);
+         return jjMoveStringLiteralDfa1_0(0x322100081000000L, 0x33c21e400010000L, 0x5102820037880008L, 0x0L);
       case 116:
          return jjMoveStringLiteralDfa1_0(0x2014000020000000L, 0x40L, 0xc0000200300000L, 0x0L);
       case 117:
@@ -198,17 +198,17 @@ private final int jjMoveStringLiteralDfa0_0()
       case 121:
          return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x4000L, 0x0L);
       case 123:
-         jjmatchedKind = 218;
+         jjmatchedKind = 219;
          return jjMoveNfa_0(0, 0);
       case 124:
-         jjmatchedKind = 244;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x200000000000L);
+         jjmatchedKind = 245;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x400000000000L);
       case 125:
-         jjmatchedKind = 219;
+         jjmatchedKind = 220;
          return jjMoveNfa_0(0, 0);
       case 126:
-         jjmatchedKind = 235;
-         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x400L);
+         jjmatchedKind = 236;
+         return jjMoveStringLiteralDfa1_0(0x0L, 0x0L, 0x0L, 0x800L);
       default :
          return jjMoveNfa_0(0, 0);
    }
@@ -222,9 +222,9 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
    switch(curChar)
    {
       case 38:
-         if ((active3 & 0x400000000000L) != 0L)
+         if ((active3 & 0x800000000000L) != 0L)
          {
-            jjmatchedKind = 238;
+            jjmatchedKind = 239;
             jjmatchedPos = 1;
          }
          break;
@@ -234,60 +234,60 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
             jjmatchedKind = 181;
             jjmatchedPos = 1;
          }
-         else if ((active3 & 0x80L) != 0L)
+         else if ((active3 & 0x100L) != 0L)
          {
-            jjmatchedKind = 199;
+            jjmatchedKind = 200;
             jjmatchedPos = 1;
          }
-         else if ((active3 & 0x200L) != 0L)
+         else if ((active3 & 0x400L) != 0L)
          {
-            jjmatchedKind = 201;
+            jjmatchedKind = 202;
             jjmatchedPos = 1;
          }
          break;
       case 60:
-         if ((active3 & 0x1000000000L) != 0L)
+         if ((active3 & 0x2000000000L) != 0L)
          {
-            jjmatchedKind = 228;
+            jjmatchedKind = 229;
             jjmatchedPos = 1;
          }
          break;
       case 61:
-         if ((active3 & 0x8L) != 0L)
+         if ((active3 & 0x10L) != 0L)
          {
-            jjmatchedKind = 195;
+            jjmatchedKind = 196;
             jjmatchedPos = 1;
          }
-         else if ((active3 & 0x400L) != 0L)
+         else if ((active3 & 0x800L) != 0L)
          {
-            jjmatchedKind = 202;
+            jjmatchedKind = 203;
             jjmatchedPos = 1;
          }
-         else if ((active3 & 0x800000000L) != 0L)
+         else if ((active3 & 0x1000000000L) != 0L)
          {
-            jjmatchedKind = 227;
+            jjmatchedKind = 228;
             jjmatchedPos = 1;
          }
-         else if ((active3 & 0x10000000000L) != 0L)
+         else if ((active3 & 0x20000000000L) != 0L)
          {
-            jjmatchedKind = 232;
+            jjmatchedKind = 233;
             jjmatchedPos = 1;
          }
-         else if ((active3 & 0x20000000000L) != 0L)
+         else if ((active3 & 0x40000000000L) != 0L)
          {
-            jjmatchedKind = 233;
+            jjmatchedKind = 234;
             jjmatchedPos = 1;
          }
-         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0L, active2, 0L, active3, 0x150L);
+         return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0L, active2, 0L, active3, 0x2a0L);
       case 62:
-         if ((active3 & 0x2000000000L) != 0L)
+         if ((active3 & 0x4000000000L) != 0L)
          {
-            jjmatchedKind = 229;
+            jjmatchedKind = 230;
             jjmatchedPos = 1;
          }
          break;
       case 65:
-         return jjMoveStringLiteralDfa2_0(active0, 0x8010000400000L, active1, 0x1c0201fc20000L, active2, 0x80000c0520010088L, active3, 0x2L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x8010000400000L, active1, 0x1c0201fc20000L, active2, 0xc0520010088L, active3, 0x5L);
       case 66:
          return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0L, active2, 0x400030000001000L, active3, 0L);
       case 67:
@@ -306,15 +306,15 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
       case 71:
          return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x100000L, active2, 0L, active3, 0L);
       case 72:
-         return jjMoveStringLiteralDfa2_0(active0, 0x2010040000000000L, active1, 0L, active2, 0x7800000L, active3, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x2010040000000000L, active1, 0L, active2, 0x4000000007800000L, active3, 0L);
       case 73:
          return jjMoveStringLiteralDfa2_0(active0, 0x800240000000L, active1, 0x10801L, active2, 0x10100080140000L, active3, 0L);
       case 76:
          return jjMoveStringLiteralDfa2_0(active0, 0x4000000000000000L, active1, 0x4004L, active2, 0x4000000000200L, active3, 0L);
       case 78:
-         if ((active3 & 0x4L) != 0L)
+         if ((active3 & 0x8L) != 0L)
          {
-            jjmatchedKind = 194;
+            jjmatchedKind = 195;
             jjmatchedPos = 1;
          }
          return jjMoveStringLiteralDfa2_0(active0, 0x400000000000L, active1, 0x400020000208200L, active2, 0x200000000000L, active3, 0L);
@@ -339,7 +339,7 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
       case 84:
          return jjMoveStringLiteralDfa2_0(active0, 0x220000000000000L, active1, 0x31c21c000000000L, active2, 0L, active3, 0L);
       case 85:
-         return jjMoveStringLiteralDfa2_0(active0, 0x8000000L, active1, 0x20100020000000L, active2, 0x4148000010000000L, active3, 0x1L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x8000000L, active1, 0x20100020000000L, active2, 0x8148000010000000L, active3, 0x2L);
       case 86:
          return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x40000000L, active2, 0x40000000L, active3, 0L);
       case 88:
@@ -359,14 +359,14 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
          }
          break;
       case 94:
-         if ((active3 & 0x20000000000000L) != 0L)
+         if ((active3 & 0x40000000000000L) != 0L)
          {
-            jjmatchedKind = 245;
+            jjmatchedKind = 246;
             jjmatchedPos = 1;
          }
          break;
       case 97:
-         return jjMoveStringLiteralDfa2_0(active0, 0x8010000400000L, active1, 0x1c0201fc20000L, active2, 0x80000c0520010088L, active3, 0x2L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x8010000400000L, active1, 0x1c0201fc20000L, active2, 0xc0520010088L, active3, 0x5L);
       case 98:
          return jjMoveStringLiteralDfa2_0(active0, 0x4000L, active1, 0L, active2, 0x400030000001000L, active3, 0L);
       case 99:
@@ -385,15 +385,15 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
       case 103:
          return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x100000L, active2, 0L, active3, 0L);
       case 104:
-         return jjMoveStringLiteralDfa2_0(active0, 0x2010040000000000L, active1, 0L, active2, 0x7800000L, active3, 0L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x2010040000000000L, active1, 0L, active2, 0x4000000007800000L, active3, 0L);
       case 105:
          return jjMoveStringLiteralDfa2_0(active0, 0x800240000000L, active1, 0x10801L, active2, 0x10100080140000L, active3, 0L);
       case 108:
          return jjMoveStringLiteralDfa2_0(active0, 0x4000000000010000L, active1, 0x4004L, active2, 0x4000000000200L, active3, 0L);
       case 110:
-         if ((active3 & 0x4L) != 0L)
+         if ((active3 & 0x8L) != 0L)
          {
-            jjmatchedKind = 194;
+            jjmatchedKind = 195;
             jjmatchedPos = 1;
          }
          return jjMoveStringLiteralDfa2_0(active0, 0x400000000000L, active1, 0x400020000208200L, active2, 0x200000000000L, active3, 0L);
@@ -418,7 +418,7 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
       case 116:
          return jjMoveStringLiteralDfa2_0(active0, 0x220000000000000L, active1, 0x31c21c000000000L, active2, 0L, active3, 0L);
       case 117:
-         return jjMoveStringLiteralDfa2_0(active0, 0x8000000L, active1, 0x20100020000000L, active2, 0x4148000010000000L, active3, 0x1L);
+         return jjMoveStringLiteralDfa2_0(active0, 0x8000000L, active1, 0x20100020000000L, active2, 0x8148000010000000L, active3, 0x2L);
       case 118:
          return jjMoveStringLiteralDfa2_0(active0, 0L, active1, 0x40000000L, active2, 0x40000000L, active3, 0L);
       case 120:
@@ -438,9 +438,9 @@ private final int jjMoveStringLiteralDfa1_0(long active0, long active1, long act
          }
          break;
       case 124:
-         if ((active3 & 0x200000000000L) != 0L)
+         if ((active3 & 0x400000000000L) != 0L)
          {
-            jjmatchedKind = 237;
+            jjmatchedKind = 238;
             jjmatchedPos = 1;
          }
          break;
@@ -467,21 +467,21 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
          }
          break;
       case 58:
-         if ((active3 & 0x40L) != 0L)
+         if ((active3 & 0x80L) != 0L)
          {
-            jjmatchedKind = 198;
+            jjmatchedKind = 199;
             jjmatchedPos = 2;
          }
-         else if ((active3 & 0x100L) != 0L)
+         else if ((active3 & 0x200L) != 0L)
          {
-            jjmatchedKind = 200;
+            jjmatchedKind = 201;
             jjmatchedPos = 2;
          }
          break;
       case 61:
-         if ((active3 & 0x10L) != 0L)
+         if ((active3 & 0x20L) != 0L)
          {
-            jjmatchedKind = 196;
+            jjmatchedKind = 197;
             jjmatchedPos = 2;
          }
          break;
@@ -495,7 +495,7 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
             jjmatchedKind = 38;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x400000000000000L, active2, 0x80000L, active3, 0x2L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x400000000000000L, active2, 0x80000L, active3, 0x4L);
       case 68:
          if ((active1 & 0x20L) != 0L)
          {
@@ -504,7 +504,7 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
          }
          return jjMoveStringLiteralDfa3_0(active0, 0x900000000L, active1, 0x200000000L, active2, 0x200000000000L, active3, 0L);
       case 69:
-         return jjMoveStringLiteralDfa3_0(active0, 0x2000040000800000L, active1, 0x14L, active2, 0x200000000000004L, active3, 0x1L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x2000040000800000L, active1, 0x14L, active2, 0x200000000000004L, active3, 0x2L);
       case 70:
          return jjMoveStringLiteralDfa3_0(active0, 0x400000000L, active1, 0x2000L, active2, 0x8L, active3, 0L);
       case 71:
@@ -548,16 +548,16 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
             jjmatchedKind = 156;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0x10220000000L, active1, 0x2000000000L, active2, 0x8000000020100000L, active3, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x10220000000L, active1, 0x2000000000L, active2, 0x20100000L, active3, 0x1L);
       case 78:
          if ((active2 & 0x80000000L) != 0L)
          {
             jjmatchedKind = 159;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0x800004000000L, active1, 0x803800020200000L, active2, 0x4000100000048082L, active3, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x800004000000L, active1, 0x803800020200000L, active2, 0x8000100000048082L, active3, 0L);
       case 79:
-         return jjMoveStringLiteralDfa3_0(active0, 0x822020000000000L, active1, 0x20000000008L, active2, 0x832008000200L, active3, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x822020000000000L, active1, 0x20000000008L, active2, 0x4000832008000200L, active3, 0L);
       case 80:
          if ((active1 & 0x400000L) != 0L)
          {
@@ -646,7 +646,7 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
             jjmatchedKind = 38;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x400000000000000L, active2, 0x80000L, active3, 0x2L);
+         return jjMoveStringLiteralDfa3_0(active0, 0L, active1, 0x400000000000000L, active2, 0x80000L, active3, 0x4L);
       case 100:
          if ((active1 & 0x20L) != 0L)
          {
@@ -655,7 +655,7 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
          }
          return jjMoveStringLiteralDfa3_0(active0, 0x900000000L, active1, 0x200000000L, active2, 0x200000000000L, active3, 0L);
       case 101:
-         return jjMoveStringLiteralDfa3_0(active0, 0x2000040000800000L, active1, 0x14L, active2, 0x200000000000004L, active3, 0x1L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x2000040000800000L, active1, 0x14L, active2, 0x200000000000004L, active3, 0x2L);
       case 102:
          return jjMoveStringLiteralDfa3_0(active0, 0x400000000L, active1, 0x2000L, active2, 0x8L, active3, 0L);
       case 103:
@@ -699,16 +699,16 @@ private final int jjMoveStringLiteralDfa2_0(long old0, long active0, long old1,
             jjmatchedKind = 156;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0x10220000000L, active1, 0x2000000000L, active2, 0x8000000020100000L, active3, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x10220000000L, active1, 0x2000000000L, active2, 0x20100000L, active3, 0x1L);
       case 110:
          if ((active2 & 0x80000000L) != 0L)
          {
             jjmatchedKind = 159;
             jjmatchedPos = 2;
          }
-         return jjMoveStringLiteralDfa3_0(active0, 0x800004000000L, active1, 0x803800020200000L, active2, 0x4000100000048082L, active3, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x800004000000L, active1, 0x803800020200000L, active2, 0x8000100000048082L, active3, 0L);
       case 111:
-         return jjMoveStringLiteralDfa3_0(active0, 0x822020000000000L, active1, 0x20000000008L, active2, 0x832008000200L, active3, 0L);
+         return jjMoveStringLiteralDfa3_0(active0, 0x822020000000000L, active1, 0x20000000008L, active2, 0x4000832008000200L, active3, 0L);
       case 112:
          if ((active1 & 0x400000L) != 0L)
          {
@@ -825,14 +825,14 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
          }
          return jjMoveStringLiteralDfa4_0(active0, 0x2080000000L, active1, 0x200400010002014L, active2, 0L, active3, 0L);
       case 66:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x100000000000000L, active2, 0x8000000000000000L, active3, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x100000000000000L, active2, 0L, active3, 0x1L);
       case 67:
          if ((active0 & 0x8000000000L) != 0L)
          {
             jjmatchedKind = 39;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x8000002000000L, active1, 0x800000020000000L, active2, 0x4000000000000000L, active3, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x8000002000000L, active1, 0x800000020000000L, active2, 0x8000000000000000L, active3, 0L);
       case 68:
          if ((active1 & 0x2L) != 0L)
          {
@@ -918,7 +918,7 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
       case 74:
          return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0L, active2, 0x100000000000000L, active3, 0L);
       case 75:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0L, active2, 0L, active3, 0x2L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0L, active2, 0L, active3, 0x4L);
       case 76:
          if ((active1 & 0x40000000L) != 0L)
          {
@@ -975,7 +975,7 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
             jjmatchedKind = 142;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x40000000000L, active1, 0x6000000000100000L, active2, 0x1808800000020000L, active3, 0x1L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x40000000000L, active1, 0x6000000000100000L, active2, 0x5808800000020000L, active3, 0x2L);
       case 83:
          return jjMoveStringLiteralDfa4_0(active0, 0x8000000404000000L, active1, 0xe4000000000000L, active2, 0x400000000L, active3, 0L);
       case 84:
@@ -1011,14 +1011,14 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
          }
          return jjMoveStringLiteralDfa4_0(active0, 0x2080000000L, active1, 0x200400010002014L, active2, 0L, active3, 0L);
       case 98:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x100000000000000L, active2, 0x8000000000000000L, active3, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0x100000000000000L, active2, 0L, active3, 0x1L);
       case 99:
          if ((active0 & 0x8000000000L) != 0L)
          {
             jjmatchedKind = 39;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x8000002000000L, active1, 0x800000020000000L, active2, 0x4000000000000000L, active3, 0L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x8000002000000L, active1, 0x800000020000000L, active2, 0x8000000000000000L, active3, 0L);
       case 100:
          if ((active1 & 0x2L) != 0L)
          {
@@ -1104,7 +1104,7 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
       case 106:
          return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0L, active2, 0x100000000000000L, active3, 0L);
       case 107:
-         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0L, active2, 0L, active3, 0x2L);
+         return jjMoveStringLiteralDfa4_0(active0, 0L, active1, 0L, active2, 0L, active3, 0x4L);
       case 108:
          if ((active1 & 0x40000000L) != 0L)
          {
@@ -1161,7 +1161,7 @@ private final int jjMoveStringLiteralDfa3_0(long old0, long active0, long old1,
             jjmatchedKind = 142;
             jjmatchedPos = 3;
          }
-         return jjMoveStringLiteralDfa4_0(active0, 0x40000000000L, active1, 0x6000000000100000L, active2, 0x1808800000020000L, active3, 0x1L);
+         return jjMoveStringLiteralDfa4_0(active0, 0x40000000000L, active1, 0x6000000000100000L, active2, 0x5808800000020000L, active3, 0x2L);
       case 115:
          return jjMoveStringLiteralDfa4_0(active0, 0x8000000404014000L, active1, 0xe4000000000000L, active2, 0x400000000L, active3, 0L);
       case 116:
@@ -1218,7 +1218,7 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
          }
          break;
       case 65:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x9802010020000000L, active2, 0x4000000000L, active3, 0x2L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x9802010020000000L, active2, 0x4000000000L, active3, 0x4L);
       case 67:
          return jjMoveStringLiteralDfa5_0(active0, 0x101000000L, active1, 0x200000000L, active2, 0x410000000000000L, active3, 0L);
       case 68:
@@ -1237,7 +1237,7 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
             jjmatchedKind = 136;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x400000000000000L, active2, 0x8000000000000010L, active3, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x400000000000000L, active2, 0x10L, active3, 0x1L);
       case 69:
          if ((active0 & 0x40000000000L) != 0L)
          {
@@ -1405,7 +1405,12 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
             jjmatchedKind = 174;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0x8000000004000000L, active1, 0x24402000000410L, active2, 0x4000000000040005L, active3, 0L);
+         else if ((active2 & 0x4000000000000000L) != 0L)
+         {
+            jjmatchedKind = 190;
+            jjmatchedPos = 4;
+         }
+         return jjMoveStringLiteralDfa5_0(active0, 0x8000000004000000L, active1, 0x24402000000410L, active2, 0x8000000000040005L, active3, 0L);
       case 85:
          return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x200000002000L, active2, 0L, active3, 0L);
       case 86:
@@ -1435,16 +1440,16 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
             jjmatchedKind = 96;
             jjmatchedPos = 4;
          }
-         else if ((active3 & 0x1L) != 0L)
+         else if ((active3 & 0x2L) != 0L)
          {
-            jjmatchedKind = 192;
+            jjmatchedKind = 193;
             jjmatchedPos = 4;
          }
          return jjMoveStringLiteralDfa5_0(active0, 0x80000000000000L, active1, 0L, active2, 0L, active3, 0L);
       case 90:
          return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0L, active2, 0x100000L, active3, 0L);
       case 97:
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x9802010020000000L, active2, 0x4000000000L, active3, 0x2L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x9802010020000000L, active2, 0x4000000000L, active3, 0x4L);
       case 99:
          return jjMoveStringLiteralDfa5_0(active0, 0x101000000L, active1, 0x200000000L, active2, 0x410000000000000L, active3, 0L);
       case 100:
@@ -1463,7 +1468,7 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
             jjmatchedKind = 136;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x400000000000000L, active2, 0x8000000000000010L, active3, 0L);
+         return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x400000000000000L, active2, 0x10L, active3, 0x1L);
       case 101:
          if ((active0 & 0x4000L) != 0L)
          {
@@ -1646,7 +1651,12 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
             jjmatchedKind = 174;
             jjmatchedPos = 4;
          }
-         return jjMoveStringLiteralDfa5_0(active0, 0x8000000004000000L, active1, 0x24402000000410L, active2, 0x4000000000040005L, active3, 0L);
+         else if ((active2 & 0x4000000000000000L) != 0L)
+         {
+            jjmatchedKind = 190;
+            jjmatchedPos = 4;
+         }
+         return jjMoveStringLiteralDfa5_0(active0, 0x8000000004000000L, active1, 0x24402000000410L, active2, 0x8000000000040005L, active3, 0L);
       case 117:
          return jjMoveStringLiteralDfa5_0(active0, 0L, active1, 0x200000002000L, active2, 0L, active3, 0L);
       case 118:
@@ -1676,9 +1686,9 @@ private final int jjMoveStringLiteralDfa4_0(long old0, long active0, long old1,
             jjmatchedKind = 96;
             jjmatchedPos = 4;
          }
-         else if ((active3 & 0x1L) != 0L)
+         else if ((active3 & 0x2L) != 0L)
          {
-            jjmatchedKind = 192;
+            jjmatchedKind = 193;
             jjmatchedPos = 4;
          }
          return jjMoveStringLiteralDfa5_0(active0, 0x80000000000000L, active1, 0L, active2, 0L, active3, 0L);
@@ -1726,9 +1736,9 @@ private final int jjMoveStringLiteralDfa5_0(long old0, long active0, long old1,
             jjmatchedKind = 164;
             jjmatchedPos = 5;
          }
-         else if ((active2 & 0x8000000000000000L) != 0L)
+         else if ((active3 & 0x1L) != 0L)
          {
-            jjmatchedKind = 191;
+            jjmatchedKind = 192;
             jjmatchedPos = 5;
          }
          return jjMoveStringLiteralDfa6_0(active0, 0xa0000000L, active1, 0x5000000000000L, active2, 0L, active3, 0L);
@@ -1786,9 +1796,9 @@ private final int jjMoveStringLiteralDfa5_0(long old0, long active0, long old1,
             jjmatchedKind = 170;
             jjmatchedPos = 5;
          }
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x100000L, active2, 0L, active3, 0x2L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x100000L, active2, 0L, active3, 0x4L);
       case 73:
-         return jjMoveStringLiteralDfa6_0(active0, 0x2000000L, active1, 0x2200000000000L, active2, 0x4000000000000000L, active3, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x2000000L, active1, 0x2200000000000L, active2, 0x8000000000000000L, active3, 0L);
       case 76:
          return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x20002000L, active2, 0x1000000000000020L, active3, 0L);
       case 78:
@@ -1900,9 +1910,9 @@ private final int jjMoveStringLiteralDfa5_0(long old0, long active0, long old1,
             jjmatchedKind = 164;
             jjmatchedPos = 5;
          }
-         else if ((active2 & 0x8000000000000000L) != 0L)
+         else if ((active3 & 0x1L) != 0L)
          {
-            jjmatchedKind = 191;
+            jjmatchedKind = 192;
             jjmatchedPos = 5;
          }
          return jjMoveStringLiteralDfa6_0(active0, 0xa0000000L, active1, 0x5000000000000L, active2, 0L, active3, 0L);
@@ -1960,9 +1970,9 @@ private final int jjMoveStringLiteralDfa5_0(long old0, long active0, long old1,
             jjmatchedKind = 170;
             jjmatchedPos = 5;
          }
-         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x100000L, active2, 0L, active3, 0x2L);
+         return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x100000L, active2, 0L, active3, 0x4L);
       case 105:
-         return jjMoveStringLiteralDfa6_0(active0, 0x2008000L, active1, 0x2200000000000L, active2, 0x4000000000000000L, active3, 0L);
+         return jjMoveStringLiteralDfa6_0(active0, 0x2008000L, active1, 0x2200000000000L, active2, 0x8000000000000000L, active3, 0L);
       case 108:
          return jjMoveStringLiteralDfa6_0(active0, 0L, active1, 0x20002000L, active2, 0x1000000000000020L, active3, 0L);
       case 110:
@@ -2119,9 +2129,9 @@ private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1,
             jjmatchedKind = 124;
             jjmatchedPos = 6;
          }
-         else if ((active3 & 0x2L) != 0L)
+         else if ((active3 & 0x4L) != 0L)
          {
-            jjmatchedKind = 193;
+            jjmatchedKind = 194;
             jjmatchedPos = 6;
          }
          return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x200000000000000L, active2, 0L, active3, 0L);
@@ -2151,7 +2161,7 @@ private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1,
       case 78:
          return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x2000000000000L, active2, 0x100004L, active3, 0L);
       case 79:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x100000000000000L, active2, 0x4000000000000000L, active3, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x100000000000000L, active2, 0x8000000000000000L, active3, 0L);
       case 80:
          return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x400000000000L, active2, 0L, active3, 0L);
       case 82:
@@ -2228,9 +2238,9 @@ private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1,
             jjmatchedKind = 124;
             jjmatchedPos = 6;
          }
-         else if ((active3 & 0x2L) != 0L)
+         else if ((active3 & 0x4L) != 0L)
          {
-            jjmatchedKind = 193;
+            jjmatchedKind = 194;
             jjmatchedPos = 6;
          }
          return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x200000000000000L, active2, 0L, active3, 0L);
@@ -2260,7 +2270,7 @@ private final int jjMoveStringLiteralDfa6_0(long old0, long active0, long old1,
       case 110:
          return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x2000000000000L, active2, 0x100004L, active3, 0L);
       case 111:
-         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x100000000000000L, active2, 0x4000000000000000L, active3, 0L);
+         return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x100000000000000L, active2, 0x8000000000000000L, active3, 0L);
       case 112:
          return jjMoveStringLiteralDfa7_0(active0, 0L, active1, 0x400000000000L, active2, 0L, active3, 0L);
       case 114:
@@ -2390,9 +2400,9 @@ private final int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1,
          }
          break;
       case 78:
-         if ((active2 & 0x4000000000000000L) != 0L)
+         if ((active2 & 0x8000000000000000L) != 0L)
          {
-            jjmatchedKind = 190;
+            jjmatchedKind = 191;
             jjmatchedPos = 7;
          }
          break;
@@ -2486,9 +2496,9 @@ private final int jjMoveStringLiteralDfa7_0(long old0, long active0, long old1,
          }
          break;
       case 110:
-         if ((active2 & 0x4000000000000000L) != 0L)
+         if ((active2 & 0x8000000000000000L) != 0L)
          {
-            jjmatchedKind = 190;
+            jjmatchedKind = 191;
             jjmatchedPos = 7;
          }
          break;
@@ -3004,8 +3014,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 0:
                   if ((0x3ff000000000000L & l) != 0L)
                   {
-                     if (kind > 203)
-                        kind = 203;
+                     if (kind > 204)
+                        kind = 204;
                      jjCheckNAddStates(0, 7);
                   }
                   else if (curChar == 46)
@@ -3036,8 +3046,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjstateSet[jjnewStateCnt++] = 21;
                   if ((0x3ff000000000000L & l) != 0L)
                   {
-                     if (kind > 247)
-                        kind = 247;
+                     if (kind > 248)
+                        kind = 248;
                      jjCheckNAdd(69);
                   }
                   else if (curChar == 34)
@@ -3046,8 +3056,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddStates(18, 20);
                   if ((0x3ff000000000000L & l) != 0L)
                   {
-                     if (kind > 215)
-                        kind = 215;
+                     if (kind > 216)
+                        kind = 216;
                   }
                   break;
                case 1:
@@ -3159,8 +3169,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                   jjCheckNAddTwoStates(28, 29);
                   break;
                case 31:
-                  if ((0x8400000000L & l) != 0L && kind > 209)
-                     kind = 209;
+                  if ((0x8400000000L & l) != 0L && kind > 210)
+                     kind = 210;
                   break;
                case 32:
                   if (curChar == 39)
@@ -3175,8 +3185,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddStates(18, 20);
                   break;
                case 36:
-                  if (curChar == 39 && kind > 210)
-                     kind = 210;
+                  if (curChar == 39 && kind > 211)
+                     kind = 211;
                   break;
                case 37:
                   if (curChar == 34)
@@ -3191,8 +3201,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddStates(15, 17);
                   break;
                case 41:
-                  if (curChar == 34 && kind > 211)
-                     kind = 211;
+                  if (curChar == 34 && kind > 212)
+                     kind = 212;
                   break;
                case 42:
                   if (curChar == 39)
@@ -3216,8 +3226,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjAddStates(33, 34);
                   break;
                case 49:
-                  if (curChar == 39 && kind > 212)
-                     kind = 212;
+                  if (curChar == 39 && kind > 213)
+                     kind = 213;
                   break;
                case 50:
                   if (curChar == 39)
@@ -3253,8 +3263,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjAddStates(39, 40);
                   break;
                case 60:
-                  if (curChar == 34 && kind > 213)
-                     kind = 213;
+                  if (curChar == 34 && kind > 214)
+                     kind = 214;
                   break;
                case 61:
                   if (curChar == 34)
@@ -3269,8 +3279,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjstateSet[jjnewStateCnt++] = 62;
                   break;
                case 64:
-                  if ((0x3ff000000000000L & l) != 0L && kind > 215)
-                     kind = 215;
+                  if ((0x3ff000000000000L & l) != 0L && kind > 216)
+                     kind = 216;
                   break;
                case 66:
                   if ((0x100003600L & l) != 0L)
@@ -3280,8 +3290,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 69:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 247)
-                     kind = 247;
+                  if (kind > 248)
+                     kind = 248;
                   jjCheckNAdd(69);
                   break;
                case 71:
@@ -3368,8 +3378,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 91:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 203)
-                     kind = 203;
+                  if (kind > 204)
+                     kind = 204;
                   jjCheckNAdd(91);
                   break;
                case 92:
@@ -3379,15 +3389,15 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 93:
                   if (curChar != 46)
                      break;
-                  if (kind > 204)
-                     kind = 204;
+                  if (kind > 205)
+                     kind = 205;
                   jjCheckNAdd(94);
                   break;
                case 94:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 204)
-                     kind = 204;
+                  if (kind > 205)
+                     kind = 205;
                   jjCheckNAdd(94);
                   break;
                case 95:
@@ -3405,8 +3415,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 99:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 205)
-                     kind = 205;
+                  if (kind > 206)
+                     kind = 206;
                   jjCheckNAdd(99);
                   break;
                case 100:
@@ -3432,8 +3442,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 106:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 205)
-                     kind = 205;
+                  if (kind > 206)
+                     kind = 206;
                   jjCheckNAdd(106);
                   break;
                case 107:
@@ -3447,22 +3457,22 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 110:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 205)
-                     kind = 205;
+                  if (kind > 206)
+                     kind = 206;
                   jjCheckNAdd(110);
                   break;
                case 111:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 203)
-                     kind = 203;
+                  if (kind > 204)
+                     kind = 204;
                   jjCheckNAddStates(0, 7);
                   break;
                case 112:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 214)
-                     kind = 214;
+                  if (kind > 215)
+                     kind = 215;
                   jjCheckNAdd(112);
                   break;
                case 113:
@@ -3472,8 +3482,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 114:
                   if ((0x3ff000000000000L & l) == 0L)
                      break;
-                  if (kind > 204)
-                     kind = 204;
+                  if (kind > 205)
+                     kind = 205;
                   jjCheckNAdd(114);
                   break;
                default : break;
@@ -3490,8 +3500,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 0:
                   if ((0x7fffffe87fffffeL & l) != 0L)
                   {
-                     if (kind > 247)
-                        kind = 247;
+                     if (kind > 248)
+                        kind = 248;
                      jjCheckNAdd(69);
                   }
                   else if (curChar == 91)
@@ -3506,8 +3516,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjstateSet[jjnewStateCnt++] = 8;
                   if ((0x7e0000007eL & l) != 0L)
                   {
-                     if (kind > 215)
-                        kind = 215;
+                     if (kind > 216)
+                        kind = 216;
                   }
                   break;
                case 1:
@@ -3602,8 +3612,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjstateSet[jjnewStateCnt++] = 31;
                   break;
                case 31:
-                  if ((0x14404410000000L & l) != 0L && kind > 209)
-                     kind = 209;
+                  if ((0x14404410000000L & l) != 0L && kind > 210)
+                     kind = 210;
                   break;
                case 33:
                   if ((0xffffffffefffffffL & l) != 0L)
@@ -3654,23 +3664,23 @@ private final int jjMoveNfa_0(int startState, int curPos)
                      jjCheckNAddStates(35, 38);
                   break;
                case 64:
-                  if ((0x7e0000007eL & l) != 0L && kind > 215)
-                     kind = 215;
+                  if ((0x7e0000007eL & l) != 0L && kind > 216)
+                     kind = 216;
                   break;
                case 65:
                   if (curChar == 91)
                      jjAddStates(41, 42);
                   break;
                case 67:
-                  if (curChar == 93 && kind > 222)
-                     kind = 222;
+                  if (curChar == 93 && kind > 223)
+                     kind = 223;
                   break;
                case 68:
                case 69:
                   if ((0x7fffffe87fffffeL & l) == 0L)
                      break;
-                  if (kind > 247)
-                     kind = 247;
+                  if (kind > 248)
+                     kind = 248;
                   jjCheckNAdd(69);
                   break;
                case 70:
@@ -3766,8 +3776,8 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 0:
                   if (jjCanMove_1(hiByte, i1, i2, l1, l2))
                   {
-                     if (kind > 247)
-                        kind = 247;
+                     if (kind > 248)
+                        kind = 248;
                      jjCheckNAdd(69);
                   }
                   if (jjCanMove_1(hiByte, i1, i2, l1, l2))
@@ -3872,15 +3882,15 @@ private final int jjMoveNfa_0(int startState, int curPos)
                case 68:
                   if (!jjCanMove_1(hiByte, i1, i2, l1, l2))
                      break;
-                  if (kind > 247)
-                     kind = 247;
+                  if (kind > 248)
+                     kind = 248;
                   jjCheckNAdd(69);
                   break;
                case 69:
                   if (!jjCanMove_2(hiByte, i1, i2, l1, l2))
                      break;
-                  if (kind > 247)
-                     kind = 247;
+                  if (kind > 248)
+                     kind = 248;
                   jjCheckNAdd(69);
                   break;
                case 70:
@@ -4042,17 +4052,17 @@ null, null, null, null, null, null, null, null, null, null, null, null, null, nu
 null, null, null, null, null, null, null, null, null, null, null, null, null, null, 
 null, null, null, null, null, null, null, null, null, null, null, null, null, null, 
 "\72\72", null, null, null, null, null, null, null, null, null, null, null, null, null, 
-"\75\75", "\41\75\75", "\136", "\74\75\72", "\75\72", "\76\75\72", "\76\72", "\176\75", 
-null, null, null, null, null, null, null, null, null, null, null, null, null, "\50", 
-"\51", "\173", "\175", "\133", "\135", null, "\73", "\54", "\56", "\75", "\41\75", 
-"\74\74", "\76\76", "\74", "\76", "\74\75", "\76\75", "\41", "\176", "\72", "\174\174", 
-"\46\46", "\53", "\55", "\52", "\57", "\77", "\174", "\136\136", "\100", null, null, 
-null, null, null, null, null, null, null, null, };
+null, "\75\75", "\41\75\75", "\136", "\74\75\72", "\75\72", "\76\75\72", "\76\72", 
+"\176\75", null, null, null, null, null, null, null, null, null, null, null, null, null, 
+"\50", "\51", "\173", "\175", "\133", "\135", null, "\73", "\54", "\56", "\75", 
+"\41\75", "\74\74", "\76\76", "\74", "\76", "\74\75", "\76\75", "\41", "\176", "\72", 
+"\174\174", "\46\46", "\53", "\55", "\52", "\57", "\77", "\174", "\136\136", "\100", null, 
+null, null, null, null, null, null, null, null, null, };
 public static final String[] lexStateNames = {
    "DEFAULT", 
 };
 static final long[] jjtoToken = {
-   0xffffffffffe7ff01L, 0xffffffffffffffffL, 0xffffffffffffffffL, 0xfffffffffe3fffL, 
+   0xffffffffffe7ff01L, 0xffffffffffffffffL, 0xffffffffffffffffL, 0x1fffffffffc7fffL, 
    0x0L, 
 };
 static final long[] jjtoSkip = {
@@ -24,6 +24,9 @@ import org.slf4j.LoggerFactory;
 public class ASTExtension implements Extension {
 
     private static ASTExtension singleton;
+    // incremented when public functions change
+    // use case: compiled query cache invalidation
+    private static volatile int version = 0;
     public static int FUNCTION_PARAMETER_MAX = 15;
     private static Logger logger = LoggerFactory.getLogger(ASTExtension.class);
     static final String NL = System.getProperty("line.separator");
@@ -139,6 +142,7 @@ public class ASTExtension implements Extension {
             defineFunction(exp);
         }
         funList.add(exp);
+        change();
     }
     
     /**
@@ -146,6 +150,7 @@ public class ASTExtension implements Extension {
      */
     @Override
     public void removeNamespace(String name) {
+        change();
         for (FunMap fm : getMaps()) {
             fm.removeNamespace(name);
         }
@@ -473,6 +478,20 @@ public class ASTExtension implements Extension {
 
     public static void setSingleton(ASTExtension aSingleton) {
         singleton = aSingleton;
+        version++;
+    }
+
+    /**
+     * Version of public functions
+     */
+    public static int getVersion() {
+        return version;
+    }
+
+    void change() {
+        if (this == getSingleton()) {
+            version++;
+        }
     }
 
 }
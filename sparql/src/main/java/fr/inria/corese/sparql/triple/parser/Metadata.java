@@ -96,6 +96,10 @@ public class Metadata extends ASTObject
     public static final int PATH_TYPE = 73;
     public static final int SLICE = 74;
     public static final int FOCUS = 75;
+    // number of solutions sorted in memory before spill to disk
+    public static final int BUDGET = 76;
+    // LDScript function estimate of shortest path weight (A*)
+    public static final int HEURISTIC = 77;
 
     static final String PREF = NSManager.KGRAM;
     public static final String DISPLAY_TURTLE = PREF + "turtle";
@@ -240,6 +244,8 @@ public class Metadata extends ASTObject
         define("@browse", BROWSE);
         define("@merge", MERGE_SERVICE);
         define("@focus", FOCUS);
+        define("@budget", BUDGET);
+        define("@heuristic", HEURISTIC);
         define("@format", FORMAT);
         // update query evaluated as select query
         define("@select", SELECT);